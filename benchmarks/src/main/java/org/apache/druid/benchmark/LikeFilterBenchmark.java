@@ -102,6 +102,19 @@ public class LikeFilterBenchmark
       null
   ).toFilter();
 
+  private static final Filter REGEX_CONTAINS = new RegexDimFilter(
+      "foo",
+      "50",
+      null
+  ).toFilter();
+
+  private static final Filter LIKE_CONTAINS = new LikeDimFilter(
+      "foo",
+      "%50%",
+      null,
+      null
+  ).toFilter();
+
   // cardinality, the dictionary will contain evenly spaced integers
   @Param({"1000", "100000", "1000000"})
   int cardinality;
@@ -243,6 +256,24 @@ public class LikeFilterBenchmark
     blackhole.consume(bitmapIndex);
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void matchLikeContains(Blackhole blackhole)
+  {
+    final ImmutableBitmap bitmapIndex = LIKE_CONTAINS.getBitmapIndex(selector);
+    blackhole.consume(bitmapIndex);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void matchRegexContains(Blackhole blackhole)
+  {
+    final ImmutableBitmap bitmapIndex = REGEX_CONTAINS.getBitmapIndex(selector);
+    blackhole.consume(bitmapIndex);
+  }
+
   private List<Integer> generateInts()
   {
     final List<Integer> ints = new ArrayList<>(cardinality);
@@ -123,6 +123,12 @@ public class GroupByBenchmark
   @Param({"-1"})
   private int initialBuckets;
 
+  /**
+   * Small values make the groupers spill to disk.
+   */
+  @Param({"2147483647", "10000"})
+  private int bufferGrouperMaxSize;
+
   @Param({"100000"})
   private int rowsPerSegment;
 
@@ -444,6 +450,12 @@ public class GroupByBenchmark
         return initialBuckets;
       }
 
+      @Override
+      public int getBufferGrouperMaxSize()
+      {
+        return bufferGrouperMaxSize;
+      }
+
       @Override
       public long getMaxOnDiskStorage()
       {
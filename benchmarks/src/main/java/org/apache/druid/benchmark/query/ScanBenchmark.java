@@ -121,6 +121,9 @@ public class ScanBenchmark
   @Param({"NONE", "DESCENDING", "ASCENDING"})
   private static ScanQuery.Order ordering;
 
+  @Param({"RESULT_FORMAT_LIST", "RESULT_FORMAT_COMPACTED_LIST", "RESULT_FORMAT_VALUE_VECTOR"})
+  private ScanQuery.ResultFormat resultFormat;
+
   private static final Logger log = new Logger(ScanBenchmark.class);
   private static final ObjectMapper JSON_MAPPER;
   private static final IndexMergerV9 INDEX_MERGER_V9;
@@ -257,6 +260,7 @@ public class ScanBenchmark
     schemaInfo = BenchmarkSchemas.SCHEMA_MAP.get(schemaName);
     queryBuilder = SCHEMA_QUERY_MAP.get(schemaName).get(queryName);
     queryBuilder.limit(limit);
+    queryBuilder.resultFormat(resultFormat);
     query = queryBuilder.build();
 
     incIndexes = new ArrayList<>();
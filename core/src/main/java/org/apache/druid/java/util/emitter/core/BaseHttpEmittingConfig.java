@@ -53,6 +53,7 @@ public class BaseHttpEmittingConfig
    * The default value effective doesn't set the min timeout
    */
   public static final int DEFAULT_MIN_HTTP_TIMEOUT_MILLIS = 0;
+  public static final int DEFAULT_NUM_EMITTING_THREADS = 1;
 
   public static Pair<Integer, Integer> getDefaultBatchSizeAndLimit(long maxMemory)
   {
@@ -110,6 +111,13 @@ public class BaseHttpEmittingConfig
   @JsonProperty
   int minHttpTimeoutMillis = DEFAULT_MIN_HTTP_TIMEOUT_MILLIS;
 
+  /**
+   * Number of batches sent concurrently. With more than one thread, batches may reach the recipient out of order.
+   */
+  @Min(1)
+  @JsonProperty
+  int numEmittingThreads = DEFAULT_NUM_EMITTING_THREADS;
+
   public long getFlushMillis()
   {
     return flushMillis;
@@ -160,6 +168,11 @@ public class BaseHttpEmittingConfig
     return minHttpTimeoutMillis;
   }
 
+  public int getNumEmittingThreads()
+  {
+    return numEmittingThreads;
+  }
+
   @Override
   public String toString()
   {
@@ -178,6 +191,7 @@ public class BaseHttpEmittingConfig
         ", contentEncoding=" + contentEncoding +
         ", batchQueueSizeLimit=" + batchQueueSizeLimit +
         ", httpTimeoutAllowanceFactor=" + httpTimeoutAllowanceFactor +
-        ", minHttpTimeoutMillis=" + minHttpTimeoutMillis;
+        ", minHttpTimeoutMillis=" + minHttpTimeoutMillis +
+        ", numEmittingThreads=" + numEmittingThreads;
   }
 }
@@ -37,7 +37,7 @@ import java.util.concurrent.locks.AbstractQueuedLongSynchronizer;
  * Writer threads (callers of {@link HttpPostEmitter#emit(Event)}) are eligible to come, increment bufferWatermark and
  * write data into the buffer, as long as sealed flag is false.
  * <p>
- * {@link HttpPostEmitter#emittingThread} is eligible to emit the buffer, when sealed flag=true and parties=0 (all
+ * An {@link HttpPostEmitter}'s emitting thread is eligible to emit the buffer, when sealed flag=true and parties=0 (all
  * writes are completed). See {@link #isEmittingAllowed(long)}.
  * <p>
  * In this class, "lock" means "increment number of parties by 1", i. e. lock the emitter thread from emitting this
@@ -321,6 +321,15 @@ class Batch extends AbstractQueuedLongSynchronizer
     }
   }
 
+  /**
+   * Returns the time when the first event was added to this batch, or -1 if the batch is empty. Visible to other
+   * threads once the batch is sealed.
+   */
+  long getFirstEventTimestamp()
+  {
+    return firstEventTimestamp;
+  }
+
   void awaitEmittingAllowed()
   {
     acquireShared(1);
@@ -51,6 +51,7 @@ public class HttpEmitterConfig extends BaseHttpEmittingConfig
     this.batchQueueSizeLimit = base.batchQueueSizeLimit;
     this.httpTimeoutAllowanceFactor = base.httpTimeoutAllowanceFactor;
     this.minHttpTimeoutMillis = base.minHttpTimeoutMillis;
+    this.numEmittingThreads = base.numEmittingThreads;
   }
 
   public String getRecipientBaseUrl()
@@ -122,6 +123,12 @@ public class HttpEmitterConfig extends BaseHttpEmittingConfig
       return this;
     }
 
+    public Builder setNumEmittingThreads(int numEmittingThreads)
+    {
+      this.numEmittingThreads = numEmittingThreads;
+      return this;
+    }
+
     public HttpEmitterConfig build()
     {
       return new HttpEmitterConfig(this, recipientBaseUrl);
@@ -24,6 +24,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.primitives.Ints;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
 import io.netty.handler.codec.http.HttpHeaders;
 import org.apache.druid.concurrent.ConcurrentAwaitableCounter;
 import org.apache.druid.java.util.common.ISE;
@@ -46,6 +47,8 @@ import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -84,11 +87,6 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
 
   private static final double TIGHT_ALLOWANCE_FACTOR = 0.5;
 
-  /**
-   * Used in {@link EmittingThread#emitLargeEvents()} to ensure fair emitting of both large events and batched events.
-   */
-  private static final byte[] LARGE_EVENTS_STOP = new byte[]{};
-
   private static final Logger log = new Logger(HttpPostEmitter.class);
   private static final AtomicInteger instanceCounter = new AtomicInteger();
 
@@ -132,11 +130,36 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
    */
   private final AtomicInteger approximateLargeEventsToEmitCount = new AtomicInteger();
 
+  /**
+   * Counts the batches that are finalized together with all the batches sealed before them, so that waiting for the
+   * count of a batch number waits for every earlier batch too, see {@link #batchFinalized}.
+   */
   private final ConcurrentAwaitableCounter emittedBatchCounter = new ConcurrentAwaitableCounter();
-  private final EmittingThread emittingThread;
+  /**
+   * Numbers of the batches finalized while an earlier batch is still being sent by another emitting thread.
+   */
+  @GuardedBy("finalizedBatchesLock")
+  private final Set<Long> batchesFinalizedAhead = new HashSet<>();
+  @GuardedBy("finalizedBatchesLock")
+  private long nextBatchNumberToFinalize = 1;
+  private final Object finalizedBatchesLock = new Object();
+  /**
+   * Batches are sent concurrently by {@link BaseHttpEmittingConfig#getNumEmittingThreads()} threads. With a single
+   * thread batches are sent in the order they were sealed.
+   */
+  private final EmittingThread[] emittingThreads;
   private final AtomicLong totalEmittedEvents = new AtomicLong();
   private final AtomicInteger allocatedBuffers = new AtomicInteger();
   private final AtomicInteger droppedBuffers = new AtomicInteger();
+  private final AtomicLong droppedEvents = new AtomicLong();
+  /**
+   * The sum of the sizes of {@link EmittingThread#failedBuffers} of all emitting threads, see {@link
+   * #approximateBuffersToReuseCount}.
+   */
+  private final AtomicInteger approximateFailedBuffersCount = new AtomicInteger();
+
+  private final ConcurrentTimeCounter successfulSendingTimeCounter = new ConcurrentTimeCounter();
+  private final ConcurrentTimeCounter failedSendingTimeCounter = new ConcurrentTimeCounter();
 
   private volatile long lastBatchFillTimeMillis;
   private final ConcurrentTimeCounter batchFillingTimeCounter = new ConcurrentTimeCounter();
@@ -175,7 +198,11 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
     catch (MalformedURLException e) {
       throw new ISE(e, "Bad URL: %s", config.getRecipientBaseUrl());
     }
-    emittingThread = new EmittingThread(config);
+    Preconditions.checkArgument(config.getNumEmittingThreads() >= 1, "numEmittingThreads must be positive");
+    emittingThreads = new EmittingThread[config.getNumEmittingThreads()];
+    for (int i = 0; i < emittingThreads.length; i++) {
+      emittingThreads[i] = new EmittingThread(config);
+    }
     long firstBatchNumber = 1;
     concurrentBatch.set(new Batch(this, acquireBuffer(), firstBatchNumber));
     // lastBatchFillTimeMillis must not be 0, minHttpTimeoutMillis could be.
@@ -193,7 +220,9 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
         }
         running = true;
         startLatch.countDown();
-        emittingThread.start();
+        for (EmittingThread emittingThread : emittingThreads) {
+          emittingThread.start();
+        }
       }
     }
   }
@@ -241,6 +270,7 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
           MAX_EVENT_SIZE,
           StringUtils.fromUtf8(ByteBuffer.wrap(eventBytes), 1024)
       );
+      droppedEvents.incrementAndGet();
       return null;
     }
 
@@ -282,9 +312,9 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
   private void writeLargeEvent(byte[] eventBytes)
   {
     // It's better to drop the oldest, not latest event, but dropping the oldest is not easy to implement, because
-    // LARGE_EVENTS_STOP could be added into the queue concurrently. So just not adding the latest event.
-    // >, not >=, because largeEventsToEmit could contain LARGE_EVENTS_STOP
-    if (approximateBuffersToEmitCount.get() > config.getBatchQueueSizeLimit()) {
+    // emitting threads poll largeEventsToEmit concurrently. So just not adding the latest event.
+    if (approximateBuffersToEmitCount.get() >= config.getBatchQueueSizeLimit()) {
+      droppedEvents.incrementAndGet();
       log.error(
           "largeEventsToEmit queue size reached the limit [%d], dropping the latest large event",
           config.getBatchQueueSizeLimit()
@@ -368,10 +398,11 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
     if (approximateBuffersToEmitCount.get() >= config.getBatchQueueSizeLimit()) {
       Batch droppedBatch = buffersToEmit.pollFirst();
       if (droppedBatch != null) {
-        batchFinalized();
+        batchFinalized(droppedBatch);
         approximateBuffersToEmitCount.decrementAndGet();
         approximateEventsToEmitCount.addAndGet(-droppedBatch.eventCount.get());
         droppedBuffers.incrementAndGet();
+        droppedEvents.addAndGet(droppedBatch.eventCount.get());
         log.error(
             "buffersToEmit queue size reached the limit [%d], dropping the oldest buffer to emit",
             config.getBatchQueueSizeLimit()
@@ -380,10 +411,21 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
     }
   }
 
-  private void batchFinalized()
+  private void batchFinalized(Batch batch)
   {
-    // Notify HttpPostEmitter.flush(), that the batch is emitted, or failed, or dropped.
-    emittedBatchCounter.increment();
+    // Notify HttpPostEmitter.flush(), that the batch is emitted, or failed, or dropped. With several emitting threads
+    // batches may be finalized out of order, the counter only moves past batches which have all earlier batches
+    // finalized as well.
+    synchronized (finalizedBatchesLock) {
+      if (batch.batchNumber != nextBatchNumberToFinalize) {
+        batchesFinalizedAhead.add(batch.batchNumber);
+        return;
+      }
+      do {
+        emittedBatchCounter.increment();
+        nextBatchNumberToFinalize = ConcurrentAwaitableCounter.nextCount(nextBatchNumberToFinalize);
+      } while (batchesFinalizedAhead.remove(nextBatchNumberToFinalize));
+    }
   }
 
   private Batch pollBatchFromEmitQueue()
@@ -399,7 +441,9 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
 
   private void wakeUpEmittingThread()
   {
-    LockSupport.unpark(emittingThread);
+    for (EmittingThread emittingThread : emittingThreads) {
+      LockSupport.unpark(emittingThread);
+    }
   }
 
   @Override
@@ -419,9 +463,8 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
     }
     batch.seal();
     try {
-      // This check doesn't always awaits for this exact batch to be emitted, because another batch could be dropped
-      // from the queue ahead of this one, in limitBuffersToEmitSize(). But there is no better way currently to wait for
-      // the exact batch, and it's not that important.
+      // Waits for this batch and all the batches sealed before it to be emitted, failed or dropped, even if they are
+      // sent by different emitting threads.
       emittedBatchCounter.awaitCount(batch.batchNumber, config.getFlushTimeOut(), TimeUnit.MILLISECONDS);
     }
     catch (TimeoutException e) {
@@ -446,9 +489,11 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
         if (lastBatch instanceof Batch) {
           flush((Batch) lastBatch);
         }
-        emittingThread.shuttingDown = true;
-        // EmittingThread is interrupted after the last batch is flushed.
-        emittingThread.interrupt();
+        // EmittingThreads are interrupted after the last batch is flushed.
+        for (EmittingThread emittingThread : emittingThreads) {
+          emittingThread.shuttingDown = true;
+          emittingThread.interrupt();
+        }
       }
     }
   }
@@ -463,16 +508,11 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
 
   private class EmittingThread extends Thread
   {
-    private final ArrayDeque<FailedBuffer> failedBuffers = new ArrayDeque<>();
     /**
-     * "Approximate", because not exactly synchronized with {@link #failedBuffers} updates. Not using size() on
-     * {@link #failedBuffers}, because access to it is not synchronized, while approximateFailedBuffersCount is queried
-     * not within EmittingThread.
+     * Only accessed from this EmittingThread, see {@link HttpPostEmitter#approximateFailedBuffersCount} for the size
+     * queried from other threads.
      */
-    private final AtomicInteger approximateFailedBuffersCount = new AtomicInteger();
-
-    private final ConcurrentTimeCounter successfulSendingTimeCounter = new ConcurrentTimeCounter();
-    private final ConcurrentTimeCounter failedSendingTimeCounter = new ConcurrentTimeCounter();
+    private final ArrayDeque<FailedBuffer> failedBuffers = new ArrayDeque<>();
 
     /**
      * Cache the exception. Need an exception because {@link RetryUtils} operates only via exceptions.
@@ -581,16 +621,17 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
         }
       }
       finally {
-        batchFinalized();
+        batchFinalized(batch);
       }
     }
 
     private void limitFailedBuffersSize()
     {
       if (failedBuffers.size() >= config.getBatchQueueSizeLimit()) {
-        failedBuffers.removeFirst();
+        FailedBuffer droppedBuffer = failedBuffers.removeFirst();
         approximateFailedBuffersCount.decrementAndGet();
         droppedBuffers.incrementAndGet();
+        droppedEvents.addAndGet(droppedBuffer.eventCount);
         log.error(
             "failedBuffers queue size reached the limit [%d], dropping the oldest failed buffer",
             config.getBatchQueueSizeLimit()
@@ -598,16 +639,17 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
       }
     }
 
-    @SuppressWarnings("ArrayEquality")
     private void emitLargeEvents()
     {
-      if (largeEventsToEmit.isEmpty()) {
-        return;
-      }
       // Don't try to emit large events until exhaustion, to avoid starvation of "normal" batches, if large event
-      // posting rate is too high, though it should never happen in practice.
-      largeEventsToEmit.add(LARGE_EVENTS_STOP);
-      for (byte[] largeEvent; (largeEvent = largeEventsToEmit.poll()) != LARGE_EVENTS_STOP; ) {
+      // posting rate is too high, though it should never happen in practice. Only the large events which were queued
+      // when this method is called are emitted.
+      for (int remaining = approximateLargeEventsToEmitCount.get(); remaining > 0; remaining--) {
+        byte[] largeEvent = largeEventsToEmit.poll();
+        if (largeEvent == null) {
+          // Polled concurrently by other emitting threads
+          return;
+        }
         emitLargeEvent(largeEvent);
         approximateBuffersToEmitCount.decrementAndGet();
         approximateLargeEventsToEmitCount.decrementAndGet();
@@ -890,7 +932,7 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
 
   public int getTotalFailedBuffers()
   {
-    return emittingThread.approximateFailedBuffersCount.get();
+    return approximateFailedBuffersCount.get();
   }
 
   public int getTotalDroppedBuffers()
@@ -903,6 +945,29 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
     return totalEmittedEvents.get();
   }
 
+  /**
+   * Events which were not emitted because they were too large, or because the emit queue or the queue of failed
+   * buffers reached {@link BaseHttpEmittingConfig#getBatchQueueSizeLimit()}.
+   */
+  public long getTotalDroppedEvents()
+  {
+    return droppedEvents.get();
+  }
+
+  /**
+   * Time passed since the first event of the oldest batch waiting in the emit queue was added, or 0 if the queue is
+   * empty. Shows how far behind the emitter is.
+   */
+  public long getEmitLagMillis()
+  {
+    final Batch oldestBatch = buffersToEmit.peekFirst();
+    if (oldestBatch == null) {
+      return 0;
+    }
+    final long firstEventTimestamp = oldestBatch.getFirstEventTimestamp();
+    return firstEventTimestamp > 0 ? Math.max(System.currentTimeMillis() - firstEventTimestamp, 0) : 0;
+  }
+
   public long getEventsToEmit()
   {
     return approximateEventsToEmitCount.get();
@@ -920,12 +985,12 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
 
   public ConcurrentTimeCounter getSuccessfulSendingTimeCounter()
   {
-    return emittingThread.successfulSendingTimeCounter;
+    return successfulSendingTimeCounter;
   }
 
   public ConcurrentTimeCounter getFailedSendingTimeCounter()
   {
-    return emittingThread.failedSendingTimeCounter;
+    return failedSendingTimeCounter;
   }
 
   @VisibleForTesting
@@ -937,6 +1002,8 @@ public class HttpPostEmitter implements Flushable, Closeable, Emitter
   @VisibleForTesting
   void joinEmitterThread() throws InterruptedException
   {
-    emittingThread.join();
+    for (EmittingThread emittingThread : emittingThreads) {
+      emittingThread.join();
+    }
   }
 }
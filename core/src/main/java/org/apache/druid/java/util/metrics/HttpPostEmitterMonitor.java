@@ -32,6 +32,7 @@ public class HttpPostEmitterMonitor extends FeedDefiningMonitor
   private final ServiceMetricEvent.Builder builder;
   private long lastTotalEmittedEvents = 0;
   private int lastTotalDroppedBuffers = 0;
+  private long lastTotalDroppedEvents = 0;
   private int lastTotalAllocatedBuffers = 0;
   private int lastTotalFailedBuffers = 0;
 
@@ -52,6 +53,7 @@ public class HttpPostEmitterMonitor extends FeedDefiningMonitor
   {
     emitEmittedEvents(emitter);
     emitDroppedBuffers(emitter);
+    emitDroppedEvents(emitter);
     emitAllocatedBuffers(emitter);
     emitFailedBuffers(emitter);
 
@@ -61,6 +63,7 @@ public class HttpPostEmitterMonitor extends FeedDefiningMonitor
 
     emitter.emit(builder.build("emitter/events/emitQueue", httpPostEmitter.getEventsToEmit()));
     emitter.emit(builder.build("emitter/events/large/emitQueue", httpPostEmitter.getLargeEventsToEmit()));
+    emitter.emit(builder.build("emitter/events/emitLagMs", httpPostEmitter.getEmitLagMillis()));
 
     emitter.emit(builder.build("emitter/buffers/emitQueue", httpPostEmitter.getBuffersToEmit()));
 
@@ -85,6 +88,14 @@ public class HttpPostEmitterMonitor extends FeedDefiningMonitor
     lastTotalDroppedBuffers = newTotalDroppedBuffers;
   }
 
+  private void emitDroppedEvents(ServiceEmitter emitter)
+  {
+    long newTotalDroppedEvents = httpPostEmitter.getTotalDroppedEvents();
+    long droppedEventsDelta = newTotalDroppedEvents - lastTotalDroppedEvents;
+    emitter.emit(builder.build("emitter/events/dropped/delta", droppedEventsDelta));
+    lastTotalDroppedEvents = newTotalDroppedEvents;
+  }
+
   private void emitAllocatedBuffers(ServiceEmitter emitter)
   {
     int newTotalAllocatedBuffers = httpPostEmitter.getTotalAllocatedBuffers();
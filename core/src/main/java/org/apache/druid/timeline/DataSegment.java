@@ -21,6 +21,7 @@ package org.apache.druid.timeline;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -38,6 +39,7 @@ import org.apache.druid.jackson.CommaListJoinDeserializer;
 import org.apache.druid.jackson.CommaListJoinSerializer;
 import org.apache.druid.java.util.common.granularity.Granularities;
 import org.apache.druid.query.SegmentDescriptor;
+import org.apache.druid.timeline.partition.ColumnRange;
 import org.apache.druid.timeline.partition.NumberedShardSpec;
 import org.apache.druid.timeline.partition.ShardSpec;
 import org.joda.time.DateTime;
@@ -92,6 +94,7 @@ public class DataSegment implements Comparable<DataSegment>
   private final List<String> metrics;
   private final ShardSpec shardSpec;
   private final long size;
+  private final Map<String, ColumnRange> columnRanges;
 
   public DataSegment(
       String dataSource,
@@ -119,6 +122,34 @@ public class DataSegment implements Comparable<DataSegment>
     );
   }
 
+  public DataSegment(
+      String dataSource,
+      Interval interval,
+      String version,
+      @Nullable Map<String, Object> loadSpec,
+      @Nullable List<String> dimensions,
+      @Nullable List<String> metrics,
+      @Nullable ShardSpec shardSpec,
+      Integer binaryVersion,
+      long size,
+      PruneLoadSpecHolder pruneLoadSpecHolder
+  )
+  {
+    this(
+        dataSource,
+        interval,
+        version,
+        loadSpec,
+        dimensions,
+        metrics,
+        shardSpec,
+        binaryVersion,
+        size,
+        null,
+        pruneLoadSpecHolder
+    );
+  }
+
   @JsonCreator
   public DataSegment(
       @JsonProperty("dataSource") String dataSource,
@@ -137,6 +168,7 @@ public class DataSegment implements Comparable<DataSegment>
       @JsonProperty("shardSpec") @Nullable ShardSpec shardSpec,
       @JsonProperty("binaryVersion") Integer binaryVersion,
       @JsonProperty("size") long size,
+      @JsonProperty("columnRanges") @Nullable Map<String, ColumnRange> columnRanges,
       @JacksonInject PruneLoadSpecHolder pruneLoadSpecHolder
   )
   {
@@ -149,6 +181,7 @@ public class DataSegment implements Comparable<DataSegment>
     this.shardSpec = (shardSpec == null) ? new NumberedShardSpec(0, 1) : shardSpec;
     this.binaryVersion = binaryVersion;
     this.size = size;
+    this.columnRanges = columnRanges == null ? ImmutableMap.of() : ImmutableMap.copyOf(columnRanges);
   }
 
   @Nullable
@@ -244,6 +277,17 @@ public class DataSegment implements Comparable<DataSegment>
     return size;
   }
 
+  /**
+   * Min/max summaries of the columns selected by {@code IndexSpec#getRangeSummaryColumns()} at ingestion time, keyed
+   * by column name. Empty for segments created without summaries.
+   */
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  public Map<String, ColumnRange> getColumnRanges()
+  {
+    return columnRanges;
+  }
+
   // "identifier" for backward compatibility of JSON API
   @JsonProperty(value = "identifier", access = JsonProperty.Access.READ_ONLY)
   public SegmentId getId()
@@ -286,6 +330,11 @@ public class DataSegment implements Comparable<DataSegment>
     return builder(this).binaryVersion(binaryVersion).build();
   }
 
+  public DataSegment withColumnRanges(Map<String, ColumnRange> columnRanges)
+  {
+    return builder(this).columnRanges(columnRanges).build();
+  }
+
   @Override
   public int compareTo(DataSegment dataSegment)
   {
@@ -320,6 +369,7 @@ public class DataSegment implements Comparable<DataSegment>
            ", interval=" + getInterval() +
            ", dataSource='" + getDataSource() + '\'' +
            ", binaryVersion='" + binaryVersion + '\'' +
+           (columnRanges.isEmpty() ? "" : ", columnRanges=" + columnRanges) +
            '}';
   }
 
@@ -367,10 +417,12 @@ public class DataSegment implements Comparable<DataSegment>
     private ShardSpec shardSpec;
     private Integer binaryVersion;
     private long size;
+    private Map<String, ColumnRange> columnRanges;
 
     public Builder()
     {
       this.loadSpec = ImmutableMap.of();
+      this.columnRanges = ImmutableMap.of();
       this.dimensions = ImmutableList.of();
       this.metrics = ImmutableList.of();
       this.shardSpec = new NumberedShardSpec(0, 1);
@@ -388,6 +440,7 @@ public class DataSegment implements Comparable<DataSegment>
       this.shardSpec = segment.getShardSpec();
       this.binaryVersion = segment.getBinaryVersion();
       this.size = segment.getSize();
+      this.columnRanges = segment.getColumnRanges();
     }
 
     public Builder dataSource(String dataSource)
@@ -444,6 +497,12 @@ public class DataSegment implements Comparable<DataSegment>
       return this;
     }
 
+    public Builder columnRanges(Map<String, ColumnRange> columnRanges)
+    {
+      this.columnRanges = columnRanges;
+      return this;
+    }
+
     public DataSegment build()
     {
       // Check stuff that goes into the id, at least.
@@ -461,7 +520,9 @@ public class DataSegment implements Comparable<DataSegment>
           metrics,
           shardSpec,
           binaryVersion,
-          size
+          size,
+          columnRanges,
+          PruneLoadSpecHolder.DEFAULT
       );
     }
   }
@@ -23,6 +23,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.UOE;
@@ -32,6 +33,7 @@ import org.apache.druid.timeline.partition.PartitionChunk;
 import org.apache.druid.timeline.partition.PartitionHolder;
 import org.joda.time.Interval;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -44,6 +46,7 @@ import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -63,6 +66,12 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * they are overshadowed by some other object.  This can be used in conjunction with the add() and remove() methods
  * to achieve "atomic" updates.  First add new items, then check if those items caused anything to be overshadowed, if
  * so, remove the overshadowed elements and you have effectively updated your data set without any user impact.
+ *
+ * Reads are served from an immutable snapshot of the timeline without locking. Writers are serialized by a lock.
+ * Batched writes through addAll() and removeAll() publish the new snapshot before releasing the lock, so that reads
+ * never wait for a rebuild after them. Single changes through add() and remove() only invalidate the snapshot, so that
+ * a run of them rebuilds it once: the first read after such a change rebuilds the snapshot. Rebuilds are serialized,
+ * reads which find the snapshot outdated while it is being rebuilt wait for the rebuild and share its result.
  */
 public class VersionedIntervalTimeline<VersionType, ObjectType> implements TimelineLookup<VersionType, ObjectType>
 {
@@ -76,6 +85,24 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
   );
   private final Map<Interval, TreeMap<VersionType, TimelineEntry>> allTimelineEntries = new HashMap<>();
 
+  /**
+   * Incremented by every change of the timeline, under the write lock.
+   */
+  private volatile long version = 0;
+
+  /**
+   * Last snapshot served to readers, outdated if its version differs from {@link #version}. See {@link #getSnapshot()}.
+   */
+  @Nullable
+  private volatile Snapshot snapshot = null;
+
+  /**
+   * Serializes the rebuilds of {@link #snapshot} by readers.
+   */
+  private final Object snapshotLock = new Object();
+
+  private final AtomicLong numSnapshotBuilds = new AtomicLong();
+
   private final Comparator<? super VersionType> versionComparator;
 
   public VersionedIntervalTimeline(
@@ -109,6 +136,57 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
     );
   }
 
+  public static void removeSegments(
+      VersionedIntervalTimeline<String, DataSegment> timeline,
+      Iterator<DataSegment> segments
+  )
+  {
+    timeline.removeAll(
+        Iterators.transform(segments, segment -> segment.getShardSpec().createChunk(segment)),
+        DataSegment::getInterval,
+        DataSegment::getVersion
+    );
+  }
+
+  /**
+   * Returns a copy of this timeline which can be changed independently of it. Cheaper than adding all chunks to a new
+   * timeline, since the timeline entries are copied rather than recomputed.
+   */
+  public VersionedIntervalTimeline<VersionType, ObjectType> copy()
+  {
+    final VersionedIntervalTimeline<VersionType, ObjectType> copy = new VersionedIntervalTimeline<>(versionComparator);
+
+    lock.readLock().lock();
+    try {
+      final IdentityHashMap<TimelineEntry, TimelineEntry> copiedEntries = new IdentityHashMap<>();
+      for (Map.Entry<Interval, TreeMap<VersionType, TimelineEntry>> versionEntries : allTimelineEntries.entrySet()) {
+        final TreeMap<VersionType, TimelineEntry> copiedVersionEntries = new TreeMap<>(versionComparator);
+        for (TimelineEntry entry : versionEntries.getValue().values()) {
+          final TimelineEntry copiedEntry = copy.new TimelineEntry(
+              entry.getTrueInterval(),
+              entry.getVersion(),
+              new PartitionHolder<>(entry.getPartitionHolder())
+          );
+          copiedEntries.put(entry, copiedEntry);
+          copiedVersionEntries.put(entry.getVersion(), copiedEntry);
+        }
+        copy.allTimelineEntries.put(versionEntries.getKey(), copiedVersionEntries);
+      }
+
+      // Chunked intervals of the same entry share the copy of the entry, like they share the entry here.
+      for (Map.Entry<Interval, TimelineEntry> entry : completePartitionsTimeline.entrySet()) {
+        copy.completePartitionsTimeline.put(entry.getKey(), copiedEntries.get(entry.getValue()));
+      }
+      for (Map.Entry<Interval, TimelineEntry> entry : incompletePartitionsTimeline.entrySet()) {
+        copy.incompletePartitionsTimeline.put(entry.getKey(), copiedEntries.get(entry.getValue()));
+      }
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+    return copy;
+  }
+
   @VisibleForTesting
   public Map<Interval, TreeMap<VersionType, TimelineEntry>> getAllTimelineEntries()
   {
@@ -117,14 +195,28 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
 
   public void add(final Interval interval, VersionType version, PartitionChunk<ObjectType> object)
   {
-    addAll(Iterators.singletonIterator(object), o -> interval, o -> version);
+    addAll(Iterators.singletonIterator(object), o -> interval, o -> version, false);
   }
 
-  private void addAll(
+  /**
+   * Adds a batch of chunks while holding the write lock once. The interval and version of each chunk are taken from
+   * its object through the given functions.
+   */
+  public void addAll(
       final Iterator<PartitionChunk<ObjectType>> objects,
       final Function<ObjectType, Interval> intervalFunction,
       final Function<ObjectType, VersionType> versionFunction
   )
+  {
+    addAll(objects, intervalFunction, versionFunction, true);
+  }
+
+  private void addAll(
+      final Iterator<PartitionChunk<ObjectType>> objects,
+      final Function<ObjectType, Interval> intervalFunction,
+      final Function<ObjectType, VersionType> versionFunction,
+      final boolean publishSnapshot
+  )
   {
     lock.writeLock().lock();
 
@@ -162,12 +254,20 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
       for (Map.Entry<TimelineEntry, Interval> entry : allEntries.entrySet()) {
         Interval interval = entry.getValue();
 
+        entry.getKey().snapshotHolder = null;
         if (entry.getKey().getPartitionHolder().isComplete()) {
           add(completePartitionsTimeline, interval, entry.getKey());
         }
 
         add(incompletePartitionsTimeline, interval, entry.getKey());
       }
+
+      if (!allEntries.isEmpty()) {
+        version++;
+        if (publishSnapshot) {
+          publishSnapshot();
+        }
+      }
     }
     finally {
       lock.writeLock().unlock();
@@ -176,31 +276,89 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
 
   public PartitionChunk<ObjectType> remove(Interval interval, VersionType version, PartitionChunk<ObjectType> chunk)
   {
+    final List<PartitionChunk<ObjectType>> removed = removeAll(
+        Iterators.singletonIterator(chunk),
+        o -> interval,
+        o -> version,
+        false
+    );
+    return removed.isEmpty() ? null : removed.get(0);
+  }
+
+  /**
+   * Removes a batch of chunks while holding the write lock once. Like {@link #addAll}, the interval and version of
+   * each chunk are taken from its object through the given functions.
+   *
+   * @return the chunks which were present in the timeline and got removed
+   */
+  public List<PartitionChunk<ObjectType>> removeAll(
+      final Iterator<PartitionChunk<ObjectType>> objects,
+      final Function<ObjectType, Interval> intervalFunction,
+      final Function<ObjectType, VersionType> versionFunction
+  )
+  {
+    return removeAll(objects, intervalFunction, versionFunction, true);
+  }
+
+  private List<PartitionChunk<ObjectType>> removeAll(
+      final Iterator<PartitionChunk<ObjectType>> objects,
+      final Function<ObjectType, Interval> intervalFunction,
+      final Function<ObjectType, VersionType> versionFunction,
+      final boolean publishSnapshot
+  )
+  {
+    lock.writeLock().lock();
+
     try {
-      lock.writeLock().lock();
+      final List<PartitionChunk<ObjectType>> retVal = new ArrayList<>();
+      final IdentityHashMap<TimelineEntry, Interval> allEntries = new IdentityHashMap<>();
 
-      Map<VersionType, TimelineEntry> versionEntries = allTimelineEntries.get(interval);
-      if (versionEntries == null) {
-        return null;
-      }
+      while (objects.hasNext()) {
+        PartitionChunk<ObjectType> chunk = objects.next();
+        Interval interval = intervalFunction.apply(chunk.getObject());
+        VersionType version = versionFunction.apply(chunk.getObject());
+        Map<VersionType, TimelineEntry> versionEntries = allTimelineEntries.get(interval);
+        if (versionEntries == null) {
+          continue;
+        }
 
-      TimelineEntry entry = versionEntries.get(version);
-      if (entry == null) {
-        return null;
-      }
+        TimelineEntry entry = versionEntries.get(version);
+        if (entry == null) {
+          continue;
+        }
 
-      PartitionChunk<ObjectType> retVal = entry.getPartitionHolder().remove(chunk);
-      if (entry.getPartitionHolder().isEmpty()) {
-        versionEntries.remove(version);
-        if (versionEntries.isEmpty()) {
-          allTimelineEntries.remove(interval);
+        PartitionChunk<ObjectType> removed = entry.getPartitionHolder().remove(chunk);
+        if (removed != null) {
+          retVal.add(removed);
+        }
+        if (entry.getPartitionHolder().isEmpty()) {
+          versionEntries.remove(version);
+          if (versionEntries.isEmpty()) {
+            allTimelineEntries.remove(interval);
+          }
         }
 
-        remove(incompletePartitionsTimeline, interval, entry, true);
+        allEntries.put(entry, interval);
       }
 
-      remove(completePartitionsTimeline, interval, entry, false);
+      // Rebuilding the timelines scans all entries, so do it once per affected entry rather than once per chunk.
+      for (Map.Entry<TimelineEntry, Interval> entry : allEntries.entrySet()) {
+        Interval interval = entry.getValue();
+
+        entry.getKey().snapshotHolder = null;
+        if (entry.getKey().getPartitionHolder().isEmpty()) {
+          remove(incompletePartitionsTimeline, interval, entry.getKey(), true);
+        }
 
+        remove(completePartitionsTimeline, interval, entry.getKey(), false);
+      }
+
+      if (!allEntries.isEmpty()) {
+        version++;
+        if (publishSnapshot) {
+          publishSnapshot();
+        }
+      }
       return retVal;
     }
     finally {
@@ -208,27 +366,70 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
     }
   }
 
-  @Override
-  public PartitionHolder<ObjectType> findEntry(Interval interval, VersionType version)
+  /**
+   * Returns a snapshot which reflects every change made before this call. An outdated snapshot is not served while it
+   * is being rebuilt, since it may miss changes which the caller has observed.
+   */
+  private Snapshot getSnapshot()
   {
-    try {
+    final Snapshot currentSnapshot = snapshot;
+    if (currentSnapshot != null && currentSnapshot.version == version) {
+      return currentSnapshot;
+    }
+
+    synchronized (snapshotLock) {
+      // Another reader may have rebuilt the snapshot while this one was waiting.
+      final Snapshot rebuiltSnapshot = snapshot;
+      if (rebuiltSnapshot != null && rebuiltSnapshot.version == version) {
+        return rebuiltSnapshot;
+      }
+
       lock.readLock().lock();
-      for (Map.Entry<Interval, TreeMap<VersionType, TimelineEntry>> entry : allTimelineEntries.entrySet()) {
-        if (entry.getKey().equals(interval) || entry.getKey().contains(interval)) {
-          TimelineEntry foundEntry = entry.getValue().get(version);
-          if (foundEntry != null) {
-            return new ImmutablePartitionHolder<ObjectType>(
-                foundEntry.getPartitionHolder()
-            );
-          }
+      try {
+        // A batched writer may have published the snapshot while this reader was waiting for the lock.
+        final Snapshot publishedSnapshot = snapshot;
+        if (publishedSnapshot != null && publishedSnapshot.version == version) {
+          return publishedSnapshot;
         }
+        return publishSnapshot();
+      }
+      finally {
+        lock.readLock().unlock();
       }
-
-      return null;
     }
-    finally {
-      lock.readLock().unlock();
+  }
+
+  /**
+   * Builds and publishes the snapshot of the current version. Must be called while holding the read or write lock.
+   */
+  private Snapshot publishSnapshot()
+  {
+    final Snapshot newSnapshot = new Snapshot(version);
+    numSnapshotBuilds.incrementAndGet();
+    snapshot = newSnapshot;
+    return newSnapshot;
+  }
+
+  @VisibleForTesting
+  long getNumSnapshotBuilds()
+  {
+    return numSnapshotBuilds.get();
+  }
+
+  @Override
+  public PartitionHolder<ObjectType> findEntry(Interval interval, VersionType version)
+  {
+    for (Map.Entry<Interval, Map<VersionType, ImmutablePartitionHolder<ObjectType>>> entry :
+        getSnapshot().allEntries.entrySet()) {
+      if (entry.getKey().equals(interval) || entry.getKey().contains(interval)) {
+        ImmutablePartitionHolder<ObjectType> foundEntry = entry.getValue().get(version);
+        if (foundEntry != null) {
+          return foundEntry;
+        }
+      }
     }
+
+    return null;
   }
 
   /**
@@ -243,58 +444,40 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
   @Override
   public List<TimelineObjectHolder<VersionType, ObjectType>> lookup(Interval interval)
   {
-    try {
-      lock.readLock().lock();
-      return lookup(interval, false);
-    }
-    finally {
-      lock.readLock().unlock();
-    }
+    return lookup(interval, false);
   }
 
   @Override
   public List<TimelineObjectHolder<VersionType, ObjectType>> lookupWithIncompletePartitions(Interval interval)
   {
-    try {
-      lock.readLock().lock();
-      return lookup(interval, true);
-    }
-    finally {
-      lock.readLock().unlock();
-    }
+    return lookup(interval, true);
   }
 
   public boolean isEmpty()
   {
-    try {
-      lock.readLock().lock();
-      return completePartitionsTimeline.isEmpty();
-    }
-    finally {
-      lock.readLock().unlock();
-    }
+    return getSnapshot().completePartitions.isEmpty();
   }
 
   public TimelineObjectHolder<VersionType, ObjectType> first()
   {
-    try {
-      lock.readLock().lock();
-      return timelineEntryToObjectHolder(completePartitionsTimeline.firstEntry().getValue());
-    }
-    finally {
-      lock.readLock().unlock();
-    }
+    return snapshotToObjectHolder(getSnapshot().completePartitions.firstEntry().getValue());
   }
 
   public TimelineObjectHolder<VersionType, ObjectType> last()
   {
-    try {
-      lock.readLock().lock();
-      return timelineEntryToObjectHolder(completePartitionsTimeline.lastEntry().getValue());
-    }
-    finally {
-      lock.readLock().unlock();
-    }
+    return snapshotToObjectHolder(getSnapshot().completePartitions.lastEntry().getValue());
+  }
+
+  private TimelineObjectHolder<VersionType, ObjectType> snapshotToObjectHolder(
+      TimelineObjectHolder<VersionType, ObjectType> holder
+  )
+  {
+    return new TimelineObjectHolder<>(
+        holder.getTrueInterval(),
+        holder.getTrueInterval(),
+        holder.getVersion(),
+        new PartitionHolder<>(holder.getObject())
+    );
   }
 
   private TimelineObjectHolder<VersionType, ObjectType> timelineEntryToObjectHolder(TimelineEntry entry)
@@ -356,44 +539,40 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
 
   public boolean isOvershadowed(Interval interval, VersionType version)
   {
-    try {
-      lock.readLock().lock();
+    final NavigableMap<Interval, TimelineObjectHolder<VersionType, ObjectType>> timeline =
+        getSnapshot().completePartitions;
 
-      TimelineEntry entry = completePartitionsTimeline.get(interval);
-      if (entry != null) {
-        return versionComparator.compare(version, entry.getVersion()) < 0;
-      }
+    TimelineObjectHolder<VersionType, ObjectType> entry = timeline.get(interval);
+    if (entry != null) {
+      return versionComparator.compare(version, entry.getVersion()) < 0;
+    }
 
-      Interval lower = completePartitionsTimeline.floorKey(
-          new Interval(interval.getStart(), DateTimes.MAX)
-      );
+    Interval lower = timeline.floorKey(
+        new Interval(interval.getStart(), DateTimes.MAX)
+    );
 
-      if (lower == null || !lower.overlaps(interval)) {
-        return false;
-      }
+    if (lower == null || !lower.overlaps(interval)) {
+      return false;
+    }
 
-      Interval prev = null;
-      Interval curr = lower;
+    Interval prev = null;
+    Interval curr = lower;
 
-      do {
-        if (curr == null ||  //no further keys
-            (prev != null && curr.getStartMillis() > prev.getEndMillis()) || //a discontinuity
-            //lower or same version
-            versionComparator.compare(version, completePartitionsTimeline.get(curr).getVersion()) >= 0
-            ) {
-          return false;
-        }
+    do {
+      if (curr == null ||  //no further keys
+          (prev != null && curr.getStartMillis() > prev.getEndMillis()) || //a discontinuity
+          //lower or same version
+          versionComparator.compare(version, timeline.get(curr).getVersion()) >= 0
+          ) {
+        return false;
+      }
 
-        prev = curr;
-        curr = completePartitionsTimeline.higherKey(curr);
+      prev = curr;
+      curr = timeline.higherKey(curr);
 
-      } while (interval.getEndMillis() > prev.getEndMillis());
+    } while (interval.getEndMillis() > prev.getEndMillis());
 
-      return true;
-    }
-    finally {
-      lock.readLock().unlock();
-    }
+    return true;
   }
 
   private void add(
@@ -577,13 +756,13 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
   private List<TimelineObjectHolder<VersionType, ObjectType>> lookup(Interval interval, boolean incompleteOk)
   {
     List<TimelineObjectHolder<VersionType, ObjectType>> retVal = new ArrayList<TimelineObjectHolder<VersionType, ObjectType>>();
-    NavigableMap<Interval, TimelineEntry> timeline = (incompleteOk)
-                                                     ? incompletePartitionsTimeline
-                                                     : completePartitionsTimeline;
+    final Snapshot currentSnapshot = getSnapshot();
+    NavigableMap<Interval, TimelineObjectHolder<VersionType, ObjectType>> timeline = (incompleteOk)
+        ? currentSnapshot.incompletePartitions
+        : currentSnapshot.completePartitions;
 
-    for (Map.Entry<Interval, TimelineEntry> entry : timeline.entrySet()) {
-      Interval timelineInterval = entry.getKey();
-      TimelineEntry val = entry.getValue();
+    for (TimelineObjectHolder<VersionType, ObjectType> val : timeline.values()) {
+      Interval timelineInterval = val.getInterval();
 
       if (timelineInterval.overlaps(interval)) {
         retVal.add(
@@ -591,7 +770,7 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
                 timelineInterval,
                 val.getTrueInterval(),
                 val.getVersion(),
-                new PartitionHolder<>(val.getPartitionHolder())
+                new PartitionHolder<>(val.getObject())
             )
         );
       }
@@ -631,12 +810,68 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
     return retVal;
   }
 
+  /**
+   * Immutable copy of the timeline, built under the read lock. Partition holders of entries which did not change
+   * since the previous snapshot are shared with it.
+   */
+  private class Snapshot
+  {
+    private final long version;
+    private final NavigableMap<Interval, TimelineObjectHolder<VersionType, ObjectType>> completePartitions;
+    private final NavigableMap<Interval, TimelineObjectHolder<VersionType, ObjectType>> incompletePartitions;
+    private final Map<Interval, Map<VersionType, ImmutablePartitionHolder<ObjectType>>> allEntries;
+
+    Snapshot(long version)
+    {
+      this.version = version;
+      this.completePartitions = copyTimeline(completePartitionsTimeline);
+      this.incompletePartitions = copyTimeline(incompletePartitionsTimeline);
+      this.allEntries = Maps.newHashMapWithExpectedSize(allTimelineEntries.size());
+      for (Map.Entry<Interval, TreeMap<VersionType, TimelineEntry>> entry : allTimelineEntries.entrySet()) {
+        final Map<VersionType, ImmutablePartitionHolder<ObjectType>> versions =
+            Maps.newHashMapWithExpectedSize(entry.getValue().size());
+        for (TimelineEntry timelineEntry : entry.getValue().values()) {
+          versions.put(timelineEntry.getVersion(), timelineEntry.getSnapshotHolder());
+        }
+        allEntries.put(entry.getKey(), versions);
+      }
+    }
+
+    private NavigableMap<Interval, TimelineObjectHolder<VersionType, ObjectType>> copyTimeline(
+        NavigableMap<Interval, TimelineEntry> timeline
+    )
+    {
+      final NavigableMap<Interval, TimelineObjectHolder<VersionType, ObjectType>> copy = new TreeMap<>(
+          Comparators.intervalsByStartThenEnd()
+      );
+      for (Map.Entry<Interval, TimelineEntry> entry : timeline.entrySet()) {
+        final TimelineEntry timelineEntry = entry.getValue();
+        copy.put(
+            entry.getKey(),
+            new TimelineObjectHolder<>(
+                entry.getKey(),
+                timelineEntry.getTrueInterval(),
+                timelineEntry.getVersion(),
+                timelineEntry.getSnapshotHolder()
+            )
+        );
+      }
+      return copy;
+    }
+  }
+
   public class TimelineEntry
   {
     private final Interval trueInterval;
     private final VersionType version;
     private final PartitionHolder<ObjectType> partitionHolder;
 
+    /**
+     * Immutable copy of {@link #partitionHolder} for {@link Snapshot}s, reset whenever the holder changes.
+     */
+    @Nullable
+    private volatile ImmutablePartitionHolder<ObjectType> snapshotHolder;
+
     TimelineEntry(Interval trueInterval, VersionType version, PartitionHolder<ObjectType> partitionHolder)
     {
       this.trueInterval = Preconditions.checkNotNull(trueInterval);
@@ -659,6 +894,14 @@ public class VersionedIntervalTimeline<VersionType, ObjectType> implements Timel
       return partitionHolder;
     }
 
+    private ImmutablePartitionHolder<ObjectType> getSnapshotHolder()
+    {
+      if (snapshotHolder == null) {
+        snapshotHolder = new ImmutablePartitionHolder<>(partitionHolder);
+      }
+      return snapshotHolder;
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.timeline.partition;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+
+import java.util.Objects;
+
+/**
+ * {@link ColumnRange} of a long, float or double column. Values of all numeric types are summarized as doubles. The
+ * conversion from long may round, but it preserves ordering, so comparing with the doubles of a filter domain is
+ * still safe as long as the domain is built from closed ranges.
+ */
+public class NumericColumnRange implements ColumnRange
+{
+  private final double min;
+  private final double max;
+
+  @JsonCreator
+  public NumericColumnRange(
+      @JsonProperty("min") double min,
+      @JsonProperty("max") double max
+  )
+  {
+    Preconditions.checkArgument(!Double.isNaN(min) && !Double.isNaN(max), "min and max must be numbers");
+    Preconditions.checkArgument(min <= max, "min[%s] is greater than max[%s]", min, max);
+    this.min = normalize(min);
+    this.max = normalize(max);
+  }
+
+  /**
+   * {@link Double#compareTo} orders -0.0 before 0.0 while they are equal as column values, so ranges compared with
+   * this one should be built from normalized values.
+   */
+  public static double normalize(double value)
+  {
+    return value + 0.0d;
+  }
+
+  @JsonProperty
+  public double getMin()
+  {
+    return min;
+  }
+
+  @JsonProperty
+  public double getMax()
+  {
+    return max;
+  }
+
+  public Range<Double> getRange()
+  {
+    return Range.closed(min, max);
+  }
+
+  /**
+   * if given domain range is not possible in this column, return false; otherwise return true;
+   */
+  public boolean possibleInDomain(RangeSet<Double> domain)
+  {
+    return !domain.subRangeSet(getRange()).isEmpty();
+  }
+
+  @Override
+  public boolean equals(Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    NumericColumnRange that = (NumericColumnRange) o;
+    return Double.compare(min, that.min) == 0 &&
+           Double.compare(max, that.max) == 0;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(min, max);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "NumericColumnRange{" +
+           "min=" + min +
+           ", max=" + max +
+           '}';
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.timeline.partition;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * {@link ColumnRange} of a string column, compared lexicographically like the dictionary of the column.
+ */
+public class StringColumnRange implements ColumnRange
+{
+  @Nullable
+  private final String min;
+  private final String max;
+
+  /**
+   * @param min the smallest value of the column, or null if the column contains null values. Nulls sort before all
+   *            other values, so there is no lower bound in that case.
+   * @param max the largest value of the column
+   */
+  @JsonCreator
+  public StringColumnRange(
+      @JsonProperty("min") @Nullable String min,
+      @JsonProperty("max") String max
+  )
+  {
+    this.min = min;
+    this.max = Preconditions.checkNotNull(max, "max");
+  }
+
+  @Nullable
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public String getMin()
+  {
+    return min;
+  }
+
+  @JsonProperty
+  public String getMax()
+  {
+    return max;
+  }
+
+  public Range<String> getRange()
+  {
+    return min == null ? Range.atMost(max) : Range.closed(min, max);
+  }
+
+  /**
+   * if given domain range is not possible in this column, return false; otherwise return true;
+   */
+  public boolean possibleInDomain(RangeSet<String> domain)
+  {
+    return !domain.subRangeSet(getRange()).isEmpty();
+  }
+
+  @Override
+  public boolean equals(Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    StringColumnRange that = (StringColumnRange) o;
+    return Objects.equals(min, that.min) &&
+           max.equals(that.max);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(min, max);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "StringColumnRange{" +
+           "min='" + min + '\'' +
+           ", max='" + max + '\'' +
+           '}';
+  }
+}
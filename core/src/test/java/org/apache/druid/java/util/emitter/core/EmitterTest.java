@@ -50,6 +50,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
@@ -595,6 +600,130 @@ public class EmitterTest
     Assert.assertTrue(httpClient.succeeded());
   }
 
+  @Test(timeout = 60_000L)
+  public void testConcurrentEmittingThreads() throws Exception
+  {
+    HttpEmitterConfig config = new HttpEmitterConfig.Builder(TARGET_URL)
+        .setFlushMillis(Long.MAX_VALUE)
+        .setFlushCount(2)
+        .setNumEmittingThreads(2)
+        .build();
+    emitter = new HttpPostEmitter(config, httpClient, jsonMapper);
+    emitter.start();
+
+    // Each request waits for the other one, so they succeed only if sent concurrently
+    final CountDownLatch inFlight = new CountDownLatch(2);
+    httpClient.setGoHandler(
+        new GoHandler()
+        {
+          @Override
+          protected ListenableFuture<Response> go(Request request) throws InterruptedException
+          {
+            inFlight.countDown();
+            if (!inFlight.await(10, TimeUnit.SECONDS)) {
+              return GoHandlers.immediateFuture(BAD_RESPONSE);
+            }
+            return GoHandlers.immediateFuture(okResponse());
+          }
+        }.times(2)
+    );
+
+    for (int i = 1; i <= 4; i++) {
+      emitter.emit(new UnitEvent("test", i));
+    }
+    waitForEmission(emitter, 2);
+    closeNoFlush(emitter);
+    emitter.joinEmitterThread();
+
+    Assert.assertEquals(4, emitter.getTotalEmittedEvents());
+    Assert.assertEquals(0, emitter.getTotalDroppedEvents());
+    Assert.assertEquals(0, emitter.getEmitLagMillis());
+    Assert.assertTrue(httpClient.succeeded());
+  }
+
+  @Test(timeout = 60_000L)
+  public void testFlushWaitsForEarlierBatchesOfOtherEmittingThreads() throws Exception
+  {
+    HttpEmitterConfig config = new HttpEmitterConfig.Builder(TARGET_URL)
+        .setFlushMillis(Long.MAX_VALUE)
+        .setFlushCount(2)
+        .setNumEmittingThreads(2)
+        .build();
+    emitter = new HttpPostEmitter(config, httpClient, jsonMapper);
+    emitter.start();
+
+    // The first batch is held by one emitting thread, while the other thread sends the later batches
+    final CountDownLatch firstBatchInFlight = new CountDownLatch(1);
+    final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    final CountDownLatch laterBatchesSent = new CountDownLatch(3);
+    final AtomicInteger requests = new AtomicInteger();
+    httpClient.setGoHandler(
+        new GoHandler()
+        {
+          @Override
+          protected ListenableFuture<Response> go(Request request) throws InterruptedException
+          {
+            if (requests.getAndIncrement() == 0) {
+              firstBatchInFlight.countDown();
+              releaseFirstBatch.await();
+            } else {
+              laterBatchesSent.countDown();
+            }
+            return GoHandlers.immediateFuture(okResponse());
+          }
+        }.times(4)
+    );
+
+    emitter.emit(new UnitEvent("test", 1));
+    emitter.emit(new UnitEvent("test", 2));
+    firstBatchInFlight.await();
+
+    final ExecutorService flushExec = Executors.newSingleThreadExecutor();
+    try {
+      final Future<?> flushFuture = flushExec.submit(() -> {
+        emitter.flush();
+        return null;
+      });
+      for (int i = 3; i <= 8; i++) {
+        emitter.emit(new UnitEvent("test", i));
+      }
+      laterBatchesSent.await();
+
+      try {
+        flushFuture.get(500, TimeUnit.MILLISECONDS);
+        Assert.fail("flush() returned while the first batch was still being sent");
+      }
+      catch (TimeoutException e) {
+        // expected
+      }
+
+      releaseFirstBatch.countDown();
+      flushFuture.get();
+    }
+    finally {
+      releaseFirstBatch.countDown();
+      flushExec.shutdownNow();
+    }
+    closeNoFlush(emitter);
+
+    Assert.assertEquals(8, emitter.getTotalEmittedEvents());
+    Assert.assertTrue(httpClient.succeeded());
+  }
+
+  @Test
+  public void testTooLargeEventIsDropped() throws Exception
+  {
+    emitter = sizeBasedEmitter(1);
+    final byte[] tooLarge = new byte[1024 * 1024];
+    Arrays.fill(tooLarge, (byte) 'x');
+
+    emitter.emit(new UnitEvent(StringUtils.fromUtf8(tooLarge), 1));
+
+    Assert.assertEquals(1, emitter.getTotalDroppedEvents());
+    Assert.assertEquals(0, emitter.getTotalEmittedEvents());
+    closeNoFlush(emitter);
+  }
+
   private void closeAndExpectFlush(Emitter emitter) throws IOException
   {
     httpClient.setGoHandler(GoHandlers.passingHandler(okResponse()).times(1));
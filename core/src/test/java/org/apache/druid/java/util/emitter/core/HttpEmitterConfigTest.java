@@ -93,6 +93,7 @@ public class HttpEmitterConfigTest
     props.setProperty("org.apache.druid.java.util.emitter.batchQueueSizeLimit", "2500");
     props.setProperty("org.apache.druid.java.util.emitter.httpTimeoutAllowanceFactor", "3.0");
     props.setProperty("org.apache.druid.java.util.emitter.minHttpTimeoutMillis", "100");
+    props.setProperty("org.apache.druid.java.util.emitter.numEmittingThreads", "4");
 
     final ObjectMapper objectMapper = new ObjectMapper();
     final HttpEmitterConfig config = objectMapper.convertValue(
@@ -110,6 +111,7 @@ public class HttpEmitterConfigTest
     Assert.assertEquals(2500, config.getBatchQueueSizeLimit());
     Assert.assertEquals(3.0f, config.getHttpTimeoutAllowanceFactor(), 0.0f);
     Assert.assertEquals(100, config.getMinHttpTimeoutMillis());
+    Assert.assertEquals(4, config.getNumEmittingThreads());
   }
 
   @Test
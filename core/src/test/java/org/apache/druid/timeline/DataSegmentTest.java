@@ -30,9 +30,11 @@ import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.Intervals;
 import org.apache.druid.java.util.common.jackson.JacksonUtils;
 import org.apache.druid.timeline.partition.NoneShardSpec;
+import org.apache.druid.timeline.partition.NumericColumnRange;
 import org.apache.druid.timeline.partition.PartitionChunk;
 import org.apache.druid.timeline.partition.ShardSpec;
 import org.apache.druid.timeline.partition.ShardSpecLookup;
+import org.apache.druid.timeline.partition.StringColumnRange;
 import org.joda.time.Interval;
 import org.junit.Assert;
 import org.junit.Before;
@@ -160,6 +162,40 @@ public class DataSegmentTest
     Assert.assertEquals(segment.hashCode(), deserializedSegment.hashCode());
   }
 
+  @Test
+  public void testSerializationWithColumnRanges() throws Exception
+  {
+    final DataSegment segment = DataSegment.builder()
+                                           .dataSource("foo")
+                                           .interval(Intervals.of("2012-01-01/2012-01-02"))
+                                           .version(DateTimes.of("2012-01-01T11:22:33.444Z").toString())
+                                           .columnRanges(
+                                               ImmutableMap.of(
+                                                   "dim1", new StringColumnRange("a", "c"),
+                                                   "dim2", new StringColumnRange(null, "b"),
+                                                   "met1", new NumericColumnRange(-0.0, 10)
+                                               )
+                                           )
+                                           .build();
+
+    final Map<String, Object> objectMap = mapper.readValue(
+        mapper.writeValueAsString(segment),
+        JacksonUtils.TYPE_REFERENCE_MAP_STRING_OBJECT
+    );
+    Assert.assertEquals(
+        ImmutableMap.of(
+            "dim1", ImmutableMap.of("type", "string", "min", "a", "max", "c"),
+            "dim2", ImmutableMap.of("type", "string", "max", "b"),
+            "met1", ImmutableMap.of("type", "numeric", "min", 0.0, "max", 10.0)
+        ),
+        objectMap.get("columnRanges")
+    );
+
+    final DataSegment deserializedSegment = mapper.readValue(mapper.writeValueAsString(segment), DataSegment.class);
+    Assert.assertEquals(segment.getColumnRanges(), deserializedSegment.getColumnRanges());
+    Assert.assertEquals(ImmutableMap.of(), segment.withColumnRanges(null).getColumnRanges());
+  }
+
   @Test
   public void testIdentifier()
   {
@@ -21,6 +21,7 @@ package org.apache.druid.timeline;
 
 import com.google.common.base.Function;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Ordering;
@@ -41,11 +42,19 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  */
@@ -199,6 +208,244 @@ public class VersionedIntervalTimelineTest
     );
   }
 
+  @Test
+  public void testRemoveAll()
+  {
+    final Map<Integer, Interval> intervals = ImmutableMap.of(
+        9, Intervals.of("2011-05-01/2011-05-10"),
+        7, Intervals.of("2011-05-01/2011-05-05"),
+        20, Intervals.of("2011-10-02/2011-10-03"),
+        21, Intervals.of("2011-10-02/2011-10-03"),
+        99, Intervals.of("2011-12-01/2011-12-02")
+    );
+    final Map<Integer, String> versions = ImmutableMap.of(9, "4", 7, "2", 20, "3", 21, "3", 99, "1");
+
+    final List<PartitionChunk<Integer>> removed = timeline.removeAll(
+        Arrays.asList(
+            makeSingle(9),
+            makeSingle(7),
+            IntegerPartitionChunk.make(null, 10, 0, 20),
+            IntegerPartitionChunk.make(10, null, 1, 21),
+            makeSingle(99)
+        ).iterator(),
+        intervals::get,
+        versions::get
+    );
+
+    Assert.assertEquals(4, removed.size());
+    assertValues(
+        Arrays.asList(
+            createExpected("2011-05-01/2011-05-02", "1", 6),
+            createExpected("2011-05-03/2011-05-04", "3", 8)
+        ),
+        timeline.lookup(Intervals.of("2011-05-01/2011-05-09"))
+    );
+    assertValues(
+        Arrays.asList(
+            createExpected("2011-10-01/2011-10-02", "1", 1),
+            createExpected("2011-10-03/2011-10-04", "3", 3),
+            createExpected("2011-10-04/2011-10-05", "4", 4),
+            createExpected("2011-10-05/2011-10-06", "5", 5)
+        ),
+        timeline.lookupWithIncompletePartitions(Intervals.of("2011-10-01/2011-10-06"))
+    );
+  }
+
+  @Test(timeout = 60_000L)
+  public void testLookupDuringConcurrentWrites() throws Exception
+  {
+    final Interval interval = Intervals.of("2012-01-01/2012-01-02");
+    final AtomicBoolean done = new AtomicBoolean(false);
+    final ExecutorService exec = Executors.newSingleThreadExecutor();
+    final Future<Integer> lookups = exec.submit(
+        () -> {
+          int numLookups = 0;
+          while (!done.get()) {
+            for (TimelineObjectHolder<String, Integer> holder : timeline.lookup(interval)) {
+              // Both chunks are added and removed in one batch, so a half-written entry must never be visible.
+              Assert.assertTrue(holder.getObject().isComplete());
+              Assert.assertEquals(2, Iterables.size(holder.getObject()));
+            }
+            numLookups++;
+          }
+          return numLookups;
+        }
+    );
+
+    try {
+      for (int i = 0; i < 1000; i++) {
+        final String version = String.valueOf(i);
+        final List<PartitionChunk<Integer>> chunks = Arrays.asList(
+            IntegerPartitionChunk.make(null, 10, 0, 2 * i),
+            IntegerPartitionChunk.make(10, null, 1, 2 * i + 1)
+        );
+        timeline.addAll(chunks.iterator(), object -> interval, object -> version);
+        if (i % 2 == 0) {
+          Assert.assertEquals(2, timeline.removeAll(chunks.iterator(), object -> interval, object -> version).size());
+        }
+      }
+    }
+    finally {
+      done.set(true);
+    }
+
+    Assert.assertTrue(lookups.get() > 0);
+    exec.shutdownNow();
+    assertValues(
+        Collections.singletonList(
+            createExpected(
+                "2012-01-01/2012-01-02",
+                "999",
+                Arrays.asList(
+                    IntegerPartitionChunk.make(null, 10, 0, 1998),
+                    IntegerPartitionChunk.make(10, null, 1, 1999)
+                )
+            )
+        ),
+        timeline.lookup(interval)
+    );
+  }
+
+  @Test(timeout = 60_000L)
+  public void testConcurrentLookupsSeeCompletedWrites() throws Exception
+  {
+    final int numDays = 2000;
+    final Interval interval = Intervals.of("2012-01-01/P%dD", numDays);
+    final AtomicInteger numDaysAdded = new AtomicInteger(0);
+    final ExecutorService exec = Executors.newFixedThreadPool(4);
+    final List<Future<Integer>> lookups = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      lookups.add(
+          exec.submit(
+              () -> {
+                int numLookups = 0;
+                int numDaysSeen = 0;
+                while (numDaysSeen < numDays) {
+                  // Days added before the lookup started must be visible to it, even while other readers rebuild
+                  // the snapshot.
+                  final int minDays = numDaysAdded.get();
+                  numDaysSeen = timeline.lookup(interval).size();
+                  Assert.assertTrue(numDaysSeen >= minDays);
+                  numLookups++;
+                }
+                return numLookups;
+              }
+          )
+      );
+    }
+
+    try {
+      final DateTime start = interval.getStart();
+      for (int i = 0; i < numDays; i++) {
+        add(new Interval(start.plusDays(i), start.plusDays(i + 1)), "1", i);
+        numDaysAdded.incrementAndGet();
+      }
+      for (Future<Integer> future : lookups) {
+        Assert.assertTrue(future.get() > 0);
+      }
+    }
+    finally {
+      exec.shutdownNow();
+    }
+  }
+
+  @Test(timeout = 60_000L)
+  public void testConcurrentLookupsShareSnapshotRebuild() throws Exception
+  {
+    final Interval interval = Intervals.of("2012-01-01/P2000D");
+    final DateTime start = interval.getStart();
+    for (int i = 0; i < 2000; i++) {
+      add(new Interval(start.plusDays(i), start.plusDays(i + 1)), "1", i);
+    }
+    timeline.lookup(interval);
+    final long numSnapshotBuilds = timeline.getNumSnapshotBuilds();
+
+    add(new Interval(start.minusDays(1), start), "1", -1);
+    final int numReaders = 8;
+    final CyclicBarrier barrier = new CyclicBarrier(numReaders);
+    final ExecutorService exec = Executors.newFixedThreadPool(numReaders);
+    try {
+      final List<Future<Integer>> lookups = new ArrayList<>();
+      for (int i = 0; i < numReaders; i++) {
+        lookups.add(
+            exec.submit(
+                () -> {
+                  barrier.await();
+                  return timeline.lookup(new Interval(start.minusDays(1), interval.getEnd())).size();
+                }
+            )
+        );
+      }
+      for (Future<Integer> future : lookups) {
+        Assert.assertEquals(2001, (int) future.get());
+      }
+    }
+    finally {
+      exec.shutdownNow();
+    }
+
+    // The readers which found the snapshot outdated waited for a single rebuild
+    Assert.assertEquals(numSnapshotBuilds + 1, timeline.getNumSnapshotBuilds());
+  }
+
+  @Test
+  public void testBatchedWritesPublishSnapshot()
+  {
+    final Interval interval = Intervals.of("2012-01-01/P2000D");
+    final DateTime start = interval.getStart();
+    final List<PartitionChunk<Integer>> chunks = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      chunks.add(makeSingle(i));
+    }
+    final Function<Integer, Interval> intervalFunction = i -> new Interval(start.plusDays(i), start.plusDays(i + 1));
+
+    timeline.addAll(chunks.iterator(), intervalFunction, i -> "1");
+    final long numSnapshotBuilds = timeline.getNumSnapshotBuilds();
+    Assert.assertEquals(2000, timeline.lookup(interval).size());
+    Assert.assertEquals(numSnapshotBuilds, timeline.getNumSnapshotBuilds());
+
+    Assert.assertEquals(1000, timeline.removeAll(chunks.subList(0, 1000).iterator(), intervalFunction, i -> "1").size());
+    Assert.assertEquals(numSnapshotBuilds + 1, timeline.getNumSnapshotBuilds());
+    Assert.assertEquals(1000, timeline.lookup(interval).size());
+    Assert.assertEquals(numSnapshotBuilds + 1, timeline.getNumSnapshotBuilds());
+
+    // Single changes are only published by the next read
+    add(new Interval(start.minusDays(1), start), "1", -1);
+    Assert.assertEquals(numSnapshotBuilds + 1, timeline.getNumSnapshotBuilds());
+    Assert.assertEquals(1001, timeline.lookup(new Interval(start.minusDays(1), interval.getEnd())).size());
+    Assert.assertEquals(numSnapshotBuilds + 2, timeline.getNumSnapshotBuilds());
+  }
+
+  @Test
+  public void testCopy()
+  {
+    final Interval april = Intervals.of("2011-04-01/2011-04-09");
+    final List<Pair<Interval, Pair<String, PartitionHolder<Integer>>>> expectedApril = Arrays.asList(
+        createExpected("2011-04-01/2011-04-02", "3", 5),
+        createExpected("2011-04-02/2011-04-06", "2", 1),
+        createExpected("2011-04-06/2011-04-09", "3", 4)
+    );
+    final VersionedIntervalTimeline<String, Integer> copy = timeline.copy();
+    assertValues(expectedApril, copy.lookup(april));
+    Assert.assertTrue(copy.isOvershadowed(Intervals.of("2011-04-01/2011-04-03"), "1"));
+
+    // Changes of the copy are not visible in the original, and the other way round
+    copy.add(april, "4", makeSingle(6));
+    timeline.remove(Intervals.of("2011-04-01/2011-04-02"), "3", makeSingle(5));
+    assertValues(Collections.singletonList(createExpected("2011-04-01/2011-04-09", "4", 6)), copy.lookup(april));
+    assertValues(
+        Arrays.asList(
+            createExpected("2011-04-01/2011-04-06", "2", 1),
+            createExpected("2011-04-06/2011-04-09", "3", 4)
+        ),
+        timeline.lookup(april)
+    );
+    Assert.assertEquals(
+        timeline.lookup(Intervals.of("2011-05-01/2011-10-06")).size(),
+        copy.lookup(Intervals.of("2011-05-01/2011-10-06")).size()
+    );
+  }
+
   @Test
   public void testInsertInWrongOrder()
   {
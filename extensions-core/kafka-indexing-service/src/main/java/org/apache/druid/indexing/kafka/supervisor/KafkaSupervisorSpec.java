@@ -85,6 +85,7 @@ public class KafkaSupervisorSpec extends SeekableStreamSupervisorSpec
             null,
             null,
             null,
+            null,
             null
         ),
         ioConfig,
@@ -210,6 +210,7 @@ public class KafkaIndexTaskTest
   private boolean logParseExceptions = true;
   private Integer maxParseExceptions = null;
   private Integer maxSavedParseExceptions = null;
+  private Integer numParserThreads = null;
   private boolean resetOffsetAutomatically = false;
   private boolean doHandoff = true;
   private Integer maxRowsPerSegment = null;
@@ -349,6 +350,7 @@ public class KafkaIndexTaskTest
     logParseExceptions = true;
     maxParseExceptions = null;
     maxSavedParseExceptions = null;
+    numParserThreads = null;
     doHandoff = true;
     topic = getTopicName();
     records = generateRecords(topic);
@@ -1334,6 +1336,81 @@ public class KafkaIndexTaskTest
     Assert.assertEquals(unparseableEvents, reportData.getUnparseableEvents());
   }
 
+  @Test(timeout = 60_000L)
+  public void testMultipleParseExceptionsSuccessWithParserThreads() throws Exception
+  {
+    // Rows must still be added, and parse exceptions reported, in offset order
+    numParserThreads = 2;
+    testMultipleParseExceptionsSuccess();
+  }
+
+  @Test(timeout = 60_000L)
+  public void testRunWithParserThreads() throws Exception
+  {
+    // A single poll returns all records, which are split into chunks across the parser threads
+    numParserThreads = 3;
+    reportParseExceptions = false;
+    maxParseExceptions = 10;
+    maxSavedParseExceptions = 10;
+
+    final List<ProducerRecord<byte[], byte[]>> parserThreadRecords = new ArrayList<>();
+    final List<String> expectedDim1 = new ArrayList<>();
+    final List<String> expectedUnparseable = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      if (i % 3 == 2) {
+        parserThreadRecords.add(new ProducerRecord<>(topic, 0, null, StringUtils.toUtf8("unparseable" + i)));
+        // Saved parse exceptions are reported newest first
+        expectedUnparseable.add(0, StringUtils.format("Unable to parse row [unparseable%d]", i));
+      } else {
+        final String dim1 = StringUtils.format("r%02d", i);
+        parserThreadRecords.add(new ProducerRecord<>(topic, 0, null, jb("2008", dim1, "y", "10", "20.0", "1.0")));
+        expectedDim1.add(dim1);
+      }
+    }
+    records = parserThreadRecords;
+    insertData();
+
+    final KafkaIndexTask task = createTask(
+        null,
+        new KafkaIndexTaskIOConfig(
+            0,
+            "sequence0",
+            new SeekableStreamStartSequenceNumbers<>(topic, ImmutableMap.of(0, 0L), ImmutableSet.of()),
+            new SeekableStreamEndSequenceNumbers<>(topic, ImmutableMap.of(0, 30L)),
+            kafkaServer.consumerProperties(),
+            KafkaSupervisorIOConfig.DEFAULT_POLL_TIMEOUT_MILLIS,
+            true,
+            null,
+            null
+        )
+    );
+
+    final ListenableFuture<TaskStatus> future = runTask(task);
+
+    // Wait for task to exit
+    Assert.assertEquals(TaskState.SUCCESS, future.get().getStatusCode());
+
+    // Check metrics
+    Assert.assertEquals(20, task.getRunner().getRowIngestionMeters().getProcessed());
+    Assert.assertEquals(10, task.getRunner().getRowIngestionMeters().getUnparseable());
+    Assert.assertEquals(0, task.getRunner().getRowIngestionMeters().getThrownAway());
+    Assert.assertEquals(
+        ImmutableMap.of(RowIngestionMeters.BUILD_SEGMENTS, expectedUnparseable),
+        getTaskReportData().getUnparseableEvents()
+    );
+
+    // Check published metadata
+    SegmentDescriptor desc1 = sd(task, "2008/P1D", 0);
+    Assert.assertEquals(ImmutableSet.of(desc1), publishedDescriptors());
+    Assert.assertEquals(
+        new KafkaDataSourceMetadata(new SeekableStreamEndSequenceNumbers<>(topic, ImmutableMap.of(0, 30L))),
+        metadataStorageCoordinator.getDataSourceMetadata(DATA_SCHEMA.getDataSource())
+    );
+
+    // Check segments in deep storage
+    Assert.assertEquals(expectedDim1, readSegmentColumn("dim1", desc1));
+  }
+
   @Test(timeout = 60_000L)
   public void testMultipleParseExceptionsFailure() throws Exception
   {
@@ -2475,7 +2552,8 @@ public class KafkaIndexTaskTest
         intermediateHandoffPeriod,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        numParserThreads
     );
     if (!context.containsKey(SeekableStreamSupervisor.CHECKPOINTS_CTX_KEY)) {
       final TreeMap<Integer, Map<Integer, Long>> checkpoints = new TreeMap<>();
@@ -67,6 +67,7 @@ public class KafkaIndexTaskTuningConfigTest
     Assert.assertEquals(new IndexSpec(), config.getIndexSpec());
     Assert.assertEquals(false, config.isReportParseExceptions());
     Assert.assertEquals(0, config.getHandoffConditionTimeout());
+    Assert.assertEquals(0, config.getNumParserThreads());
   }
 
   @Test
@@ -81,7 +82,8 @@ public class KafkaIndexTaskTuningConfigTest
                      + "  \"intermediatePersistPeriod\": \"PT1H\",\n"
                      + "  \"maxPendingPersists\": 100,\n"
                      + "  \"reportParseExceptions\": true,\n"
-                     + "  \"handoffConditionTimeout\": 100\n"
+                     + "  \"handoffConditionTimeout\": 100,\n"
+                     + "  \"numParserThreads\": 4\n"
                      + "}";
 
     KafkaIndexTaskTuningConfig config = (KafkaIndexTaskTuningConfig) mapper.readValue(
@@ -103,6 +105,7 @@ public class KafkaIndexTaskTuningConfigTest
     Assert.assertEquals(100, config.getMaxPendingPersists());
     Assert.assertEquals(true, config.isReportParseExceptions());
     Assert.assertEquals(100, config.getHandoffConditionTimeout());
+    Assert.assertEquals(4, config.getNumParserThreads());
   }
 
   @Test
@@ -131,7 +134,8 @@ public class KafkaIndexTaskTuningConfigTest
         null,
         null,
         null,
-        null
+        null,
+        2
     );
     KafkaIndexTaskTuningConfig copy = (KafkaIndexTaskTuningConfig) original.convertToTaskTuningConfig();
 
@@ -145,6 +149,7 @@ public class KafkaIndexTaskTuningConfigTest
     Assert.assertEquals(new IndexSpec(), copy.getIndexSpec());
     Assert.assertEquals(true, copy.isReportParseExceptions());
     Assert.assertEquals(5L, copy.getHandoffConditionTimeout());
+    Assert.assertEquals(2, copy.getNumParserThreads());
   }
 
   @Test
@@ -167,7 +172,8 @@ public class KafkaIndexTaskTuningConfigTest
         null,
         true,
         42,
-        42
+        42,
+        2
     );
 
     String serialized = mapper.writeValueAsString(base);
@@ -192,6 +198,7 @@ public class KafkaIndexTaskTuningConfigTest
     Assert.assertEquals(base.isLogParseExceptions(), deserialized.isLogParseExceptions());
     Assert.assertEquals(base.getMaxParseExceptions(), deserialized.getMaxParseExceptions());
     Assert.assertEquals(base.getMaxSavedParseExceptions(), deserialized.getMaxSavedParseExceptions());
+    Assert.assertEquals(base.getNumParserThreads(), deserialized.getNumParserThreads());
   }
 
   @Test
@@ -215,6 +222,7 @@ public class KafkaIndexTaskTuningConfigTest
         true,
         42,
         42,
+        2,
         "extra string"
     );
 
@@ -239,6 +247,7 @@ public class KafkaIndexTaskTuningConfigTest
     Assert.assertEquals(base.isLogParseExceptions(), deserialized.isLogParseExceptions());
     Assert.assertEquals(base.getMaxParseExceptions(), deserialized.getMaxParseExceptions());
     Assert.assertEquals(base.getMaxSavedParseExceptions(), deserialized.getMaxSavedParseExceptions());
+    Assert.assertEquals(base.getNumParserThreads(), deserialized.getNumParserThreads());
   }
 
   private static KafkaIndexTaskTuningConfig copy(KafkaIndexTaskTuningConfig config)
@@ -260,7 +269,8 @@ public class KafkaIndexTaskTuningConfigTest
         config.getIntermediateHandoffPeriod(),
         config.isLogParseExceptions(),
         config.getMaxParseExceptions(),
-        config.getMaxSavedParseExceptions()
+        config.getMaxSavedParseExceptions(),
+        config.getNumParserThreads()
     );
   }
 }
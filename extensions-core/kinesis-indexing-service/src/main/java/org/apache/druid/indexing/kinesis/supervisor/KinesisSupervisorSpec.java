@@ -96,6 +96,7 @@ public class KinesisSupervisorSpec extends SeekableStreamSupervisorSpec
             null,
             null,
             null,
+            null,
             null
         ),
         ioConfig,
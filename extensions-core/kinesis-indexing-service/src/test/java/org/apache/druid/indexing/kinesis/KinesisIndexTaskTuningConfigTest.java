@@ -159,7 +159,8 @@ public class KinesisIndexTaskTuningConfigTest
         500,
         500,
         6000,
-        new Period("P3D")
+        new Period("P3D"),
+        2
     );
 
     String serialized = mapper.writeValueAsString(base);
@@ -188,6 +189,7 @@ public class KinesisIndexTaskTuningConfigTest
     Assert.assertEquals(base.getRecordBufferOfferTimeout(), deserialized.getRecordBufferOfferTimeout());
     Assert.assertEquals(base.getRecordBufferSize(), deserialized.getRecordBufferSize());
     Assert.assertEquals(base.getMaxRecordsPerPoll(), deserialized.getMaxRecordsPerPoll());
+    Assert.assertEquals(base.getNumParserThreads(), deserialized.getNumParserThreads());
   }
 
   @Test
@@ -217,7 +219,8 @@ public class KinesisIndexTaskTuningConfigTest
         500,
         500,
         6000,
-        new Period("P3D")
+        new Period("P3D"),
+        2
     );
 
     String serialized = mapper.writeValueAsString(new TestModifiedKinesisIndexTaskTuningConfig(base, "loool"));
@@ -245,6 +248,7 @@ public class KinesisIndexTaskTuningConfigTest
     Assert.assertEquals(base.getRecordBufferOfferTimeout(), deserialized.getRecordBufferOfferTimeout());
     Assert.assertEquals(base.getRecordBufferSize(), deserialized.getRecordBufferSize());
     Assert.assertEquals(base.getMaxRecordsPerPoll(), deserialized.getMaxRecordsPerPoll());
+    Assert.assertEquals(base.getNumParserThreads(), deserialized.getNumParserThreads());
   }
 
   @Test
@@ -308,7 +312,8 @@ public class KinesisIndexTaskTuningConfigTest
         null,
         null,
         null,
-        null
+        null,
+        2
     );
     KinesisIndexTaskTuningConfig copy = (KinesisIndexTaskTuningConfig) original.convertToTaskTuningConfig();
 
@@ -328,6 +333,7 @@ public class KinesisIndexTaskTuningConfigTest
     Assert.assertEquals(500, copy.getRecordBufferFullWait());
     Assert.assertEquals(6000, copy.getFetchSequenceNumberTimeout());
     Assert.assertEquals(2, (int) copy.getFetchThreads());
+    Assert.assertEquals(2, copy.getNumParserThreads());
     Assert.assertFalse(copy.isSkipSequenceNumberAvailabilityCheck());
     Assert.assertTrue(copy.isResetOffsetAutomatically());
     Assert.assertEquals(100, copy.getMaxRecordsPerPoll());
@@ -22,13 +22,12 @@ package org.apache.druid.indexing.common.actions;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.apache.druid.indexing.common.TaskLockType;
 import org.apache.druid.indexing.common.task.Task;
-import org.apache.druid.indexing.overlord.CriticalAction;
 import org.apache.druid.indexing.overlord.IndexerMetadataStorageCoordinator;
 import org.apache.druid.indexing.overlord.LockResult;
+import org.apache.druid.indexing.overlord.SegmentCreateRequest;
 import org.apache.druid.java.util.common.IAE;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.StringUtils;
@@ -269,30 +268,15 @@ public class SegmentAllocateAction implements TaskAction<SegmentIdWithShardSpec>
     }
 
     if (lockResult.isOk()) {
-      final SegmentIdWithShardSpec identifier;
-      try {
-        identifier = toolbox.getTaskLockbox().doInCriticalSection(
-            task,
-            ImmutableList.of(tryInterval),
-            CriticalAction
-                .<SegmentIdWithShardSpec>builder()
-                .onValidLocks(
-                    () -> toolbox.getIndexerMetadataStorageCoordinator().allocatePendingSegment(
-                        dataSource,
-                        sequenceName,
-                        previousSegmentId,
-                        tryInterval,
-                        lockResult.getTaskLock().getVersion(),
-                        skipSegmentLineageCheck
-                    )
-                )
-                .onInvalidLocks(() -> null)
-                .build()
-        );
-      }
-      catch (Exception e) {
-        throw new RuntimeException(e);
-      }
+      // Concurrent allocations of other tasks for the same interval are done together with this one, see
+      // SegmentAllocationQueue.
+      final SegmentIdWithShardSpec identifier = toolbox.getSegmentAllocationQueue().allocate(
+          task,
+          tryInterval,
+          lockResult.getTaskLock().getVersion(),
+          skipSegmentLineageCheck,
+          new SegmentCreateRequest(sequenceName, previousSegmentId)
+      );
 
       if (identifier != null) {
         return identifier;
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.indexing.common.actions;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.druid.indexing.common.task.Task;
+import org.apache.druid.indexing.overlord.IndexerMetadataStorageCoordinator;
+import org.apache.druid.indexing.overlord.SegmentCreateRequest;
+import org.apache.druid.indexing.overlord.TaskLockbox;
+import org.apache.druid.java.util.common.logger.Logger;
+import org.apache.druid.segment.realtime.appenderator.SegmentIdWithShardSpec;
+import org.joda.time.Interval;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Groups concurrent {@link SegmentAllocateAction}s for the same dataSource, interval and lock version, and allocates
+ * their pending segments with a single call of {@link IndexerMetadataStorageCoordinator#allocatePendingSegments}.
+ *
+ * There is no background thread. Each caller enqueues its request and then takes the lock of its group. Whoever gets
+ * the lock allocates segments for all requests queued so far, so callers arriving while an allocation is in progress
+ * are served together by the next one. A caller which finds its request already served returns right away.
+ * Uncontended requests are allocated immediately, just like before.
+ */
+public class SegmentAllocationQueue
+{
+  private static final Logger log = new Logger(SegmentAllocationQueue.class);
+
+  private final TaskLockbox taskLockbox;
+  private final IndexerMetadataStorageCoordinator indexerMetadataStorageCoordinator;
+  private final ConcurrentMap<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+
+  public SegmentAllocationQueue(
+      TaskLockbox taskLockbox,
+      IndexerMetadataStorageCoordinator indexerMetadataStorageCoordinator
+  )
+  {
+    this.taskLockbox = taskLockbox;
+    this.indexerMetadataStorageCoordinator = indexerMetadataStorageCoordinator;
+  }
+
+  /**
+   * Allocates a pending segment for the given task, which must hold a lock of the given version for the interval.
+   *
+   * @return the pending segment identifier, or null if the locks of the task are no longer valid or it was impossible
+   * to allocate a new segment
+   */
+  @Nullable
+  public SegmentIdWithShardSpec allocate(
+      Task task,
+      Interval interval,
+      String version,
+      boolean skipSegmentLineageCheck,
+      SegmentCreateRequest createRequest
+  )
+  {
+    final BatchKey key = new BatchKey(task.getDataSource(), interval, version, skipSegmentLineageCheck);
+    final PendingRequest request = new PendingRequest(task, createRequest);
+
+    final Batch batch = batches.computeIfAbsent(key, k -> new Batch());
+    batch.queue.add(request);
+    batch.lock.lock();
+    try {
+      if (!request.done) {
+        final List<PendingRequest> requests = new ArrayList<>();
+        for (PendingRequest queued = batch.queue.poll(); queued != null; queued = batch.queue.poll()) {
+          requests.add(queued);
+        }
+        allocate(key, requests);
+      }
+    }
+    finally {
+      // A request added to a batch removed here is still served, by its own caller, since it takes the lock after
+      // enqueuing the request. It just misses the chance of being grouped with others.
+      if (batch.queue.isEmpty()) {
+        batches.remove(key, batch);
+      }
+      batch.lock.unlock();
+    }
+
+    if (request.error != null) {
+      throw request.error;
+    }
+    return request.result;
+  }
+
+  private void allocate(BatchKey key, List<PendingRequest> requests)
+  {
+    try {
+      final Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocated = taskLockbox.doInCriticalSection(
+          requests.stream().map(request -> request.task).collect(Collectors.toList()),
+          ImmutableList.of(key.interval),
+          tasksWithValidLocks -> {
+            final Set<String> validTaskIds = tasksWithValidLocks.stream().map(Task::getId).collect(Collectors.toSet());
+            final List<SegmentCreateRequest> createRequests = requests
+                .stream()
+                .filter(request -> validTaskIds.contains(request.task.getId()))
+                .map(request -> request.createRequest)
+                .collect(Collectors.toList());
+            if (createRequests.isEmpty()) {
+              return Collections.emptyMap();
+            }
+            return indexerMetadataStorageCoordinator.allocatePendingSegments(
+                key.dataSource,
+                key.interval,
+                key.version,
+                key.skipSegmentLineageCheck,
+                createRequests
+            );
+          }
+      );
+      if (requests.size() > 1) {
+        log.debug(
+            "Allocated pending segments for [%,d] requests of dataSource[%s], interval[%s] at once.",
+            requests.size(),
+            key.dataSource,
+            key.interval
+        );
+      }
+      for (PendingRequest request : requests) {
+        request.result = allocated.get(request.createRequest);
+        request.done = true;
+      }
+    }
+    catch (RuntimeException e) {
+      for (PendingRequest request : requests) {
+        request.error = e;
+        request.done = true;
+      }
+    }
+  }
+
+  /**
+   * Fields are guarded by {@link Batch#lock} of the batch the request was added to.
+   */
+  private static class PendingRequest
+  {
+    private final Task task;
+    private final SegmentCreateRequest createRequest;
+
+    private boolean done;
+    @Nullable
+    private SegmentIdWithShardSpec result;
+    @Nullable
+    private RuntimeException error;
+
+    private PendingRequest(Task task, SegmentCreateRequest createRequest)
+    {
+      this.task = task;
+      this.createRequest = createRequest;
+    }
+  }
+
+  private static class Batch
+  {
+    private final Queue<PendingRequest> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+  }
+
+  private static class BatchKey
+  {
+    private final String dataSource;
+    private final Interval interval;
+    private final String version;
+    private final boolean skipSegmentLineageCheck;
+
+    private BatchKey(String dataSource, Interval interval, String version, boolean skipSegmentLineageCheck)
+    {
+      this.dataSource = dataSource;
+      this.interval = interval;
+      this.version = version;
+      this.skipSegmentLineageCheck = skipSegmentLineageCheck;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      BatchKey batchKey = (BatchKey) o;
+      return skipSegmentLineageCheck == batchKey.skipSegmentLineageCheck &&
+             dataSource.equals(batchKey.dataSource) &&
+             interval.equals(batchKey.interval) &&
+             version.equals(batchKey.version);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(dataSource, interval, version, skipSegmentLineageCheck);
+    }
+  }
+}
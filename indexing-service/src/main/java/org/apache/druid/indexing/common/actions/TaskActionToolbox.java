@@ -33,6 +33,7 @@ public class TaskActionToolbox
   private final IndexerMetadataStorageCoordinator indexerMetadataStorageCoordinator;
   private final ServiceEmitter emitter;
   private final SupervisorManager supervisorManager;
+  private final SegmentAllocationQueue segmentAllocationQueue;
 
   @Inject
   public TaskActionToolbox(
@@ -48,6 +49,7 @@ public class TaskActionToolbox
     this.indexerMetadataStorageCoordinator = indexerMetadataStorageCoordinator;
     this.emitter = emitter;
     this.supervisorManager = supervisorManager;
+    this.segmentAllocationQueue = new SegmentAllocationQueue(taskLockbox, indexerMetadataStorageCoordinator);
   }
 
   public TaskLockbox getTaskLockbox()
@@ -74,4 +76,9 @@ public class TaskActionToolbox
   {
     return supervisorManager;
   }
+
+  public SegmentAllocationQueue getSegmentAllocationQueue()
+  {
+    return segmentAllocationQueue;
+  }
 }
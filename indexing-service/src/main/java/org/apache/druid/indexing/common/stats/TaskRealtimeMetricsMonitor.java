@@ -30,6 +30,7 @@ import org.apache.druid.segment.realtime.FireDepartment;
 import org.apache.druid.segment.realtime.FireDepartmentMetrics;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Replaces the old RealtimeMetricsMonitor for indexing tasks that use a single FireDepartment, with changes to
@@ -118,6 +119,26 @@ public class TaskRealtimeMetricsMonitor extends AbstractMonitor
     emitter.emit(builder.build("ingest/handoff/count", metrics.handOffCount() - previousFireDepartmentMetrics.handOffCount()));
     emitter.emit(builder.build("ingest/sink/count", metrics.sinkCount()));
     emitter.emit(builder.build("ingest/events/messageGap", metrics.messageGap()));
+    emitter.emit(
+        builder.build(
+            "ingest/parse/time",
+            TimeUnit.NANOSECONDS.toMillis(metrics.parseTimeNanos() - previousFireDepartmentMetrics.parseTimeNanos())
+        )
+    );
+    emitter.emit(
+        builder.build(
+            "ingest/parse/wait",
+            TimeUnit.NANOSECONDS.toMillis(
+                metrics.parseWaitTimeNanos() - previousFireDepartmentMetrics.parseWaitTimeNanos()
+            )
+        )
+    );
+    emitter.emit(
+        builder.build(
+            "ingest/append/time",
+            TimeUnit.NANOSECONDS.toMillis(metrics.appendTimeNanos() - previousFireDepartmentMetrics.appendTimeNanos())
+        )
+    );
 
     previousRowIngestionMetersTotals = rowIngestionMetersTotals;
     previousFireDepartmentMetrics = metrics;
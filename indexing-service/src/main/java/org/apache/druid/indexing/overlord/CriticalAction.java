@@ -33,7 +33,7 @@ import org.joda.time.Interval;
  * or {@link TaskLockbox#unlock(Task, Interval)}.
  *
  * Also, implementations should be finished as soon as possible because all methods in {@link TaskLockbox} are blocked
- * until this action is finished.
+ * for the dataSource of the task until this action is finished.
  *
  * @see TaskLockbox#doInCriticalSection
  */
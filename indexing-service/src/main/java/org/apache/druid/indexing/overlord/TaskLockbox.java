@@ -38,6 +38,7 @@ import org.apache.druid.java.util.common.Pair;
 import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.java.util.common.guava.Comparators;
 import org.apache.druid.java.util.emitter.EmittingLogger;
+import org.apache.druid.server.metrics.TaskLockStatsProvider;
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
 
@@ -54,7 +55,11 @@ import java.util.NavigableSet;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -65,8 +70,11 @@ import java.util.stream.StreamSupport;
  * Remembers which activeTasks have locked which intervals. Tasks are permitted to lock an interval if no other task
  * outside their group has locked an overlapping interval for the same datasource. When a task locks an interval,
  * it is assigned a version string that it can use to publish segments.
+ *
+ * The lock state of each datasource is guarded by its own lock, so that lock requests, segment allocations and other
+ * critical actions of different datasources don't wait for each other.
  */
-public class TaskLockbox
+public class TaskLockbox implements TaskLockStatsProvider
 {
   // Datasource -> startTime -> Interval -> list of (Tasks + TaskLock)
   // Multiple shared locks can be acquired for the same dataSource and interval.
@@ -74,17 +82,21 @@ public class TaskLockbox
   // they acquire the same locks again.
   // Also, the key of the second inner map is the start time to find all intervals properly starting with the same
   // startTime.
-  private final Map<String, NavigableMap<DateTime, SortedMap<Interval, List<TaskLockPosse>>>> running = new HashMap<>();
+  // The value for a dataSource should only be accessed under the lock of the dataSource, see lockDataSource().
+  private final Map<String, NavigableMap<DateTime, SortedMap<Interval, List<TaskLockPosse>>>> running =
+      new ConcurrentHashMap<>();
 
   private final TaskStorage taskStorage;
-  private final ReentrantLock giant = new ReentrantLock(true);
-  private final Condition lockReleaseCondition = giant.newCondition();
+
+  // DataSource -> lock guarding the lock state of the dataSource. Entries are never removed, there are not many
+  // dataSources.
+  private final ConcurrentMap<String, DataSourceLock> dataSourceLocks = new ConcurrentHashMap<>();
 
   private static final EmittingLogger log = new EmittingLogger(TaskLockbox.class);
 
-  // Stores List of Active Tasks. TaskLockbox will only grant locks to active activeTasks.
-  // this set should be accessed under the giant lock.
-  private final Set<String> activeTasks = new HashSet<>();
+  // Stores Active Tasks with their dataSource. TaskLockbox will only grant locks to active activeTasks.
+  // A task should only be added or removed under the lock of its dataSource.
+  private final ConcurrentMap<String, String> activeTasks = new ConcurrentHashMap<>();
 
   @Inject
   public TaskLockbox(
@@ -99,18 +111,36 @@ public class TaskLockbox
    */
   public void syncFromStorage()
   {
-    giant.lock();
+    // The dataSources to lock are only known once the active tasks are read from storage. Tasks may be added while
+    // the locks are taken, so the active tasks of the locked dataSources are read again below.
+    final Set<String> dataSources = new TreeSet<>(running.keySet());
+    dataSources.addAll(activeTasks.values());
+    for (final Task task : taskStorage.getActiveTasks()) {
+      dataSources.add(task.getDataSource());
+    }
+
+    // Locks are taken in the order of dataSource names, so that two concurrent syncs cannot deadlock. Every other
+    // method holds at most one dataSource lock at a time.
+    final List<DataSourceLock> lockedDataSources = new ArrayList<>();
+    for (String dataSource : dataSources) {
+      lockedDataSources.add(lockDataSource(dataSource));
+    }
 
     try {
       // Load stuff from taskStorage first. If this fails, we don't want to lose all our locks.
-      final Set<String> storedActiveTasks = new HashSet<>();
+      // Tasks of dataSources which are not locked were inserted after the first read, add(Task) registers them.
+      final Map<String, String> storedActiveTasks = new HashMap<>();
       final List<Pair<Task, TaskLock>> storedLocks = new ArrayList<>();
       for (final Task task : taskStorage.getActiveTasks()) {
-        storedActiveTasks.add(task.getId());
+        if (!dataSources.contains(task.getDataSource())) {
+          continue;
+        }
+        storedActiveTasks.put(task.getId(), task.getDataSource());
         for (final TaskLock taskLock : taskStorage.getLocks(task.getId())) {
           storedLocks.add(Pair.of(task, taskLock));
         }
       }
+
       // Sort locks by version, so we add them back in the order they were acquired.
       final Ordering<Pair<Task, TaskLock>> byVersionOrdering = new Ordering<Pair<Task, TaskLock>>()
       {
@@ -124,9 +154,10 @@ public class TaskLockbox
                                 .result();
         }
       };
-      running.clear();
-      activeTasks.clear();
-      activeTasks.addAll(storedActiveTasks);
+      // Only the state of the locked dataSources is replaced, tasks of other dataSources must not be dropped.
+      running.keySet().removeAll(dataSources);
+      activeTasks.values().removeIf(dataSources::contains);
+      activeTasks.putAll(storedActiveTasks);
       // Bookkeeping for a log message at the end
       int taskLockCount = 0;
       for (final Pair<Task, TaskLock> taskAndLock : byVersionOrdering.sortedCopy(storedLocks)) {
@@ -179,12 +210,12 @@ public class TaskLockbox
       log.info(
           "Synced %,d locks for %,d activeTasks from storage (%,d locks ignored).",
           taskLockCount,
-          activeTasks.size(),
+          storedActiveTasks.size(),
           storedLocks.size() - taskLockCount
       );
     }
     finally {
-      giant.unlock();
+      Lists.reverse(lockedDataSources).forEach(DataSourceLock::unlock);
     }
   }
 
@@ -206,19 +237,19 @@ public class TaskLockbox
       final Interval interval
   ) throws InterruptedException
   {
-    giant.lockInterruptibly();
+    final DataSourceLock dataSourceLock = lockDataSourceInterruptibly(task.getDataSource());
     try {
       LockResult lockResult;
       while (!(lockResult = tryLock(lockType, task, interval)).isOk()) {
         if (lockResult.isRevoked()) {
           return lockResult;
         }
-        lockReleaseCondition.await();
+        dataSourceLock.lockReleaseCondition.await();
       }
       return lockResult;
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
@@ -243,19 +274,19 @@ public class TaskLockbox
   ) throws InterruptedException
   {
     long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
-    giant.lockInterruptibly();
+    final DataSourceLock dataSourceLock = lockDataSourceInterruptibly(task.getDataSource());
     try {
       LockResult lockResult;
       while (!(lockResult = tryLock(lockType, task, interval)).isOk()) {
         if (nanos <= 0 || lockResult.isRevoked()) {
           return lockResult;
         }
-        nanos = lockReleaseCondition.awaitNanos(nanos);
+        nanos = dataSourceLock.lockReleaseCondition.awaitNanos(nanos);
       }
       return lockResult;
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
@@ -278,10 +309,10 @@ public class TaskLockbox
       final Interval interval
   )
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
 
     try {
-      if (!activeTasks.contains(task.getId())) {
+      if (!activeTasks.containsKey(task.getId())) {
         throw new ISE("Unable to grant lock to inactive Task [%s]", task.getId());
       }
       Preconditions.checkArgument(interval.toDurationMillis() > 0, "interval empty");
@@ -317,7 +348,7 @@ public class TaskLockbox
       }
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
@@ -331,14 +362,7 @@ public class TaskLockbox
       final TaskLockType lockType
   )
   {
-    giant.lock();
-
-    try {
-      return createOrFindLockPosse(task, interval, null, lockType);
-    }
-    finally {
-      giant.unlock();
-    }
+    return createOrFindLockPosse(task, interval, null, lockType);
   }
 
   /**
@@ -362,67 +386,53 @@ public class TaskLockbox
       final TaskLockType lockType
   )
   {
-    giant.lock();
-
-    try {
-      return createOrFindLockPosse(
-          lockType,
-          task.getId(),
-          task.getGroupId(),
-          task.getDataSource(),
-          interval,
-          preferredVersion,
-          task.getPriority(),
-          false
-      );
-    }
-    finally {
-      giant.unlock();
-    }
+    return createOrFindLockPosse(
+        lockType,
+        task.getId(),
+        task.getGroupId(),
+        task.getDataSource(),
+        interval,
+        preferredVersion,
+        task.getPriority(),
+        false
+    );
   }
 
   @Nullable
   private TaskLockPosse createOrFindLockPosse(Task task, TaskLock taskLock)
   {
-    giant.lock();
-
-    try {
-      Preconditions.checkArgument(
-          task.getGroupId().equals(taskLock.getGroupId()),
-          "lock groupId[%s] is different from task groupId[%s]",
-          taskLock.getGroupId(),
-          task.getGroupId()
-      );
-      Preconditions.checkArgument(
-          task.getDataSource().equals(taskLock.getDataSource()),
-          "lock dataSource[%s] is different from task dataSource[%s]",
-          taskLock.getDataSource(),
-          task.getDataSource()
-      );
-      final int taskPriority = task.getPriority();
-      final int lockPriority = taskLock.getNonNullPriority();
-
-      Preconditions.checkArgument(
-          lockPriority == taskPriority,
-          "lock priority[%s] is different from task priority[%s]",
-          lockPriority,
-          taskPriority
-      );
-
-      return createOrFindLockPosse(
-          taskLock.getType(),
-          task.getId(),
-          taskLock.getGroupId(),
-          taskLock.getDataSource(),
-          taskLock.getInterval(),
-          taskLock.getVersion(),
-          taskPriority,
-          taskLock.isRevoked()
-      );
-    }
-    finally {
-      giant.unlock();
-    }
+    Preconditions.checkArgument(
+        task.getGroupId().equals(taskLock.getGroupId()),
+        "lock groupId[%s] is different from task groupId[%s]",
+        taskLock.getGroupId(),
+        task.getGroupId()
+    );
+    Preconditions.checkArgument(
+        task.getDataSource().equals(taskLock.getDataSource()),
+        "lock dataSource[%s] is different from task dataSource[%s]",
+        taskLock.getDataSource(),
+        task.getDataSource()
+    );
+    final int taskPriority = task.getPriority();
+    final int lockPriority = taskLock.getNonNullPriority();
+
+    Preconditions.checkArgument(
+        lockPriority == taskPriority,
+        "lock priority[%s] is different from task priority[%s]",
+        lockPriority,
+        taskPriority
+    );
+
+    return createOrFindLockPosse(
+        taskLock.getType(),
+        task.getId(),
+        taskLock.getGroupId(),
+        taskLock.getDataSource(),
+        taskLock.getInterval(),
+        taskLock.getVersion(),
+        taskPriority,
+        taskLock.isRevoked()
+    );
   }
 
   @Nullable
@@ -437,24 +447,35 @@ public class TaskLockbox
       boolean revoked
   )
   {
-    giant.lock();
+    final List<TaskLockPosse> foundPosses = findLockPossesOverlapsInterval(dataSource, interval);
 
-    try {
-      final List<TaskLockPosse> foundPosses = findLockPossesOverlapsInterval(dataSource, interval);
+    if (foundPosses.size() > 0) {
+      // If we have some locks for dataSource and interval, check they can be reused.
+      // If they can't be reused, check lock priority and revoke existing locks if possible.
+      final List<TaskLockPosse> filteredPosses = foundPosses
+          .stream()
+          .filter(posse -> matchGroupIdAndContainInterval(posse.taskLock, groupId, interval))
+          .collect(Collectors.toList());
 
-      if (foundPosses.size() > 0) {
-        // If we have some locks for dataSource and interval, check they can be reused.
-        // If they can't be reused, check lock priority and revoke existing locks if possible.
-        final List<TaskLockPosse> filteredPosses = foundPosses
-            .stream()
-            .filter(posse -> matchGroupIdAndContainInterval(posse.taskLock, groupId, interval))
-            .collect(Collectors.toList());
+      if (filteredPosses.size() == 0) {
+        // case 1) this task doesn't have any lock, but others do
 
-        if (filteredPosses.size() == 0) {
-          // case 1) this task doesn't have any lock, but others do
+        if (lockType.equals(TaskLockType.SHARED) && isAllSharedLocks(foundPosses)) {
+          // Any number of shared locks can be acquired for the same dataSource and interval.
+          return createNewTaskLockPosse(
+              lockType,
+              groupId,
+              dataSource,
+              interval,
+              preferredVersion,
+              priority,
+              revoked
+          );
+        } else {
+          if (isAllRevocable(foundPosses, priority)) {
+            // Revoke all existing locks
+            foundPosses.forEach(this::revokeLock);
 
-          if (lockType.equals(TaskLockType.SHARED) && isAllSharedLocks(foundPosses)) {
-            // Any number of shared locks can be acquired for the same dataSource and interval.
             return createNewTaskLockPosse(
                 lockType,
                 groupId,
@@ -465,86 +486,68 @@ public class TaskLockbox
                 revoked
             );
           } else {
-            if (isAllRevocable(foundPosses, priority)) {
-              // Revoke all existing locks
-              foundPosses.forEach(this::revokeLock);
-
-              return createNewTaskLockPosse(
-                  lockType,
-                  groupId,
-                  dataSource,
+            final String messagePrefix;
+            if (preferredVersion == null) {
+              messagePrefix = StringUtils.format(
+                  "Cannot create a new taskLockPosse for task[%s], interval[%s], priority[%d], revoked[%s]",
+                  taskId,
                   interval,
-                  preferredVersion,
                   priority,
                   revoked
               );
             } else {
-              final String messagePrefix;
-              if (preferredVersion == null) {
-                messagePrefix = StringUtils.format(
-                    "Cannot create a new taskLockPosse for task[%s], interval[%s], priority[%d], revoked[%s]",
-                    taskId,
-                    interval,
-                    priority,
-                    revoked
-                );
-              } else {
-                messagePrefix = StringUtils.format(
-                    "Cannot create a new taskLockPosse for task[%s], interval[%s],"
-                    + " preferredVersion[%s], priority[%d], revoked[%s]",
-                    taskId,
-                    interval,
-                    preferredVersion,
-                    priority,
-                    revoked
-                );
-              }
-
-              log.info(
-                  "%s because existing locks[%s] have same or higher priorities",
-                  messagePrefix,
-                  foundPosses
+              messagePrefix = StringUtils.format(
+                  "Cannot create a new taskLockPosse for task[%s], interval[%s],"
+                  + " preferredVersion[%s], priority[%d], revoked[%s]",
+                  taskId,
+                  interval,
+                  preferredVersion,
+                  priority,
+                  revoked
               );
-              return null;
             }
-          }
-        } else if (filteredPosses.size() == 1) {
-          // case 2) we found a lock posse for the given task
-          final TaskLockPosse foundPosse = filteredPosses.get(0);
-          if (lockType.equals(foundPosse.getTaskLock().getType())) {
-            return foundPosse;
-          } else {
-            throw new ISE(
-                "Task[%s] already acquired a lock for interval[%s] but different type[%s]",
-                taskId,
-                interval,
-                foundPosse.getTaskLock().getType()
+
+            log.info(
+                "%s because existing locks[%s] have same or higher priorities",
+                messagePrefix,
+                foundPosses
             );
+            return null;
           }
+        }
+      } else if (filteredPosses.size() == 1) {
+        // case 2) we found a lock posse for the given task
+        final TaskLockPosse foundPosse = filteredPosses.get(0);
+        if (lockType.equals(foundPosse.getTaskLock().getType())) {
+          return foundPosse;
         } else {
-          // case 3) we found multiple lock posses for the given task
           throw new ISE(
-              "Task group[%s] has multiple locks for the same interval[%s]?",
-              groupId,
-              interval
+              "Task[%s] already acquired a lock for interval[%s] but different type[%s]",
+              taskId,
+              interval,
+              foundPosse.getTaskLock().getType()
           );
         }
       } else {
-        // We don't have any locks for dataSource and interval.
-        // Let's make a new one.
-        return createNewTaskLockPosse(
-            lockType,
+        // case 3) we found multiple lock posses for the given task
+        throw new ISE(
+            "Task group[%s] has multiple locks for the same interval[%s]?",
             groupId,
-            dataSource,
-            interval,
-            preferredVersion,
-            priority,
-            revoked
+            interval
         );
       }
-    }
-    finally {
-      giant.unlock();
+    } else {
+      // We don't have any locks for dataSource and interval.
+      // Let's make a new one.
+      return createNewTaskLockPosse(
+          lockType,
+          groupId,
+          dataSource,
+          interval,
+          preferredVersion,
+          priority,
+          revoked
+      );
     }
   }
 
@@ -574,46 +577,40 @@ public class TaskLockbox
       boolean revoked
   )
   {
-    giant.lock();
-    try {
-      // Create new TaskLock and assign it a version.
-      // Assumption: We'll choose a version that is greater than any previously-chosen version for our interval. (This
-      // may not always be true, unfortunately. See below.)
-
-      final String version;
-
-      if (preferredVersion != null) {
-        // We have a preferred version. We'll trust our caller to not break our ordering assumptions and just use it.
-        version = preferredVersion;
-      } else {
-        // We are running under an interval lock right now, so just using the current time works as long as we can
-        // trustour clock to be monotonic and have enough resolution since the last time we created a TaskLock for
-        // the same interval. This may not always be true; to assure it we would need to use some method of
-        // timekeeping other than the wall clock.
-        version = DateTimes.nowUtc().toString();
-      }
+    // Create new TaskLock and assign it a version.
+    // Assumption: We'll choose a version that is greater than any previously-chosen version for our interval. (This
+    // may not always be true, unfortunately. See below.)
+
+    final String version;
+
+    if (preferredVersion != null) {
+      // We have a preferred version. We'll trust our caller to not break our ordering assumptions and just use it.
+      version = preferredVersion;
+    } else {
+      // We are running under an interval lock right now, so just using the current time works as long as we can
+      // trustour clock to be monotonic and have enough resolution since the last time we created a TaskLock for
+      // the same interval. This may not always be true; to assure it we would need to use some method of
+      // timekeeping other than the wall clock.
+      version = DateTimes.nowUtc().toString();
+    }
 
-      final TaskLockPosse posseToUse = new TaskLockPosse(
-          new TaskLock(lockType, groupId, dataSource, interval, version, priority, revoked)
-      );
-      running.computeIfAbsent(dataSource, k -> new TreeMap<>())
-             .computeIfAbsent(interval.getStart(), k -> new TreeMap<>(Comparators.intervalsByStartThenEnd()))
-             .computeIfAbsent(interval, k -> new ArrayList<>())
-             .add(posseToUse);
+    final TaskLockPosse posseToUse = new TaskLockPosse(
+        new TaskLock(lockType, groupId, dataSource, interval, version, priority, revoked)
+    );
+    running.computeIfAbsent(dataSource, k -> new TreeMap<>())
+           .computeIfAbsent(interval.getStart(), k -> new TreeMap<>(Comparators.intervalsByStartThenEnd()))
+           .computeIfAbsent(interval, k -> new ArrayList<>())
+           .add(posseToUse);
 
-      return posseToUse;
-    }
-    finally {
-      giant.unlock();
-    }
+    return posseToUse;
   }
 
   /**
    * Perform the given action with a guarantee that the locks of the task are not revoked in the middle of action.  This
    * method first checks that all locks for the given task and intervals are valid and perform the right action.
    *
-   * The given action should be finished as soon as possible because all other methods in this class are blocked until
-   * this method is finished.
+   * The given action should be finished as soon as possible because all other methods in this class are blocked for the
+   * dataSource of the task until this method is finished.
    *
    * @param task      task performing a critical action
    * @param intervals intervals
@@ -621,43 +618,70 @@ public class TaskLockbox
    */
   public <T> T doInCriticalSection(Task task, List<Interval> intervals, CriticalAction<T> action) throws Exception
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
 
     try {
       return action.perform(isTaskLocksValid(task, intervals));
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
-  private boolean isTaskLocksValid(Task task, List<Interval> intervals)
+  /**
+   * Same as {@link #doInCriticalSection(Task, List, CriticalAction)}, but for a group of tasks of the same dataSource.
+   * The dataSource is locked only once, and the given action is performed with the tasks whose locks for the given
+   * intervals are all valid. This is used to serve requests of many tasks with a single metadata store call.
+   *
+   * @param tasks     tasks performing a critical action, must all be of the same dataSource
+   * @param intervals intervals
+   * @param action    action to be performed inside of the critical section with the tasks having valid locks
+   */
+  public <T> T doInCriticalSection(List<Task> tasks, List<Interval> intervals, Function<List<Task>, T> action)
   {
-    giant.lock();
+    Preconditions.checkArgument(!tasks.isEmpty(), "tasks must not be empty");
+    final String dataSource = tasks.get(0).getDataSource();
+    Preconditions.checkArgument(
+        tasks.stream().allMatch(task -> task.getDataSource().equals(dataSource)),
+        "tasks must be of the same dataSource"
+    );
+
+    final DataSourceLock dataSourceLock = lockDataSource(dataSource);
+
     try {
-      return intervals
-          .stream()
-          .allMatch(interval -> {
-            final TaskLock lock = getOnlyTaskLockPosseContainingInterval(task, interval).getTaskLock();
-            // Tasks cannot enter the critical section with a shared lock
-            return !lock.isRevoked() && lock.getType() != TaskLockType.SHARED;
-          });
+      final List<Task> tasksWithValidLocks = new ArrayList<>(tasks.size());
+      for (Task task : tasks) {
+        try {
+          if (isTaskLocksValid(task, intervals)) {
+            tasksWithValidLocks.add(task);
+          }
+        }
+        catch (ISE e) {
+          // Don't fail the other tasks of the group if the locks of one task are already gone.
+          log.warn(e, "Cannot check locks of task[%s] for intervals%s", task.getId(), intervals);
+        }
+      }
+      return action.apply(tasksWithValidLocks);
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
-  private void revokeLock(TaskLockPosse lockPosse)
+  private boolean isTaskLocksValid(Task task, List<Interval> intervals)
   {
-    giant.lock();
+    return intervals
+        .stream()
+        .allMatch(interval -> {
+          final TaskLock lock = getOnlyTaskLockPosseContainingInterval(task, interval).getTaskLock();
+          // Tasks cannot enter the critical section with a shared lock
+          return !lock.isRevoked() && lock.getType() != TaskLockType.SHARED;
+        });
+  }
 
-    try {
-      lockPosse.forEachTask(taskId -> revokeLock(taskId, lockPosse.getTaskLock()));
-    }
-    finally {
-      giant.unlock();
-    }
+  private void revokeLock(TaskLockPosse lockPosse)
+  {
+    lockPosse.forEachTask(taskId -> revokeLock(taskId, lockPosse.getTaskLock()));
   }
 
   /**
@@ -671,40 +695,33 @@ public class TaskLockbox
    */
   private void revokeLock(String taskId, TaskLock lock)
   {
-    giant.lock();
-
-    try {
-      if (!activeTasks.contains(taskId)) {
-        throw new ISE("Cannot revoke lock for inactive task[%s]", taskId);
-      }
-
-      final Task task = taskStorage.getTask(taskId).orNull();
-      if (task == null) {
-        throw new ISE("Cannot revoke lock for unknown task[%s]", taskId);
-      }
-
-      log.info("Revoking task lock[%s] for task[%s]", lock, taskId);
+    if (!activeTasks.containsKey(taskId)) {
+      throw new ISE("Cannot revoke lock for inactive task[%s]", taskId);
+    }
 
-      if (lock.isRevoked()) {
-        log.warn("TaskLock[%s] is already revoked", lock);
-      } else {
-        final TaskLock revokedLock = lock.revokedCopy();
-        taskStorage.replaceLock(taskId, lock, revokedLock);
-
-        final List<TaskLockPosse> possesHolder = running.get(task.getDataSource()).get(lock.getInterval().getStart()).get(lock.getInterval());
-        final TaskLockPosse foundPosse = possesHolder.stream()
-                                                     .filter(posse -> posse.getTaskLock().equals(lock))
-                                                     .findFirst()
-                                                     .orElseThrow(
-                                                         () -> new ISE("Failed to find lock posse for lock[%s]", lock)
-                                                     );
-        possesHolder.remove(foundPosse);
-        possesHolder.add(foundPosse.withTaskLock(revokedLock));
-        log.info("Revoked taskLock[%s]", lock);
-      }
+    final Task task = taskStorage.getTask(taskId).orNull();
+    if (task == null) {
+      throw new ISE("Cannot revoke lock for unknown task[%s]", taskId);
     }
-    finally {
-      giant.unlock();
+
+    log.info("Revoking task lock[%s] for task[%s]", lock, taskId);
+
+    if (lock.isRevoked()) {
+      log.warn("TaskLock[%s] is already revoked", lock);
+    } else {
+      final TaskLock revokedLock = lock.revokedCopy();
+      taskStorage.replaceLock(taskId, lock, revokedLock);
+
+      final List<TaskLockPosse> possesHolder = running.get(task.getDataSource()).get(lock.getInterval().getStart()).get(lock.getInterval());
+      final TaskLockPosse foundPosse = possesHolder.stream()
+                                                   .filter(posse -> posse.getTaskLock().equals(lock))
+                                                   .findFirst()
+                                                   .orElseThrow(
+                                                       () -> new ISE("Failed to find lock posse for lock[%s]", lock)
+                                                   );
+      possesHolder.remove(foundPosse);
+      possesHolder.add(foundPosse.withTaskLock(revokedLock));
+      log.info("Revoked taskLock[%s]", lock);
     }
   }
 
@@ -716,7 +733,7 @@ public class TaskLockbox
    */
   public List<TaskLock> findLocksForTask(final Task task)
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
 
     try {
       return Lists.transform(
@@ -731,7 +748,7 @@ public class TaskLockbox
       );
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
@@ -744,7 +761,7 @@ public class TaskLockbox
    */
   public void unlock(final Task task, final Interval interval)
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
 
     try {
       final String dataSource = task.getDataSource();
@@ -794,7 +811,7 @@ public class TaskLockbox
         }
 
         // Wake up blocking-lock waiters
-        lockReleaseCondition.signalAll();
+        dataSourceLock.lockReleaseCondition.signalAll();
 
         // Remove lock from storage. If it cannot be removed, just ignore the failure.
         try {
@@ -818,19 +835,19 @@ public class TaskLockbox
       }
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
   public void add(Task task)
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
     try {
       log.info("Adding task[%s] to activeTasks", task.getId());
-      activeTasks.add(task.getId());
+      activeTasks.put(task.getId(), task.getDataSource());
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
@@ -841,7 +858,7 @@ public class TaskLockbox
    */
   public void remove(final Task task)
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
     try {
       try {
         log.info("Removing task[%s] from activeTasks", task.getId());
@@ -854,7 +871,7 @@ public class TaskLockbox
       }
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
@@ -865,39 +882,25 @@ public class TaskLockbox
    */
   private List<TaskLockPosse> findLockPossesForTask(final Task task)
   {
-    giant.lock();
-
-    try {
-      // Scan through all locks for this datasource
-      final NavigableMap<DateTime, SortedMap<Interval, List<TaskLockPosse>>> dsRunning = running.get(task.getDataSource());
-      if (dsRunning == null) {
-        return ImmutableList.of();
-      } else {
-        return dsRunning.values().stream()
-                        .flatMap(map -> map.values().stream())
-                        .flatMap(Collection::stream)
-                        .filter(taskLockPosse -> taskLockPosse.containsTask(task))
-                        .collect(Collectors.toList());
-      }
-    }
-    finally {
-      giant.unlock();
+    // Scan through all locks for this datasource
+    final NavigableMap<DateTime, SortedMap<Interval, List<TaskLockPosse>>> dsRunning = running.get(task.getDataSource());
+    if (dsRunning == null) {
+      return ImmutableList.of();
+    } else {
+      return dsRunning.values().stream()
+                      .flatMap(map -> map.values().stream())
+                      .flatMap(Collection::stream)
+                      .filter(taskLockPosse -> taskLockPosse.containsTask(task))
+                      .collect(Collectors.toList());
     }
   }
 
   private List<TaskLockPosse> findLockPossesContainingInterval(final String dataSource, final Interval interval)
   {
-    giant.lock();
-
-    try {
-      final List<TaskLockPosse> intervalOverlapsPosses = findLockPossesOverlapsInterval(dataSource, interval);
-      return intervalOverlapsPosses.stream()
-                                   .filter(taskLockPosse -> taskLockPosse.taskLock.getInterval().contains(interval))
-                                   .collect(Collectors.toList());
-    }
-    finally {
-      giant.unlock();
-    }
+    final List<TaskLockPosse> intervalOverlapsPosses = findLockPossesOverlapsInterval(dataSource, interval);
+    return intervalOverlapsPosses.stream()
+                                 .filter(taskLockPosse -> taskLockPosse.taskLock.getInterval().contains(interval))
+                                 .collect(Collectors.toList());
   }
 
   /**
@@ -905,43 +908,36 @@ public class TaskLockbox
    */
   private List<TaskLockPosse> findLockPossesOverlapsInterval(final String dataSource, final Interval interval)
   {
-    giant.lock();
-
-    try {
-      final NavigableMap<DateTime, SortedMap<Interval, List<TaskLockPosse>>> dsRunning = running.get(dataSource);
-      if (dsRunning == null) {
-        // No locks at all
-        return Collections.emptyList();
-      } else {
-        // Tasks are indexed by locked interval, which are sorted by interval start. Intervals are non-overlapping, so:
-        final NavigableSet<DateTime> dsLockbox = dsRunning.navigableKeySet();
-        final Iterable<DateTime> searchStartTimes = Iterables.concat(
-            // Single interval that starts at or before ours
-            Collections.singletonList(dsLockbox.floor(interval.getStart())),
-
-            // All intervals that start somewhere between our start instant (exclusive) and end instant (exclusive)
-            dsLockbox.subSet(interval.getStart(), false, interval.getEnd(), false)
-        );
+    final NavigableMap<DateTime, SortedMap<Interval, List<TaskLockPosse>>> dsRunning = running.get(dataSource);
+    if (dsRunning == null) {
+      // No locks at all
+      return Collections.emptyList();
+    } else {
+      // Tasks are indexed by locked interval, which are sorted by interval start. Intervals are non-overlapping, so:
+      final NavigableSet<DateTime> dsLockbox = dsRunning.navigableKeySet();
+      final Iterable<DateTime> searchStartTimes = Iterables.concat(
+          // Single interval that starts at or before ours
+          Collections.singletonList(dsLockbox.floor(interval.getStart())),
+
+          // All intervals that start somewhere between our start instant (exclusive) and end instant (exclusive)
+          dsLockbox.subSet(interval.getStart(), false, interval.getEnd(), false)
+      );
 
-        return StreamSupport.stream(searchStartTimes.spliterator(), false)
-                            .filter(java.util.Objects::nonNull)
-                            .map(dsRunning::get)
-                            .filter(java.util.Objects::nonNull)
-                            .flatMap(sortedMap -> sortedMap.entrySet().stream())
-                            .filter(entry -> entry.getKey().overlaps(interval))
-                            .flatMap(entry -> entry.getValue().stream())
-                            .collect(Collectors.toList());
-      }
-    }
-    finally {
-      giant.unlock();
+      return StreamSupport.stream(searchStartTimes.spliterator(), false)
+                          .filter(java.util.Objects::nonNull)
+                          .map(dsRunning::get)
+                          .filter(java.util.Objects::nonNull)
+                          .flatMap(sortedMap -> sortedMap.entrySet().stream())
+                          .filter(entry -> entry.getKey().overlaps(interval))
+                          .flatMap(entry -> entry.getValue().stream())
+                          .collect(Collectors.toList());
     }
   }
 
   @VisibleForTesting
   TaskLockPosse getOnlyTaskLockPosseContainingInterval(Task task, Interval interval)
   {
-    giant.lock();
+    final DataSourceLock dataSourceLock = lockDataSource(task.getDataSource());
 
     try {
       final List<TaskLockPosse> filteredPosses = findLockPossesContainingInterval(task.getDataSource(), interval)
@@ -958,10 +954,46 @@ public class TaskLockbox
       }
     }
     finally {
-      giant.unlock();
+      dataSourceLock.unlock();
     }
   }
 
+  @Override
+  public Map<String, Long> getLockWaitTimeMillis()
+  {
+    final Map<String, Long> waitTimes = new HashMap<>();
+    dataSourceLocks.forEach(
+        (dataSource, dataSourceLock) -> {
+          // Uncontended acquisitions add a few nanoseconds each, which are not worth reporting
+          final long waitTimeMillis = TimeUnit.NANOSECONDS.toMillis(dataSourceLock.waitTimeNanos.getAndSet(0));
+          if (waitTimeMillis > 0) {
+            waitTimes.put(dataSource, waitTimeMillis);
+          }
+        }
+    );
+    return waitTimes;
+  }
+
+  private DataSourceLock lockDataSource(String dataSource)
+  {
+    final DataSourceLock dataSourceLock = dataSourceLocks.computeIfAbsent(dataSource, k -> new DataSourceLock());
+    // Not trying tryLock() first, which would barge ahead of the threads waiting on the fair lock
+    final long startNanos = System.nanoTime();
+    dataSourceLock.lock.lock();
+    dataSourceLock.waitTimeNanos.addAndGet(System.nanoTime() - startNanos);
+    return dataSourceLock;
+  }
+
+  private DataSourceLock lockDataSourceInterruptibly(String dataSource) throws InterruptedException
+  {
+    final DataSourceLock dataSourceLock = dataSourceLocks.computeIfAbsent(dataSource, k -> new DataSourceLock());
+    // Not trying tryLock() first, which would barge ahead of the threads waiting on the fair lock
+    final long startNanos = System.nanoTime();
+    dataSourceLock.lock.lockInterruptibly();
+    dataSourceLock.waitTimeNanos.addAndGet(System.nanoTime() - startNanos);
+    return dataSourceLock;
+  }
+
   private static boolean matchGroupIdAndContainInterval(TaskLock existingLock, String taskGroupId, Interval interval)
   {
     return existingLock.getInterval().contains(interval) &&
@@ -988,7 +1020,7 @@ public class TaskLockbox
   @VisibleForTesting
   Set<String> getActiveTasks()
   {
-    return activeTasks;
+    return activeTasks.keySet();
   }
 
   @VisibleForTesting
@@ -997,6 +1029,19 @@ public class TaskLockbox
     return running;
   }
 
+  private static class DataSourceLock
+  {
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition lockReleaseCondition = lock.newCondition();
+    // Time spent waiting for the lock since the last call of getLockWaitTimeMillis()
+    private final AtomicLong waitTimeNanos = new AtomicLong();
+
+    private void unlock()
+    {
+      lock.unlock();
+    }
+  }
+
   static class TaskLockPosse
   {
     private final TaskLock taskLock;
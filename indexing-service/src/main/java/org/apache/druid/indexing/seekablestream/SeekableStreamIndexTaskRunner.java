@@ -64,6 +64,7 @@ import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.java.util.common.collect.Utils;
+import org.apache.druid.java.util.common.concurrent.Execs;
 import org.apache.druid.java.util.common.parsers.ParseException;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.segment.indexing.RealtimeIOConfig;
@@ -111,6 +112,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -139,6 +141,9 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
   }
 
   private static final EmittingLogger log = new EmittingLogger(SeekableStreamIndexTaskRunner.class);
+  // A polled batch is split into this many chunks per parser thread, so that the main thread can start adding the rows
+  // of the first chunk while the rest of the batch is still being parsed.
+  private static final int PARSE_CHUNKS_PER_THREAD = 4;
   static final String METADATA_NEXT_PARTITIONS = "nextPartitions";
   static final String METADATA_PUBLISH_PARTITIONS = "publishPartitions";
 
@@ -495,6 +500,15 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
       status = Status.READING;
       Throwable caughtExceptionInner = null;
 
+      // Parser threads parse each polled batch ahead of the main thread, which still adds rows, tracks offsets and
+      // checkpoints in record order. Parsers are not thread-safe, so every parser thread gets its own copy.
+      final ExecutorService parseExec = tuningConfig.getNumParserThreads() > 0
+                                        ? Execs.multiThreaded(tuningConfig.getNumParserThreads(), "task-parser-%d")
+                                        : null;
+      final ThreadLocal<InputRowParser<ByteBuffer>> threadParser = ThreadLocal.withInitial(
+          () -> parser.withParseSpec(parser.getParseSpec())
+      );
+
       try {
         while (stillReading) {
           if (possiblyPause()) {
@@ -538,8 +552,19 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
           // note: getRecords() also updates assignment
           stillReading = !assignment.isEmpty();
 
+          // Records which turn out to be out of range are parsed needlessly, their rows are simply dropped.
+          final ParsedRecords parsedRecords = parseExec == null
+                                              ? null
+                                              : submitParsing(
+                                                  parseExec,
+                                                  threadParser,
+                                                  records,
+                                                  fireDepartmentMetrics
+                                              );
+
           SequenceMetadata<PartitionIdType, SequenceOffsetType> sequenceToCheckpoint = null;
-          for (OrderedPartitionableRecord<PartitionIdType, SequenceOffsetType> record : records) {
+          for (int recordIndex = 0; recordIndex < records.size(); recordIndex++) {
+            final OrderedPartitionableRecord<PartitionIdType, SequenceOffsetType> record = records.get(recordIndex);
             final boolean shouldProcess = verifyRecordInRange(record.getPartitionId(), record.getSequenceNumber());
 
             log.trace(
@@ -552,16 +577,9 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
 
             if (shouldProcess) {
               try {
-                final List<byte[]> valueBytess = record.getData();
-                final List<InputRow> rows;
-                if (valueBytess == null || valueBytess.isEmpty()) {
-                  rows = Utils.nullableListOf((InputRow) null);
-                } else {
-                  rows = new ArrayList<>();
-                  for (byte[] valueBytes : valueBytess) {
-                    rows.addAll(parser.parseBatch(ByteBuffer.wrap(valueBytes)));
-                  }
-                }
+                final List<InputRow> rows = parsedRecords == null
+                                            ? parseRecord(parser, record, fireDepartmentMetrics)
+                                            : parsedRecords.getRows(recordIndex, fireDepartmentMetrics);
                 boolean isPersistRequired = false;
 
                 final SequenceMetadata<PartitionIdType, SequenceOffsetType> sequenceToUse = sequences
@@ -579,6 +597,7 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
                   );
                 }
 
+                final long appendStartNanos = System.nanoTime();
                 for (InputRow row : rows) {
                   if (row != null && task.withinMinMaxRecordTime(row)) {
                     final AppenderatorDriverAddResult addResult = driver.add(
@@ -614,6 +633,8 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
                     rowIngestionMeters.incrementThrownAway();
                   }
                 }
+                fireDepartmentMetrics.incrementAppendTimeNanos(System.nanoTime() - appendStartNanos);
+
                 if (isPersistRequired) {
                   Futures.addCallback(
                       driver.persistAsync(committerSupplier.get()),
@@ -706,6 +727,10 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
         throw e;
       }
       finally {
+        if (parseExec != null) {
+          parseExec.shutdownNow();
+        }
+
         log.info("Persisting all pending data");
         try {
           driver.persist(committerSupplier.get()); // persist pending data
@@ -854,6 +879,125 @@ public abstract class SeekableStreamIndexTaskRunner<PartitionIdType, SequenceOff
     return TaskStatus.success(task.getId());
   }
 
+  private List<InputRow> parseRecord(
+      InputRowParser<ByteBuffer> recordParser,
+      OrderedPartitionableRecord<PartitionIdType, SequenceOffsetType> record,
+      FireDepartmentMetrics fireDepartmentMetrics
+  )
+  {
+    final long startNanos = System.nanoTime();
+    try {
+      final List<byte[]> valueBytess = record.getData();
+      if (valueBytess == null || valueBytess.isEmpty()) {
+        return Utils.nullableListOf((InputRow) null);
+      }
+      final List<InputRow> rows = new ArrayList<>();
+      for (byte[] valueBytes : valueBytess) {
+        rows.addAll(recordParser.parseBatch(ByteBuffer.wrap(valueBytes)));
+      }
+      return rows;
+    }
+    finally {
+      fireDepartmentMetrics.incrementParseTimeNanos(System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * Hands the records to the parser threads in contiguous chunks, one task per chunk rather than per record.
+   */
+  private ParsedRecords submitParsing(
+      ExecutorService parseExec,
+      ThreadLocal<InputRowParser<ByteBuffer>> threadParser,
+      List<OrderedPartitionableRecord<PartitionIdType, SequenceOffsetType>> records,
+      FireDepartmentMetrics fireDepartmentMetrics
+  )
+  {
+    final int numChunks = tuningConfig.getNumParserThreads() * PARSE_CHUNKS_PER_THREAD;
+    final int chunkSize = Math.max(1, (records.size() + numChunks - 1) / numChunks);
+    final List<Future<List<ParsedRecord>>> chunks = new ArrayList<>();
+    for (int start = 0; start < records.size(); start += chunkSize) {
+      final List<OrderedPartitionableRecord<PartitionIdType, SequenceOffsetType>> chunk = records.subList(
+          start,
+          Math.min(records.size(), start + chunkSize)
+      );
+      chunks.add(
+          parseExec.submit(() -> {
+            final InputRowParser<ByteBuffer> recordParser = threadParser.get();
+            final List<ParsedRecord> parsed = new ArrayList<>(chunk.size());
+            for (OrderedPartitionableRecord<PartitionIdType, SequenceOffsetType> record : chunk) {
+              // A failure only affects its own record, so that the records before it are still handled in order
+              try {
+                parsed.add(new ParsedRecord(parseRecord(recordParser, record, fireDepartmentMetrics), null));
+              }
+              catch (RuntimeException e) {
+                parsed.add(new ParsedRecord(null, e));
+              }
+            }
+            return parsed;
+          })
+      );
+    }
+    return new ParsedRecords(chunks, chunkSize);
+  }
+
+  /**
+   * Rows of a polled batch being parsed by the parser threads, in chunks of consecutive records.
+   */
+  private static class ParsedRecords
+  {
+    private final List<Future<List<ParsedRecord>>> chunks;
+    private final int chunkSize;
+
+    ParsedRecords(List<Future<List<ParsedRecord>>> chunks, int chunkSize)
+    {
+      this.chunks = chunks;
+      this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Waits for the chunk of the given record to be parsed. A {@link ParseException} is rethrown as is, so that it is
+     * handled exactly like one thrown while parsing on the main thread.
+     */
+    List<InputRow> getRows(int recordIndex, FireDepartmentMetrics fireDepartmentMetrics) throws InterruptedException
+    {
+      final long startNanos = System.nanoTime();
+      final List<ParsedRecord> chunk;
+      try {
+        chunk = chunks.get(recordIndex / chunkSize).get();
+      }
+      catch (ExecutionException e) {
+        Throwables.propagateIfPossible(e.getCause());
+        throw new RuntimeException(e.getCause());
+      }
+      finally {
+        fireDepartmentMetrics.incrementParseWaitTimeNanos(System.nanoTime() - startNanos);
+      }
+      return chunk.get(recordIndex % chunkSize).getRows();
+    }
+  }
+
+  private static class ParsedRecord
+  {
+    @Nullable
+    private final List<InputRow> rows;
+    @Nullable
+    private final RuntimeException exception;
+
+    ParsedRecord(@Nullable List<InputRow> rows, @Nullable RuntimeException exception)
+    {
+      this.rows = rows;
+      this.exception = exception;
+    }
+
+    List<InputRow> getRows()
+    {
+      if (exception != null) {
+        throw exception;
+      }
+      return rows;
+    }
+  }
+
   private void checkPublishAndHandoffFailure() throws ExecutionException, InterruptedException
   {
     // Check if any publishFuture failed.
@@ -20,6 +20,7 @@
 package org.apache.druid.indexing.seekablestream;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
 import org.apache.druid.segment.IndexSpec;
 import org.apache.druid.segment.indexing.RealtimeTuningConfig;
 import org.apache.druid.segment.indexing.TuningConfig;
@@ -36,6 +37,7 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
   private static final int DEFAULT_MAX_ROWS_PER_SEGMENT = 5_000_000;
   private static final boolean DEFAULT_RESET_OFFSET_AUTOMATICALLY = false;
   private static final boolean DEFAULT_SKIP_SEQUENCE_NUMBER_AVAILABILITY_CHECK = false;
+  private static final int DEFAULT_NUM_PARSER_THREADS = 0;
 
   private final int maxRowsInMemory;
   private final long maxBytesInMemory;
@@ -58,6 +60,7 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
   private final boolean logParseExceptions;
   private final int maxParseExceptions;
   private final int maxSavedParseExceptions;
+  private final int numParserThreads;
 
   public SeekableStreamIndexTaskTuningConfig(
       @Nullable Integer maxRowsInMemory,
@@ -78,7 +81,8 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
       @Nullable Period intermediateHandoffPeriod,
       @Nullable Boolean logParseExceptions,
       @Nullable Integer maxParseExceptions,
-      @Nullable Integer maxSavedParseExceptions
+      @Nullable Integer maxSavedParseExceptions,
+      @Nullable Integer numParserThreads
   )
   {
     // Cannot be a static because default basePersistDirectory is unique per-instance
@@ -127,6 +131,8 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
     this.logParseExceptions = logParseExceptions == null
                               ? TuningConfig.DEFAULT_LOG_PARSE_EXCEPTIONS
                               : logParseExceptions;
+    this.numParserThreads = numParserThreads == null ? DEFAULT_NUM_PARSER_THREADS : numParserThreads;
+    Preconditions.checkArgument(this.numParserThreads >= 0, "numParserThreads must be >= 0");
   }
 
   @Override
@@ -254,6 +260,16 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
     return skipSequenceNumberAvailabilityCheck;
   }
 
+  /**
+   * Number of threads parsing polled records ahead of the thread adding rows to the appenderator. Zero means records
+   * are parsed by the main ingestion thread.
+   */
+  @JsonProperty
+  public int getNumParserThreads()
+  {
+    return numParserThreads;
+  }
+
   public abstract SeekableStreamIndexTaskTuningConfig withBasePersistDirectory(File dir);
 
   @Override
@@ -277,6 +293,7 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
            logParseExceptions == that.logParseExceptions &&
            maxParseExceptions == that.maxParseExceptions &&
            maxSavedParseExceptions == that.maxSavedParseExceptions &&
+           numParserThreads == that.numParserThreads &&
            Objects.equals(maxTotalRows, that.maxTotalRows) &&
            Objects.equals(intermediatePersistPeriod, that.intermediatePersistPeriod) &&
            Objects.equals(basePersistDirectory, that.basePersistDirectory) &&
@@ -305,7 +322,8 @@ public abstract class SeekableStreamIndexTaskTuningConfig implements TuningConfi
         skipSequenceNumberAvailabilityCheck,
         logParseExceptions,
         maxParseExceptions,
-        maxSavedParseExceptions
+        maxSavedParseExceptions,
+        numParserThreads
     );
   }
 
@@ -31,6 +31,7 @@ import org.apache.druid.indexing.common.task.Task;
 import org.apache.druid.jackson.DefaultObjectMapper;
 import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.concurrent.Execs;
 import org.apache.druid.java.util.common.granularity.Granularities;
 import org.apache.druid.java.util.common.granularity.Granularity;
 import org.apache.druid.java.util.emitter.EmittingLogger;
@@ -48,6 +49,15 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 public class SegmentAllocateActionTest
 {
   @Rule
@@ -170,6 +180,53 @@ public class SegmentAllocateActionTest
     );
   }
 
+  @Test
+  public void testConcurrentAllocations() throws Exception
+  {
+    final Task task = new NoopTask(null, null, 0, 0, null, null, null);
+    final int numSequences = 16;
+
+    taskActionTestKit.getTaskLockbox().add(task);
+
+    final ExecutorService exec = Execs.multiThreaded(numSequences, "segment-allocate-test-%d");
+    try {
+      final List<Future<SegmentIdWithShardSpec>> futures = new ArrayList<>();
+      for (int i = 0; i < numSequences; i++) {
+        final String sequenceName = "s" + i;
+        futures.add(
+            exec.submit(
+                () -> allocate(task, PARTY_TIME, Granularities.NONE, Granularities.HOUR, sequenceName, null)
+            )
+        );
+      }
+
+      final Set<Integer> partitionNums = new HashSet<>();
+      for (Future<SegmentIdWithShardSpec> future : futures) {
+        final SegmentIdWithShardSpec id = future.get();
+        Assert.assertEquals(Granularities.HOUR.bucket(PARTY_TIME), id.getInterval());
+        partitionNums.add(id.getShardSpec().getPartitionNum());
+      }
+      Assert.assertEquals(
+          IntStream.range(0, numSequences).boxed().collect(Collectors.toSet()),
+          partitionNums
+      );
+    }
+    finally {
+      exec.shutdownNow();
+    }
+
+    // Allocating again for the same sequences gives out the same segments
+    final SegmentIdWithShardSpec id = allocate(
+        task,
+        PARTY_TIME,
+        Granularities.NONE,
+        Granularities.HOUR,
+        "s0",
+        null
+    );
+    Assert.assertTrue(id.getShardSpec().getPartitionNum() < numSequences);
+  }
+
   @Test
   public void testResumeSequence()
   {
@@ -40,6 +40,7 @@ import org.apache.druid.jackson.DefaultObjectMapper;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.Intervals;
 import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.concurrent.Execs;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.java.util.emitter.service.ServiceEmitter;
 import org.apache.druid.metadata.DerbyMetadataStorageActionHandlerFactory;
@@ -54,12 +55,16 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class TaskLockboxTest
@@ -270,6 +275,97 @@ public class TaskLockboxTest
     Assert.assertEquals(beforeLocksInStorage, afterLocksInStorage);
   }
 
+  @Test
+  public void testSyncFromStorageKeepsTasksOfOtherDataSources() throws EntryExistsException
+  {
+    final Interval interval = Intervals.of("2017/2018");
+    final Task storedTask = NoopTask.create("ds1");
+    taskStorage.insert(storedTask, TaskStatus.running(storedTask.getId()));
+    lockbox.add(storedTask);
+    Assert.assertTrue(lockbox.tryLock(TaskLockType.EXCLUSIVE, storedTask, interval).isOk());
+
+    // A task of another dataSource is added while the sync is running, after the active tasks were read from storage
+    final Task concurrentTask = NoopTask.create("ds2");
+    final TaskLockbox[] syncingBox = new TaskLockbox[1];
+    final TestDerbyConnector derbyConnector = derby.getConnector();
+    final TaskStorage racingStorage = new MetadataTaskStorage(
+        derbyConnector,
+        new TaskStorageConfig(null),
+        new DerbyMetadataStorageActionHandlerFactory(
+            derbyConnector,
+            derby.metadataTablesConfigSupplier().get(),
+            objectMapper
+        )
+    )
+    {
+      @Override
+      public List<Task> getActiveTasks()
+      {
+        final List<Task> activeTasks = super.getActiveTasks();
+        syncingBox[0].add(concurrentTask);
+        return activeTasks;
+      }
+    };
+    syncingBox[0] = new TaskLockbox(racingStorage);
+    syncingBox[0].syncFromStorage();
+
+    Assert.assertEquals(
+        new HashSet<>(Arrays.asList(storedTask.getId(), concurrentTask.getId())),
+        syncingBox[0].getActiveTasks()
+    );
+    Assert.assertEquals(1, syncingBox[0].findLocksForTask(storedTask).size());
+    Assert.assertTrue(syncingBox[0].tryLock(TaskLockType.EXCLUSIVE, concurrentTask, interval).isOk());
+  }
+
+  @Test
+  public void testSyncFromStorageKeepsTasksAddedBeforeDataSourcesAreLocked() throws EntryExistsException
+  {
+    final Interval interval = Intervals.of("2017/2018");
+    final Task storedTask = NoopTask.create("ds1");
+    taskStorage.insert(storedTask, TaskStatus.running(storedTask.getId()));
+
+    // A task of the same dataSource is added after the active tasks were read, but before the dataSource is locked
+    final Task concurrentTask = NoopTask.create("ds1");
+    final TaskLockbox[] syncingBox = new TaskLockbox[1];
+    final boolean[] added = new boolean[1];
+    final TestDerbyConnector derbyConnector = derby.getConnector();
+    final TaskStorage racingStorage = new MetadataTaskStorage(
+        derbyConnector,
+        new TaskStorageConfig(null),
+        new DerbyMetadataStorageActionHandlerFactory(
+            derbyConnector,
+            derby.metadataTablesConfigSupplier().get(),
+            objectMapper
+        )
+    )
+    {
+      @Override
+      public List<Task> getActiveTasks()
+      {
+        final List<Task> activeTasks = super.getActiveTasks();
+        if (!added[0]) {
+          added[0] = true;
+          try {
+            insert(concurrentTask, TaskStatus.running(concurrentTask.getId()));
+          }
+          catch (EntryExistsException e) {
+            throw new RuntimeException(e);
+          }
+          syncingBox[0].add(concurrentTask);
+        }
+        return activeTasks;
+      }
+    };
+    syncingBox[0] = new TaskLockbox(racingStorage);
+    syncingBox[0].syncFromStorage();
+
+    Assert.assertEquals(
+        new HashSet<>(Arrays.asList(storedTask.getId(), concurrentTask.getId())),
+        syncingBox[0].getActiveTasks()
+    );
+    Assert.assertTrue(syncingBox[0].tryLock(TaskLockType.EXCLUSIVE, concurrentTask, interval).isOk());
+  }
+
   @Test
   public void testSyncFromStorageWithMissingTaskLockPriority() throws EntryExistsException
   {
@@ -535,6 +631,89 @@ public class TaskLockboxTest
     );
   }
 
+  @Test(timeout = 60_000L)
+  public void testDoInCriticalSectionDoesNotBlockOtherDataSources() throws Exception
+  {
+    final Interval interval = Intervals.of("2017-01-01/2017-01-02");
+    final Task task1 = NoopTask.create("ds1");
+    final Task task2 = NoopTask.create("ds2");
+    lockbox.add(task1);
+    lockbox.add(task2);
+    Assert.assertTrue(lockbox.tryLock(TaskLockType.EXCLUSIVE, task1, interval).isOk());
+
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final ExecutorService exec = Execs.singleThreaded("critical-section-%d");
+    try {
+      final Future<Boolean> future = exec.submit(
+          () -> lockbox.doInCriticalSection(
+              task1,
+              Collections.singletonList(interval),
+              CriticalAction.<Boolean>builder().onValidLocks(() -> {
+                entered.countDown();
+                release.await();
+                return true;
+              }).onInvalidLocks(() -> false).build()
+          )
+      );
+      entered.await();
+
+      // ds1 is blocked by the critical section, but ds2 is not
+      Assert.assertTrue(lockbox.tryLock(TaskLockType.EXCLUSIVE, task2, interval).isOk());
+      Assert.assertTrue(
+          lockbox.doInCriticalSection(
+              task2,
+              Collections.singletonList(interval),
+              CriticalAction.<Boolean>builder().onValidLocks(() -> true).onInvalidLocks(() -> false).build()
+          )
+      );
+
+      release.countDown();
+      Assert.assertTrue(future.get());
+    }
+    finally {
+      exec.shutdownNow();
+    }
+  }
+
+  @Test(timeout = 60_000L)
+  public void testLockWaitTime() throws Exception
+  {
+    final Interval interval = Intervals.of("2017-01-01/2017-01-02");
+    final Task task = NoopTask.create("ds1");
+    lockbox.add(task);
+    Assert.assertTrue(lockbox.tryLock(TaskLockType.EXCLUSIVE, task, interval).isOk());
+    Assert.assertEquals(Collections.emptyMap(), lockbox.getLockWaitTimeMillis());
+
+    final CountDownLatch entered = new CountDownLatch(1);
+    final ExecutorService exec = Execs.singleThreaded("critical-section-%d");
+    try {
+      final Future<Boolean> future = exec.submit(
+          () -> lockbox.doInCriticalSection(
+              task,
+              Collections.singletonList(interval),
+              CriticalAction.<Boolean>builder().onValidLocks(() -> {
+                entered.countDown();
+                Thread.sleep(100);
+                return true;
+              }).onInvalidLocks(() -> false).build()
+          )
+      );
+      entered.await();
+      Assert.assertEquals(1, lockbox.findLocksForTask(task).size());
+      Assert.assertTrue(future.get());
+    }
+    finally {
+      exec.shutdownNow();
+    }
+
+    final Map<String, Long> waitTimes = lockbox.getLockWaitTimeMillis();
+    Assert.assertEquals(Collections.singleton("ds1"), waitTimes.keySet());
+    Assert.assertTrue(waitTimes.get("ds1") > 0);
+    // Wait times are reset once reported
+    Assert.assertEquals(Collections.emptyMap(), lockbox.getLockWaitTimeMillis());
+  }
+
   @Test(timeout = 60_000L)
   public void testAcquireLockAfterRevoked() throws EntryExistsException, InterruptedException
   {
@@ -56,6 +56,20 @@ public interface MutableBitmap extends ImmutableBitmap
    */
   void add(int entry);
 
+  /**
+   * Add every integer of the range [startInclusive, endExclusive) to the bitmap. Implementations backed by bitmaps
+   * with native range support should override this, the default adds the integers one by one.
+   *
+   * @param startInclusive first integer to be added
+   * @param endExclusive   integer following the last one to be added
+   */
+  default void addRange(int startInclusive, int endExclusive)
+  {
+    for (int entry = startInclusive; entry < endExclusive; entry++) {
+      add(entry);
+    }
+  }
+
   /**
    * Remove the specified integer to the bitmap. This is equivalent to setting the
    * ith bit to the value 1.
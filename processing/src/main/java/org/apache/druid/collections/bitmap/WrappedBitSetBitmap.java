@@ -112,6 +112,12 @@ public class WrappedBitSetBitmap extends WrappedImmutableBitSetBitmap implements
     this.bitmap.set(entry);
   }
 
+  @Override
+  public void addRange(int startInclusive, int endExclusive)
+  {
+    this.bitmap.set(startInclusive, endExclusive);
+  }
+
   @Override
   public void remove(int entry)
   {
@@ -113,6 +113,12 @@ public class WrappedRoaringBitmap implements MutableBitmap
     writer.add(entry);
   }
 
+  @Override
+  public void addRange(int startInclusive, int endExclusive)
+  {
+    writer.add(startInclusive, endExclusive);
+  }
+
   @Override
   public int size()
   {
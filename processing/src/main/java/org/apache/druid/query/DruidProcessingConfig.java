@@ -133,6 +133,13 @@ public abstract class DruidProcessingConfig extends ExecutorServiceConfig implem
     return 0;
   }
 
+  @Override
+  @Config(value = "${base_path}.columnCache.dictionaryMatchCacheSize")
+  public int dictionaryMatchCacheSize()
+  {
+    return 0;
+  }
+
   @Config(value = "${base_path}.fifo")
   public boolean isFifo()
   {
@@ -144,4 +151,20 @@ public abstract class DruidProcessingConfig extends ExecutorServiceConfig implem
   {
     return System.getProperty("java.io.tmpdir");
   }
+
+  /**
+   * Maximum number of processing threads a single segment is split across by {@link SegmentSplittingQueryRunner}.
+   * Splitting only happens while processing threads are idle.
+   */
+  @Config(value = "${base_path}.maxSegmentSplits")
+  public int getMaxSegmentSplits()
+  {
+    return 1;
+  }
+
+  @Config(value = "${base_path}.minRowsPerSegmentSplit")
+  public int getMinRowsPerSegmentSplit()
+  {
+    return 1_000_000;
+  }
 }
@@ -199,6 +199,18 @@ public class PrioritizedExecutorService extends AbstractExecutorService implemen
   {
     return delegateQueue.size();
   }
+
+  /**
+   * Returns the number of threads which are neither running nor about to pick up a queued task. This is only an
+   * estimate, as tasks may be submitted or finish concurrently.
+   */
+  public int getNumIdleThreads()
+  {
+    if (!delegateQueue.isEmpty()) {
+      return 0;
+    }
+    return Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount());
+  }
 }
 
 class PrioritizedListenableFutureTask<V> implements RunnableFuture<V>,
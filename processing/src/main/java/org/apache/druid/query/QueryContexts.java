@@ -35,6 +35,7 @@ public class QueryContexts
   public static final String MAX_SCATTER_GATHER_BYTES_KEY = "maxScatterGatherBytes";
   public static final String MAX_QUEUED_BYTES_KEY = "maxQueuedBytes";
   public static final String DEFAULT_TIMEOUT_KEY = "defaultTimeout";
+  public static final String MAX_SEGMENT_SPLITS_KEY = "maxSegmentSplits";
   @Deprecated
   public static final String CHUNK_PERIOD_KEY = "chunkPeriod";
 
@@ -123,6 +124,11 @@ public class QueryContexts
     return parseInt(query, "uncoveredIntervalsLimit", defaultValue);
   }
 
+  public static <T> int getMaxSegmentSplits(Query<T> query, int defaultValue)
+  {
+    return parseInt(query, MAX_SEGMENT_SPLITS_KEY, defaultValue);
+  }
+
   public static <T> int getPriority(Query<T> query)
   {
     return getPriority(query, DEFAULT_PRIORITY);
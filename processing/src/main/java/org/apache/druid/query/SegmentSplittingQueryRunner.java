@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.java.util.common.granularity.AllGranularity;
+import org.apache.druid.java.util.common.granularity.Granularity;
+import org.apache.druid.java.util.common.guava.LazySequence;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.SequenceWrapper;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.query.spec.MultipleIntervalSegmentSpec;
+import org.apache.druid.segment.QueryableIndex;
+import org.apache.druid.segment.Segment;
+import org.apache.druid.segment.StorageAdapter;
+import org.joda.time.DateTime;
+import org.joda.time.Interval;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a per-segment query over several time ranges of the segment in parallel. Rows of a segment are sorted by time,
+ * so each time range is a contiguous range of rows which the base runner reads through a cursor of its own.
+ *
+ * The results of the ranges are concatenated in time order, leaving it to the merging of results across segments to
+ * combine the partial aggregates of time buckets or grouping keys which occur in several ranges. Range boundaries are
+ * aligned to the query granularity, so only {@link org.apache.druid.java.util.common.granularity.Granularities#ALL}
+ * buckets span several ranges.
+ *
+ * A segment is only split when the processing pool has idle threads, in which case the calling thread streams the
+ * first range and then any range no idle thread has picked up yet. Only ranges run by processing threads are
+ * materialized, to hand their results over to the calling thread.
+ */
+public class SegmentSplittingQueryRunner<T> implements QueryRunner<T>
+{
+  private final QueryRunner<T> baseRunner;
+  private final Segment segment;
+  private final ExecutorService executor;
+  private final DruidProcessingConfig config;
+
+  public SegmentSplittingQueryRunner(
+      QueryRunner<T> baseRunner,
+      Segment segment,
+      ExecutorService executor,
+      DruidProcessingConfig config
+  )
+  {
+    this.baseRunner = baseRunner;
+    this.segment = segment;
+    this.executor = executor;
+    this.config = config;
+  }
+
+  @Override
+  public Sequence<T> run(QueryPlus<T> queryPlus, Map<String, Object> responseContext)
+  {
+    final List<Interval> splits = computeSplits(queryPlus.getQuery(), getNumIdleThreads(executor));
+    if (splits.size() < 2) {
+      return baseRunner.run(queryPlus, responseContext);
+    }
+
+    final List<Sequence<T>> sequences = new ArrayList<>(splits.size());
+    final List<RangeTask<T>> tasks = new ArrayList<>(splits.size() - 1);
+    for (Interval split : splits) {
+      final QueryPlus<T> splitQueryPlus = queryPlus.withQuerySegmentSpec(
+          new MultipleIntervalSegmentSpec(Collections.singletonList(split))
+      );
+      if (sequences.isEmpty()) {
+        sequences.add(baseRunner.run(splitQueryPlus, responseContext));
+        continue;
+      }
+      // Query metrics are not thread-safe, only the first range reports them.
+      final QueryPlus<T> taskQueryPlus = splitQueryPlus.withoutThreadUnsafeState();
+      final RangeTask<T> task = new RangeTask<>(() -> baseRunner.run(taskQueryPlus, responseContext).toList());
+      tasks.add(task);
+      // A range is materialized only if a processing thread runs it. If no processing thread has claimed it yet, the
+      // calling thread claims the range and streams it itself.
+      sequences.add(
+          new LazySequence<>(
+              () -> task.claimAndCancel()
+                    ? baseRunner.run(taskQueryPlus, responseContext)
+                    : Sequences.simple(getResults(task))
+          )
+      );
+    }
+
+    final int priority = QueryContexts.getPriority(queryPlus.getQuery());
+    return Sequences.wrap(
+        Sequences.concat(sequences),
+        new SequenceWrapper()
+        {
+          @Override
+          public void before()
+          {
+            for (RangeTask<T> task : tasks) {
+              executor.submit(
+                  new AbstractPrioritizedCallable<Void>(priority)
+                  {
+                    @Override
+                    public Void call()
+                    {
+                      // A no-op for ranges which the calling thread has claimed.
+                      if (task.claim()) {
+                        task.run();
+                      }
+                      return null;
+                    }
+                  }
+              );
+            }
+          }
+
+          @Override
+          public void after(boolean isDone, Throwable thrown)
+          {
+            for (RangeTask<T> task : tasks) {
+              // Ranges claimed by processing threads read the segment until they are done, so wait for them before
+              // the caller releases its reference to the segment.
+              if (!task.claimAndCancel() && !task.isCancelled()) {
+                try {
+                  Uninterruptibles.getUninterruptibly(task);
+                }
+                catch (ExecutionException e) {
+                  // Reported by the sequence of the range, if it is consumed.
+                }
+              }
+            }
+          }
+        }
+    );
+  }
+
+  private static <T> List<T> getResults(RangeTask<T> task)
+  {
+    try {
+      return task.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueryInterruptedException(e);
+    }
+    catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Returns the time ranges to scan the segment with, or an empty list if the segment should be scanned at once.
+   * Descending and bySegment queries are never split, since they rely on seeing each time bucket of a segment once.
+   */
+  @VisibleForTesting
+  List<Interval> computeSplits(Query<T> query, int numIdleThreads)
+  {
+    final int maxSplits = QueryContexts.getMaxSegmentSplits(query, config.getMaxSegmentSplits());
+    final List<Interval> intervals = query.getIntervals();
+    if (maxSplits <= 1 || query.isDescending() || QueryContexts.isBySegment(query) || intervals.size() != 1) {
+      return Collections.emptyList();
+    }
+
+    // Incremental indexes are not split, their rows are not sorted by time.
+    final QueryableIndex index = segment.asQueryableIndex();
+    if (index == null) {
+      return Collections.emptyList();
+    }
+    final int numSplits = Math.min(
+        Math.min(maxSplits, numIdleThreads + 1),
+        index.getNumRows() / Math.max(1, config.getMinRowsPerSegmentSplit())
+    );
+    if (numSplits <= 1) {
+      return Collections.emptyList();
+    }
+
+    final StorageAdapter adapter = segment.asStorageAdapter();
+    final Interval interval = intervals.get(0).overlap(
+        Intervals.utc(adapter.getMinTime().getMillis(), adapter.getMaxTime().getMillis() + 1)
+    );
+    if (interval == null) {
+      return Collections.emptyList();
+    }
+
+    final Granularity granularity = query.getGranularity();
+    final long splitMillis = interval.toDurationMillis() / numSplits;
+    final List<Interval> splits = new ArrayList<>(numSplits);
+    DateTime start = interval.getStart();
+    for (int i = 1; i < numSplits; i++) {
+      DateTime end = interval.getStart().plus(splitMillis * i);
+      if (!(granularity instanceof AllGranularity)) {
+        end = granularity.bucketStart(end);
+      }
+      if (end.isAfter(start)) {
+        splits.add(new Interval(start, end));
+        start = end;
+      }
+    }
+    splits.add(new Interval(start, interval.getEnd()));
+    return splits;
+  }
+
+  private static int getNumIdleThreads(ExecutorService executor)
+  {
+    final ExecutorService delegate = executor instanceof MetricsEmittingExecutorService
+                                     ? ((MetricsEmittingExecutorService) executor).delegate()
+                                     : executor;
+    // The load of other executors is unknown, assume they are busy.
+    return delegate instanceof PrioritizedExecutorService
+           ? ((PrioritizedExecutorService) delegate).getNumIdleThreads()
+           : 0;
+  }
+
+  /**
+   * A range which is scanned by whichever thread claims it first. A processing thread which claims the range runs the
+   * task, the calling thread cancels it instead and scans the range itself.
+   */
+  private static class RangeTask<T> extends FutureTask<List<T>>
+  {
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    RangeTask(Callable<List<T>> callable)
+    {
+      super(callable);
+    }
+
+    boolean claim()
+    {
+      return claimed.compareAndSet(false, true);
+    }
+
+    boolean claimAndCancel()
+    {
+      return claim() && cancel(false);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import com.google.inject.Inject;
+import org.apache.druid.guice.annotations.Processing;
+import org.apache.druid.segment.Segment;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Wraps per-segment runners of query types whose merged results do not depend on how the rows of a segment are split
+ * between runners, so that a single large segment can be scanned by several idle processing threads.
+ */
+public class SegmentSplittingQueryRunnerDecorator
+{
+  private final ExecutorService executor;
+  private final DruidProcessingConfig config;
+
+  @Inject
+  public SegmentSplittingQueryRunnerDecorator(@Processing ExecutorService executor, DruidProcessingConfig config)
+  {
+    this.executor = executor;
+    this.config = config;
+  }
+
+  public <T> QueryRunner<T> decorate(QueryRunner<T> delegate, Segment segment)
+  {
+    return new SegmentSplittingQueryRunner<>(delegate, segment, executor, config);
+  }
+}
@@ -29,6 +29,7 @@ import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.segment.filter.AndFilter;
 import org.apache.druid.segment.filter.Filters;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -98,6 +99,24 @@ public class AndDimFilter implements DimFilter
     return retSet;
   }
 
+  @Nullable
+  @Override
+  public RangeSet<Double> getNumericRangeSet(String column)
+  {
+    RangeSet<Double> retSet = null;
+    for (DimFilter field : fields) {
+      RangeSet<Double> rangeSet = field.getNumericRangeSet(column);
+      if (rangeSet != null) {
+        if (retSet == null) {
+          retSet = TreeRangeSet.create(rangeSet);
+        } else {
+          retSet.removeAll(rangeSet.complement());
+        }
+      }
+    }
+    return retSet;
+  }
+
   @Override
   public HashSet<String> getRequiredColumns()
   {
@@ -24,6 +24,8 @@ import org.apache.druid.collections.bitmap.BitmapFactory;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
 import org.apache.druid.collections.spatial.ImmutableRTree;
 import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.column.BloomFilterIndex;
+import org.apache.druid.segment.column.NumericZoneMap;
 import org.apache.druid.segment.data.CloseableIndexed;
 
 import javax.annotation.Nullable;
@@ -42,4 +44,22 @@ public interface BitmapIndexSelector
   @Nullable
   ImmutableBitmap getBitmapIndex(String dimension, String value);
   ImmutableRTree getSpatialIndex(String dimension);
+
+  /**
+   * Returns the per-zone min/max statistics of the given long or double column, or null if it has none.
+   */
+  @Nullable
+  default NumericZoneMap getNumericZoneMap(String column)
+  {
+    return null;
+  }
+
+  /**
+   * Returns the bloom filters of the values of the given string column, or null if it has none.
+   */
+  @Nullable
+  default BloomFilterIndex getBloomFilterIndex(String column)
+  {
+    return null;
+  }
 }
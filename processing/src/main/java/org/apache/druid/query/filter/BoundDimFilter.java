@@ -248,6 +248,36 @@ public class BoundDimFilter implements DimFilter
     return retSet;
   }
 
+  @Nullable
+  @Override
+  public RangeSet<Double> getNumericRangeSet(String column)
+  {
+    if (!(Objects.equals(getDimension(), column)
+          && getExtractionFn() == null
+          && ordering.equals(StringComparators.NUMERIC))) {
+      return null;
+    }
+
+    // Strict bounds are widened to closed ones, see DimFilter#getNumericRangeSet
+    final Double lowerValue = getLower() == null ? null : DimFilterUtils.parseNumericRangeValue(getLower());
+    final Double upperValue = getUpper() == null ? null : DimFilterUtils.parseNumericRangeValue(getUpper());
+    if ((getLower() != null && lowerValue == null) || (getUpper() != null && upperValue == null)) {
+      return null;
+    }
+
+    RangeSet<Double> retSet = TreeRangeSet.create();
+    if (lowerValue == null && upperValue == null) {
+      retSet.add(Range.all());
+    } else if (lowerValue == null) {
+      retSet.add(Range.atMost(upperValue));
+    } else if (upperValue == null) {
+      retSet.add(Range.atLeast(lowerValue));
+    } else if (lowerValue <= upperValue) {
+      retSet.add(Range.closed(lowerValue, upperValue));
+    }
+    return retSet;
+  }
+
   @Override
   public HashSet<String> getRequiredColumns()
   {
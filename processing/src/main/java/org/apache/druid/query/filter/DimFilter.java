@@ -24,6 +24,7 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.google.common.collect.RangeSet;
 import org.apache.druid.java.util.common.Cacheable;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 
 /**
@@ -78,6 +79,22 @@ public interface DimFilter extends Cacheable
    */
   RangeSet<String> getDimensionRangeSet(String dimension);
 
+  /**
+   * Returns a RangeSet that represents the possible numeric range of the input column for this DimFilter, when the
+   * column is a long, float or double column. This is the numeric counterpart of {@link #getDimensionRangeSet} and
+   * follows the same conventions, except that the ranges are always closed. Values are compared as doubles, and a
+   * closed range stays correct when long values or filter bounds are rounded to the nearest double.
+   *
+   * @param column name of the column to get range for
+   * @return a RangeSet that represent the possible range of the input column, or null if it is not possible to
+   * determine for this DimFilter.
+   */
+  @Nullable
+  default RangeSet<Double> getNumericRangeSet(String column)
+  {
+    return null;
+  }
+
   /**
    * @return a HashSet that represents all columns' name which the DimFilter required to do filter.
    */
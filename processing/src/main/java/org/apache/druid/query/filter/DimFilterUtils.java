@@ -22,8 +22,13 @@ package org.apache.druid.query.filter;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.collect.RangeSet;
+import com.google.common.primitives.Doubles;
+import org.apache.druid.timeline.partition.ColumnRange;
+import org.apache.druid.timeline.partition.NumericColumnRange;
 import org.apache.druid.timeline.partition.ShardSpec;
+import org.apache.druid.timeline.partition.StringColumnRange;
 
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -40,8 +45,8 @@ public class DimFilterUtils
   static final byte OR_CACHE_ID = 0x2;
   static final byte NOT_CACHE_ID = 0x3;
   static final byte EXTRACTION_CACHE_ID = 0x4;
-  static final byte REGEX_CACHE_ID = 0x5;
-  static final byte SEARCH_QUERY_TYPE_ID = 0x6;
+  public static final byte REGEX_CACHE_ID = 0x5;
+  public static final byte SEARCH_QUERY_TYPE_ID = 0x6;
   static final byte JAVASCRIPT_CACHE_ID = 0x7;
   static final byte SPATIAL_CACHE_ID = 0x8;
   static final byte IN_CACHE_ID = 0x9;
@@ -144,4 +149,67 @@ public class DimFilterUtils
     }
     return retSet;
   }
+
+  /**
+   * Returns false if the column ranges of a segment, see {@link org.apache.druid.timeline.DataSegment#getColumnRanges},
+   * exclude all rows matching the dimFilter; otherwise returns true. String columns are checked against
+   * {@link DimFilter#getDimensionRangeSet(String)} and numeric columns against
+   * {@link DimFilter#getNumericRangeSet(String)}.
+   *
+   * The caches store the RangeSets of different columns for the dimFilter, in the same way as the
+   * dimensionRangeCache of {@link #filterShards(DimFilter, Iterable, Function, Map)}, and should be re-used between
+   * calls with the same dimFilter.
+   *
+   * @param dimFilter The filter to use
+   * @param columnRanges The column ranges of a segment
+   * @param dimensionRangeCache The cache of string RangeSets of different columns for the dimFilter
+   * @param numericRangeCache The cache of numeric RangeSets of different columns for the dimFilter
+   * @return possibility of rows matching the dimFilter in the segment
+   */
+  public static boolean possibleInColumnRanges(
+      @Nullable DimFilter dimFilter,
+      Map<String, ColumnRange> columnRanges,
+      Map<String, Optional<RangeSet<String>>> dimensionRangeCache,
+      Map<String, Optional<RangeSet<Double>>> numericRangeCache
+  )
+  {
+    if (dimFilter == null) {
+      return true;
+    }
+    for (Map.Entry<String, ColumnRange> entry : columnRanges.entrySet()) {
+      final String column = entry.getKey();
+      final ColumnRange columnRange = entry.getValue();
+      if (columnRange instanceof StringColumnRange) {
+        Optional<RangeSet<String>> optFilterRangeSet = dimensionRangeCache
+            .computeIfAbsent(column, d -> Optional.fromNullable(dimFilter.getDimensionRangeSet(d)));
+        if (optFilterRangeSet.isPresent()
+            && !((StringColumnRange) columnRange).possibleInDomain(optFilterRangeSet.get())) {
+          return false;
+        }
+      } else if (columnRange instanceof NumericColumnRange) {
+        Optional<RangeSet<Double>> optFilterRangeSet = numericRangeCache
+            .computeIfAbsent(column, d -> Optional.fromNullable(dimFilter.getNumericRangeSet(d)));
+        if (optFilterRangeSet.isPresent()
+            && !((NumericColumnRange) columnRange).possibleInDomain(optFilterRangeSet.get())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses a filter value for {@link DimFilter#getNumericRangeSet(String)}.
+   *
+   * @return the value as a double, or null if it is not a number
+   */
+  @Nullable
+  static Double parseNumericRangeValue(String value)
+  {
+    final Double parsed = Doubles.tryParse(value);
+    if (parsed == null || parsed.isNaN()) {
+      return null;
+    }
+    return NumericColumnRange.normalize(parsed);
+  }
 }
@@ -21,10 +21,32 @@ package org.apache.druid.query.filter;
 
 import com.google.common.base.Predicate;
 
+import javax.annotation.Nullable;
+
 public interface DruidPredicateFactory
 {
   Predicate<String> makeStringPredicate();
 
+  /**
+   * Returns a predicate equivalent to {@link #makeStringPredicate()} for non-null values, applied to their UTF-8
+   * bytes, or null if there is none. Dictionaries use it to match their values without decoding them.
+   */
+  @Nullable
+  default Utf8Predicate makeUtf8Predicate()
+  {
+    return null;
+  }
+
+  /**
+   * Returns a key identifying the string predicate of this factory among those of all factories, so that columns may
+   * cache the ids of the dictionary values it matches, or null if matches must not be cached.
+   */
+  @Nullable
+  default byte[] getStringPredicateCacheKey()
+  {
+    return null;
+  }
+
   DruidLongPredicate makeLongPredicate();
 
   DruidFloatPredicate makeFloatPredicate();
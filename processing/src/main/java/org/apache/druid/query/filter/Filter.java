@@ -25,6 +25,8 @@ import org.apache.druid.query.DefaultBitmapResultFactory;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 
+import javax.annotation.Nullable;
+
 public interface Filter
 {
   /**
@@ -107,4 +109,19 @@ public interface Filter
    * @return true if this Filter supports selectivity estimation, false otherwise.
    */
   boolean supportsSelectivityEstimation(ColumnSelector columnSelector, BitmapIndexSelector indexSelector);
+
+  /**
+   * Get a bitmap of rows which may match this filter, for filters which cannot use a bitmap index but can rule out
+   * some rows up front, e.g. using {@link BitmapIndexSelector#getNumericZoneMap}. The returned bitmap is a superset of
+   * the matching rows, so rows within it must still be checked with {@link #makeMatcher}.
+   *
+   * @param selector Object used to retrieve bitmap indexes and column statistics
+   *
+   * @return A bitmap of candidate rows, or null if this filter cannot rule out any rows.
+   */
+  @Nullable
+  default ImmutableBitmap getCandidateBitmap(BitmapIndexSelector selector)
+  {
+    return null;
+  }
 }
@@ -45,6 +45,7 @@ import org.apache.druid.query.lookup.LookupExtractor;
 import org.apache.druid.segment.DimensionHandlerUtils;
 import org.apache.druid.segment.filter.InFilter;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -209,6 +210,24 @@ public class InDimFilter implements DimFilter
     return retSet;
   }
 
+  @Nullable
+  @Override
+  public RangeSet<Double> getNumericRangeSet(String column)
+  {
+    if (!Objects.equals(getDimension(), column) || getExtractionFn() != null) {
+      return null;
+    }
+    RangeSet<Double> retSet = TreeRangeSet.create();
+    for (String value : values) {
+      final Double numericValue = value == null ? null : DimFilterUtils.parseNumericRangeValue(value);
+      if (numericValue == null) {
+        return null;
+      }
+      retSet.add(Range.singleton(numericValue));
+    }
+    return retSet;
+  }
+
   @Override
   public HashSet<String> getRequiredColumns()
   {
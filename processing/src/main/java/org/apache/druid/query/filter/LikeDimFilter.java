@@ -27,8 +27,10 @@ import com.google.common.collect.RangeSet;
 import com.google.common.collect.Sets;
 import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.Chars;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import org.apache.druid.common.config.NullHandling;
 import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.query.cache.CacheKeyBuilder;
 import org.apache.druid.query.extraction.ExtractionFn;
 import org.apache.druid.segment.data.Indexed;
 import org.apache.druid.segment.filter.LikeFilter;
@@ -93,15 +95,21 @@ public class LikeDimFilter implements DimFilter
     // Regex pattern that describes matching strings.
     private final Pattern pattern;
 
+    // Same pattern in the form expected by Utf8Predicates.like, or null if it cannot be encoded as UTF-8.
+    @Nullable
+    private final int[] utf8Pattern;
+
     private LikeMatcher(
         final SuffixMatch suffixMatch,
         final String prefix,
-        final Pattern pattern
+        final Pattern pattern,
+        @Nullable final int[] utf8Pattern
     )
     {
       this.suffixMatch = Preconditions.checkNotNull(suffixMatch, "suffixMatch");
       this.prefix = NullHandling.nullToEmptyIfNeeded(prefix);
       this.pattern = Preconditions.checkNotNull(pattern, "pattern");
+      this.utf8Pattern = utf8Pattern;
     }
 
     public static LikeMatcher from(
@@ -111,6 +119,9 @@ public class LikeDimFilter implements DimFilter
     {
       final StringBuilder prefix = new StringBuilder();
       final StringBuilder regex = new StringBuilder();
+      final IntArrayList utf8Pattern = new IntArrayList();
+      final StringBuilder literal = new StringBuilder();
+      boolean utf8Encodable = true;
       boolean escaping = false;
       boolean inPrefix = true;
       SuffixMatch suffixMatch = SuffixMatch.MATCH_EMPTY;
@@ -124,10 +135,14 @@ public class LikeDimFilter implements DimFilter
             suffixMatch = SuffixMatch.MATCH_ANY;
           }
           regex.append(WILDCARD);
+          utf8Encodable &= addUtf8Literal(utf8Pattern, literal);
+          utf8Pattern.add(Utf8Predicates.LIKE_ANY_SEQUENCE);
         } else if (c == '_' && !escaping) {
           inPrefix = false;
           suffixMatch = SuffixMatch.MATCH_PATTERN;
           regex.append(".");
+          utf8Encodable &= addUtf8Literal(utf8Pattern, literal);
+          utf8Pattern.add(Utf8Predicates.LIKE_ANY_CHARACTER);
         } else {
           if (inPrefix) {
             prefix.append(c);
@@ -135,11 +150,35 @@ public class LikeDimFilter implements DimFilter
             suffixMatch = SuffixMatch.MATCH_PATTERN;
           }
           addPatternCharacter(regex, c);
+          literal.append(c);
           escaping = false;
         }
       }
+      utf8Encodable &= addUtf8Literal(utf8Pattern, literal);
+
+      return new LikeMatcher(
+          suffixMatch,
+          prefix.toString(),
+          Pattern.compile(regex.toString()),
+          utf8Encodable ? utf8Pattern.toIntArray() : null
+      );
+    }
 
-      return new LikeMatcher(suffixMatch, prefix.toString(), Pattern.compile(regex.toString()));
+    /**
+     * Appends the UTF-8 bytes of the pending literal characters to the pattern and clears them. Returns false if they
+     * contain unpaired surrogates, which have no UTF-8 encoding.
+     */
+    private static boolean addUtf8Literal(final IntArrayList utf8Pattern, final StringBuilder literal)
+    {
+      final String s = literal.toString();
+      literal.setLength(0);
+      if (!Utf8Predicates.isWellFormed(s)) {
+        return false;
+      }
+      for (byte b : StringUtils.toUtf8(s)) {
+        utf8Pattern.add(b & 0xFF);
+      }
+      return true;
     }
 
     private static void addPatternCharacter(final StringBuilder patternBuilder, final char c)
@@ -219,6 +258,26 @@ public class LikeDimFilter implements DimFilter
             return input -> matches(String.valueOf(input));
           }
         }
+
+        @Nullable
+        @Override
+        public Utf8Predicate makeUtf8Predicate()
+        {
+          if (extractionFn != null || utf8Pattern == null) {
+            return null;
+          }
+          return Utf8Predicates.like(utf8Pattern, input -> matches(input));
+        }
+
+        @Nullable
+        @Override
+        public byte[] getStringPredicateCacheKey()
+        {
+          if (extractionFn != null) {
+            return null;
+          }
+          return new CacheKeyBuilder(DimFilterUtils.LIKE_CACHE_ID).appendString(pattern.pattern()).build();
+        }
       };
     }
 
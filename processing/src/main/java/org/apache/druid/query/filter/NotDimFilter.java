@@ -26,6 +26,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.RangeSet;
 import org.apache.druid.segment.filter.NotFilter;
 
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.util.HashSet;
 import java.util.List;
@@ -101,6 +102,20 @@ public class NotDimFilter implements DimFilter
     return rangeSet == null ? null : rangeSet.complement();
   }
 
+  /**
+   * The complement of a numeric range set is not safe to use, because {@link DimFilter#getNumericRangeSet} widens
+   * strict bounds to closed ones and compares rounded values, so only double negation is resolved here.
+   */
+  @Nullable
+  @Override
+  public RangeSet<Double> getNumericRangeSet(String column)
+  {
+    if (field instanceof NotDimFilter) {
+      return ((NotDimFilter) field).getField().getNumericRangeSet(column);
+    }
+    return null;
+  }
+
   @Override
   public HashSet<String> getRequiredColumns()
   {
@@ -29,6 +29,7 @@ import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.segment.filter.Filters;
 import org.apache.druid.segment.filter.OrFilter;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -106,6 +107,22 @@ public class OrDimFilter implements DimFilter
     return retSet;
   }
 
+  @Nullable
+  @Override
+  public RangeSet<Double> getNumericRangeSet(String column)
+  {
+    RangeSet<Double> retSet = TreeRangeSet.create();
+    for (DimFilter field : fields) {
+      RangeSet<Double> rangeSet = field.getNumericRangeSet(column);
+      if (rangeSet == null) {
+        return null;
+      } else {
+        retSet.addAll(rangeSet);
+      }
+    }
+    return retSet;
+  }
+
   @Override
   public HashSet<String> getRequiredColumns()
   {
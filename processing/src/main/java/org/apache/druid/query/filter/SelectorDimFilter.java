@@ -200,6 +200,22 @@ public class SelectorDimFilter implements DimFilter
     return retSet;
   }
 
+  @Nullable
+  @Override
+  public RangeSet<Double> getNumericRangeSet(String column)
+  {
+    if (!Objects.equals(getDimension(), column) || getExtractionFn() != null || value == null) {
+      return null;
+    }
+    final Double numericValue = DimFilterUtils.parseNumericRangeValue(value);
+    if (numericValue == null) {
+      return null;
+    }
+    RangeSet<Double> retSet = TreeRangeSet.create();
+    retSet.add(Range.singleton(numericValue));
+    return retSet;
+  }
+
   @Override
   public HashSet<String> getRequiredColumns()
   {
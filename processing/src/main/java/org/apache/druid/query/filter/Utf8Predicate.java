@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A predicate on non-null string values, applied to their UTF-8 bytes, so that dictionaries can match their values
+ * without decoding each of them to a String.
+ *
+ * @see DruidPredicateFactory#makeUtf8Predicate()
+ */
+@FunctionalInterface
+public interface Utf8Predicate
+{
+  /**
+   * Applies the predicate to the value encoded in the given range of the buffer. Implementations must use absolute
+   * reads only, and not change the position or limit of the buffer.
+   */
+  boolean apply(ByteBuffer buffer, int position, int length);
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter;
+
+import com.google.common.base.Predicate;
+import org.apache.druid.java.util.common.StringUtils;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for building {@link Utf8Predicate}s.
+ */
+public class Utf8Predicates
+{
+  /**
+   * Element of a pattern passed to {@link #like} matching any single character.
+   */
+  public static final int LIKE_ANY_CHARACTER = -1;
+
+  /**
+   * Element of a pattern passed to {@link #like} matching any sequence of characters.
+   */
+  public static final int LIKE_ANY_SEQUENCE = -2;
+
+  /**
+   * Returns a predicate matching values which contain the given string, or null if the string contains unpaired
+   * surrogates, which can match halves of characters in Java strings but have no UTF-8 encoding.
+   */
+  @Nullable
+  public static Utf8Predicate contains(final String value)
+  {
+    if (!isWellFormed(value)) {
+      return null;
+    }
+    final byte[] needle = StringUtils.toUtf8(value);
+    return (buffer, position, length) -> indexOf(buffer, position, length, needle) >= 0;
+  }
+
+  /**
+   * Returns a predicate matching values which contain the given ASCII string, ignoring case. Values with non-ASCII
+   * characters are decoded and passed to the fallback predicate, since some of them, like the Kelvin sign, equal
+   * ASCII letters when ignoring case. Returns null if the given string is not ASCII.
+   */
+  @Nullable
+  public static Utf8Predicate containsIgnoreCase(final String value, final Predicate<String> fallback)
+  {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) >= 0x80) {
+        return null;
+      }
+    }
+    final byte[] needle = StringUtils.toUtf8(StringUtils.toLowerCase(value));
+    return (buffer, position, length) -> {
+      final int end = position + length;
+      for (int i = position; i < end; i++) {
+        if (buffer.get(i) < 0) {
+          return fallback.apply(decode(buffer, position, length));
+        }
+      }
+      for (int start = position; start + needle.length <= end; start++) {
+        int i = 0;
+        while (i < needle.length && toLowerCaseAscii(buffer.get(start + i)) == needle[i]) {
+          i++;
+        }
+        if (i == needle.length) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a predicate matching values against a LIKE pattern, given as a sequence of literal UTF-8 bytes from 0 to
+   * 255, {@link #LIKE_ANY_CHARACTER} and {@link #LIKE_ANY_SEQUENCE}. Like the regular expressions LIKE patterns are
+   * otherwise evaluated with, wildcards do not match line terminators, so values containing them are decoded and
+   * passed to the fallback predicate.
+   */
+  public static Utf8Predicate like(final int[] pattern, final Predicate<String> fallback)
+  {
+    return (buffer, position, length) -> {
+      if (containsLineTerminator(buffer, position, length)) {
+        return fallback.apply(decode(buffer, position, length));
+      }
+
+      // Wildcard matching that backtracks to the last LIKE_ANY_SEQUENCE only, advancing over whole characters.
+      final int end = position + length;
+      int p = 0;
+      int s = position;
+      int lastSequence = -1;
+      int lastSequenceStart = -1;
+      while (s < end) {
+        if (p < pattern.length && pattern[p] == LIKE_ANY_CHARACTER) {
+          s += characterLength(buffer.get(s));
+          p++;
+        } else if (p < pattern.length && pattern[p] == (buffer.get(s) & 0xFF)) {
+          s++;
+          p++;
+        } else if (p < pattern.length && pattern[p] == LIKE_ANY_SEQUENCE) {
+          lastSequence = p++;
+          lastSequenceStart = s;
+        } else if (lastSequence >= 0) {
+          lastSequenceStart += characterLength(buffer.get(lastSequenceStart));
+          s = lastSequenceStart;
+          p = lastSequence + 1;
+        } else {
+          return false;
+        }
+      }
+      while (p < pattern.length && pattern[p] == LIKE_ANY_SEQUENCE) {
+        p++;
+      }
+      return p == pattern.length;
+    };
+  }
+
+  /**
+   * Returns the position of the first occurrence of the needle in the given range of the buffer, or -1.
+   */
+  public static int indexOf(ByteBuffer buffer, int position, int length, byte[] needle)
+  {
+    final int last = position + length - needle.length;
+    for (int start = position; start <= last; start++) {
+      int i = 0;
+      while (i < needle.length && buffer.get(start + i) == needle[i]) {
+        i++;
+      }
+      if (i == needle.length) {
+        return start;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns true if the string has no unpaired surrogates, so that matching its UTF-8 encoding is equivalent to
+   * matching the string.
+   */
+  public static boolean isWellFormed(String value)
+  {
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (Character.isHighSurrogate(c)) {
+        if (i + 1 == value.length() || !Character.isLowSurrogate(value.charAt(i + 1))) {
+          return false;
+        }
+        i++;
+      } else if (Character.isLowSurrogate(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static String decode(ByteBuffer buffer, int position, int length)
+  {
+    final byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(position + i);
+    }
+    return StringUtils.fromUtf8(bytes);
+  }
+
+  /**
+   * Returns the length of the UTF-8 encoded character starting with the given byte.
+   */
+  private static int characterLength(byte lead)
+  {
+    final int b = lead & 0xFF;
+    if (b < 0xC0) {
+      return 1;
+    } else if (b < 0xE0) {
+      return 2;
+    } else if (b < 0xF0) {
+      return 3;
+    } else {
+      return 4;
+    }
+  }
+
+  /**
+   * Returns true if the value contains a character which {@link java.util.regex.Pattern} treats as a line
+   * terminator: \n, \r, U+0085, U+2028 or U+2029.
+   */
+  private static boolean containsLineTerminator(ByteBuffer buffer, int position, int length)
+  {
+    final int end = position + length;
+    for (int i = position; i < end; i++) {
+      final byte b = buffer.get(i);
+      if (b == '\n' || b == '\r') {
+        return true;
+      }
+      if (b == (byte) 0xC2 && i + 1 < end && buffer.get(i + 1) == (byte) 0x85) {
+        return true;
+      }
+      if (b == (byte) 0xE2 && i + 2 < end && buffer.get(i + 1) == (byte) 0x80) {
+        final byte third = buffer.get(i + 2);
+        if (third == (byte) 0xA8 || third == (byte) 0xA9) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static byte toLowerCaseAscii(byte b)
+  {
+    return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+  }
+
+  private Utf8Predicates()
+  {
+  }
+}
@@ -24,18 +24,23 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.inject.Inject;
 import org.apache.druid.data.input.Row;
+import org.apache.druid.guice.annotations.Processing;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QueryRunnerFactory;
 import org.apache.druid.query.QueryToolChest;
+import org.apache.druid.query.SegmentSplittingQueryRunnerDecorator;
 import org.apache.druid.query.groupby.strategy.GroupByStrategySelector;
 import org.apache.druid.segment.Segment;
 import org.apache.druid.segment.StorageAdapter;
 
+import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -44,21 +49,52 @@ public class GroupByQueryRunnerFactory implements QueryRunnerFactory<Row, GroupB
 {
   private final GroupByStrategySelector strategySelector;
   private final GroupByQueryQueryToolChest toolChest;
+  @Nullable
+  private final SegmentSplittingQueryRunnerDecorator segmentSplitter;
 
   @Inject
   public GroupByQueryRunnerFactory(
       GroupByStrategySelector strategySelector,
-      GroupByQueryQueryToolChest toolChest
+      GroupByQueryQueryToolChest toolChest,
+      @Processing Optional<ExecutorService> processingExecutor,
+      DruidProcessingConfig processingConfig
+  )
+  {
+    this(
+        strategySelector,
+        toolChest,
+        processingExecutor.map(executor -> new SegmentSplittingQueryRunnerDecorator(executor, processingConfig))
+                          .orElse(null)
+    );
+  }
+
+  /**
+   * @param segmentSplitter splits large segments across idle processing threads, if not null
+   */
+  public GroupByQueryRunnerFactory(
+      GroupByStrategySelector strategySelector,
+      GroupByQueryQueryToolChest toolChest,
+      @Nullable SegmentSplittingQueryRunnerDecorator segmentSplitter
   )
   {
     this.strategySelector = strategySelector;
     this.toolChest = toolChest;
+    this.segmentSplitter = segmentSplitter;
+  }
+
+  public GroupByQueryRunnerFactory(
+      GroupByStrategySelector strategySelector,
+      GroupByQueryQueryToolChest toolChest
+  )
+  {
+    this(strategySelector, toolChest, null);
   }
 
   @Override
   public QueryRunner<Row> createRunner(final Segment segment)
   {
-    return new GroupByQueryRunner(segment, strategySelector);
+    final QueryRunner<Row> runner = new GroupByQueryRunner(segment, strategySelector);
+    return segmentSplitter == null ? runner : segmentSplitter.decorate(runner, segment);
   }
 
   @Override
@@ -29,12 +29,28 @@ import org.apache.druid.query.dimension.DimensionSpec;
 import org.apache.druid.query.groupby.GroupByQuery;
 import org.joda.time.DateTime;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 
+/**
+ * Combines rows with equal grouping keys, as passed by {@link org.apache.druid.common.guava.CombiningSequence}. Not
+ * thread-safe, every sequence needs its own instance.
+ */
 public class GroupByBinaryFnV2 implements BinaryFn<Row, Row, Row>
 {
   private final GroupByQuery query;
 
+  /**
+   * The last row created by this function. CombiningSequence passes it back as arg1 as long as more rows with the
+   * same grouping key follow, for instance partial aggregates of the same key from several data servers merged on the
+   * Broker. The aggregates of those are combined into this row in place rather than into a new row per pair of rows.
+   * Rows passed in by the caller are never modified.
+   */
+  @Nullable
+  private MapBasedRow combinedRow;
+  @Nullable
+  private Map<String, Object> combinedEvent;
+
   public GroupByBinaryFnV2(GroupByQuery query)
   {
     this.query = query;
@@ -49,6 +65,14 @@ public class GroupByBinaryFnV2 implements BinaryFn<Row, Row, Row>
       return arg1;
     }
 
+    if (arg1 == combinedRow) {
+      for (AggregatorFactory aggregatorFactory : query.getAggregatorSpecs()) {
+        final String name = aggregatorFactory.getName();
+        combinedEvent.put(name, aggregatorFactory.combine(combinedEvent.get(name), arg2.getRaw(name)));
+      }
+      return combinedRow;
+    }
+
     final Map<String, Object> newMap = Maps.newHashMapWithExpectedSize(
         query.getDimensions().size()
         + query.getAggregatorSpecs().size()
@@ -70,7 +94,10 @@ public class GroupByBinaryFnV2 implements BinaryFn<Row, Row, Row>
       );
     }
 
-    return new MapBasedRow(adjustTimestamp(arg1), newMap);
+    // MapBasedRow only exposes an unmodifiable view of the map
+    combinedEvent = newMap;
+    combinedRow = new MapBasedRow(adjustTimestamp(arg1), newMap);
+    return combinedRow;
   }
 
   private DateTime adjustTimestamp(final Row row)
@@ -19,15 +19,13 @@
 
 package org.apache.druid.query.groupby.epinephelinae;
 
-import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Function;
 import com.google.common.base.Supplier;
-import com.google.common.collect.Iterators;
-import net.jpountz.lz4.LZ4BlockInputStream;
-import net.jpountz.lz4.LZ4BlockOutputStream;
 import org.apache.druid.java.util.common.CloseableIterators;
+import org.apache.druid.java.util.common.FileUtils;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.MappedByteBufferHandler;
+import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.java.util.common.io.Closer;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.java.util.common.parsers.CloseableIterator;
@@ -36,8 +34,10 @@ import org.apache.druid.query.aggregation.AggregatorFactory;
 import org.apache.druid.query.groupby.orderby.DefaultLimitSpec;
 import org.apache.druid.segment.ColumnSelectorFactory;
 
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -45,21 +45,32 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * Grouper based around a single underlying {@link BufferHashGrouper}. Not thread-safe.
  *
- * When the underlying grouper is full, its contents are sorted and written to temporary files using "spillMapper".
+ * When the underlying grouper is full, its contents are sorted and written to temporary files. Spill files use a
+ * binary format: the dictionary of the key serde, followed by the entries as fixed-width serialized keys and tagged
+ * aggregator values. Primitive values are written as is, other values are written using "spillMapper". Spill files
+ * are read back through memory mapping, see {@link #read(File)}.
  */
 public class SpillingGrouper<KeyType> implements Grouper<KeyType>
 {
   private static final Logger log = new Logger(SpillingGrouper.class);
 
+  private static final byte NULL_VALUE = 0;
+  private static final byte LONG_VALUE = 1;
+  private static final byte DOUBLE_VALUE = 2;
+  private static final byte FLOAT_VALUE = 3;
+  private static final byte OBJECT_VALUE = 4;
+
   private final Grouper<KeyType> grouper;
   private static final AggregateResult DISK_FULL = AggregateResult.failure(
       "Not enough disk space to execute this query. Try raising druid.query.groupBy.maxOnDiskStorage."
   );
+  private final KeySerdeFactory<KeyType> keySerdeFactory;
   private final KeySerde<KeyType> keySerde;
   private final LimitedTemporaryStorage temporaryStorage;
   private final ObjectMapper spillMapper;
@@ -68,7 +79,6 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
   private final Comparator<Grouper.Entry<KeyType>> defaultOrderKeyObjComparator;
 
   private final List<File> files = new ArrayList<>();
-  private final List<File> dictionaryFiles = new ArrayList<>();
   private final boolean sortHasNonGroupingFields;
 
   private boolean spillingAllowed;
@@ -89,6 +99,7 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
       final int mergeBufferSize
   )
   {
+    this.keySerdeFactory = keySerdeFactory;
     this.keySerde = keySerdeFactory.factorize();
     this.keyObjComparator = keySerdeFactory.objectComparator(false);
     this.defaultOrderKeyObjComparator = keySerdeFactory.objectComparator(true);
@@ -210,16 +221,9 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
     final Set<String> mergedDictionary = new HashSet<>();
     mergedDictionary.addAll(keySerde.getDictionary());
 
-    for (File dictFile : dictionaryFiles) {
-      try (
-          final MappingIterator<String> dictIterator = spillMapper.readValues(
-              spillMapper.getFactory().createParser(new LZ4BlockInputStream(new FileInputStream(dictFile))),
-              spillMapper.getTypeFactory().constructType(String.class)
-          )
-      ) {
-        while (dictIterator.hasNext()) {
-          mergedDictionary.add(dictIterator.next());
-        }
+    for (File file : files) {
+      try (final MappedByteBufferHandler mapped = FileUtils.map(file)) {
+        mergedDictionary.addAll(readDictionary(mapped.get()));
       }
       catch (IOException e) {
         throw new RuntimeException(e);
@@ -243,30 +247,8 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
 
     final Closer closer = Closer.create();
     for (final File file : files) {
-      final MappingIterator<Entry<KeyType>> fileIterator = read(file, keySerde.keyClazz());
-      iterators.add(
-          CloseableIterators.withEmptyBaggage(
-              Iterators.transform(
-                  fileIterator,
-                  new Function<Entry<KeyType>, Entry<KeyType>>()
-                  {
-                    @Override
-                    public Entry<KeyType> apply(Entry<KeyType> entry)
-                    {
-                      final Object[] deserializedValues = new Object[entry.getValues().length];
-                      for (int i = 0; i < deserializedValues.length; i++) {
-                        deserializedValues[i] = aggregatorFactories[i].deserialize(entry.getValues()[i]);
-                        if (deserializedValues[i] instanceof Integer) {
-                          // Hack to satisfy the groupBy unit tests; perhaps we could do better by adjusting Jackson config.
-                          deserializedValues[i] = ((Integer) deserializedValues[i]).longValue();
-                        }
-                      }
-                      return new Entry<>(entry.getKey(), deserializedValues);
-                    }
-                  }
-              )
-          )
-      );
+      final CloseableIterator<Entry<KeyType>> fileIterator = read(file);
+      iterators.add(fileIterator);
       closer.register(fileIterator);
     }
 
@@ -286,40 +268,160 @@ public class SpillingGrouper<KeyType> implements Grouper<KeyType>
   {
     try (CloseableIterator<Entry<KeyType>> iterator = grouper.iterator(true)) {
       files.add(spill(iterator));
-      dictionaryFiles.add(spill(keySerde.getDictionary().iterator()));
 
       grouper.reset();
     }
   }
 
-  private <T> File spill(Iterator<T> iterator) throws IOException
+  private File spill(Iterator<Entry<KeyType>> iterator) throws IOException
   {
     try (
         final LimitedTemporaryStorage.LimitedOutputStream out = temporaryStorage.createFile();
-        final LZ4BlockOutputStream compressedOut = new LZ4BlockOutputStream(out);
-        final JsonGenerator jsonGenerator = spillMapper.getFactory().createGenerator(compressedOut)
+        final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out))
     ) {
+      final List<String> dictionary = keySerde.getDictionary();
+      dataOut.writeInt(dictionary.size());
+      for (String value : dictionary) {
+        if (value == null) {
+          dataOut.writeInt(-1);
+        } else {
+          final byte[] bytes = StringUtils.toUtf8(value);
+          dataOut.writeInt(bytes.length);
+          dataOut.write(bytes);
+        }
+      }
+
+      final byte[] keyBytes = new byte[keySerde.keySize()];
       while (iterator.hasNext()) {
         BaseQuery.checkInterrupted();
 
-        jsonGenerator.writeObject(iterator.next());
+        final Entry<KeyType> entry = iterator.next();
+        final ByteBuffer keyBuffer = keySerde.toByteBuffer(entry.getKey());
+        if (keyBuffer == null) {
+          throw new ISE("Cannot serialize key[%s] of a grouper being spilled", entry.getKey());
+        }
+        keyBuffer.get(keyBytes);
+        dataOut.write(keyBytes);
+        for (Object value : entry.getValues()) {
+          writeValue(dataOut, value);
+        }
       }
 
       return out.getFile();
     }
   }
 
-  private MappingIterator<Entry<KeyType>> read(final File file, final Class<KeyType> keyClazz)
+  private void writeValue(DataOutputStream dataOut, @Nullable Object value) throws IOException
+  {
+    if (value == null) {
+      dataOut.writeByte(NULL_VALUE);
+    } else if (value instanceof Long) {
+      dataOut.writeByte(LONG_VALUE);
+      dataOut.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      dataOut.writeByte(DOUBLE_VALUE);
+      dataOut.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      dataOut.writeByte(FLOAT_VALUE);
+      dataOut.writeFloat((Float) value);
+    } else {
+      final byte[] bytes = spillMapper.writeValueAsBytes(value);
+      dataOut.writeByte(OBJECT_VALUE);
+      dataOut.writeInt(bytes.length);
+      dataOut.write(bytes);
+    }
+  }
+
+  private static List<String> readDictionary(ByteBuffer buffer)
   {
+    final int size = buffer.getInt();
+    final List<String> dictionary = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final int length = buffer.getInt();
+      dictionary.add(length < 0 ? null : StringUtils.fromUtf8(buffer, length));
+    }
+    return dictionary;
+  }
+
+  /**
+   * Reads the entries of a spill file. Keys are deserialized straight from the mapped file, using a key serde created
+   * with the dictionary of the file.
+   */
+  private CloseableIterator<Entry<KeyType>> read(final File file)
+  {
+    final MappedByteBufferHandler mapped;
     try {
-      return spillMapper.readValues(
-          spillMapper.getFactory().createParser(new LZ4BlockInputStream(new FileInputStream(file))),
-          spillMapper.getTypeFactory().constructParametricType(Entry.class, keyClazz)
-      );
+      mapped = FileUtils.map(file);
     }
     catch (IOException e) {
       throw new RuntimeException(e);
     }
+
+    final ByteBuffer buffer = mapped.get();
+    final KeySerde<KeyType> fileKeySerde = keySerdeFactory.factorizeWithDictionary(readDictionary(buffer));
+    final int keySize = fileKeySerde.keySize();
+
+    return new CloseableIterator<Entry<KeyType>>()
+    {
+      @Override
+      public boolean hasNext()
+      {
+        return buffer.hasRemaining();
+      }
+
+      @Override
+      public Entry<KeyType> next()
+      {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        final KeyType key = fileKeySerde.fromByteBuffer(buffer, buffer.position());
+        buffer.position(buffer.position() + keySize);
+        final Object[] values = new Object[aggregatorFactories.length];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = readValue(buffer, aggregatorFactories[i]);
+        }
+        return new Entry<>(key, values);
+      }
+
+      @Override
+      public void close()
+      {
+        mapped.close();
+      }
+    };
+  }
+
+  @Nullable
+  private Object readValue(ByteBuffer buffer, AggregatorFactory aggregatorFactory)
+  {
+    final byte type = buffer.get();
+    switch (type) {
+      case NULL_VALUE:
+        return null;
+      case LONG_VALUE:
+        return buffer.getLong();
+      case DOUBLE_VALUE:
+        return buffer.getDouble();
+      case FLOAT_VALUE:
+        return buffer.getFloat();
+      case OBJECT_VALUE:
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        try {
+          final Object value = aggregatorFactory.deserialize(spillMapper.readValue(bytes, Object.class));
+          if (value instanceof Integer) {
+            // Hack to satisfy the groupBy unit tests; perhaps we could do better by adjusting Jackson config.
+            return ((Integer) value).longValue();
+          }
+          return value;
+        }
+        catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      default:
+        throw new ISE("Unknown value type[%d] in spill file", type);
+    }
   }
 
   private void deleteFiles()
@@ -156,6 +156,27 @@ public class ScanQueryEngine
                           columnSelectors.add(selector);
                         }
 
+                        final List<ScanValueVectors.VectorBuilder> vectorBuilders = new ArrayList<>(allColumns.size());
+                        if (ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR.equals(query.getResultFormat())) {
+                          for (int i = 0; i < allColumns.size(); i++) {
+                            if (legacy && LEGACY_TIMESTAMP_KEY.equals(allColumns.get(i))) {
+                              final BaseObjectColumnValueSelector timeSelector = columnSelectors.get(i);
+                              vectorBuilders.add(
+                                  ScanValueVectors.makeObjectVectorBuilder(
+                                      () -> DateTimes.utc((long) timeSelector.getObject())
+                                  )
+                              );
+                            } else {
+                              vectorBuilders.add(
+                                  ScanValueVectors.makeVectorBuilder(
+                                      cursor.getColumnSelectorFactory(),
+                                      allColumns.get(i)
+                                  )
+                              );
+                            }
+                          }
+                        }
+
                         final int batchSize = query.getBatchSize();
                         return new Iterator<ScanResultValue>()
                         {
@@ -183,6 +204,8 @@ public class ScanQueryEngine
                               events = rowsToCompactedList();
                             } else if (ScanQuery.ResultFormat.RESULT_FORMAT_LIST.equals(resultFormat)) {
                               events = rowsToList();
+                            } else if (ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR.equals(resultFormat)) {
+                              events = rowsToValueVectors();
                             } else {
                               throw new UOE("resultFormat[%s] is not supported", resultFormat.toString());
                             }
@@ -233,6 +256,26 @@ public class ScanQueryEngine
                             return events;
                           }
 
+                          private List<Object> rowsToValueVectors()
+                          {
+                            final long iterLimit = Math.min(limit, offset + batchSize);
+                            final int capacity = (int) (iterLimit - offset);
+                            for (ScanValueVectors.VectorBuilder vectorBuilder : vectorBuilders) {
+                              vectorBuilder.reset(capacity);
+                            }
+                            int numRows = 0;
+                            for (; !cursor.isDone() && offset < iterLimit; cursor.advance(), offset++, numRows++) {
+                              for (ScanValueVectors.VectorBuilder vectorBuilder : vectorBuilders) {
+                                vectorBuilder.add(numRows);
+                              }
+                            }
+                            final List<Object> events = new ArrayList<>(vectorBuilders.size());
+                            for (ScanValueVectors.VectorBuilder vectorBuilder : vectorBuilders) {
+                              events.add(vectorBuilder.build(numRows));
+                            }
+                            return events;
+                          }
+
                           private Object getColumnValue(int i)
                           {
                             final BaseObjectColumnValueSelector selector = columnSelectors.get(i);
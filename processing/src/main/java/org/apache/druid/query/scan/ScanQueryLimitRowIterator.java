@@ -21,7 +21,6 @@ package org.apache.druid.query.scan;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
-import org.apache.druid.java.util.common.UOE;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Yielder;
 import org.apache.druid.java.util.common.guava.YieldingAccumulator;
@@ -92,18 +91,14 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
   @Override
   public ScanResultValue next()
   {
-    if (ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR.equals(resultFormat)) {
-      throw new UOE(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR + " is not supported yet");
-    }
-
     // We want to perform multi-event ScanResultValue limiting if we are not time-ordering or are at the
     // inner-level if we are time-ordering
     if (query.getOrder() == ScanQuery.Order.NONE ||
         !query.getContextBoolean(ScanQuery.CTX_KEY_OUTERMOST, true)) {
       ScanResultValue batch = yielder.get();
-      List events = (List) batch.getEvents();
-      if (events.size() <= limit - count) {
-        count += events.size();
+      int numEvents = batch.getNumEvents(resultFormat);
+      if (numEvents <= limit - count) {
+        count += numEvents;
         yielder = yielder.next(null);
         return batch;
       } else {
@@ -111,7 +106,13 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
         // single batch length is <= Integer.MAX_VALUE, so this should not overflow
         int numLeft = (int) (limit - count);
         count = limit;
-        return new ScanResultValue(batch.getSegmentId(), batch.getColumns(), events.subList(0, numLeft));
+        final Object events;
+        if (ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR.equals(resultFormat)) {
+          events = ScanValueVectors.slice(batch.getEvents(), 0, numLeft);
+        } else {
+          events = ((List) batch.getEvents()).subList(0, numLeft);
+        }
+        return new ScanResultValue(batch.getSegmentId(), batch.getColumns(), events);
       }
     } else {
       // Perform single-event ScanResultValue batching at the outer level.  Each scan result value from the yielder
@@ -123,10 +124,17 @@ public class ScanQueryLimitRowIterator implements CloseableIterator<ScanResultVa
         ScanResultValue srv = yielder.get();
         // Only replace once using the columns from the first event
         columns = columns.isEmpty() ? srv.getColumns() : columns;
-        eventsToAdd.add(Iterables.getOnlyElement((List<Object>) srv.getEvents()));
+        if (ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR.equals(resultFormat)) {
+          eventsToAdd.add(srv.getEvents());
+        } else {
+          eventsToAdd.add(Iterables.getOnlyElement((List<Object>) srv.getEvents()));
+        }
         yielder = yielder.next(null);
         count++;
       }
+      if (ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR.equals(resultFormat)) {
+        return new ScanResultValue(null, columns, ScanValueVectors.concat(eventsToAdd, columns.size()));
+      }
       return new ScanResultValue(null, columns, eventsToAdd);
     }
   }
@@ -27,6 +27,7 @@ import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.JodaUtils;
 import org.apache.druid.java.util.common.Pair;
 import org.apache.druid.java.util.common.UOE;
+import org.apache.druid.java.util.common.guava.Comparators;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.java.util.common.guava.Yielder;
@@ -50,10 +51,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
@@ -117,77 +118,50 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
         List<Interval> intervalsOrdered = getIntervalsFromSpecificQuerySpec(query.getQuerySegmentSpec());
         List<QueryRunner<ScanResultValue>> queryRunnersOrdered = Lists.newArrayList(queryRunners);
 
-        if (query.getOrder().equals(ScanQuery.Order.DESCENDING)) {
-          intervalsOrdered = Lists.reverse(intervalsOrdered);
-          queryRunnersOrdered = Lists.reverse(queryRunnersOrdered);
-        }
-        int maxRowsQueuedForOrdering = (query.getMaxRowsQueuedForOrdering() == null
-                                        ? scanQueryConfig.getMaxRowsQueuedForOrdering()
-                                        : query.getMaxRowsQueuedForOrdering());
-        if (query.getLimit() <= maxRowsQueuedForOrdering) {
-          // Use priority queue strategy
-          return priorityQueueSortAndLimit(
-              Sequences.concat(Sequences.map(
-                  Sequences.simple(queryRunnersOrdered),
-                  input -> input.run(queryPlus, responseContext)
-              )),
-              query,
-              intervalsOrdered
-          );
-        } else {
-          // Use n-way merge strategy
-          List<Pair<Interval, QueryRunner<ScanResultValue>>> intervalsAndRunnersOrdered = new ArrayList<>();
-          if (intervalsOrdered.size() == queryRunnersOrdered.size()) {
-            for (int i = 0; i < queryRunnersOrdered.size(); i++) {
-              intervalsAndRunnersOrdered.add(new Pair<>(intervalsOrdered.get(i), queryRunnersOrdered.get(i)));
-            }
-          } else if (queryRunners instanceof SinkQueryRunners) {
-            ((SinkQueryRunners<ScanResultValue>) queryRunners).runnerIntervalMappingIterator()
-                                                              .forEachRemaining(intervalsAndRunnersOrdered::add);
-          } else {
-            throw new ISE("Number of segment descriptors does not equal number of "
-                          + "query runners...something went wrong!");
+        List<Pair<Interval, QueryRunner<ScanResultValue>>> intervalsAndRunnersOrdered = new ArrayList<>();
+        if (intervalsOrdered.size() == queryRunnersOrdered.size()) {
+          for (int i = 0; i < queryRunnersOrdered.size(); i++) {
+            intervalsAndRunnersOrdered.add(new Pair<>(intervalsOrdered.get(i), queryRunnersOrdered.get(i)));
           }
+        } else if (queryRunners instanceof SinkQueryRunners) {
+          ((SinkQueryRunners<ScanResultValue>) queryRunners).runnerIntervalMappingIterator()
+                                                            .forEachRemaining(intervalsAndRunnersOrdered::add);
+        } else {
+          throw new ISE("Number of segment descriptors does not equal number of "
+                        + "query runners...something went wrong!");
+        }
 
-          // Group the list of pairs by interval.  The LinkedHashMap will have an interval paired with a list of all the
-          // query runners for that segment
-          LinkedHashMap<Interval, List<Pair<Interval, QueryRunner<ScanResultValue>>>> partitionsGroupedByInterval =
-              intervalsAndRunnersOrdered.stream()
-                                          .collect(Collectors.groupingBy(
-                                              x -> x.lhs,
-                                              LinkedHashMap::new,
-                                              Collectors.toList()
-                                          ));
-
-          // Find the segment with the largest numbers of partitions.  This will be used to compare with the
-          // maxSegmentPartitionsOrderedInMemory limit to determine if the query is at risk of consuming too much memory.
-          int maxNumPartitionsInSegment =
-              partitionsGroupedByInterval.values()
-                                         .stream()
-                                         .map(x -> x.size())
-                                         .max(Comparator.comparing(Integer::valueOf))
-                                         .get();
-
-          int segmentPartitionLimit = query.getMaxSegmentPartitionsOrderedInMemory() == null
-                                      ? scanQueryConfig.getMaxSegmentPartitionsOrderedInMemory()
-                                      : query.getMaxSegmentPartitionsOrderedInMemory();
-          if (maxNumPartitionsInSegment <= segmentPartitionLimit) {
-            // Use n-way merge strategy
+        // Group the query runners by interval. Segments served by one process don't overlap in time unless they share
+        // the same interval, so the groups can be read one after another in time order, and only the partitions of
+        // the current group need to be merged.
+        Map<Interval, List<QueryRunner<ScanResultValue>>> partitionsGroupedByInterval =
+            intervalsAndRunnersOrdered.stream()
+                                      .collect(Collectors.groupingBy(
+                                          x -> x.lhs,
+                                          () -> new TreeMap<>(
+                                              query.getOrder().equals(ScanQuery.Order.DESCENDING)
+                                              ? Comparators.intervalsByStartThenEnd().reversed()
+                                              : Comparators.intervalsByStartThenEnd()
+                                          ),
+                                          Collectors.mapping(x -> x.rhs, Collectors.toList())
+                                      ));
 
-            // Create a list of grouped runner lists (i.e. each sublist/"runner group" corresponds to an interval) ->
-            // there should be no interval overlap.  We create a list of lists so we can create a sequence of sequences.
-            // There's no easy way to convert a LinkedHashMap to a sequence because it's non-iterable.
-            List<List<QueryRunner<ScanResultValue>>> groupedRunners =
-                partitionsGroupedByInterval.entrySet()
-                                           .stream()
-                                           .map(entry -> entry.getValue()
-                                                              .stream()
-                                                              .map(segQueryRunnerPair -> segQueryRunnerPair.rhs)
-                                                              .collect(Collectors.toList()))
-                                           .collect(Collectors.toList());
+        // Find the segment with the largest numbers of partitions.  This will be used to compare with the
+        // maxSegmentPartitionsOrderedInMemory limit to determine if the query is at risk of consuming too much memory.
+        int maxNumPartitionsInSegment =
+            partitionsGroupedByInterval.values()
+                                       .stream()
+                                       .mapToInt(List::size)
+                                       .max()
+                                       .orElse(0);
 
-            return nWayMergeAndLimit(groupedRunners, queryPlus, responseContext);
-          }
+        int maxRowsQueuedForOrdering = (query.getMaxRowsQueuedForOrdering() == null
+                                        ? scanQueryConfig.getMaxRowsQueuedForOrdering()
+                                        : query.getMaxRowsQueuedForOrdering());
+        int segmentPartitionLimit = query.getMaxSegmentPartitionsOrderedInMemory() == null
+                                    ? scanQueryConfig.getMaxSegmentPartitionsOrderedInMemory()
+                                    : query.getMaxSegmentPartitionsOrderedInMemory();
+        if (maxNumPartitionsInSegment > segmentPartitionLimit && query.getLimit() > maxRowsQueuedForOrdering) {
           throw new UOE(
               "Time ordering for queries of %,d partitions per segment and a row limit of %,d is not supported."
               + "  Try reducing the scope of the query to scan fewer partitions than the configurable limit of"
@@ -198,6 +172,36 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
               scanQueryConfig.getMaxRowsQueuedForOrdering()
           );
         }
+
+        // Each interval is n-way merged from its partitions, which are read in time order, unless it has more
+        // partitions than can be opened at once. Then its first rows are sorted in a priority queue bounded by the
+        // limit instead. Intervals are only read once the previous ones are exhausted, so the limit stops the scan
+        // as soon as enough rows are found.
+        Sequence<ScanResultValue> resultSequence = Sequences.concat(
+            Sequences.map(
+                Sequences.simple(partitionsGroupedByInterval.entrySet()),
+                entry -> {
+                  if (entry.getValue().size() <= segmentPartitionLimit) {
+                    return nWayMerge(entry.getValue(), queryPlus, responseContext);
+                  } else {
+                    return priorityQueueSortAndLimit(
+                        Sequences.concat(
+                            Sequences.map(
+                                Sequences.simple(entry.getValue()),
+                                input -> input.run(queryPlus, responseContext)
+                            )
+                        ),
+                        query,
+                        Collections.singletonList(entry.getKey())
+                    );
+                  }
+                }
+            )
+        );
+        if (query.getLimit() == Long.MAX_VALUE) {
+          return resultSequence;
+        }
+        return resultSequence.limit(query.getLimit());
       }
     };
   }
@@ -242,7 +246,7 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
     Interval finalInterval = null;
     while (!doneScanning) {
       ScanResultValue next = yielder.get();
-      List<ScanResultValue> singleEventScanResultValues = next.toSingleEventScanResultValues();
+      List<ScanResultValue> singleEventScanResultValues = next.toSingleEventScanResultValues(scanQuery.getResultFormat());
       for (ScanResultValue srv : singleEventScanResultValues) {
         numRowsScanned++;
         // Using an intermediate unbatched ScanResultValue is not that great memory-wise, but the column list
@@ -314,31 +318,12 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
       Map<String, Object> responseContext
   )
   {
-    // Starting from the innermost Sequences.map:
-    // (1) Deaggregate each ScanResultValue returned by the query runners
-    // (2) Combine the deaggregated ScanResultValues into a single sequence
-    // (3) Create a sequence of results from each runner in the group and flatmerge based on timestamp
-    // (4) Create a sequence of results from each runner group
-    // (5) Join all the results into a single sequence
+    // Merge the runners of each group and join the results of all groups into a single sequence
     Sequence<ScanResultValue> resultSequence =
         Sequences.concat(
             Sequences.map(
                 Sequences.simple(groupedRunners),
-                runnerGroup ->
-                    Sequences.map(
-                        Sequences.simple(runnerGroup),
-                        (input) -> Sequences.concat(
-                            Sequences.map(
-                                input.run(queryPlus, responseContext),
-                                srv -> Sequences.simple(srv.toSingleEventScanResultValues())
-                            )
-                        )
-                    ).flatMerge(
-                        seq -> seq,
-                        Ordering.from(new ScanResultValueTimestampComparator(
-                            (ScanQuery) queryPlus.getQuery()
-                        )).reverse()
-                    )
+                runnerGroup -> nWayMerge(runnerGroup, queryPlus, responseContext)
             )
         );
     long limit = ((ScanQuery) (queryPlus.getQuery())).getLimit();
@@ -348,6 +333,31 @@ public class ScanQueryRunnerFactory implements QueryRunnerFactory<ScanResultValu
     return resultSequence.limit(limit);
   }
 
+  private Sequence<ScanResultValue> nWayMerge(
+      List<QueryRunner<ScanResultValue>> runnerGroup,
+      QueryPlus<ScanResultValue> queryPlus,
+      Map<String, Object> responseContext
+  )
+  {
+    // Starting from the innermost Sequences.map:
+    // (1) Deaggregate each ScanResultValue returned by the query runners
+    // (2) Combine the deaggregated ScanResultValues into a single sequence
+    // (3) Create a sequence of results from each runner in the group and flatmerge based on timestamp
+    final ScanQuery.ResultFormat resultFormat = ((ScanQuery) queryPlus.getQuery()).getResultFormat();
+    return Sequences.map(
+        Sequences.simple(runnerGroup),
+        (input) -> Sequences.concat(
+            Sequences.map(
+                input.run(queryPlus, responseContext),
+                srv -> Sequences.simple(srv.toSingleEventScanResultValues(resultFormat))
+            )
+        )
+    ).flatMerge(
+        seq -> seq,
+        Ordering.from(new ScanResultValueTimestampComparator((ScanQuery) queryPlus.getQuery())).reverse()
+    );
+  }
+
   @Override
   public QueryToolChest<ScanResultValue, ScanQuery> getToolchest()
   {
@@ -92,10 +92,39 @@ public class ScanResultValue implements Comparable<ScanResultValue>
       }
       List<Object> firstEvent = (List<Object>) ((List<Object>) this.getEvents()).get(0);
       return DimensionHandlerUtils.convertObjectToLong(firstEvent.get(timeColumnIndex));
+    } else if (resultFormat.equals(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR)) {
+      int timeColumnIndex = this.getColumns().indexOf(ColumnHolder.TIME_COLUMN_NAME);
+      if (timeColumnIndex == -1) {
+        throw new ISE("Unable to compare timestamp for rows without a time column");
+      }
+      return DimensionHandlerUtils.convertObjectToLong(ScanValueVectors.getValue(events, timeColumnIndex, 0));
     }
     throw new UOE("Unable to get first event timestamp using result format of [%s]", resultFormat.toString());
   }
 
+  public int getNumEvents(ScanQuery.ResultFormat resultFormat)
+  {
+    if (resultFormat.equals(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR)) {
+      return ScanValueVectors.getNumRows(events);
+    }
+    return ((List<?>) events).size();
+  }
+
+  public List<ScanResultValue> toSingleEventScanResultValues(ScanQuery.ResultFormat resultFormat)
+  {
+    if (resultFormat.equals(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR)) {
+      final int numRows = ScanValueVectors.getNumRows(events);
+      final List<ScanResultValue> singleEventScanResultValues = new ArrayList<>(numRows);
+      for (int row = 0; row < numRows; row++) {
+        singleEventScanResultValues.add(
+            new ScanResultValue(segmentId, columns, ScanValueVectors.slice(events, row, row + 1))
+        );
+      }
+      return singleEventScanResultValues;
+    }
+    return toSingleEventScanResultValues();
+  }
+
   public List<ScanResultValue> toSingleEventScanResultValues()
   {
     List<ScanResultValue> singleEventScanResultValues = new ArrayList<>();
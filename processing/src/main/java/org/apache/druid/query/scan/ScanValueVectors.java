@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.scan;
+
+import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.query.dimension.DefaultDimensionSpec;
+import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.ColumnValueSelector;
+import org.apache.druid.segment.DimensionSelector;
+import org.apache.druid.segment.column.ColumnCapabilities;
+import org.apache.druid.segment.data.IndexedInts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Helpers for the events of {@link ScanQuery.ResultFormat#RESULT_FORMAT_VALUE_VECTOR} batches. Such a batch holds one
+ * value vector per entry of {@link ScanResultValue#getColumns()}, in the same order, each with one value per row:
+ *
+ * 1) long[], float[] or double[] for numeric columns, unless SQL compatible null handling is enabled.
+ * 2) A map of "dictionary", the distinct values of the batch, and "ids", an int[] pointing into the dictionary for
+ *    each row, for single-valued dictionary encoded string columns of immutable segments.
+ * 3) Object[] for anything else.
+ *
+ * After a round trip through JSON the arrays are {@link List}s, so all methods here accept both forms.
+ */
+public final class ScanValueVectors
+{
+  static final String DICTIONARY_KEY = "dictionary";
+  static final String IDS_KEY = "ids";
+
+  private ScanValueVectors()
+  {
+  }
+
+  public static int getNumRows(Object events)
+  {
+    final List<?> vectors = (List<?>) events;
+    return vectors.isEmpty() ? 0 : size(vectors.get(0));
+  }
+
+  public static Object getValue(Object events, int column, int row)
+  {
+    final Object vector = ((List<?>) events).get(column);
+    if (vector instanceof long[]) {
+      return ((long[]) vector)[row];
+    } else if (vector instanceof double[]) {
+      return ((double[]) vector)[row];
+    } else if (vector instanceof float[]) {
+      return ((float[]) vector)[row];
+    } else if (vector instanceof Object[]) {
+      return ((Object[]) vector)[row];
+    } else if (vector instanceof Map) {
+      final Map<?, ?> encoded = (Map<?, ?>) vector;
+      final Object ids = encoded.get(IDS_KEY);
+      final int id = ids instanceof int[] ? ((int[]) ids)[row] : ((Number) ((List<?>) ids).get(row)).intValue();
+      return ((List<?>) encoded.get(DICTIONARY_KEY)).get(id);
+    } else {
+      return ((List<?>) vector).get(row);
+    }
+  }
+
+  /**
+   * Returns the rows [from, to) of the given events, keeping the encoding of each vector.
+   */
+  public static List<Object> slice(Object events, int from, int to)
+  {
+    final List<?> vectors = (List<?>) events;
+    final List<Object> retVal = new ArrayList<>(vectors.size());
+    for (Object vector : vectors) {
+      retVal.add(sliceVector(vector, from, to));
+    }
+    return retVal;
+  }
+
+  /**
+   * Concatenates the rows of several batches with the given number of columns. The result holds a plain list of
+   * values per column.
+   */
+  public static List<Object> concat(List<?> eventsList, int numColumns)
+  {
+    final List<Object> retVal = new ArrayList<>(numColumns);
+    for (int column = 0; column < numColumns; column++) {
+      final List<Object> values = new ArrayList<>();
+      for (Object events : eventsList) {
+        final int numRows = getNumRows(events);
+        for (int row = 0; row < numRows; row++) {
+          values.add(getValue(events, column, row));
+        }
+      }
+      retVal.add(values);
+    }
+    return retVal;
+  }
+
+  private static int size(Object vector)
+  {
+    if (vector instanceof long[]) {
+      return ((long[]) vector).length;
+    } else if (vector instanceof double[]) {
+      return ((double[]) vector).length;
+    } else if (vector instanceof float[]) {
+      return ((float[]) vector).length;
+    } else if (vector instanceof Object[]) {
+      return ((Object[]) vector).length;
+    } else if (vector instanceof int[]) {
+      return ((int[]) vector).length;
+    } else if (vector instanceof Map) {
+      return size(((Map<?, ?>) vector).get(IDS_KEY));
+    } else if (vector instanceof List) {
+      return ((List<?>) vector).size();
+    }
+    throw new ISE("Unknown value vector[%s]", vector == null ? null : vector.getClass());
+  }
+
+  private static Object sliceVector(Object vector, int from, int to)
+  {
+    if (vector instanceof long[]) {
+      return Arrays.copyOfRange((long[]) vector, from, to);
+    } else if (vector instanceof double[]) {
+      return Arrays.copyOfRange((double[]) vector, from, to);
+    } else if (vector instanceof float[]) {
+      return Arrays.copyOfRange((float[]) vector, from, to);
+    } else if (vector instanceof Object[]) {
+      return Arrays.copyOfRange((Object[]) vector, from, to);
+    } else if (vector instanceof int[]) {
+      return Arrays.copyOfRange((int[]) vector, from, to);
+    } else if (vector instanceof Map) {
+      final Map<?, ?> encoded = (Map<?, ?>) vector;
+      return ImmutableMap.of(
+          DICTIONARY_KEY,
+          encoded.get(DICTIONARY_KEY),
+          IDS_KEY,
+          sliceVector(encoded.get(IDS_KEY), from, to)
+      );
+    } else {
+      return new ArrayList<>(((List<?>) vector).subList(from, to));
+    }
+  }
+
+  /**
+   * Fills one value vector from the current row of a cursor. {@link #reset} starts a new batch, {@link #add} reads
+   * the current row into the given position and {@link #build} hands out the vector of the batch.
+   */
+  abstract static class VectorBuilder
+  {
+    abstract void reset(int capacity);
+
+    abstract void add(int row);
+
+    abstract Object build(int numRows);
+  }
+
+  static VectorBuilder makeVectorBuilder(ColumnSelectorFactory factory, String column)
+  {
+    final ColumnCapabilities capabilities = factory.getColumnCapabilities(column);
+    if (capabilities == null) {
+      return makeObjectVectorBuilder(factory.makeColumnValueSelector(column)::getObject);
+    }
+
+    switch (capabilities.getType()) {
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        if (NullHandling.replaceWithDefault()) {
+          return makeNumericVectorBuilder(capabilities, factory.makeColumnValueSelector(column));
+        }
+        break;
+      case STRING:
+        if (capabilities.isComplete() && capabilities.isDictionaryEncoded() && !capabilities.hasMultipleValues()) {
+          final DimensionSelector selector = factory.makeDimensionSelector(DefaultDimensionSpec.of(column));
+          // Only immutable segments guarantee that the column stays single-valued while it is being read
+          if (selector.nameLookupPossibleInAdvance()) {
+            return new DictionaryVectorBuilder(selector);
+          }
+        }
+        break;
+      default:
+        break;
+    }
+    return makeObjectVectorBuilder(factory.makeColumnValueSelector(column)::getObject);
+  }
+
+  static VectorBuilder makeObjectVectorBuilder(Supplier<Object> supplier)
+  {
+    return new VectorBuilder()
+    {
+      private Object[] values;
+
+      @Override
+      void reset(int capacity)
+      {
+        values = new Object[capacity];
+      }
+
+      @Override
+      void add(int row)
+      {
+        values[row] = supplier.get();
+      }
+
+      @Override
+      Object build(int numRows)
+      {
+        return numRows == values.length ? values : Arrays.copyOf(values, numRows);
+      }
+    };
+  }
+
+  private static VectorBuilder makeNumericVectorBuilder(
+      ColumnCapabilities capabilities,
+      ColumnValueSelector<?> selector
+  )
+  {
+    switch (capabilities.getType()) {
+      case LONG:
+        return new VectorBuilder()
+        {
+          private long[] values;
+
+          @Override
+          void reset(int capacity)
+          {
+            values = new long[capacity];
+          }
+
+          @Override
+          void add(int row)
+          {
+            values[row] = selector.getLong();
+          }
+
+          @Override
+          Object build(int numRows)
+          {
+            return numRows == values.length ? values : Arrays.copyOf(values, numRows);
+          }
+        };
+      case FLOAT:
+        return new VectorBuilder()
+        {
+          private float[] values;
+
+          @Override
+          void reset(int capacity)
+          {
+            values = new float[capacity];
+          }
+
+          @Override
+          void add(int row)
+          {
+            values[row] = selector.getFloat();
+          }
+
+          @Override
+          Object build(int numRows)
+          {
+            return numRows == values.length ? values : Arrays.copyOf(values, numRows);
+          }
+        };
+      default:
+        return new VectorBuilder()
+        {
+          private double[] values;
+
+          @Override
+          void reset(int capacity)
+          {
+            values = new double[capacity];
+          }
+
+          @Override
+          void add(int row)
+          {
+            values[row] = selector.getDouble();
+          }
+
+          @Override
+          Object build(int numRows)
+          {
+            return numRows == values.length ? values : Arrays.copyOf(values, numRows);
+          }
+        };
+    }
+  }
+
+  /**
+   * Re-encodes the segment dictionary ids of a batch into a dictionary of just the values seen in the batch, so that
+   * each distinct value is sent once per batch.
+   */
+  private static class DictionaryVectorBuilder extends VectorBuilder
+  {
+    private static final int NULL_ID = -1;
+
+    private final DimensionSelector selector;
+    private final Int2IntOpenHashMap batchIds = new Int2IntOpenHashMap();
+    private List<String> dictionary;
+    private int[] ids;
+
+    DictionaryVectorBuilder(DimensionSelector selector)
+    {
+      this.selector = selector;
+      batchIds.defaultReturnValue(-1);
+    }
+
+    @Override
+    void reset(int capacity)
+    {
+      batchIds.clear();
+      dictionary = new ArrayList<>();
+      ids = new int[capacity];
+    }
+
+    @Override
+    void add(int row)
+    {
+      final IndexedInts indexedInts = selector.getRow();
+      final int segmentId = indexedInts.size() == 0 ? NULL_ID : indexedInts.get(0);
+      int batchId = batchIds.get(segmentId);
+      if (batchId < 0) {
+        batchId = dictionary.size();
+        dictionary.add(segmentId == NULL_ID ? null : selector.lookupName(segmentId));
+        batchIds.put(segmentId, batchId);
+      }
+      ids[row] = batchId;
+    }
+
+    @Override
+    Object build(int numRows)
+    {
+      return ImmutableMap.of(
+          DICTIONARY_KEY,
+          dictionary,
+          IDS_KEY,
+          numRows == ids.length ? ids : Arrays.copyOf(ids, numRows)
+      );
+    }
+  }
+}
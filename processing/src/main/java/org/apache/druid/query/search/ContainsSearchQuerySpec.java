@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Objects;
 import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.query.filter.Utf8Predicate;
+import org.apache.druid.query.filter.Utf8Predicates;
 
 import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
@@ -71,6 +73,19 @@ public class ContainsSearchQuerySpec implements SearchQuerySpec
     return org.apache.commons.lang.StringUtils.containsIgnoreCase(dimVal, value);
   }
 
+  @Nullable
+  @Override
+  public Utf8Predicate makeUtf8Predicate()
+  {
+    if (value == null) {
+      return (buffer, position, length) -> false;
+    }
+    if (caseSensitive) {
+      return Utf8Predicates.contains(value);
+    }
+    return Utf8Predicates.containsIgnoreCase(value, this::accept);
+  }
+
   @Override
   public byte[] getCacheKey()
   {
@@ -21,6 +21,7 @@ package org.apache.druid.query.search;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.druid.query.filter.Utf8Predicate;
 
 import javax.annotation.Nullable;
 
@@ -39,4 +40,14 @@ public interface SearchQuerySpec
   boolean accept(@Nullable String dimVal);
 
   byte[] getCacheKey();
+
+  /**
+   * Returns a predicate equivalent to {@link #accept} on non-null UTF-8 encoded values, or null if this spec can
+   * only be evaluated on decoded strings.
+   */
+  @Nullable
+  default Utf8Predicate makeUtf8Predicate()
+  {
+    return null;
+  }
 }
@@ -20,9 +20,11 @@
 package org.apache.druid.query.timeseries;
 
 import com.google.inject.Inject;
+import org.apache.druid.guice.annotations.Processing;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.query.ChainedExecutionQueryRunner;
+import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
@@ -30,10 +32,13 @@ import org.apache.druid.query.QueryRunnerFactory;
 import org.apache.druid.query.QueryToolChest;
 import org.apache.druid.query.QueryWatcher;
 import org.apache.druid.query.Result;
+import org.apache.druid.query.SegmentSplittingQueryRunnerDecorator;
 import org.apache.druid.segment.Segment;
 import org.apache.druid.segment.StorageAdapter;
 
+import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -44,23 +49,60 @@ public class TimeseriesQueryRunnerFactory
   private final TimeseriesQueryQueryToolChest toolChest;
   private final TimeseriesQueryEngine engine;
   private final QueryWatcher queryWatcher;
+  @Nullable
+  private final SegmentSplittingQueryRunnerDecorator segmentSplitter;
 
   @Inject
   public TimeseriesQueryRunnerFactory(
       TimeseriesQueryQueryToolChest toolChest,
       TimeseriesQueryEngine engine,
-      QueryWatcher queryWatcher
+      QueryWatcher queryWatcher,
+      @Processing Optional<ExecutorService> processingExecutor,
+      DruidProcessingConfig processingConfig
+  )
+  {
+    this(
+        toolChest,
+        engine,
+        queryWatcher,
+        processingExecutor.map(executor -> new SegmentSplittingQueryRunnerDecorator(executor, processingConfig))
+                          .orElse(null)
+    );
+  }
+
+  /**
+   * @param segmentSplitter splits large segments across idle processing threads, if not null
+   */
+  public TimeseriesQueryRunnerFactory(
+      TimeseriesQueryQueryToolChest toolChest,
+      TimeseriesQueryEngine engine,
+      QueryWatcher queryWatcher,
+      @Nullable SegmentSplittingQueryRunnerDecorator segmentSplitter
   )
   {
     this.toolChest = toolChest;
     this.engine = engine;
     this.queryWatcher = queryWatcher;
+    this.segmentSplitter = segmentSplitter;
+  }
+
+  public TimeseriesQueryRunnerFactory(
+      TimeseriesQueryQueryToolChest toolChest,
+      TimeseriesQueryEngine engine,
+      QueryWatcher queryWatcher
+  )
+  {
+    this(toolChest, engine, queryWatcher, null);
   }
 
   @Override
   public QueryRunner<Result<TimeseriesResultValue>> createRunner(final Segment segment)
   {
-    return new TimeseriesQueryRunner(engine, segment.asStorageAdapter());
+    final QueryRunner<Result<TimeseriesResultValue>> runner = new TimeseriesQueryRunner(
+        engine,
+        segment.asStorageAdapter()
+    );
+    return segmentSplitter == null ? runner : segmentSplitter.decorate(runner, segment);
   }
 
   @Override
@@ -66,9 +66,23 @@ public abstract class BaseTopNAlgorithm<DimValSelector, DimValAggregateStore, Pa
 
   protected final StorageAdapter storageAdapter;
 
+  /**
+   * Only dictionary ids in [startDictionaryId, endDictionaryId) are aggregated when the cardinality is known, so that
+   * {@link TopNQueryEngine} can split the dictionary of a segment between parallel scans.
+   */
+  private final int startDictionaryId;
+  private final int endDictionaryId;
+
   protected BaseTopNAlgorithm(StorageAdapter storageAdapter)
+  {
+    this(storageAdapter, 0, Integer.MAX_VALUE);
+  }
+
+  protected BaseTopNAlgorithm(StorageAdapter storageAdapter, int startDictionaryId, int endDictionaryId)
   {
     this.storageAdapter = storageAdapter;
+    this.startDictionaryId = startDictionaryId;
+    this.endDictionaryId = endDictionaryId;
   }
 
   @Override
@@ -98,8 +112,8 @@ public abstract class BaseTopNAlgorithm<DimValSelector, DimValAggregateStore, Pa
     }
     boolean hasDimValSelector = (dimValSelector != null);
 
-    int cardinality = params.getCardinality();
-    int numProcessed = 0;
+    int cardinality = Math.min(params.getCardinality(), endDictionaryId);
+    int numProcessed = startDictionaryId;
     long processedRows = 0;
     while (numProcessed < cardinality) {
       final int numToProcess;
@@ -203,7 +203,22 @@ public class PooledTopNAlgorithm
       NonBlockingPool<ByteBuffer> bufferPool
   )
   {
-    super(storageAdapter);
+    this(storageAdapter, query, bufferPool, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates an algorithm which only aggregates the dimension values with dictionary ids in
+   * [startDictionaryId, endDictionaryId). Requires a dimension spec which preserves ordering.
+   */
+  public PooledTopNAlgorithm(
+      StorageAdapter storageAdapter,
+      TopNQuery query,
+      NonBlockingPool<ByteBuffer> bufferPool,
+      int startDictionaryId,
+      int endDictionaryId
+  )
+  {
+    super(storageAdapter, startDictionaryId, endDictionaryId);
     this.query = query;
     this.bufferPool = bufferPool;
   }
@@ -27,12 +27,27 @@ import javax.validation.constraints.Min;
  */
 public class TopNQueryConfig
 {
+  public static final String CTX_KEY_MAX_PARALLEL_SCANS = "maxParallelScans";
+
   @JsonProperty
   @Min(1)
   private int minTopNThreshold = 1000;
 
+  /**
+   * Maximum number of processing threads scanning a single segment, each aggregating a distinct range of the
+   * dimension dictionary. Only used when the dictionary does not fit into a single pass of the processing buffer.
+   */
+  @JsonProperty
+  @Min(1)
+  private int maxParallelScans = 1;
+
   public int getMinTopNThreshold()
   {
     return minTopNThreshold;
   }
+
+  public int getMaxParallelScans()
+  {
+    return maxParallelScans;
+  }
 }
@@ -22,10 +22,13 @@ package org.apache.druid.query.topn;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import org.apache.druid.collections.NonBlockingPool;
-import org.apache.druid.java.util.common.granularity.Granularity;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.query.AbstractPrioritizedCallable;
+import org.apache.druid.query.QueryContexts;
+import org.apache.druid.query.QueryInterruptedException;
 import org.apache.druid.query.Result;
 import org.apache.druid.query.aggregation.AggregatorFactory;
 import org.apache.druid.query.extraction.ExtractionFn;
@@ -37,11 +40,18 @@ import org.apache.druid.segment.column.ColumnCapabilities;
 import org.apache.druid.segment.column.ColumnHolder;
 import org.apache.druid.segment.column.ValueType;
 import org.apache.druid.segment.filter.Filters;
+import org.joda.time.DateTime;
 import org.joda.time.Interval;
 
 import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
 
 /**
  */
@@ -49,10 +59,33 @@ public class TopNQueryEngine
 {
 
   private final NonBlockingPool<ByteBuffer> bufferPool;
+  @Nullable
+  private final ExecutorService processingExecutor;
+  private final int bufferSizeBytes;
+  private final TopNQueryConfig config;
 
   public TopNQueryEngine(NonBlockingPool<ByteBuffer> bufferPool)
+  {
+    this(bufferPool, null, 0, new TopNQueryConfig());
+  }
+
+  /**
+   * @param processingExecutor executor on which a segment is scanned by multiple threads, see
+   *                           {@link TopNQueryConfig#getMaxParallelScans()}. If null, every segment is scanned by the
+   *                           calling thread only.
+   * @param bufferSizeBytes    size of the buffers of bufferPool, used to split the dictionary into ranges of passes
+   */
+  public TopNQueryEngine(
+      NonBlockingPool<ByteBuffer> bufferPool,
+      @Nullable ExecutorService processingExecutor,
+      int bufferSizeBytes,
+      TopNQueryConfig config
+  )
   {
     this.bufferPool = bufferPool;
+    this.processingExecutor = processingExecutor;
+    this.bufferSizeBytes = bufferSizeBytes;
+    this.config = config;
   }
 
   public Sequence<Result<TopNResultValue>> query(
@@ -69,20 +102,34 @@ public class TopNQueryEngine
 
     final List<Interval> queryIntervals = query.getQuerySegmentSpec().getIntervals();
     final Filter filter = Filters.convertToCNFFromQueryContext(query, Filters.toFilter(query.getDimensionsFilter()));
-    final Granularity granularity = query.getGranularity();
-    final TopNMapFn mapFn = getMapFn(query, adapter, queryMetrics);
+    final TopNAlgorithm topNAlgorithm = makeAlgorithm(query, adapter, queryMetrics);
 
     Preconditions.checkArgument(
         queryIntervals.size() == 1, "Can only handle a single interval, got[%s]", queryIntervals
     );
 
+    final int numParallelScans = getNumParallelScans(query, adapter, topNAlgorithm);
+    if (numParallelScans > 1) {
+      return Sequences.simple(() -> parallelScan(query, adapter, filter, numParallelScans, queryMetrics).iterator());
+    }
+    return scan(query, adapter, filter, new TopNMapFn(query, topNAlgorithm), queryMetrics);
+  }
+
+  private Sequence<Result<TopNResultValue>> scan(
+      final TopNQuery query,
+      final StorageAdapter adapter,
+      @Nullable final Filter filter,
+      final TopNMapFn mapFn,
+      final @Nullable TopNQueryMetrics queryMetrics
+  )
+  {
     return Sequences.filter(
         Sequences.map(
             adapter.makeCursors(
                 filter,
-                queryIntervals.get(0),
+                query.getQuerySegmentSpec().getIntervals().get(0),
                 query.getVirtualColumns(),
-                granularity,
+                query.getGranularity(),
                 query.isDescending(),
                 queryMetrics
             ),
@@ -102,7 +149,155 @@ public class TopNQueryEngine
     );
   }
 
-  private TopNMapFn getMapFn(
+  /**
+   * Returns the number of threads which should scan the segment, each aggregating a distinct range of dictionary ids
+   * with its own {@link PooledTopNAlgorithm}. Scanning in parallel only pays off if the dictionary does not fit into
+   * a single pass over the processing buffer, in which case each thread takes a share of the passes. The ranges are
+   * disjoint, so merging the per-range results gives the same result as a single scan.
+   */
+  private int getNumParallelScans(
+      final TopNQuery query,
+      final StorageAdapter adapter,
+      final TopNAlgorithm topNAlgorithm
+  )
+  {
+    final int maxParallelScans = query.getContextValue(
+        TopNQueryConfig.CTX_KEY_MAX_PARALLEL_SCANS,
+        config.getMaxParallelScans()
+    );
+    final String dimension = query.getDimensionSpec().getDimension();
+    if (processingExecutor == null
+        || maxParallelScans <= 1
+        || !(topNAlgorithm instanceof PooledTopNAlgorithm)
+        || !query.getDimensionSpec().preservesOrdering()
+        || query.getVirtualColumns().exists(dimension)) {
+      return 1;
+    }
+
+    final int cardinality = adapter.getDimensionCardinality(dimension);
+    if (cardinality == Integer.MAX_VALUE) {
+      return 1;
+    }
+    final int numValuesPerPass = getNumValuesPerPass(query);
+    if (numValuesPerPass <= 0) {
+      return 1;
+    }
+    final int numPasses = (cardinality + numValuesPerPass - 1) / numValuesPerPass;
+    return Math.min(maxParallelScans, numPasses);
+  }
+
+  /**
+   * Same computation as {@link PooledTopNAlgorithm#makeInitParams}, for an empty buffer of the pool.
+   */
+  private int getNumValuesPerPass(final TopNQuery query)
+  {
+    int numBytesPerRecord = 0;
+    for (AggregatorFactory aggregatorFactory : query.getAggregatorSpecs()) {
+      numBytesPerRecord += aggregatorFactory.getMaxIntermediateSizeWithNulls();
+    }
+    if (numBytesPerRecord == 0) {
+      return 0;
+    }
+    return bufferSizeBytes / numBytesPerRecord;
+  }
+
+  /**
+   * Splits the dictionary of the dimension into numScans ranges of whole passes and scans them concurrently. The
+   * calling thread scans the first range itself and also runs the scans which were not picked up by the processing
+   * pool yet, so that the query never waits on a processing thread which is blocked by another query.
+   */
+  private List<Result<TopNResultValue>> parallelScan(
+      final TopNQuery query,
+      final StorageAdapter adapter,
+      @Nullable final Filter filter,
+      final int numScans,
+      final @Nullable TopNQueryMetrics queryMetrics
+  )
+  {
+    final int cardinality = adapter.getDimensionCardinality(query.getDimensionSpec().getDimension());
+    final int numValuesPerPass = getNumValuesPerPass(query);
+    final int numPasses = (cardinality + numValuesPerPass - 1) / numValuesPerPass;
+    final int numValuesPerScan = (numPasses + numScans - 1) / numScans * numValuesPerPass;
+    final int priority = QueryContexts.getPriority(query);
+
+    final List<FutureTask<List<Result<TopNResultValue>>>> scans = new ArrayList<>(numScans);
+    for (int i = 0; i < numScans; i++) {
+      final int startDictionaryId = i * numValuesPerScan;
+      // The last range is open ended, dictionaries of incremental indexes may grow while they are scanned.
+      final int endDictionaryId = i == numScans - 1 ? Integer.MAX_VALUE : startDictionaryId + numValuesPerScan;
+      final TopNMapFn mapFn = new TopNMapFn(
+          query,
+          new PooledTopNAlgorithm(adapter, query, bufferPool, startDictionaryId, endDictionaryId)
+      );
+      // Query metrics may only be used by the calling thread, which passes them to its own scan, see below for the
+      // other scans.
+      final TopNQueryMetrics scanMetrics = i == 0 ? queryMetrics : null;
+      scans.add(new FutureTask<>(() -> scan(query, adapter, filter, mapFn, scanMetrics).toList()));
+    }
+
+    try {
+      for (FutureTask<List<Result<TopNResultValue>>> scan : scans.subList(1, numScans)) {
+        processingExecutor.submit(
+            new AbstractPrioritizedCallable<Void>(priority)
+            {
+              @Override
+              public Void call()
+              {
+                scan.run();
+                return null;
+              }
+            }
+        );
+      }
+
+      scans.get(0).run();
+      // Every scan processes the rows of the whole segment, so the processed rows reported by the first scan hold for
+      // every range. The scan time also covers the time spent waiting for the other ranges, so that it is reported
+      // for all of them.
+      if (queryMetrics != null) {
+        queryMetrics.startRecordingScanTime();
+      }
+      // FutureTask.run() is a no-op for scans which already started on another thread.
+      for (FutureTask<List<Result<TopNResultValue>>> scan : scans.subList(1, numScans)) {
+        scan.run();
+        scan.get();
+      }
+      if (queryMetrics != null) {
+        queryMetrics.stopRecordingScanTime();
+      }
+
+      final TopNBinaryFn mergeFn = new TopNBinaryFn(
+          query.getGranularity(),
+          query.getDimensionSpec(),
+          query.getTopNMetricSpec(),
+          query.getThreshold(),
+          query.getAggregatorSpecs(),
+          query.getPostAggregatorSpecs()
+      );
+      final Map<DateTime, Result<TopNResultValue>> merged = new LinkedHashMap<>();
+      for (FutureTask<List<Result<TopNResultValue>>> scan : scans) {
+        for (Result<TopNResultValue> result : scan.get()) {
+          merged.merge(result.getTimestamp(), result, mergeFn::apply);
+        }
+      }
+      return new ArrayList<>(merged.values());
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new QueryInterruptedException(e);
+    }
+    catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+    finally {
+      for (FutureTask<List<Result<TopNResultValue>>> scan : scans) {
+        scan.cancel(false);
+      }
+    }
+  }
+
+  private TopNAlgorithm makeAlgorithm(
       final TopNQuery query,
       final StorageAdapter adapter,
       final @Nullable TopNQueryMetrics queryMetrics
@@ -157,7 +352,7 @@ public class TopNQueryEngine
       queryMetrics.algorithm(topNAlgorithm);
     }
 
-    return new TopNMapFn(query, topNAlgorithm);
+    return topNAlgorithm;
   }
 
   public static boolean canApplyExtractionInPost(TopNQuery query)
@@ -95,6 +95,11 @@ public class TopNQueryQueryToolChest extends QueryToolChest<Result<TopNResultVal
     this.queryMetricsFactory = queryMetricsFactory;
   }
 
+  public TopNQueryConfig getConfig()
+  {
+    return config;
+  }
+
   protected static String[] extractFactoryName(final List<AggregatorFactory> aggregatorFactories)
   {
     return aggregatorFactories.stream().map(AggregatorFactory::getName).toArray(String[]::new);
@@ -22,9 +22,11 @@ package org.apache.druid.query.topn;
 import com.google.inject.Inject;
 import org.apache.druid.collections.NonBlockingPool;
 import org.apache.druid.guice.annotations.Global;
+import org.apache.druid.guice.annotations.Processing;
 import org.apache.druid.java.util.common.ISE;
 import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.query.ChainedExecutionQueryRunner;
+import org.apache.druid.query.DruidProcessingConfig;
 import org.apache.druid.query.QueryPlus;
 import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QueryRunnerFactory;
@@ -33,8 +35,10 @@ import org.apache.druid.query.QueryWatcher;
 import org.apache.druid.query.Result;
 import org.apache.druid.segment.Segment;
 
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -44,23 +48,66 @@ public class TopNQueryRunnerFactory implements QueryRunnerFactory<Result<TopNRes
   private final NonBlockingPool<ByteBuffer> computationBufferPool;
   private final TopNQueryQueryToolChest toolchest;
   private final QueryWatcher queryWatcher;
+  @Nullable
+  private final ExecutorService processingExecutor;
+  private final int computationBufferSizeBytes;
 
   @Inject
   public TopNQueryRunnerFactory(
       @Global NonBlockingPool<ByteBuffer> computationBufferPool,
       TopNQueryQueryToolChest toolchest,
-      QueryWatcher queryWatcher
+      QueryWatcher queryWatcher,
+      @Processing Optional<ExecutorService> processingExecutor,
+      DruidProcessingConfig processingConfig
+  )
+  {
+    this(
+        computationBufferPool,
+        toolchest,
+        queryWatcher,
+        processingExecutor.orElse(null),
+        processingConfig.intermediateComputeSizeBytes()
+    );
+  }
+
+  /**
+   * @param processingExecutor         executor of the parallel scans of a segment, see {@link TopNQueryEngine}. If
+   *                                   null, every segment is scanned by the calling thread only.
+   * @param computationBufferSizeBytes size of the buffers of computationBufferPool
+   */
+  public TopNQueryRunnerFactory(
+      NonBlockingPool<ByteBuffer> computationBufferPool,
+      TopNQueryQueryToolChest toolchest,
+      QueryWatcher queryWatcher,
+      @Nullable ExecutorService processingExecutor,
+      int computationBufferSizeBytes
   )
   {
     this.computationBufferPool = computationBufferPool;
     this.toolchest = toolchest;
     this.queryWatcher = queryWatcher;
+    this.processingExecutor = processingExecutor;
+    this.computationBufferSizeBytes = computationBufferSizeBytes;
+  }
+
+  public TopNQueryRunnerFactory(
+      NonBlockingPool<ByteBuffer> computationBufferPool,
+      TopNQueryQueryToolChest toolchest,
+      QueryWatcher queryWatcher
+  )
+  {
+    this(computationBufferPool, toolchest, queryWatcher, null, 0);
   }
 
   @Override
   public QueryRunner<Result<TopNResultValue>> createRunner(final Segment segment)
   {
-    final TopNQueryEngine queryEngine = new TopNQueryEngine(computationBufferPool);
+    final TopNQueryEngine queryEngine = new TopNQueryEngine(
+        computationBufferPool,
+        processingExecutor,
+        computationBufferSizeBytes,
+        toolchest.getConfig()
+    );
     return new QueryRunner<Result<TopNResultValue>>()
     {
       @Override
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
+import org.apache.druid.segment.column.BloomFilterIndex;
+import org.apache.druid.segment.data.IndexedInts;
+import org.apache.druid.segment.serde.Serializer;
+import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
+import org.apache.druid.segment.writeout.WriteOutBytes;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the {@link BloomFilterIndex} of a string column. Dictionary values are added first with
+ * {@link #addDictionaryValue}, followed by the dictionary ids of every row with {@link #addRow}.
+ * This class is unsafe for concurrent use from multiple threads.
+ */
+public class BloomFilterIndexSerializer implements Serializer
+{
+  private final SegmentWriteOutMedium segmentWriteOutMedium;
+  private final ByteOrder byteOrder;
+  private final int rowsPerBlock;
+  private final double falsePositiveProbability;
+  private final int numHashFunctions;
+
+  private final LongArrayList dictionaryHashes = new LongArrayList();
+  private final IntSet nullDictionaryIds = new IntOpenHashSet();
+  private final IntSet blockDictionaryIds = new IntOpenHashSet();
+  private final IntArrayList blockOffsets = new IntArrayList();
+  private final ByteBuffer scratch;
+  private WriteOutBytes blockBits;
+  private int rowCount = 0;
+  private long[] columnBits;
+
+  public BloomFilterIndexSerializer(
+      SegmentWriteOutMedium segmentWriteOutMedium,
+      ByteOrder byteOrder,
+      int rowsPerBlock,
+      double falsePositiveProbability
+  )
+  {
+    this.segmentWriteOutMedium = segmentWriteOutMedium;
+    this.byteOrder = byteOrder;
+    this.rowsPerBlock = rowsPerBlock;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.numHashFunctions = BloomFilterIndex.optimalNumHashFunctions(falsePositiveProbability);
+    this.scratch = ByteBuffer.allocate(Long.BYTES).order(byteOrder);
+  }
+
+  public void open() throws IOException
+  {
+    blockBits = segmentWriteOutMedium.makeWriteOutBytes();
+    blockOffsets.add(0);
+  }
+
+  public void addDictionaryValue(@Nullable String value)
+  {
+    if (NullHandling.isNullOrEquivalent(value)) {
+      nullDictionaryIds.add(dictionaryHashes.size());
+      dictionaryHashes.add(0L);
+    } else {
+      dictionaryHashes.add(BloomFilterIndex.hash(value));
+    }
+  }
+
+  public void addRow(IndexedInts row) throws IOException
+  {
+    if (rowCount > 0 && rowCount % rowsPerBlock == 0) {
+      writeBlock();
+    }
+    for (int i = 0, size = row.size(); i < size; i++) {
+      final int dictionaryId = row.get(i);
+      if (!nullDictionaryIds.contains(dictionaryId)) {
+        blockDictionaryIds.add(dictionaryId);
+      }
+    }
+    rowCount++;
+  }
+
+  private void writeBlock() throws IOException
+  {
+    final long[] bits = new long[BloomFilterIndex.optimalNumLongs(blockDictionaryIds.size(), falsePositiveProbability)];
+    for (IntIterator iterator = blockDictionaryIds.iterator(); iterator.hasNext(); ) {
+      BloomFilterIndex.add(bits, dictionaryHashes.getLong(iterator.nextInt()), numHashFunctions);
+    }
+    writeLongs(blockBits, bits);
+    blockOffsets.add(blockOffsets.getInt(blockOffsets.size() - 1) + bits.length);
+    blockDictionaryIds.clear();
+  }
+
+  private void finish() throws IOException
+  {
+    if (columnBits != null) {
+      return;
+    }
+    if (blockOffsets.size() <= BloomFilterIndex.numBlocks(rowCount, rowsPerBlock)) {
+      writeBlock();
+    }
+    final int numValues = dictionaryHashes.size() - nullDictionaryIds.size();
+    columnBits = new long[BloomFilterIndex.optimalNumLongs(numValues, falsePositiveProbability)];
+    for (int i = 0; i < dictionaryHashes.size(); i++) {
+      if (!nullDictionaryIds.contains(i)) {
+        BloomFilterIndex.add(columnBits, dictionaryHashes.getLong(i), numHashFunctions);
+      }
+    }
+  }
+
+  @Override
+  public long getSerializedSize() throws IOException
+  {
+    finish();
+    return Byte.BYTES
+           + 4 * Integer.BYTES
+           + (long) columnBits.length * Long.BYTES
+           + (long) blockOffsets.size() * Integer.BYTES
+           + blockBits.size();
+  }
+
+  @Override
+  public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+  {
+    finish();
+    final ByteBuffer header = ByteBuffer.allocate(Byte.BYTES + 4 * Integer.BYTES).order(byteOrder);
+    header.put(BloomFilterIndex.VERSION);
+    header.putInt(numHashFunctions);
+    header.putInt(rowsPerBlock);
+    header.putInt(rowCount);
+    header.putInt(columnBits.length);
+    header.flip();
+    writeFully(channel, header);
+
+    final WriteOutBytes body = segmentWriteOutMedium.makeWriteOutBytes();
+    writeLongs(body, columnBits);
+    for (int i = 0; i < blockOffsets.size(); i++) {
+      scratch.clear();
+      scratch.putInt(blockOffsets.getInt(i));
+      scratch.flip();
+      body.write(scratch);
+    }
+    body.writeTo(channel);
+    blockBits.writeTo(channel);
+  }
+
+  private void writeLongs(WriteOutBytes out, long[] values) throws IOException
+  {
+    for (long value : values) {
+      scratch.clear();
+      scratch.putLong(value);
+      scratch.flip();
+      out.write(scratch);
+    }
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException
+  {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.segment.column.BaseColumn;
+import org.apache.druid.segment.column.ColumnHolder;
+import org.apache.druid.segment.column.DictionaryEncodedColumn;
+import org.apache.druid.segment.column.ValueType;
+import org.apache.druid.timeline.partition.ColumnRange;
+import org.apache.druid.timeline.partition.NumericColumnRange;
+import org.apache.druid.timeline.partition.StringColumnRange;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the {@link ColumnRange}s recorded in {@link org.apache.druid.timeline.DataSegment#getColumnRanges()} for
+ * the columns listed in {@link IndexSpec#getRangeSummaryColumns()}.
+ */
+public class ColumnRanges
+{
+  /**
+   * Computes the ranges of the given columns over all rows of the given indexes, which are about to be merged into a
+   * single segment. Columns which are missing in all indexes, contain only nulls, are not string or numeric columns,
+   * have different types in different indexes, or contain NaN values are left out of the result.
+   */
+  public static Map<String, ColumnRange> compute(List<QueryableIndex> indexes, List<String> columns)
+      throws IOException
+  {
+    final Map<String, ColumnRange> ranges = new LinkedHashMap<>();
+    for (String column : columns) {
+      final ColumnRange range = computeRange(indexes, column);
+      if (range != null) {
+        ranges.put(column, range);
+      }
+    }
+    return ranges;
+  }
+
+  @Nullable
+  private static ColumnRange computeRange(List<QueryableIndex> indexes, String column) throws IOException
+  {
+    ValueType type = null;
+    boolean missingInSomeIndex = false;
+    final RangeAccumulator accumulator = new RangeAccumulator();
+    for (QueryableIndex index : indexes) {
+      final ColumnHolder holder = index.getColumnHolder(column);
+      if (holder == null) {
+        missingInSomeIndex = true;
+        continue;
+      }
+      final ValueType indexType = holder.getCapabilities().getType();
+      if (type != null && type != indexType) {
+        return null;
+      }
+      type = indexType;
+      if (type == ValueType.STRING && holder.getCapabilities().isDictionaryEncoded()) {
+        accumulateString(holder, accumulator);
+      } else if (type != null && type.isNumeric()) {
+        if (!accumulateNumeric(holder, type, index.getNumRows(), accumulator)) {
+          return null;
+        }
+      } else {
+        return null;
+      }
+    }
+
+    if (type == ValueType.STRING) {
+      // Rows of an index without the column are null
+      return accumulator.maxString == null
+             ? null
+             : new StringColumnRange(
+                 accumulator.hasNull || missingInSomeIndex ? null : accumulator.minString,
+                 accumulator.maxString
+             );
+    } else if (type != null) {
+      if (missingInSomeIndex && NullHandling.replaceWithDefault()) {
+        accumulator.addNumber(0);
+      }
+      if (!accumulator.hasNumber) {
+        return null;
+      }
+      if (type == ValueType.FLOAT) {
+        // Filter values are parsed as doubles, while a float column matches every double which rounds to one of its
+        // values, e.g. 0.1 matches the stored 0.1f although (double) 0.1f is greater than 0.1. Widening the range by
+        // one float ulp on each side covers all of these doubles.
+        return new NumericColumnRange(
+            accumulator.minNumber - Math.ulp((float) accumulator.minNumber),
+            accumulator.maxNumber + Math.ulp((float) accumulator.maxNumber)
+        );
+      }
+      return new NumericColumnRange(accumulator.minNumber, accumulator.maxNumber);
+    } else {
+      return null;
+    }
+  }
+
+  private static void accumulateString(ColumnHolder holder, RangeAccumulator accumulator) throws IOException
+  {
+    try (BaseColumn baseColumn = holder.getColumn()) {
+      @SuppressWarnings("unchecked")
+      final DictionaryEncodedColumn<String> column = (DictionaryEncodedColumn<String>) baseColumn;
+      final int cardinality = column.getCardinality();
+      if (cardinality == 0) {
+        return;
+      }
+      // Dictionaries are sorted with nulls first
+      int minId = 0;
+      if (NullHandling.emptyToNullIfNeeded(column.lookupName(0)) == null) {
+        accumulator.hasNull = true;
+        minId = 1;
+      }
+      if (minId < cardinality) {
+        accumulator.addString(column.lookupName(minId));
+        accumulator.addString(column.lookupName(cardinality - 1));
+      }
+    }
+  }
+
+  /**
+   * @return false if the column contains NaN values, which are outside of any range
+   */
+  private static boolean accumulateNumeric(
+      ColumnHolder holder,
+      ValueType type,
+      int numRows,
+      RangeAccumulator accumulator
+  ) throws IOException
+  {
+    try (BaseColumn column = holder.getColumn()) {
+      final SimpleAscendingOffset offset = new SimpleAscendingOffset(numRows);
+      final ColumnValueSelector<?> selector = column.makeColumnValueSelector(offset);
+      for (; offset.withinBounds(); offset.increment()) {
+        if (selector.isNull()) {
+          continue;
+        }
+        final double value = type == ValueType.LONG ? (double) selector.getLong() : selector.getDouble();
+        if (Double.isNaN(value)) {
+          return false;
+        }
+        accumulator.addNumber(value);
+      }
+      return true;
+    }
+  }
+
+  private static class RangeAccumulator
+  {
+    private boolean hasNull = false;
+    @Nullable
+    private String minString = null;
+    @Nullable
+    private String maxString = null;
+    private boolean hasNumber = false;
+    private double minNumber = Double.POSITIVE_INFINITY;
+    private double maxNumber = Double.NEGATIVE_INFINITY;
+
+    private void addString(String value)
+    {
+      if (minString == null || value.compareTo(minString) < 0) {
+        minString = value;
+      }
+      if (maxString == null || value.compareTo(maxString) > 0) {
+        maxString = value;
+      }
+    }
+
+    private void addNumber(double value)
+    {
+      hasNumber = true;
+      minNumber = Math.min(minNumber, value);
+      maxNumber = Math.max(maxNumber, value);
+    }
+  }
+
+  private ColumnRanges()
+  {
+  }
+}
@@ -27,9 +27,11 @@ import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.column.BaseColumn;
 import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.column.BloomFilterIndex;
 import org.apache.druid.segment.column.ColumnHolder;
 import org.apache.druid.segment.column.DictionaryEncodedColumn;
 import org.apache.druid.segment.column.NumericColumn;
+import org.apache.druid.segment.column.NumericZoneMap;
 import org.apache.druid.segment.data.CloseableIndexed;
 import org.apache.druid.segment.data.IndexedIterable;
 
@@ -274,6 +276,12 @@ public class ColumnSelectorBitmapIndexSelector implements BitmapIndexSelector
       return null;
     }
 
+    // Rule out values not in the column without searching its dictionary
+    final BloomFilterIndex bloomFilterIndex = columnHolder.getBloomFilterIndex();
+    if (bloomFilterIndex != null && !bloomFilterIndex.mightContain(value)) {
+      return bitmapFactory.makeEmptyImmutableBitmap();
+    }
+
     final BitmapIndex bitmapIndex = columnHolder.getBitmapIndex();
     return bitmapIndex.getBitmap(bitmapIndex.getIndex(value));
   }
@@ -293,6 +301,30 @@ public class ColumnSelectorBitmapIndexSelector implements BitmapIndexSelector
     return columnHolder.getSpatialIndex().getRTree();
   }
 
+  @Nullable
+  @Override
+  public NumericZoneMap getNumericZoneMap(String column)
+  {
+    if (isVirtualColumn(column)) {
+      return null;
+    }
+
+    final ColumnHolder columnHolder = index.getColumnHolder(column);
+    return columnHolder == null ? null : columnHolder.getNumericZoneMap();
+  }
+
+  @Nullable
+  @Override
+  public BloomFilterIndex getBloomFilterIndex(String column)
+  {
+    if (isVirtualColumn(column)) {
+      return null;
+    }
+
+    final ColumnHolder columnHolder = index.getColumnHolder(column);
+    return columnHolder == null ? null : columnHolder.getBloomFilterIndex();
+  }
+
   private boolean isVirtualColumn(final String columnName)
   {
     return virtualColumns.getVirtualColumn(columnName) != null;
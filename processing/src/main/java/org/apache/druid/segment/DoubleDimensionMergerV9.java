@@ -35,7 +35,11 @@ public class DoubleDimensionMergerV9 extends NumericDimensionMergerV9
   @Override
   GenericColumnSerializer setupEncodedValueWriter()
   {
-    return IndexMergerV9.createDoubleColumnSerializer(segmentWriteOutMedium, dimensionName, indexSpec);
+    return IndexMergerV9.withNumericZoneMap(
+        IndexMergerV9.createDoubleColumnSerializer(segmentWriteOutMedium, dimensionName, indexSpec),
+        ValueType.DOUBLE,
+        indexSpec
+    );
   }
 
   @Override
@@ -43,6 +47,7 @@ public class DoubleDimensionMergerV9 extends NumericDimensionMergerV9
   {
     final ColumnDescriptor.Builder builder = ColumnDescriptor.builder();
     builder.setValueType(ValueType.DOUBLE);
+    IndexMergerV9.addNumericZoneMapPartSerde(builder, serializer);
     ColumnPartSerde serde = IndexMergerV9.createDoubleColumnPartSerde(serializer, indexSpec);
     builder.addSerde(serde);
     return builder.build();
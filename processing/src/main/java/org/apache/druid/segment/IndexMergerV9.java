@@ -44,6 +44,7 @@ import org.apache.druid.segment.column.ColumnCapabilities;
 import org.apache.druid.segment.column.ColumnCapabilitiesImpl;
 import org.apache.druid.segment.column.ColumnDescriptor;
 import org.apache.druid.segment.column.ColumnHolder;
+import org.apache.druid.segment.column.NumericZoneMap;
 import org.apache.druid.segment.column.ValueType;
 import org.apache.druid.segment.data.GenericIndexed;
 import org.apache.druid.segment.incremental.IncrementalIndex;
@@ -59,6 +60,7 @@ import org.apache.druid.segment.serde.FloatNumericColumnPartSerde;
 import org.apache.druid.segment.serde.FloatNumericColumnPartSerdeV2;
 import org.apache.druid.segment.serde.LongNumericColumnPartSerde;
 import org.apache.druid.segment.serde.LongNumericColumnPartSerdeV2;
+import org.apache.druid.segment.serde.NumericZoneMapColumnPartSerde;
 import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
 import org.apache.druid.segment.writeout.SegmentWriteOutMediumFactory;
 import org.joda.time.DateTime;
@@ -340,6 +342,7 @@ public class IndexMergerV9 implements IndexMerger
       switch (type) {
         case LONG:
           builder.setValueType(ValueType.LONG);
+          addNumericZoneMapPartSerde(builder, writer);
           builder.addSerde(createLongColumnPartSerde(writer, indexSpec));
           break;
         case FLOAT:
@@ -348,6 +351,7 @@ public class IndexMergerV9 implements IndexMerger
           break;
         case DOUBLE:
           builder.setValueType(ValueType.DOUBLE);
+          addNumericZoneMapPartSerde(builder, writer);
           builder.addSerde(createDoubleColumnPartSerde(writer, indexSpec));
           break;
         case COMPLEX:
@@ -371,6 +375,36 @@ public class IndexMergerV9 implements IndexMerger
     progress.stopSection(section);
   }
 
+  /**
+   * Wraps the serializer of a long or double column to collect a {@link NumericZoneMap}
+   * if enabled by the given IndexSpec. It must then be added to the column with {@link #addNumericZoneMapPartSerde}.
+   */
+  static GenericColumnSerializer withNumericZoneMap(
+      GenericColumnSerializer serializer,
+      ValueType type,
+      IndexSpec indexSpec
+  )
+  {
+    if (!indexSpec.isNumericZoneMaps()) {
+      return serializer;
+    }
+    //noinspection unchecked
+    return new NumericZoneMapColumnSerializer(serializer, type, NumericZoneMap.DEFAULT_ROWS_PER_ZONE);
+  }
+
+  static void addNumericZoneMapPartSerde(ColumnDescriptor.Builder builder, GenericColumnSerializer serializer)
+  {
+    // The zone map goes before the values, since the nullable numeric parts read up to the end of the buffer.
+    if (serializer instanceof NumericZoneMapColumnSerializer) {
+      builder.addSerde(
+          NumericZoneMapColumnPartSerde.serializerBuilder()
+                                       .withByteOrder(IndexIO.BYTE_ORDER)
+                                       .withDelegate((NumericZoneMapColumnSerializer) serializer)
+                                       .build()
+      );
+    }
+  }
+
   static ColumnPartSerde createLongColumnPartSerde(GenericColumnSerializer serializer, IndexSpec indexSpec)
   {
     // If using default values for null use LongNumericColumnPartSerde to allow rollback to previous versions.
@@ -587,13 +621,21 @@ public class IndexMergerV9 implements IndexMerger
       GenericColumnSerializer writer;
       switch (type) {
         case LONG:
-          writer = createLongColumnSerializer(segmentWriteOutMedium, metric, indexSpec);
+          writer = withNumericZoneMap(
+              createLongColumnSerializer(segmentWriteOutMedium, metric, indexSpec),
+              ValueType.LONG,
+              indexSpec
+          );
           break;
         case FLOAT:
           writer = createFloatColumnSerializer(segmentWriteOutMedium, metric, indexSpec);
           break;
         case DOUBLE:
-          writer = createDoubleColumnSerializer(segmentWriteOutMedium, metric, indexSpec);
+          writer = withNumericZoneMap(
+              createDoubleColumnSerializer(segmentWriteOutMedium, metric, indexSpec),
+              ValueType.DOUBLE,
+              indexSpec
+          );
           break;
         case COMPLEX:
           final String typeName = metricTypeNames.get(metric);
@@ -20,16 +20,21 @@
 package org.apache.druid.segment;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import org.apache.druid.segment.data.BitmapSerde;
 import org.apache.druid.segment.data.BitmapSerdeFactory;
 import org.apache.druid.segment.data.CompressionFactory;
 import org.apache.druid.segment.data.CompressionStrategy;
 import org.apache.druid.segment.data.ConciseBitmapSerdeFactory;
+import org.apache.druid.segment.data.FrontCodedIndexed;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -61,6 +66,10 @@ public class IndexSpec
   private final CompressionStrategy dimensionCompression;
   private final CompressionStrategy metricCompression;
   private final CompressionFactory.LongEncodingStrategy longEncoding;
+  private final List<String> rangeSummaryColumns;
+  private final boolean numericZoneMaps;
+  private final List<String> bloomFilterColumns;
+  private final int frontCodedDictionaryBucketSize;
 
 
   /**
@@ -88,12 +97,47 @@ public class IndexSpec
    * @param longEncoding encoding strategy for metric and dimension columns with type long, null to use the default.
    *                     Defaults to {@link CompressionFactory#DEFAULT_LONG_ENCODING_STRATEGY}
    */
+  public IndexSpec(
+      BitmapSerdeFactory bitmapSerdeFactory,
+      CompressionStrategy dimensionCompression,
+      CompressionStrategy metricCompression,
+      CompressionFactory.LongEncodingStrategy longEncoding
+  )
+  {
+    this(bitmapSerdeFactory, dimensionCompression, metricCompression, longEncoding, null, null, null, null);
+  }
+
+  /**
+   * Creates an IndexSpec with the given storage format settings and segment metadata options.
+   *
+   * @param rangeSummaryColumns dimension and metric columns whose min/max values are recorded in the metadata of the
+   *                            segment, so that Brokers can skip the segment for queries filtering outside of them.
+   *                            Null or empty to not record any.
+   *
+   * @param numericZoneMaps whether to write per-block min/max statistics for long and double dimension and metric
+   *                        columns, used by range filters to skip blocks which cannot match. Defaults to false.
+   *
+   * @param bloomFilterColumns string dimension columns to write bloom filters of the values of, for the whole column
+   *                           and per block of rows, used by selector filters to skip values and blocks which cannot
+   *                           match. Null or empty to not write any.
+   *
+   * @param frontCodedDictionaryBucketSize number of values per bucket of front coded string dimension dictionaries,
+   *                                       see {@link FrontCodedIndexed}. Must be a power of two up to
+   *                                       {@link FrontCodedIndexed#MAX_BUCKET_SIZE}. Null or 0 to write dictionaries
+   *                                       without front coding.
+   *
+   * @see #IndexSpec(BitmapSerdeFactory, CompressionStrategy, CompressionStrategy, CompressionFactory.LongEncodingStrategy)
+   */
   @JsonCreator
   public IndexSpec(
       @JsonProperty("bitmap") BitmapSerdeFactory bitmapSerdeFactory,
       @JsonProperty("dimensionCompression") CompressionStrategy dimensionCompression,
       @JsonProperty("metricCompression") CompressionStrategy metricCompression,
-      @JsonProperty("longEncoding") CompressionFactory.LongEncodingStrategy longEncoding
+      @JsonProperty("longEncoding") CompressionFactory.LongEncodingStrategy longEncoding,
+      @JsonProperty("rangeSummaryColumns") @Nullable List<String> rangeSummaryColumns,
+      @JsonProperty("numericZoneMaps") @Nullable Boolean numericZoneMaps,
+      @JsonProperty("bloomFilterColumns") @Nullable List<String> bloomFilterColumns,
+      @JsonProperty("frontCodedDictionaryBucketSize") @Nullable Integer frontCodedDictionaryBucketSize
   )
   {
     Preconditions.checkArgument(dimensionCompression == null || DIMENSION_COMPRESSION.contains(dimensionCompression),
@@ -105,10 +149,27 @@ public class IndexSpec
     Preconditions.checkArgument(longEncoding == null || LONG_ENCODING_NAMES.contains(longEncoding),
                                 "Unknown long encoding type[%s]", longEncoding);
 
+    Preconditions.checkArgument(
+        frontCodedDictionaryBucketSize == null
+        || frontCodedDictionaryBucketSize == 0
+        || FrontCodedIndexed.isValidBucketSize(frontCodedDictionaryBucketSize),
+        "frontCodedDictionaryBucketSize[%s] must be a power of two up to %s",
+        frontCodedDictionaryBucketSize,
+        FrontCodedIndexed.MAX_BUCKET_SIZE
+    );
+
     this.bitmapSerdeFactory = bitmapSerdeFactory != null ? bitmapSerdeFactory : new ConciseBitmapSerdeFactory();
     this.dimensionCompression = dimensionCompression == null ? DEFAULT_DIMENSION_COMPRESSION : dimensionCompression;
     this.metricCompression = metricCompression == null ? DEFAULT_METRIC_COMPRESSION : metricCompression;
     this.longEncoding = longEncoding == null ? DEFAULT_LONG_ENCODING : longEncoding;
+    this.rangeSummaryColumns = rangeSummaryColumns == null
+                               ? ImmutableList.of()
+                               : ImmutableList.copyOf(rangeSummaryColumns);
+    this.numericZoneMaps = numericZoneMaps != null && numericZoneMaps;
+    this.bloomFilterColumns = bloomFilterColumns == null
+                              ? ImmutableList.of()
+                              : ImmutableList.copyOf(bloomFilterColumns);
+    this.frontCodedDictionaryBucketSize = frontCodedDictionaryBucketSize == null ? 0 : frontCodedDictionaryBucketSize;
   }
 
   @JsonProperty("bitmap")
@@ -135,6 +196,34 @@ public class IndexSpec
     return longEncoding;
   }
 
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  public List<String> getRangeSummaryColumns()
+  {
+    return rangeSummaryColumns;
+  }
+
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  public boolean isNumericZoneMaps()
+  {
+    return numericZoneMaps;
+  }
+
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_EMPTY)
+  public List<String> getBloomFilterColumns()
+  {
+    return bloomFilterColumns;
+  }
+
+  @JsonProperty
+  @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+  public int getFrontCodedDictionaryBucketSize()
+  {
+    return frontCodedDictionaryBucketSize;
+  }
+
   @Override
   public boolean equals(Object o)
   {
@@ -148,13 +237,26 @@ public class IndexSpec
     return Objects.equals(bitmapSerdeFactory, indexSpec.bitmapSerdeFactory) &&
            dimensionCompression == indexSpec.dimensionCompression &&
            metricCompression == indexSpec.metricCompression &&
-           longEncoding == indexSpec.longEncoding;
+           longEncoding == indexSpec.longEncoding &&
+           rangeSummaryColumns.equals(indexSpec.rangeSummaryColumns) &&
+           numericZoneMaps == indexSpec.numericZoneMaps &&
+           bloomFilterColumns.equals(indexSpec.bloomFilterColumns) &&
+           frontCodedDictionaryBucketSize == indexSpec.frontCodedDictionaryBucketSize;
   }
 
   @Override
   public int hashCode()
   {
-    return Objects.hash(bitmapSerdeFactory, dimensionCompression, metricCompression, longEncoding);
+    return Objects.hash(
+        bitmapSerdeFactory,
+        dimensionCompression,
+        metricCompression,
+        longEncoding,
+        rangeSummaryColumns,
+        numericZoneMaps,
+        bloomFilterColumns,
+        frontCodedDictionaryBucketSize
+    );
   }
 
   @Override
@@ -165,6 +267,10 @@ public class IndexSpec
            ", dimensionCompression=" + dimensionCompression +
            ", metricCompression=" + metricCompression +
            ", longEncoding=" + longEncoding +
+           ", rangeSummaryColumns=" + rangeSummaryColumns +
+           ", numericZoneMaps=" + numericZoneMaps +
+           ", bloomFilterColumns=" + bloomFilterColumns +
+           ", frontCodedDictionaryBucketSize=" + frontCodedDictionaryBucketSize +
            '}';
   }
 }
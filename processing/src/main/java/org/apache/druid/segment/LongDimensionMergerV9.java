@@ -35,7 +35,11 @@ public class LongDimensionMergerV9 extends NumericDimensionMergerV9
   @Override
   GenericColumnSerializer setupEncodedValueWriter()
   {
-    return IndexMergerV9.createLongColumnSerializer(segmentWriteOutMedium, dimensionName, indexSpec);
+    return IndexMergerV9.withNumericZoneMap(
+        IndexMergerV9.createLongColumnSerializer(segmentWriteOutMedium, dimensionName, indexSpec),
+        ValueType.LONG,
+        indexSpec
+    );
   }
 
   @Override
@@ -43,6 +47,7 @@ public class LongDimensionMergerV9 extends NumericDimensionMergerV9
   {
     final ColumnDescriptor.Builder builder = ColumnDescriptor.builder();
     builder.setValueType(ValueType.LONG);
+    IndexMergerV9.addNumericZoneMapPartSerde(builder, serializer);
     ColumnPartSerde serde = IndexMergerV9.createLongColumnPartSerde(serializer, indexSpec);
     builder.addSerde(serde);
     return builder.build();
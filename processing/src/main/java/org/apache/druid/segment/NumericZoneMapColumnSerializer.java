@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
+import org.apache.druid.segment.column.NumericZoneMap;
+import org.apache.druid.segment.column.ValueType;
+import org.apache.druid.segment.serde.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Wraps the serializer of a long or double column and collects a {@link NumericZoneMap} of the serialized values,
+ * which is written by {@link #getZoneMapSerializer}. Serialization of the column itself is left to the delegate.
+ * This class is unsafe for concurrent use from multiple threads.
+ */
+public class NumericZoneMapColumnSerializer implements GenericColumnSerializer<Object>
+{
+  private final GenericColumnSerializer<Object> delegate;
+  private final ValueType type;
+  private final int rowsPerZone;
+
+  private final DoubleArrayList mins = new DoubleArrayList();
+  private final DoubleArrayList maxes = new DoubleArrayList();
+  private final IntArrayList nullCounts = new IntArrayList();
+  private int rowCount = 0;
+  private double zoneMin;
+  private double zoneMax;
+  private int zoneNullCount;
+
+  public NumericZoneMapColumnSerializer(GenericColumnSerializer<Object> delegate, ValueType type, int rowsPerZone)
+  {
+    if (type != ValueType.LONG && type != ValueType.DOUBLE) {
+      throw new IAE("Zone maps are not supported for type[%s]", type);
+    }
+    this.delegate = delegate;
+    this.type = type;
+    this.rowsPerZone = rowsPerZone;
+  }
+
+  @Override
+  public void open() throws IOException
+  {
+    delegate.open();
+  }
+
+  @Override
+  public void serialize(ColumnValueSelector<?> selector) throws IOException
+  {
+    if (rowCount % rowsPerZone == 0) {
+      startZone();
+    }
+    // Columns written in default value mode store nulls as zeros, so only treat them as nulls in SQL compatible mode.
+    if (NullHandling.sqlCompatible() && selector.isNull()) {
+      zoneNullCount++;
+    } else {
+      final double value = type == ValueType.LONG ? (double) selector.getLong() : selector.getDouble();
+      if (Double.isNaN(value)) {
+        zoneMin = Double.NEGATIVE_INFINITY;
+        zoneMax = Double.POSITIVE_INFINITY;
+      } else {
+        zoneMin = Math.min(zoneMin, value);
+        zoneMax = Math.max(zoneMax, value);
+      }
+    }
+    rowCount++;
+    delegate.serialize(selector);
+  }
+
+  private void startZone()
+  {
+    if (rowCount > 0) {
+      finishZone();
+    }
+    zoneMin = Double.POSITIVE_INFINITY;
+    zoneMax = Double.NEGATIVE_INFINITY;
+    zoneNullCount = 0;
+  }
+
+  private void finishZone()
+  {
+    // Adding zero folds -0.0 into 0.0, which compares equal to it in filters
+    mins.add(zoneMin + 0.0);
+    maxes.add(zoneMax + 0.0);
+    nullCounts.add(zoneNullCount);
+  }
+
+  @Override
+  public long getSerializedSize() throws IOException
+  {
+    return delegate.getSerializedSize();
+  }
+
+  @Override
+  public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+  {
+    delegate.writeTo(channel, smoosher);
+  }
+
+  /**
+   * Returns the serializer of the zone map of all rows passed to {@link #serialize}, to be called once all rows are
+   * serialized.
+   */
+  public Serializer getZoneMapSerializer(ByteOrder byteOrder)
+  {
+    return new Serializer()
+    {
+      private NumericZoneMap zoneMap;
+
+      @Override
+      public long getSerializedSize()
+      {
+        return NumericZoneMap.getSerializedSize(getZoneMap().getNumZones());
+      }
+
+      @Override
+      public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+      {
+        final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(getSerializedSize()));
+        getZoneMap().writeTo(buffer, byteOrder);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+
+      private NumericZoneMap getZoneMap()
+      {
+        if (zoneMap == null) {
+          if (mins.size() < NumericZoneMap.numZones(rowCount, rowsPerZone)) {
+            finishZone();
+          }
+          zoneMap = new NumericZoneMap(
+              rowsPerZone,
+              rowCount,
+              mins.toDoubleArray(),
+              maxes.toDoubleArray(),
+              nullCounts.toIntArray()
+          );
+        }
+        return zoneMap;
+      }
+    };
+  }
+}
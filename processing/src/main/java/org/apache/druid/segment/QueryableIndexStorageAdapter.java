@@ -33,6 +33,7 @@ import org.apache.druid.query.BaseQuery;
 import org.apache.druid.query.BitmapResultFactory;
 import org.apache.druid.query.DefaultBitmapResultFactory;
 import org.apache.druid.query.QueryMetrics;
+import org.apache.druid.query.filter.BitmapIndexSelector;
 import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.column.BaseColumn;
@@ -241,6 +242,8 @@ public class QueryableIndexStorageAdapter implements StorageAdapter
      * will be moved to the pre-filtering stage.
      *
      * Any subfilters that cannot be processed entirely with bitmap indexes will be moved to the post-filtering stage.
+     * Post-filters may still narrow down the rows to be scanned with a superset of their matching rows, see
+     * Filter#getCandidateBitmap().
      */
     final Offset offset;
     final List<Filter> preFilters;
@@ -270,25 +273,32 @@ public class QueryableIndexStorageAdapter implements StorageAdapter
         }
       }
 
-      if (preFilters.size() == 0) {
+      final ImmutableBitmap candidateRows = getCandidateRows(selector, postFilters);
+
+      if (preFilters.size() == 0 && candidateRows == null) {
         offset = descending ? new SimpleDescendingOffset(totalRows) : new SimpleAscendingOffset(totalRows);
       } else {
-        if (queryMetrics != null) {
-          BitmapResultFactory<?> bitmapResultFactory =
-              queryMetrics.makeBitmapResultFactory(selector.getBitmapFactory());
-          long bitmapConstructionStartNs = System.nanoTime();
+        final long bitmapConstructionStartNs = System.nanoTime();
+        ImmutableBitmap bitmapIndex;
+        if (preFilters.size() == 0) {
+          bitmapIndex = candidateRows;
+        } else {
+          final BitmapResultFactory<?> bitmapResultFactory;
+          if (queryMetrics != null) {
+            bitmapResultFactory = queryMetrics.makeBitmapResultFactory(selector.getBitmapFactory());
+          } else {
+            bitmapResultFactory = new DefaultBitmapResultFactory(selector.getBitmapFactory());
+          }
           // Use AndFilter.getBitmapResult to intersect the preFilters to get its short-circuiting behavior.
-          ImmutableBitmap bitmapIndex = AndFilter.getBitmapIndex(selector, bitmapResultFactory, preFilters);
+          bitmapIndex = AndFilter.getBitmapIndex(selector, bitmapResultFactory, preFilters);
+          if (candidateRows != null) {
+            bitmapIndex = bitmapIndex.intersection(candidateRows);
+          }
+        }
+        offset = BitmapOffset.of(bitmapIndex, descending, totalRows);
+        if (queryMetrics != null) {
           preFilteredRows = bitmapIndex.size();
-          offset = BitmapOffset.of(bitmapIndex, descending, totalRows);
           queryMetrics.reportBitmapConstructionTime(System.nanoTime() - bitmapConstructionStartNs);
-        } else {
-          BitmapResultFactory<?> bitmapResultFactory = new DefaultBitmapResultFactory(selector.getBitmapFactory());
-          offset = BitmapOffset.of(
-              AndFilter.getBitmapIndex(selector, bitmapResultFactory, preFilters),
-              descending,
-              totalRows
-          );
         }
       }
     }
@@ -326,6 +336,24 @@ public class QueryableIndexStorageAdapter implements StorageAdapter
     );
   }
 
+  /**
+   * Intersects the {@link Filter#getCandidateBitmap candidate rows} of the given post-filters.
+   *
+   * @return bitmap of rows which may match all post-filters, or null if none of them can rule out any rows
+   */
+  @Nullable
+  private static ImmutableBitmap getCandidateRows(BitmapIndexSelector selector, List<Filter> postFilters)
+  {
+    ImmutableBitmap candidateRows = null;
+    for (Filter postFilter : postFilters) {
+      final ImmutableBitmap bitmap = postFilter.getCandidateBitmap(selector);
+      if (bitmap != null) {
+        candidateRows = candidateRows == null ? bitmap : candidateRows.intersection(bitmap);
+      }
+    }
+    return candidateRows;
+  }
+
   @Nullable
   static ColumnCapabilities getColumnCapabilities(ColumnSelector index, String columnName)
   {
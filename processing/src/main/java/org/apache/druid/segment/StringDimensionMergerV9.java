@@ -37,6 +37,7 @@ import org.apache.druid.java.util.common.io.Closer;
 import org.apache.druid.java.util.common.logger.Logger;
 import org.apache.druid.query.filter.ValueMatcher;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
+import org.apache.druid.segment.column.BloomFilterIndex;
 import org.apache.druid.segment.column.ColumnCapabilities;
 import org.apache.druid.segment.column.ColumnDescriptor;
 import org.apache.druid.segment.column.ValueType;
@@ -48,6 +49,7 @@ import org.apache.druid.segment.data.ColumnarIntsSerializer;
 import org.apache.druid.segment.data.ColumnarMultiIntsSerializer;
 import org.apache.druid.segment.data.CompressedVSizeColumnarIntsSerializer;
 import org.apache.druid.segment.data.CompressionStrategy;
+import org.apache.druid.segment.data.FrontCodedIndexedWriter;
 import org.apache.druid.segment.data.GenericIndexed;
 import org.apache.druid.segment.data.GenericIndexedWriter;
 import org.apache.druid.segment.data.ImmutableRTreeObjectStrategy;
@@ -58,6 +60,7 @@ import org.apache.druid.segment.data.SingleValueColumnarIntsSerializer;
 import org.apache.druid.segment.data.V3CompressedVSizeColumnarMultiIntsSerializer;
 import org.apache.druid.segment.data.VSizeColumnarIntsSerializer;
 import org.apache.druid.segment.data.VSizeColumnarMultiIntsSerializer;
+import org.apache.druid.segment.serde.BloomFilterIndexColumnPartSerde;
 import org.apache.druid.segment.serde.DictionaryEncodedColumnPartSerde;
 import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
 
@@ -80,11 +83,16 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
   private ColumnarIntsSerializer encodedValueSerializer;
 
   private String dimensionName;
+  @Nullable
   private GenericIndexedWriter<String> dictionaryWriter;
+  @Nullable
+  private FrontCodedIndexedWriter frontCodedDictionaryWriter;
   private String firstDictionaryValue;
   private int dictionarySize;
   private GenericIndexedWriter<ImmutableBitmap> bitmapWriter;
   private ByteBufferWriter<ImmutableRTree> spatialWriter;
+  @Nullable
+  private BloomFilterIndexSerializer bloomFilterIndexSerializer;
   private ArrayList<IntBuffer> dimConversions;
   private int cardinality = 0;
   private boolean hasNull = false;
@@ -164,11 +172,30 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
       numMergeIndex++;
     }
 
-    String dictFilename = StringUtils.format("%s.dim_values", dimensionName);
-    dictionaryWriter = new GenericIndexedWriter<>(segmentWriteOutMedium, dictFilename, GenericIndexed.STRING_STRATEGY);
+    // Spatial indexes read the dictionary back while merging bitmaps, which only GenericIndexedWriter supports.
+    if (indexSpec.getFrontCodedDictionaryBucketSize() > 0 && !capabilities.hasSpatialIndexes()) {
+      frontCodedDictionaryWriter = new FrontCodedIndexedWriter(
+          segmentWriteOutMedium,
+          indexSpec.getFrontCodedDictionaryBucketSize()
+      );
+      frontCodedDictionaryWriter.open();
+    } else {
+      String dictFilename = StringUtils.format("%s.dim_values", dimensionName);
+      dictionaryWriter = new GenericIndexedWriter<>(segmentWriteOutMedium, dictFilename, GenericIndexed.STRING_STRATEGY);
+      dictionaryWriter.open();
+    }
     firstDictionaryValue = null;
     dictionarySize = 0;
-    dictionaryWriter.open();
+
+    if (indexSpec.getBloomFilterColumns().contains(dimensionName)) {
+      bloomFilterIndexSerializer = new BloomFilterIndexSerializer(
+          segmentWriteOutMedium,
+          IndexIO.BYTE_ORDER,
+          BloomFilterIndex.DEFAULT_ROWS_PER_BLOCK,
+          BloomFilterIndex.DEFAULT_FALSE_POSITIVE_PROBABILITY
+      );
+      bloomFilterIndexSerializer.open();
+    }
 
     cardinality = 0;
     if (numMergeIndex > 1) {
@@ -198,8 +225,15 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
   private void writeDictionary(Iterable<String> dictionaryValues) throws IOException
   {
     for (String value : dictionaryValues) {
-      dictionaryWriter.write(value);
+      if (frontCodedDictionaryWriter != null) {
+        frontCodedDictionaryWriter.write(value);
+      } else {
+        dictionaryWriter.write(value);
+      }
       value = NullHandling.emptyToNullIfNeeded(value);
+      if (bloomFilterIndexSerializer != null) {
+        bloomFilterIndexSerializer.addDictionaryValue(value);
+      }
       if (dictionarySize == 0) {
         firstDictionaryValue = value;
       }
@@ -353,6 +387,9 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
       int value = row.size() == 0 ? 0 : row.get(0);
       ((SingleValueColumnarIntsSerializer) encodedValueSerializer).addValue(value);
     }
+    if (bloomFilterIndexSerializer != null) {
+      bloomFilterIndexSerializer.addRow(row);
+    }
     rowCount++;
   }
 
@@ -525,9 +562,23 @@ public class StringDimensionMergerV9 implements DimensionMergerV9
     final ColumnDescriptor.Builder builder = ColumnDescriptor.builder();
     builder.setValueType(ValueType.STRING);
     builder.setHasMultipleValues(hasMultiValue);
+    if (bloomFilterIndexSerializer != null) {
+      // The bloom filters go first, since the dictionary encoded part reads up to the end of the buffer.
+      builder.addSerde(
+          BloomFilterIndexColumnPartSerde.serializerBuilder()
+                                         .withByteOrder(IndexIO.BYTE_ORDER)
+                                         .withDelegate(bloomFilterIndexSerializer)
+                                         .build()
+      );
+    }
     final DictionaryEncodedColumnPartSerde.SerializerBuilder partBuilder = DictionaryEncodedColumnPartSerde
-        .serializerBuilder()
-        .withDictionary(dictionaryWriter)
+        .serializerBuilder();
+    if (frontCodedDictionaryWriter != null) {
+      partBuilder.withFrontCodedDictionary(frontCodedDictionaryWriter);
+    } else {
+      partBuilder.withDictionary(dictionaryWriter);
+    }
+    partBuilder
         .withValue(
             encodedValueSerializer,
             hasMultiValue,
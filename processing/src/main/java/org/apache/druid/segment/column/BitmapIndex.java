@@ -19,8 +19,10 @@
 
 package org.apache.druid.segment.column;
 
+import com.google.common.base.Predicate;
 import org.apache.druid.collections.bitmap.BitmapFactory;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.query.filter.Utf8Predicate;
 
 import javax.annotation.Nullable;
 
@@ -46,4 +48,22 @@ public interface BitmapIndex
   int getIndex(@Nullable String value);
 
   ImmutableBitmap getBitmap(int idx);
+
+  /**
+   * Returns a bitmap of the dictionary ids of all values matching a predicate, or null if this index cannot evaluate
+   * predicates on its dictionary directly, in which case callers should apply the predicate to every value.
+   *
+   * @param predicate     predicate to match values with, also applied to null
+   * @param utf8Predicate equivalent predicate on the UTF-8 encoded values, used instead of decoding them if not null
+   * @param cacheKey      key identifying the predicate, used to cache the result if not null
+   */
+  @Nullable
+  default ImmutableBitmap matchValues(
+      Predicate<String> predicate,
+      @Nullable Utf8Predicate utf8Predicate,
+      @Nullable byte[] cacheKey
+  )
+  {
+    return null;
+  }
 }
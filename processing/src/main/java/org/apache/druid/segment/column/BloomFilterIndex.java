@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.column;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.apache.druid.collections.bitmap.BitmapFactory;
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.collections.bitmap.MutableBitmap;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.IAE;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom filters of the values of a string column, one for the whole column and one per block of consecutive rows, see
+ * {@link #DEFAULT_ROWS_PER_BLOCK}. Point lookups use them to rule out values without searching the dictionary of the
+ * column, and to skip blocks of rows of columns without bitmap indexes. The filters are read directly from the mapped
+ * column buffer.
+ *
+ * Null values are not added to the filters, so nulls are always considered possible.
+ */
+public class BloomFilterIndex
+{
+  public static final byte VERSION = 0x1;
+  public static final int DEFAULT_ROWS_PER_BLOCK = 8192;
+  public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final int numHashFunctions;
+  private final int rowsPerBlock;
+  private final int numRows;
+  private final ByteBuffer columnBits;
+  private final ByteBuffer blockOffsets;
+  private final ByteBuffer blockBits;
+
+  private BloomFilterIndex(
+      int numHashFunctions,
+      int rowsPerBlock,
+      int numRows,
+      ByteBuffer columnBits,
+      ByteBuffer blockOffsets,
+      ByteBuffer blockBits
+  )
+  {
+    this.numHashFunctions = numHashFunctions;
+    this.rowsPerBlock = rowsPerBlock;
+    this.numRows = numRows;
+    this.columnBits = columnBits;
+    this.blockOffsets = blockOffsets;
+    this.blockBits = blockBits;
+  }
+
+  /**
+   * Reads a bloom filter index, advancing the position of the given buffer past it. The returned index is backed by
+   * the given buffer.
+   */
+  public static BloomFilterIndex read(ByteBuffer fromBuffer, ByteOrder byteOrder)
+  {
+    final ByteBuffer buffer = fromBuffer.duplicate().order(byteOrder);
+    final byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IAE("Unknown bloom filter index version[%s]", version);
+    }
+    final int numHashFunctions = buffer.getInt();
+    final int rowsPerBlock = buffer.getInt();
+    final int numRows = buffer.getInt();
+    final ByteBuffer columnBits = slice(buffer, buffer.getInt() * Long.BYTES, byteOrder);
+    final int numBlocks = numBlocks(numRows, rowsPerBlock);
+    final ByteBuffer blockOffsets = slice(buffer, (numBlocks + 1) * Integer.BYTES, byteOrder);
+    final ByteBuffer blockBits = slice(buffer, blockOffsets.getInt(numBlocks * Integer.BYTES) * Long.BYTES, byteOrder);
+    fromBuffer.position(buffer.position());
+    return new BloomFilterIndex(numHashFunctions, rowsPerBlock, numRows, columnBits, blockOffsets, blockBits);
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int size, ByteOrder byteOrder)
+  {
+    final ByteBuffer slice = buffer.slice().order(byteOrder);
+    slice.limit(size);
+    buffer.position(buffer.position() + size);
+    return slice;
+  }
+
+  public static int numBlocks(int numRows, int rowsPerBlock)
+  {
+    return (numRows + rowsPerBlock - 1) / rowsPerBlock;
+  }
+
+  /**
+   * Returns the number of hash functions minimizing the size of filters with the given false positive probability.
+   */
+  public static int optimalNumHashFunctions(double falsePositiveProbability)
+  {
+    return Math.max(1, (int) Math.round(-Math.log(falsePositiveProbability) / Math.log(2)));
+  }
+
+  /**
+   * Returns the number of longs of a filter holding the given number of distinct values with the given false positive
+   * probability, or zero if there are no values.
+   */
+  public static int optimalNumLongs(int numValues, double falsePositiveProbability)
+  {
+    if (numValues == 0) {
+      return 0;
+    }
+    final double numBits = -numValues * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+    return (int) Math.ceil(numBits / Long.SIZE);
+  }
+
+  public static long hash(String value)
+  {
+    return HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asLong();
+  }
+
+  /**
+   * Adds a value, given by its {@link #hash}, to the filter held by the given bits.
+   */
+  public static void add(long[] bits, long hash, int numHashFunctions)
+  {
+    final long numBits = (long) bits.length * Long.SIZE;
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashFunctions; i++) {
+      final int bit = bitIndex(hash1, hash2, i, numBits);
+      bits[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  private static boolean test(ByteBuffer bits, int longOffset, int numLongs, long hash, int numHashFunctions)
+  {
+    if (numLongs == 0) {
+      return false;
+    }
+    final long numBits = (long) numLongs * Long.SIZE;
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashFunctions; i++) {
+      final int bit = bitIndex(hash1, hash2, i, numBits);
+      if ((bits.getLong((longOffset + (bit >>> 6)) * Long.BYTES) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int bitIndex(int hash1, int hash2, int i, long numBits)
+  {
+    int combinedHash = hash1 + i * hash2;
+    if (combinedHash < 0) {
+      combinedHash = ~combinedHash;
+    }
+    return (int) (combinedHash % numBits);
+  }
+
+  public int getNumHashFunctions()
+  {
+    return numHashFunctions;
+  }
+
+  public int getRowsPerBlock()
+  {
+    return rowsPerBlock;
+  }
+
+  public int getNumRows()
+  {
+    return numRows;
+  }
+
+  /**
+   * Returns false if the column definitely does not contain the given value.
+   */
+  public boolean mightContain(@Nullable String value)
+  {
+    if (NullHandling.isNullOrEquivalent(value)) {
+      return true;
+    }
+    return test(columnBits, 0, columnBits.limit() / Long.BYTES, hash(value), numHashFunctions);
+  }
+
+  /**
+   * Returns the rows of the blocks which may contain the given value. The result is a superset of the matching rows,
+   * so the filter itself must still be applied on them.
+   *
+   * @return bitmap of candidate rows, or null if every block is a candidate and nothing can be skipped
+   */
+  @Nullable
+  public ImmutableBitmap getCandidateRows(@Nullable String value, BitmapFactory bitmapFactory)
+  {
+    if (NullHandling.isNullOrEquivalent(value)) {
+      return null;
+    }
+    final long hash = hash(value);
+    if (!test(columnBits, 0, columnBits.limit() / Long.BYTES, hash, numHashFunctions)) {
+      return bitmapFactory.makeEmptyImmutableBitmap();
+    }
+
+    final int numBlocks = numBlocks(numRows, rowsPerBlock);
+    final boolean[] candidates = new boolean[numBlocks];
+    boolean skipsAny = false;
+    for (int i = 0; i < numBlocks; i++) {
+      final int start = blockOffsets.getInt(i * Integer.BYTES);
+      final int end = blockOffsets.getInt((i + 1) * Integer.BYTES);
+      candidates[i] = test(blockBits, start, end - start, hash, numHashFunctions);
+      skipsAny |= !candidates[i];
+    }
+    if (!skipsAny) {
+      return null;
+    }
+
+    final MutableBitmap bitmap = bitmapFactory.makeEmptyMutableBitmap();
+    int i = 0;
+    while (i < numBlocks) {
+      if (!candidates[i]) {
+        i++;
+        continue;
+      }
+      // Adjacent candidate blocks are added as a single run of rows
+      final int start = i * rowsPerBlock;
+      while (i < numBlocks && candidates[i]) {
+        i++;
+      }
+      bitmap.addRange(start, Math.min(numRows, i * rowsPerBlock));
+    }
+    return bitmapFactory.makeImmutableBitmap(bitmap);
+  }
+}
@@ -35,6 +35,8 @@ public class ColumnBuilder
   private boolean dictionaryEncoded = false;
   private Supplier<BitmapIndex> bitmapIndex = null;
   private Supplier<SpatialIndex> spatialIndex = null;
+  private NumericZoneMap numericZoneMap = null;
+  private BloomFilterIndex bloomFilterIndex = null;
   private SmooshedFileMapper fileMapper = null;
 
   public ColumnBuilder setFileMapper(SmooshedFileMapper fileMapper)
@@ -98,6 +100,18 @@ public class ColumnBuilder
     return this;
   }
 
+  public ColumnBuilder setNumericZoneMap(NumericZoneMap numericZoneMap)
+  {
+    this.numericZoneMap = numericZoneMap;
+    return this;
+  }
+
+  public ColumnBuilder setBloomFilterIndex(BloomFilterIndex bloomFilterIndex)
+  {
+    this.bloomFilterIndex = bloomFilterIndex;
+    return this;
+  }
+
   public ColumnHolder build()
   {
     Preconditions.checkState(type != null, "Type must be set.");
@@ -113,7 +127,9 @@ public class ColumnBuilder
             .setFilterable(filterable),
         columnSupplier,
         bitmapIndex,
-        spatialIndex
+        spatialIndex,
+        numericZoneMap,
+        bloomFilterIndex
     );
   }
 }
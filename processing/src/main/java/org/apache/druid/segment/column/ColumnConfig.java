@@ -22,4 +22,13 @@ package org.apache.druid.segment.column;
 public interface ColumnConfig
 {
   int columnCacheSizeBytes();
+
+  /**
+   * Number of predicate results, such as the dictionary ids matching a LIKE filter, to cache per string column.
+   * Zero disables the cache.
+   */
+  default int dictionaryMatchCacheSize()
+  {
+    return 0;
+  }
 }
@@ -46,6 +46,26 @@ public interface ColumnHolder
   @Nullable
   SpatialIndex getSpatialIndex();
 
+  /**
+   * Returns the per-zone min/max statistics of this column, if it is a long or double column written with
+   * {@link org.apache.druid.segment.IndexSpec#isNumericZoneMaps()}.
+   */
+  @Nullable
+  default NumericZoneMap getNumericZoneMap()
+  {
+    return null;
+  }
+
+  /**
+   * Returns the bloom filters of the values of this column, if it is a string column listed in
+   * {@link org.apache.druid.segment.IndexSpec#getBloomFilterColumns()}.
+   */
+  @Nullable
+  default BloomFilterIndex getBloomFilterIndex()
+  {
+    return null;
+  }
+
   /**
    * Returns a new instance of a {@link SettableColumnValueSelector}, corresponding to the type of this column.
    */
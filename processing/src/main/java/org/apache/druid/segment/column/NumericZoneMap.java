@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.column;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import org.apache.druid.collections.bitmap.BitmapFactory;
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.collections.bitmap.MutableBitmap;
+import org.apache.druid.java.util.common.IAE;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Per-zone min/max and null count statistics of a long or double column. A zone is a fixed number of consecutive
+ * rows, see {@link #DEFAULT_ROWS_PER_ZONE}. Range filters use it to find the zones which may contain matching rows, see
+ * {@link #getCandidateRows}.
+ *
+ * Min and max of a zone are computed over its non-null values as doubles. A zone without non-null values has a min of
+ * positive and a max of negative infinity, a zone containing NaN has a min of negative and a max of positive infinity.
+ */
+public class NumericZoneMap
+{
+  public static final byte VERSION = 0x1;
+
+  /**
+   * One zone per block of compressed longs, so that skipping a zone skips decompressing a block.
+   */
+  public static final int DEFAULT_ROWS_PER_ZONE = 8192;
+
+  private static final int HEADER_SIZE = Byte.BYTES + Integer.BYTES + Integer.BYTES;
+  private static final int ZONE_SIZE = Double.BYTES + Double.BYTES + Integer.BYTES;
+
+  private final int rowsPerZone;
+  private final int numRows;
+  private final double[] mins;
+  private final double[] maxes;
+  private final int[] nullCounts;
+
+  public NumericZoneMap(int rowsPerZone, int numRows, double[] mins, double[] maxes, int[] nullCounts)
+  {
+    Preconditions.checkArgument(rowsPerZone > 0, "rowsPerZone[%s] must be positive", rowsPerZone);
+    final int numZones = numZones(numRows, rowsPerZone);
+    Preconditions.checkArgument(
+        mins.length == numZones && maxes.length == numZones && nullCounts.length == numZones,
+        "Expected %s zones for %s rows",
+        numZones,
+        numRows
+    );
+    this.rowsPerZone = rowsPerZone;
+    this.numRows = numRows;
+    this.mins = mins;
+    this.maxes = maxes;
+    this.nullCounts = nullCounts;
+  }
+
+  public static int numZones(int numRows, int rowsPerZone)
+  {
+    return (numRows + rowsPerZone - 1) / rowsPerZone;
+  }
+
+  public static long getSerializedSize(int numZones)
+  {
+    return HEADER_SIZE + (long) numZones * ZONE_SIZE;
+  }
+
+  /**
+   * Reads a zone map written by {@link #writeTo}, advancing the position of the given buffer past it.
+   */
+  public static NumericZoneMap read(ByteBuffer fromBuffer, ByteOrder byteOrder)
+  {
+    final ByteBuffer buffer = fromBuffer.duplicate().order(byteOrder);
+    final byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IAE("Unknown zone map version[%s]", version);
+    }
+    final int rowsPerZone = buffer.getInt();
+    final int numRows = buffer.getInt();
+    final int numZones = numZones(numRows, rowsPerZone);
+    final double[] mins = new double[numZones];
+    final double[] maxes = new double[numZones];
+    final int[] nullCounts = new int[numZones];
+    for (int i = 0; i < numZones; i++) {
+      mins[i] = buffer.getDouble();
+      maxes[i] = buffer.getDouble();
+      nullCounts[i] = buffer.getInt();
+    }
+    fromBuffer.position(buffer.position());
+    return new NumericZoneMap(rowsPerZone, numRows, mins, maxes, nullCounts);
+  }
+
+  /**
+   * Writes this zone map in the given byte order, regardless of the order of the given buffer.
+   */
+  public void writeTo(ByteBuffer toBuffer, ByteOrder byteOrder)
+  {
+    final ByteBuffer buffer = toBuffer.duplicate().order(byteOrder);
+    buffer.put(VERSION);
+    buffer.putInt(rowsPerZone);
+    buffer.putInt(numRows);
+    for (int i = 0; i < mins.length; i++) {
+      buffer.putDouble(mins[i]);
+      buffer.putDouble(maxes[i]);
+      buffer.putInt(nullCounts[i]);
+    }
+    toBuffer.position(buffer.position());
+  }
+
+  public int getRowsPerZone()
+  {
+    return rowsPerZone;
+  }
+
+  public int getNumRows()
+  {
+    return numRows;
+  }
+
+  public int getNumZones()
+  {
+    return mins.length;
+  }
+
+  public double getMin(int zone)
+  {
+    return mins[zone];
+  }
+
+  public double getMax(int zone)
+  {
+    return maxes[zone];
+  }
+
+  public int getNullCount(int zone)
+  {
+    return nullCounts[zone];
+  }
+
+  /**
+   * Returns the rows of the zones which may contain values within the given ranges, or nulls if includeNulls is set.
+   * The result is a superset of the matching rows, so the filter itself must still be applied on them.
+   *
+   * @return bitmap of candidate rows, or null if every zone is a candidate and nothing can be skipped
+   */
+  @Nullable
+  public ImmutableBitmap getCandidateRows(RangeSet<Double> rangeSet, boolean includeNulls, BitmapFactory bitmapFactory)
+  {
+    final boolean[] candidates = new boolean[mins.length];
+    boolean skipsAny = false;
+    for (int i = 0; i < mins.length; i++) {
+      candidates[i] = isCandidate(i, rangeSet, includeNulls);
+      skipsAny |= !candidates[i];
+    }
+    if (!skipsAny) {
+      return null;
+    }
+
+    final MutableBitmap bitmap = bitmapFactory.makeEmptyMutableBitmap();
+    int i = 0;
+    while (i < candidates.length) {
+      if (!candidates[i]) {
+        i++;
+        continue;
+      }
+      // Adjacent candidate zones are added as a single run of rows
+      final int start = i * rowsPerZone;
+      while (i < candidates.length && candidates[i]) {
+        i++;
+      }
+      bitmap.addRange(start, Math.min(numRows, i * rowsPerZone));
+    }
+    return bitmapFactory.makeImmutableBitmap(bitmap);
+  }
+
+  private boolean isCandidate(int zone, RangeSet<Double> rangeSet, boolean includeNulls)
+  {
+    if (includeNulls && nullCounts[zone] > 0) {
+      return true;
+    }
+    // Zones without non-null values have min > max
+    return mins[zone] <= maxes[zone] && !rangeSet.subRangeSet(Range.closed(mins[zone], maxes[zone])).isEmpty();
+  }
+}
@@ -34,18 +34,26 @@ class SimpleColumnHolder implements ColumnHolder
   private final Supplier<BitmapIndex> bitmapIndex;
   @Nullable
   private final Supplier<SpatialIndex> spatialIndex;
+  @Nullable
+  private final NumericZoneMap numericZoneMap;
+  @Nullable
+  private final BloomFilterIndex bloomFilterIndex;
 
   SimpleColumnHolder(
       ColumnCapabilities capabilities,
       Supplier<? extends BaseColumn> columnSupplier,
       @Nullable Supplier<BitmapIndex> bitmapIndex,
-      @Nullable Supplier<SpatialIndex> spatialIndex
+      @Nullable Supplier<SpatialIndex> spatialIndex,
+      @Nullable NumericZoneMap numericZoneMap,
+      @Nullable BloomFilterIndex bloomFilterIndex
   )
   {
     this.capabilities = capabilities;
     this.columnSupplier = columnSupplier;
     this.bitmapIndex = bitmapIndex;
     this.spatialIndex = spatialIndex;
+    this.numericZoneMap = numericZoneMap;
+    this.bloomFilterIndex = bloomFilterIndex;
   }
 
   @Override
@@ -82,6 +90,20 @@ class SimpleColumnHolder implements ColumnHolder
     return spatialIndex == null ? null : spatialIndex.get();
   }
 
+  @Nullable
+  @Override
+  public NumericZoneMap getNumericZoneMap()
+  {
+    return numericZoneMap;
+  }
+
+  @Nullable
+  @Override
+  public BloomFilterIndex getBloomFilterIndex()
+  {
+    return bloomFilterIndex;
+  }
+
   @Override
   public SettableColumnValueSelector makeNewSettableColumnValueSelector()
   {
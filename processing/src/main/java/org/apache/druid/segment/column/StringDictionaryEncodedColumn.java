@@ -28,9 +28,9 @@ import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.AbstractDimensionSelector;
 import org.apache.druid.segment.DimensionSelectorUtils;
 import org.apache.druid.segment.IdLookup;
-import org.apache.druid.segment.data.CachingIndexed;
 import org.apache.druid.segment.data.ColumnarInts;
 import org.apache.druid.segment.data.ColumnarMultiInts;
+import org.apache.druid.segment.data.Indexed;
 import org.apache.druid.segment.data.IndexedInts;
 import org.apache.druid.segment.data.ReadableOffset;
 import org.apache.druid.segment.data.SingleIndexedInt;
@@ -39,6 +39,7 @@ import org.apache.druid.segment.historical.HistoricalDimensionSelector;
 import org.apache.druid.segment.historical.SingleValueHistoricalDimensionSelector;
 
 import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.BitSet;
 
@@ -50,17 +51,17 @@ public class StringDictionaryEncodedColumn implements DictionaryEncodedColumn<St
   private final ColumnarInts column;
   @Nullable
   private final ColumnarMultiInts multiValueColumn;
-  private final CachingIndexed<String> cachedLookups;
+  private final Indexed<String> dictionary;
 
   public StringDictionaryEncodedColumn(
       @Nullable ColumnarInts singleValueColumn,
       @Nullable ColumnarMultiInts multiValueColumn,
-      CachingIndexed<String> cachedLookups
+      Indexed<String> dictionary
   )
   {
     this.column = singleValueColumn;
     this.multiValueColumn = multiValueColumn;
-    this.cachedLookups = cachedLookups;
+    this.dictionary = dictionary;
   }
 
   @Override
@@ -91,19 +92,19 @@ public class StringDictionaryEncodedColumn implements DictionaryEncodedColumn<St
   @Nullable
   public String lookupName(int id)
   {
-    return cachedLookups.get(id);
+    return dictionary.get(id);
   }
 
   @Override
   public int lookupId(String name)
   {
-    return cachedLookups.indexOf(name);
+    return dictionary.indexOf(name);
   }
 
   @Override
   public int getCardinality()
   {
-    return cachedLookups.size();
+    return dictionary.size();
   }
 
   @Override
@@ -321,7 +322,9 @@ public class StringDictionaryEncodedColumn implements DictionaryEncodedColumn<St
   @Override
   public void close() throws IOException
   {
-    CloseQuietly.close(cachedLookups);
+    if (dictionary instanceof Closeable) {
+      CloseQuietly.close((Closeable) dictionary);
+    }
 
     if (column != null) {
       column.close();
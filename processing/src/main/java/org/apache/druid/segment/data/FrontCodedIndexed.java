@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import org.apache.druid.collections.bitmap.MutableBitmap;
+import org.apache.druid.java.util.common.IAE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.query.filter.Utf8Predicate;
+import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+/**
+ * A sorted string dictionary stored with front coding: values are grouped in buckets of a fixed, power of two size,
+ * the first value of each bucket is stored in full, and the other values of the bucket are stored as the length of
+ * the prefix they share with the first value and the remaining suffix. Null, if present, is not stored in a bucket
+ * but takes index 0.
+ *
+ * {@link #indexOf} binary searches the first values of the buckets and then scans a single bucket, comparing raw
+ * UTF-8 bytes without decoding any string. {@link #get} decodes at most one bucket. All reads use absolute positions
+ * of the underlying buffer, so instances are thread safe.
+ *
+ * Layout:
+ * byte version, byte bucket size, byte has null, int number of non-null values, int size of the values section,
+ * int offset of each bucket in the values section, and the values section. Lengths in the values section are
+ * variable size ints.
+ *
+ * @see FrontCodedIndexedWriter
+ */
+public final class FrontCodedIndexed implements Indexed<String>
+{
+  static final byte VERSION = 1;
+  static final int HEADER_SIZE = 3 + 2 * Integer.BYTES;
+  public static final int MAX_BUCKET_SIZE = 128;
+
+  public static boolean isValidBucketSize(int bucketSize)
+  {
+    return bucketSize > 0 && bucketSize <= MAX_BUCKET_SIZE && Integer.bitCount(bucketSize) == 1;
+  }
+
+  public static FrontCodedIndexed read(ByteBuffer buffer)
+  {
+    final byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IAE("Unknown front coded dictionary version[%s]", version);
+    }
+    final int bucketSize = buffer.get() & 0xFF;
+    final boolean hasNull = buffer.get() != 0;
+    final int numValues = buffer.getInt();
+    final int valuesSize = buffer.getInt();
+    final int numBuckets = (numValues + bucketSize - 1) / bucketSize;
+
+    final ByteBuffer bucketOffsets = buffer.slice();
+    bucketOffsets.limit(numBuckets * Integer.BYTES);
+    buffer.position(buffer.position() + numBuckets * Integer.BYTES);
+
+    final ByteBuffer values = buffer.slice();
+    values.limit(valuesSize);
+    buffer.position(buffer.position() + valuesSize);
+
+    return new FrontCodedIndexed(bucketOffsets, values, bucketSize, numValues, hasNull);
+  }
+
+  private final ByteBuffer bucketOffsets;
+  private final ByteBuffer values;
+  private final int bucketSize;
+  private final int bucketShift;
+  private final int bucketMask;
+  private final int numValues;
+  private final int numBuckets;
+  private final boolean hasNull;
+  private final int size;
+
+  private FrontCodedIndexed(
+      ByteBuffer bucketOffsets,
+      ByteBuffer values,
+      int bucketSize,
+      int numValues,
+      boolean hasNull
+  )
+  {
+    this.bucketOffsets = bucketOffsets;
+    this.values = values;
+    this.bucketSize = bucketSize;
+    this.bucketShift = Integer.numberOfTrailingZeros(bucketSize);
+    this.bucketMask = bucketSize - 1;
+    this.numValues = numValues;
+    this.numBuckets = (numValues + bucketSize - 1) >>> bucketShift;
+    this.hasNull = hasNull;
+    this.size = hasNull ? numValues + 1 : numValues;
+  }
+
+  @Override
+  public int size()
+  {
+    return size;
+  }
+
+  @Nullable
+  @Override
+  public String get(int index)
+  {
+    if (index < 0) {
+      throw new IAE("Index[%s] < 0", index);
+    }
+    if (index >= size) {
+      throw new IAE("Index[%d] >= size[%d]", index, size);
+    }
+    if (hasNull) {
+      if (index == 0) {
+        return null;
+      }
+      index--;
+    }
+
+    int position = bucketOffsets.getInt((index >>> bucketShift) * Integer.BYTES);
+    final int headLength = readVInt(values, position);
+    position += vIntSize(headLength);
+    final int headStart = position;
+
+    final int positionInBucket = index & bucketMask;
+    if (positionInBucket == 0) {
+      return StringUtils.fromUtf8(copyBytes(headStart, headLength, new byte[headLength], 0));
+    }
+
+    position += headLength;
+    for (int i = 1; i < positionInBucket; i++) {
+      position += vIntSize(readVInt(values, position));
+      final int suffixLength = readVInt(values, position);
+      position += vIntSize(suffixLength) + suffixLength;
+    }
+
+    final int prefixLength = readVInt(values, position);
+    position += vIntSize(prefixLength);
+    final int suffixLength = readVInt(values, position);
+    position += vIntSize(suffixLength);
+
+    final byte[] bytes = new byte[prefixLength + suffixLength];
+    copyBytes(headStart, prefixLength, bytes, 0);
+    copyBytes(position, suffixLength, bytes, prefixLength);
+    return StringUtils.fromUtf8(bytes);
+  }
+
+  /**
+   * Satisfies the contract of {@link org.apache.druid.segment.column.BitmapIndex#getIndex}, like
+   * {@link GenericIndexed#indexOf}.
+   */
+  @Override
+  public int indexOf(@Nullable String value)
+  {
+    if (value == null) {
+      return hasNull ? 0 : -1;
+    }
+
+    final int nullOffset = hasNull ? 1 : 0;
+    final byte[] target = StringUtils.toUtf8(value);
+
+    // Find the last bucket whose first value is not greater than the target.
+    int minBucket = 0;
+    int maxBucket = numBuckets - 1;
+    while (minBucket <= maxBucket) {
+      final int currBucket = (minBucket + maxBucket) >>> 1;
+      int position = bucketOffsets.getInt(currBucket * Integer.BYTES);
+      final int headLength = readVInt(values, position);
+      position += vIntSize(headLength);
+
+      final int comparison = compareUtf8(values, position, headLength, target, 0);
+      if (comparison == 0) {
+        return nullOffset + (currBucket << bucketShift);
+      }
+      if (comparison < 0) {
+        minBucket = currBucket + 1;
+      } else {
+        maxBucket = currBucket - 1;
+      }
+    }
+
+    if (maxBucket < 0) {
+      return -(nullOffset + 1);
+    }
+    return searchBucket(maxBucket, target, nullOffset);
+  }
+
+  /**
+   * Scans a bucket whose first value is less than the target. Values sharing a longer prefix with the first value
+   * than the target does are less than the target, so only the others are compared, from their shared prefix on.
+   */
+  private int searchBucket(int bucket, byte[] target, int nullOffset)
+  {
+    final int bucketStart = bucket << bucketShift;
+    final int bucketValues = Math.min(bucketSize, numValues - bucketStart);
+
+    int position = bucketOffsets.getInt(bucket * Integer.BYTES);
+    final int headLength = readVInt(values, position);
+    position += vIntSize(headLength);
+
+    final int maxCommon = Math.min(headLength, target.length);
+    int targetPrefixLength = 0;
+    while (targetPrefixLength < maxCommon && values.get(position + targetPrefixLength) == target[targetPrefixLength]) {
+      targetPrefixLength++;
+    }
+    position += headLength;
+
+    for (int i = 1; i < bucketValues; i++) {
+      final int prefixLength = readVInt(values, position);
+      position += vIntSize(prefixLength);
+      final int suffixLength = readVInt(values, position);
+      position += vIntSize(suffixLength);
+
+      if (prefixLength <= targetPrefixLength) {
+        final int comparison = compareUtf8(values, position, suffixLength, target, prefixLength);
+        if (comparison == 0) {
+          return nullOffset + bucketStart + i;
+        }
+        if (comparison > 0) {
+          return -(nullOffset + bucketStart + i + 1);
+        }
+      }
+      position += suffixLength;
+    }
+
+    return -(nullOffset + bucketStart + bucketValues + 1);
+  }
+
+  /**
+   * Adds the indexes of all non-null values matching the predicate to the given bitmap, assembling each value from
+   * its bucket head without decoding it to a String.
+   */
+  public void matchUtf8(Utf8Predicate predicate, MutableBitmap matches)
+  {
+    final int nullOffset = hasNull ? 1 : 0;
+    byte[] scratch = new byte[0];
+    ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+
+    for (int bucket = 0; bucket < numBuckets; bucket++) {
+      final int bucketStart = bucket << bucketShift;
+      final int bucketValues = Math.min(bucketSize, numValues - bucketStart);
+
+      int position = bucketOffsets.getInt(bucket * Integer.BYTES);
+      final int headLength = readVInt(values, position);
+      position += vIntSize(headLength);
+      if (predicate.apply(values, position, headLength)) {
+        matches.add(nullOffset + bucketStart);
+      }
+      final int headStart = position;
+      position += headLength;
+
+      for (int i = 1; i < bucketValues; i++) {
+        final int prefixLength = readVInt(values, position);
+        position += vIntSize(prefixLength);
+        final int suffixLength = readVInt(values, position);
+        position += vIntSize(suffixLength);
+
+        final int length = prefixLength + suffixLength;
+        if (scratch.length < length) {
+          scratch = new byte[Math.max(length, scratch.length * 2)];
+          scratchBuffer = ByteBuffer.wrap(scratch);
+        }
+        copyBytes(headStart, prefixLength, scratch, 0);
+        copyBytes(position, suffixLength, scratch, prefixLength);
+        if (predicate.apply(scratchBuffer, 0, length)) {
+          matches.add(nullOffset + bucketStart + i);
+        }
+        position += suffixLength;
+      }
+    }
+  }
+
+  @Override
+  public Iterator<String> iterator()
+  {
+    return IndexedIterable.create(this).iterator();
+  }
+
+  @Override
+  public void inspectRuntimeShape(RuntimeShapeInspector inspector)
+  {
+    inspector.visit("values", values);
+    inspector.visit("bucketSize", bucketSize);
+  }
+
+  private byte[] copyBytes(int position, int length, byte[] bytes, int offset)
+  {
+    for (int i = 0; i < length; i++) {
+      bytes[offset + i] = values.get(position + i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Compares the bytes at the given position of the buffer with the target bytes from targetOffset on, in the order
+   * of {@link String#compareTo}. UTF-8 byte order is code point order, which differs from the UTF-16 order of
+   * strings for characters above U+FFFF, so lead bytes of U+E000 to U+FFFF are moved after those of supplementary
+   * characters.
+   */
+  static int compareUtf8(ByteBuffer buffer, int position, int length, byte[] target, int targetOffset)
+  {
+    final int targetLength = target.length - targetOffset;
+    final int commonLength = Math.min(length, targetLength);
+    for (int i = 0; i < commonLength; i++) {
+      final int b1 = buffer.get(position + i) & 0xFF;
+      final int b2 = target[targetOffset + i] & 0xFF;
+      if (b1 != b2) {
+        return utf16Order(b1) - utf16Order(b2);
+      }
+    }
+    return Integer.compare(length, targetLength);
+  }
+
+  private static int utf16Order(int b)
+  {
+    return b == 0xEE || b == 0xEF ? b + 0x10 : b;
+  }
+
+  static void writeVInt(OutputStream out, int value) throws IOException
+  {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  static int readVInt(ByteBuffer buffer, int position)
+  {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get(position++);
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  static int vIntSize(int value)
+  {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.io.Channels;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
+import org.apache.druid.segment.serde.Serializer;
+import org.apache.druid.segment.writeout.SegmentWriteOutMedium;
+import org.apache.druid.segment.writeout.WriteOutBytes;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes a sorted string dictionary in the format read by {@link FrontCodedIndexed}. Values must be written in
+ * {@link GenericIndexed#STRING_STRATEGY} order, null (if present) first.
+ */
+public class FrontCodedIndexedWriter implements Serializer
+{
+  private final SegmentWriteOutMedium segmentWriteOutMedium;
+  private final int bucketSize;
+  private final IntList bucketOffsets = new IntArrayList();
+
+  @Nullable
+  private WriteOutBytes valuesOut = null;
+  @Nullable
+  private byte[] bucketHead = null;
+  private boolean hasNull = false;
+  private int numValues = 0;
+
+  public FrontCodedIndexedWriter(SegmentWriteOutMedium segmentWriteOutMedium, int bucketSize)
+  {
+    Preconditions.checkArgument(
+        FrontCodedIndexed.isValidBucketSize(bucketSize),
+        "bucketSize[%s] must be a power of two between 1 and %s",
+        bucketSize,
+        FrontCodedIndexed.MAX_BUCKET_SIZE
+    );
+    this.segmentWriteOutMedium = segmentWriteOutMedium;
+    this.bucketSize = bucketSize;
+  }
+
+  public void open() throws IOException
+  {
+    valuesOut = segmentWriteOutMedium.makeWriteOutBytes();
+  }
+
+  public void write(@Nullable String value) throws IOException
+  {
+    final String normalized = NullHandling.emptyToNullIfNeeded(value);
+    if (normalized == null) {
+      if (hasNull || numValues > 0) {
+        throw new ISE("Null must be the first value of the dictionary");
+      }
+      hasNull = true;
+      return;
+    }
+
+    final byte[] bytes = StringUtils.toUtf8(normalized);
+    if (numValues % bucketSize == 0) {
+      bucketOffsets.add(Ints.checkedCast(valuesOut.size()));
+      FrontCodedIndexed.writeVInt(valuesOut, bytes.length);
+      valuesOut.write(bytes);
+      bucketHead = bytes;
+    } else {
+      final int prefixLength = commonPrefixLength(bucketHead, bytes);
+      FrontCodedIndexed.writeVInt(valuesOut, prefixLength);
+      FrontCodedIndexed.writeVInt(valuesOut, bytes.length - prefixLength);
+      valuesOut.write(bytes, prefixLength, bytes.length - prefixLength);
+    }
+    numValues++;
+  }
+
+  @Override
+  public long getSerializedSize() throws IOException
+  {
+    return FrontCodedIndexed.HEADER_SIZE + (long) bucketOffsets.size() * Integer.BYTES + valuesOut.size();
+  }
+
+  @Override
+  public void writeTo(WritableByteChannel channel, FileSmoosher smoosher) throws IOException
+  {
+    final ByteBuffer header = ByteBuffer.allocate(FrontCodedIndexed.HEADER_SIZE + bucketOffsets.size() * Integer.BYTES);
+    header.put(FrontCodedIndexed.VERSION);
+    header.put((byte) bucketSize);
+    header.put(hasNull ? (byte) 1 : (byte) 0);
+    header.putInt(numValues);
+    header.putInt(Ints.checkedCast(valuesOut.size()));
+    for (int i = 0; i < bucketOffsets.size(); i++) {
+      header.putInt(bucketOffsets.getInt(i));
+    }
+    header.flip();
+    Channels.writeFully(channel, header);
+    valuesOut.writeTo(channel);
+  }
+
+  private static int commonPrefixLength(byte[] a, byte[] b)
+  {
+    final int length = Math.min(a.length, b.length);
+    int i = 0;
+    while (i < length && a[i] == b[i]) {
+      i++;
+    }
+    return i;
+  }
+}
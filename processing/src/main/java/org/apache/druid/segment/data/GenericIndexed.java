@@ -21,6 +21,7 @@ package org.apache.druid.segment.data;
 
 import com.google.common.primitives.Ints;
 import org.apache.druid.collections.ResourceHolder;
+import org.apache.druid.collections.bitmap.MutableBitmap;
 import org.apache.druid.common.config.NullHandling;
 import org.apache.druid.common.utils.SerializerUtils;
 import org.apache.druid.io.Channels;
@@ -31,6 +32,7 @@ import org.apache.druid.java.util.common.guava.Comparators;
 import org.apache.druid.java.util.common.io.Closer;
 import org.apache.druid.java.util.common.io.smoosh.FileSmoosher;
 import org.apache.druid.java.util.common.io.smoosh.SmooshedFileMapper;
+import org.apache.druid.query.filter.Utf8Predicate;
 import org.apache.druid.query.monomorphicprocessing.RuntimeShapeInspector;
 import org.apache.druid.segment.serde.MetaSerdeHelper;
 import org.apache.druid.segment.serde.Serializer;
@@ -289,6 +291,49 @@ public class GenericIndexed<T> implements CloseableIndexed<T>, Serializer
     return versionOne ? getVersionOne(index) : getVersionTwo(index);
   }
 
+  /**
+   * Adds the indexes of all non-null values matching the predicate to the given bitmap. Values are passed to the
+   * predicate as they are stored, so this is only meaningful for GenericIndexed of UTF-8 encoded strings. Safe to
+   * call concurrently, since the underlying buffers are only read with absolute gets.
+   */
+  public void matchUtf8(Utf8Predicate predicate, MutableBitmap matches)
+  {
+    for (int index = 0; index < size; index++) {
+      final ByteBuffer valueBuffer;
+      final int startOffset;
+      final int endOffset;
+      if (versionOne) {
+        valueBuffer = firstValueBuffer;
+        if (index == 0) {
+          startOffset = Integer.BYTES;
+          endOffset = headerBuffer.getInt(0);
+        } else {
+          int headerPosition = (index - 1) * Integer.BYTES;
+          startOffset = headerBuffer.getInt(headerPosition) + Integer.BYTES;
+          endOffset = headerBuffer.getInt(headerPosition + Integer.BYTES);
+        }
+      } else {
+        valueBuffer = valueBuffers[index >> logBaseTwoOfElementsPerValueFile];
+        if ((index & relativeIndexMask) == 0) {
+          startOffset = Integer.BYTES;
+          endOffset = headerBuffer.getInt(index * Integer.BYTES);
+        } else {
+          int headerPosition = (index - 1) * Integer.BYTES;
+          startOffset = headerBuffer.getInt(headerPosition) + Integer.BYTES;
+          endOffset = headerBuffer.getInt(headerPosition + Integer.BYTES);
+        }
+      }
+      final int length = endOffset - startOffset;
+      if (length == 0 && (NullHandling.replaceWithDefault()
+                          || valueBuffer.getInt(startOffset - Integer.BYTES) == NULL_VALUE_SIZE_MARKER)) {
+        continue;
+      }
+      if (predicate.apply(valueBuffer, startOffset, length)) {
+        matches.add(index);
+      }
+    }
+  }
+
   /**
    * Returns the index of "value" in this GenericIndexed object, or (-(insertion point) - 1) if the value is not
    * present, in the manner of Arrays.binarySearch. This strengthens the contract of Indexed, which only guarantees
@@ -21,6 +21,7 @@ package org.apache.druid.segment.filter;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
+import com.google.common.collect.RangeSet;
 import it.unimi.dsi.fastutil.ints.IntList;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
 import org.apache.druid.common.config.NullHandling;
@@ -40,7 +41,9 @@ import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
 import org.apache.druid.segment.IntListUtils;
 import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.column.NumericZoneMap;
 
+import javax.annotation.Nullable;
 import java.util.Comparator;
 
 public class BoundFilter implements Filter
@@ -136,6 +139,22 @@ public class BoundFilter implements Filter
     return Filters.supportsSelectivityEstimation(this, boundDimFilter.getDimension(), columnSelector, indexSelector);
   }
 
+  @Nullable
+  @Override
+  public ImmutableBitmap getCandidateBitmap(BitmapIndexSelector selector)
+  {
+    final NumericZoneMap zoneMap = selector.getNumericZoneMap(boundDimFilter.getDimension());
+    if (zoneMap == null) {
+      return null;
+    }
+    final RangeSet<Double> rangeSet = boundDimFilter.getNumericRangeSet(boundDimFilter.getDimension());
+    if (rangeSet == null) {
+      return null;
+    }
+    final boolean includeNulls = longPredicateSupplier.get().applyNull() || doublePredicateSupplier.get().applyNull();
+    return zoneMap.getCandidateRows(rangeSet, includeNulls, selector.getBitmapFactory());
+  }
+
   private static Pair<Integer, Integer> getStartEndIndexes(
       final BoundDimFilter boundDimFilter,
       final BitmapIndex bitmapIndex
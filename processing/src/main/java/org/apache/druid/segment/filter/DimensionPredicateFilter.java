@@ -91,7 +91,7 @@ public class DimensionPredicateFilter implements Filter
   @Override
   public <T> T getBitmapResult(BitmapIndexSelector selector, BitmapResultFactory<T> bitmapResultFactory)
   {
-    return Filters.matchPredicate(dimension, selector, bitmapResultFactory, predicateFactory.makeStringPredicate());
+    return Filters.matchPredicate(dimension, selector, bitmapResultFactory, predicateFactory);
   }
 
   @Override
@@ -115,11 +115,7 @@ public class DimensionPredicateFilter implements Filter
   @Override
   public double estimateSelectivity(BitmapIndexSelector indexSelector)
   {
-    return Filters.estimateSelectivity(
-        dimension,
-        indexSelector,
-        predicateFactory.makeStringPredicate()
-    );
+    return Filters.estimateSelectivity(dimension, indexSelector, predicateFactory);
   }
 
   @Override
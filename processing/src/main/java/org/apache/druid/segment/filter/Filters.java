@@ -39,6 +39,7 @@ import org.apache.druid.query.filter.DimFilter;
 import org.apache.druid.query.filter.DruidLongPredicate;
 import org.apache.druid.query.filter.DruidPredicateFactory;
 import org.apache.druid.query.filter.Filter;
+import org.apache.druid.query.filter.Utf8Predicate;
 import org.apache.druid.query.filter.ValueMatcher;
 import org.apache.druid.query.filter.ValueMatcherColumnSelectorStrategy;
 import org.apache.druid.query.filter.ValueMatcherColumnSelectorStrategyFactory;
@@ -285,6 +286,86 @@ public class Filters
     }
   }
 
+  /**
+   * Like {@link #matchPredicate(String, BitmapIndexSelector, BitmapResultFactory, Predicate)}, but evaluates the
+   * string predicate of the factory on the dictionary of the column directly where possible.
+   *
+   * @see BitmapIndex#matchValues
+   */
+  public static <T> T matchPredicate(
+      final String dimension,
+      final BitmapIndexSelector selector,
+      BitmapResultFactory<T> bitmapResultFactory,
+      final DruidPredicateFactory predicateFactory
+  )
+  {
+    return bitmapResultFactory.unionDimensionValueBitmaps(matchPredicateNoUnion(dimension, selector, predicateFactory));
+  }
+
+  /**
+   * Like {@link #matchPredicateNoUnion(String, BitmapIndexSelector, Predicate)}, but evaluates the string predicate
+   * of the factory on the dictionary of the column directly where possible.
+   *
+   * @see BitmapIndex#matchValues
+   */
+  public static Iterable<ImmutableBitmap> matchPredicateNoUnion(
+      final String dimension,
+      final BitmapIndexSelector selector,
+      final DruidPredicateFactory predicateFactory
+  )
+  {
+    final Predicate<String> predicate = predicateFactory.makeStringPredicate();
+    final BitmapIndex bitmapIndex = selector.getBitmapIndex(dimension);
+    final ImmutableBitmap matches = matchValues(bitmapIndex, predicate, predicateFactory);
+    if (matches == null) {
+      return matchPredicateNoUnion(dimension, selector, predicate);
+    }
+    return bitmapsFromIndexes(() -> IntIteratorUtils.fromRoaringBitmapIntIterator(matches.iterator()), bitmapIndex);
+  }
+
+  /**
+   * Like {@link #estimateSelectivity(String, BitmapIndexSelector, Predicate)}, but evaluates the string predicate
+   * of the factory on the dictionary of the column directly where possible.
+   *
+   * @see BitmapIndex#matchValues
+   */
+  public static double estimateSelectivity(
+      final String dimension,
+      final BitmapIndexSelector indexSelector,
+      final DruidPredicateFactory predicateFactory
+  )
+  {
+    final Predicate<String> predicate = predicateFactory.makeStringPredicate();
+    final BitmapIndex bitmapIndex = indexSelector.getBitmapIndex(dimension);
+    final ImmutableBitmap matches = matchValues(bitmapIndex, predicate, predicateFactory);
+    if (matches == null) {
+      return estimateSelectivity(dimension, indexSelector, predicate);
+    }
+    return estimateSelectivity(
+        bitmapIndex,
+        IntIteratorUtils.toIntList(IntIteratorUtils.fromRoaringBitmapIntIterator(matches.iterator())),
+        indexSelector.getNumRows()
+    );
+  }
+
+  @Nullable
+  private static ImmutableBitmap matchValues(
+      @Nullable final BitmapIndex bitmapIndex,
+      final Predicate<String> predicate,
+      final DruidPredicateFactory predicateFactory
+  )
+  {
+    if (bitmapIndex == null) {
+      return null;
+    }
+    final Utf8Predicate utf8Predicate = predicateFactory.makeUtf8Predicate();
+    final byte[] cacheKey = predicateFactory.getStringPredicateCacheKey();
+    if (utf8Predicate == null && cacheKey == null) {
+      return null;
+    }
+    return bitmapIndex.matchValues(predicate, utf8Predicate, cacheKey);
+  }
+
   /**
    * Return an estimated selectivity for bitmaps of all values matching the given predicate.
    *
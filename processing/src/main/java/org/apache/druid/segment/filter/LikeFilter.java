@@ -118,11 +118,7 @@ public class LikeFilter implements Filter
       }
     } else {
       // fallback
-      return Filters.matchPredicateNoUnion(
-          dimension,
-          selector,
-          likeMatcher.predicateFactory(extractionFn).makeStringPredicate()
-      );
+      return Filters.matchPredicateNoUnion(dimension, selector, likeMatcher.predicateFactory(extractionFn));
     }
   }
 
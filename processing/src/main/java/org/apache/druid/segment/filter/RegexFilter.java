@@ -20,18 +20,25 @@
 package org.apache.druid.segment.filter;
 
 import com.google.common.base.Predicate;
+import org.apache.druid.query.cache.CacheKeyBuilder;
 import org.apache.druid.query.extraction.ExtractionFn;
+import org.apache.druid.query.filter.DimFilterUtils;
 import org.apache.druid.query.filter.DruidDoublePredicate;
 import org.apache.druid.query.filter.DruidFloatPredicate;
 import org.apache.druid.query.filter.DruidLongPredicate;
 import org.apache.druid.query.filter.DruidPredicateFactory;
+import org.apache.druid.query.filter.Utf8Predicate;
+import org.apache.druid.query.filter.Utf8Predicates;
 
+import javax.annotation.Nullable;
 import java.util.regex.Pattern;
 
 /**
  */
 public class RegexFilter extends DimensionPredicateFilter
 {
+  private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
   public RegexFilter(
       final String dimension,
       final Pattern pattern,
@@ -66,6 +73,22 @@ public class RegexFilter extends DimensionPredicateFilter
             return input -> pattern.matcher(String.valueOf(input)).find();
           }
 
+          @Nullable
+          @Override
+          public Utf8Predicate makeUtf8Predicate()
+          {
+            return isLiteral(pattern) ? Utf8Predicates.contains(pattern.pattern()) : null;
+          }
+
+          @Override
+          public byte[] getStringPredicateCacheKey()
+          {
+            return new CacheKeyBuilder(DimFilterUtils.REGEX_CACHE_ID)
+                .appendString(pattern.pattern())
+                .appendInt(pattern.flags())
+                .build();
+          }
+
           @Override
           public String toString()
           {
@@ -77,4 +100,21 @@ public class RegexFilter extends DimensionPredicateFilter
         extractionFn
     );
   }
+
+  /**
+   * Returns true if the pattern has no flags and no metacharacters, so that finding it is a plain substring search.
+   */
+  private static boolean isLiteral(Pattern pattern)
+  {
+    if (pattern.flags() != 0) {
+      return false;
+    }
+    final String regex = pattern.pattern();
+    for (int i = 0; i < regex.length(); i++) {
+      if (REGEX_METACHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -22,13 +22,18 @@ package org.apache.druid.segment.filter;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Predicate;
+import org.apache.druid.query.cache.CacheKeyBuilder;
 import org.apache.druid.query.extraction.ExtractionFn;
+import org.apache.druid.query.filter.DimFilterUtils;
 import org.apache.druid.query.filter.DruidDoublePredicate;
 import org.apache.druid.query.filter.DruidFloatPredicate;
 import org.apache.druid.query.filter.DruidLongPredicate;
 import org.apache.druid.query.filter.DruidPredicateFactory;
+import org.apache.druid.query.filter.Utf8Predicate;
 import org.apache.druid.query.search.SearchQuerySpec;
 
+import javax.annotation.Nullable;
+
 /**
  */
 public class SearchQueryFilter extends DimensionPredicateFilter
@@ -67,6 +72,19 @@ public class SearchQueryFilter extends DimensionPredicateFilter
           {
             return input -> query.accept(String.valueOf(input));
           }
+
+          @Nullable
+          @Override
+          public Utf8Predicate makeUtf8Predicate()
+          {
+            return query.makeUtf8Predicate();
+          }
+
+          @Override
+          public byte[] getStringPredicateCacheKey()
+          {
+            return new CacheKeyBuilder(DimFilterUtils.SEARCH_QUERY_TYPE_ID).appendByteArray(query.getCacheKey()).build();
+          }
         },
         extractionFn
     );
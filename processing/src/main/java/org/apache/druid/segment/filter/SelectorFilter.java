@@ -19,6 +19,7 @@
 
 package org.apache.druid.segment.filter;
 
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
 import org.apache.druid.java.util.common.StringUtils;
 import org.apache.druid.query.BitmapResultFactory;
 import org.apache.druid.query.filter.BitmapIndexSelector;
@@ -26,6 +27,9 @@ import org.apache.druid.query.filter.Filter;
 import org.apache.druid.query.filter.ValueMatcher;
 import org.apache.druid.segment.ColumnSelector;
 import org.apache.druid.segment.ColumnSelectorFactory;
+import org.apache.druid.segment.column.BloomFilterIndex;
+
+import javax.annotation.Nullable;
 
 /**
  */
@@ -73,6 +77,14 @@ public class SelectorFilter implements Filter
     return (double) indexSelector.getBitmapIndex(dimension, value).size() / indexSelector.getNumRows();
   }
 
+  @Nullable
+  @Override
+  public ImmutableBitmap getCandidateBitmap(BitmapIndexSelector selector)
+  {
+    final BloomFilterIndex bloomFilterIndex = selector.getBloomFilterIndex(dimension);
+    return bloomFilterIndex == null ? null : bloomFilterIndex.getCandidateRows(value, selector.getBitmapFactory());
+  }
+
   @Override
   public String toString()
   {
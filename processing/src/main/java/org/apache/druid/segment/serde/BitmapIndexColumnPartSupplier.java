@@ -19,13 +19,22 @@
 
 package org.apache.druid.segment.serde;
 
+import com.google.common.base.Predicate;
 import com.google.common.base.Supplier;
 import org.apache.druid.collections.bitmap.BitmapFactory;
 import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.collections.bitmap.MutableBitmap;
+import org.apache.druid.query.filter.Utf8Predicate;
 import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.data.FrontCodedIndexed;
 import org.apache.druid.segment.data.GenericIndexed;
+import org.apache.druid.segment.data.Indexed;
 
 import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  */
@@ -33,17 +42,44 @@ public class BitmapIndexColumnPartSupplier implements Supplier<BitmapIndex>
 {
   private final BitmapFactory bitmapFactory;
   private final GenericIndexed<ImmutableBitmap> bitmaps;
-  private final GenericIndexed<String> dictionary;
+  private final Indexed<String> dictionary;
+
+  /**
+   * Dictionary ids matching recently evaluated predicates, keyed by {@link BitmapIndex#matchValues} cache keys. Null
+   * if caching is disabled.
+   */
+  @Nullable
+  private final Map<ByteBuffer, ImmutableBitmap> matchCache;
 
   public BitmapIndexColumnPartSupplier(
       BitmapFactory bitmapFactory,
       GenericIndexed<ImmutableBitmap> bitmaps,
-      GenericIndexed<String> dictionary
+      Indexed<String> dictionary
+  )
+  {
+    this(bitmapFactory, bitmaps, dictionary, 0);
+  }
+
+  public BitmapIndexColumnPartSupplier(
+      BitmapFactory bitmapFactory,
+      GenericIndexed<ImmutableBitmap> bitmaps,
+      Indexed<String> dictionary,
+      int matchCacheSize
   )
   {
     this.bitmapFactory = bitmapFactory;
     this.bitmaps = bitmaps;
     this.dictionary = dictionary;
+    this.matchCache = matchCacheSize > 0 ? Collections.synchronizedMap(
+        new LinkedHashMap<ByteBuffer, ImmutableBitmap>(16, 0.75f, true)
+        {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<ByteBuffer, ImmutableBitmap> eldest)
+          {
+            return size() > matchCacheSize;
+          }
+        }
+    ) : null;
   }
 
   @Override
@@ -78,7 +114,7 @@ public class BitmapIndexColumnPartSupplier implements Supplier<BitmapIndex>
       @Override
       public int getIndex(@Nullable String value)
       {
-        // GenericIndexed.indexOf satisfies contract needed by BitmapIndex.indexOf
+        // GenericIndexed.indexOf and FrontCodedIndexed.indexOf satisfy contract needed by BitmapIndex.indexOf
         return dictionary.indexOf(value);
       }
 
@@ -92,6 +128,52 @@ public class BitmapIndexColumnPartSupplier implements Supplier<BitmapIndex>
         final ImmutableBitmap bitmap = bitmaps.get(idx);
         return bitmap == null ? bitmapFactory.makeEmptyImmutableBitmap() : bitmap;
       }
+
+      @Nullable
+      @Override
+      public ImmutableBitmap matchValues(
+          Predicate<String> predicate,
+          @Nullable Utf8Predicate utf8Predicate,
+          @Nullable byte[] cacheKey
+      )
+      {
+        if (dictionary.size() == 0) {
+          // Leave columns without values to the callers, which match all or no rows depending on the null value.
+          return null;
+        }
+        if (matchCache == null || cacheKey == null) {
+          return computeMatches(predicate, utf8Predicate);
+        }
+        final ByteBuffer key = ByteBuffer.wrap(cacheKey);
+        final ImmutableBitmap cached = matchCache.get(key);
+        if (cached != null) {
+          return cached;
+        }
+        final ImmutableBitmap matches = computeMatches(predicate, utf8Predicate);
+        matchCache.put(key, matches);
+        return matches;
+      }
     };
   }
+
+  private ImmutableBitmap computeMatches(Predicate<String> predicate, @Nullable Utf8Predicate utf8Predicate)
+  {
+    final MutableBitmap matches = bitmapFactory.makeEmptyMutableBitmap();
+    final boolean hasNull = dictionary.get(0) == null;
+    if (hasNull && predicate.apply(null)) {
+      matches.add(0);
+    }
+    if (utf8Predicate != null && dictionary instanceof GenericIndexed) {
+      ((GenericIndexed<String>) dictionary).matchUtf8(utf8Predicate, matches);
+    } else if (utf8Predicate != null && dictionary instanceof FrontCodedIndexed) {
+      ((FrontCodedIndexed) dictionary).matchUtf8(utf8Predicate, matches);
+    } else {
+      for (int i = hasNull ? 1 : 0; i < dictionary.size(); i++) {
+        if (predicate.apply(dictionary.get(i))) {
+          matches.add(i);
+        }
+      }
+    }
+    return bitmapFactory.makeImmutableBitmap(matches);
+  }
 }
@@ -39,9 +39,12 @@ import org.apache.druid.segment.data.ColumnarIntsSerializer;
 import org.apache.druid.segment.data.ColumnarMultiInts;
 import org.apache.druid.segment.data.CompressedVSizeColumnarIntsSupplier;
 import org.apache.druid.segment.data.CompressedVSizeColumnarMultiIntsSupplier;
+import org.apache.druid.segment.data.FrontCodedIndexed;
+import org.apache.druid.segment.data.FrontCodedIndexedWriter;
 import org.apache.druid.segment.data.GenericIndexed;
 import org.apache.druid.segment.data.GenericIndexedWriter;
 import org.apache.druid.segment.data.ImmutableRTreeObjectStrategy;
+import org.apache.druid.segment.data.Indexed;
 import org.apache.druid.segment.data.V3CompressedVSizeColumnarMultiIntsSupplier;
 import org.apache.druid.segment.data.VSizeColumnarInts;
 import org.apache.druid.segment.data.VSizeColumnarMultiInts;
@@ -63,7 +66,8 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
   {
     MULTI_VALUE,
     MULTI_VALUE_V3,
-    NO_BITMAP_INDEX;
+    NO_BITMAP_INDEX,
+    FRONT_CODED_DICTIONARY;
 
     public boolean isSet(int flags)
     {
@@ -145,7 +149,7 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
   {
     private VERSION version = null;
     private int flags = STARTING_FLAGS;
-    private GenericIndexedWriter<String> dictionaryWriter = null;
+    private Serializer dictionaryWriter = null;
     private ColumnarIntsSerializer valueWriter = null;
     private BitmapSerdeFactory bitmapSerdeFactory = null;
     private GenericIndexedWriter<ImmutableBitmap> bitmapIndexWriter = null;
@@ -155,6 +159,14 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
     public SerializerBuilder withDictionary(GenericIndexedWriter<String> dictionaryWriter)
     {
       this.dictionaryWriter = dictionaryWriter;
+      flags &= ~Feature.FRONT_CODED_DICTIONARY.getMask();
+      return this;
+    }
+
+    public SerializerBuilder withFrontCodedDictionary(FrontCodedIndexedWriter dictionaryWriter)
+    {
+      this.dictionaryWriter = dictionaryWriter;
+      flags |= Feature.FRONT_CODED_DICTIONARY.getMask();
       return this;
     }
 
@@ -295,11 +307,12 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
 
         final boolean hasMultipleValues = Feature.MULTI_VALUE.isSet(rFlags) || Feature.MULTI_VALUE_V3.isSet(rFlags);
 
-        final GenericIndexed<String> rDictionary = GenericIndexed.read(
-            buffer,
-            GenericIndexed.STRING_STRATEGY,
-            builder.getFileMapper()
-        );
+        final Indexed<String> rDictionary;
+        if (Feature.FRONT_CODED_DICTIONARY.isSet(rFlags)) {
+          rDictionary = FrontCodedIndexed.read(buffer);
+        } else {
+          rDictionary = GenericIndexed.read(buffer, GenericIndexed.STRING_STRATEGY, builder.getFileMapper());
+        }
         builder.setType(ValueType.STRING);
 
         final WritableSupplier<ColumnarInts> rSingleValuedColumn;
@@ -333,7 +346,8 @@ public class DictionaryEncodedColumnPartSerde implements ColumnPartSerde
               new BitmapIndexColumnPartSupplier(
                   bitmapSerdeFactory.getBitmapFactory(),
                   rBitmaps,
-                  rDictionary
+                  rDictionary,
+                  columnConfig.dictionaryMatchCacheSize()
               )
           );
         }
@@ -26,6 +26,7 @@ import org.apache.druid.segment.data.CachingIndexed;
 import org.apache.druid.segment.data.ColumnarInts;
 import org.apache.druid.segment.data.ColumnarMultiInts;
 import org.apache.druid.segment.data.GenericIndexed;
+import org.apache.druid.segment.data.Indexed;
 
 import javax.annotation.Nullable;
 
@@ -33,13 +34,13 @@ import javax.annotation.Nullable;
  */
 public class DictionaryEncodedColumnSupplier implements Supplier<DictionaryEncodedColumn<?>>
 {
-  private final GenericIndexed<String> dictionary;
+  private final Indexed<String> dictionary;
   private final @Nullable Supplier<ColumnarInts> singleValuedColumn;
   private final @Nullable Supplier<ColumnarMultiInts> multiValuedColumn;
   private final int lookupCacheSize;
 
   public DictionaryEncodedColumnSupplier(
-      GenericIndexed<String> dictionary,
+      Indexed<String> dictionary,
       @Nullable Supplier<ColumnarInts> singleValuedColumn,
       @Nullable Supplier<ColumnarMultiInts> multiValuedColumn,
       int lookupCacheSize
@@ -54,10 +55,14 @@ public class DictionaryEncodedColumnSupplier implements Supplier<DictionaryEncod
   @Override
   public DictionaryEncodedColumn<?> get()
   {
+    // Front coded dictionaries are thread safe and do not decode strings on reverse lookups, so only GenericIndexed
+    // dictionaries are wrapped with a per-column lookup cache.
     return new StringDictionaryEncodedColumn(
         singleValuedColumn != null ? singleValuedColumn.get() : null,
         multiValuedColumn != null ? multiValuedColumn.get() : null,
-        new CachingIndexed<>(dictionary, lookupCacheSize)
+        dictionary instanceof GenericIndexed
+        ? new CachingIndexed<>((GenericIndexed<String>) dictionary, lookupCacheSize)
+        : dictionary
     );
   }
 }
@@ -83,4 +83,21 @@ public class WrappedRoaringBitmapTest
     Assert.assertEquals(5, immutableBitmap.size());
   }
 
+  @Test
+  public void testAddRange()
+  {
+    WrappedRoaringBitmap set = createWrappedRoaringBitmap();
+    set.addRange(8, 70000);
+    set.addRange(100000, 100000);
+
+    WrappedRoaringBitmap expected = createWrappedRoaringBitmap();
+    for (int i = 8; i < 70000; i++) {
+      expected.add(i);
+    }
+    Assert.assertEquals(expected.size(), set.size());
+    Assert.assertEquals(expected.size(), expected.intersection(set).size());
+    Assert.assertTrue(set.get(69999));
+    Assert.assertFalse(set.get(70000));
+  }
+
 }
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.druid.java.util.common.Pair;
+import org.apache.druid.java.util.common.concurrent.Execs;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.java.util.common.granularity.Granularity;
+import org.apache.druid.java.util.common.guava.Sequence;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.java.util.common.guava.Yielder;
+import org.apache.druid.java.util.common.guava.Yielders;
+import org.apache.druid.java.util.common.io.Closer;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.apache.druid.query.dimension.DefaultDimensionSpec;
+import org.apache.druid.query.groupby.GroupByQuery;
+import org.apache.druid.query.groupby.GroupByQueryConfig;
+import org.apache.druid.query.groupby.GroupByQueryRunnerFactory;
+import org.apache.druid.query.groupby.GroupByQueryRunnerTest;
+import org.apache.druid.query.groupby.strategy.GroupByStrategySelector;
+import org.apache.druid.query.timeseries.TimeseriesQuery;
+import org.apache.druid.query.timeseries.TimeseriesQueryEngine;
+import org.apache.druid.query.timeseries.TimeseriesQueryQueryToolChest;
+import org.apache.druid.query.timeseries.TimeseriesQueryRunnerFactory;
+import org.apache.druid.query.timeseries.TimeseriesResultValue;
+import org.apache.druid.segment.QueryableIndexSegment;
+import org.apache.druid.segment.Segment;
+import org.apache.druid.segment.TestIndex;
+import org.apache.druid.timeline.SegmentId;
+import org.joda.time.Interval;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SegmentSplittingQueryRunnerTest
+{
+  private static final List<AggregatorFactory> AGGREGATORS = ImmutableList.of(
+      QueryRunnerTestHelper.rowsCount,
+      new LongSumAggregatorFactory("idx", "index")
+  );
+
+  private static final DruidProcessingConfig PROCESSING_CONFIG = new DruidProcessingConfig()
+  {
+    @Override
+    public String getFormatString()
+    {
+      return "SegmentSplittingQueryRunnerTest-%s";
+    }
+
+    @Override
+    public int getMaxSegmentSplits()
+    {
+      return 4;
+    }
+
+    @Override
+    public int getMinRowsPerSegmentSplit()
+    {
+      return 100;
+    }
+  };
+
+  private final Segment segment = new QueryableIndexSegment(TestIndex.getMMappedTestIndex(), SegmentId.dummy("test"));
+  private PrioritizedExecutorService executor;
+  private Closer closer;
+
+  @Before
+  public void setUp()
+  {
+    executor = new PrioritizedExecutorService(
+        new ThreadPoolExecutor(3, 3, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>()),
+        PROCESSING_CONFIG
+    );
+    closer = Closer.create();
+  }
+
+  @After
+  public void tearDown() throws IOException
+  {
+    executor.shutdownNow();
+    closer.close();
+  }
+
+  @Test
+  public void testSplitsAreAlignedToGranularity()
+  {
+    final SegmentSplittingQueryRunner<Result<TimeseriesResultValue>> runner = new SegmentSplittingQueryRunner<>(
+        (queryPlus, responseContext) -> null,
+        segment,
+        executor,
+        PROCESSING_CONFIG
+    );
+    final List<Interval> splits = runner.computeSplits(makeTimeseriesQuery(Granularities.DAY, false), 3);
+
+    Assert.assertEquals(4, splits.size());
+    Assert.assertEquals(segment.asStorageAdapter().getMinTime(), splits.get(0).getStart());
+    Assert.assertEquals(segment.asStorageAdapter().getMaxTime().plus(1), splits.get(3).getEnd());
+    for (int i = 1; i < splits.size(); i++) {
+      Assert.assertEquals(splits.get(i - 1).getEnd(), splits.get(i).getStart());
+      Assert.assertEquals(Granularities.DAY.bucketStart(splits.get(i).getStart()), splits.get(i).getStart());
+    }
+  }
+
+  @Test
+  public void testNoSplitsWhenBusyOrDescending()
+  {
+    final SegmentSplittingQueryRunner<Result<TimeseriesResultValue>> runner = new SegmentSplittingQueryRunner<>(
+        (queryPlus, responseContext) -> null,
+        segment,
+        executor,
+        PROCESSING_CONFIG
+    );
+
+    Assert.assertEquals(2, runner.computeSplits(makeTimeseriesQuery(Granularities.ALL, false), 1).size());
+    Assert.assertTrue(runner.computeSplits(makeTimeseriesQuery(Granularities.ALL, false), 0).isEmpty());
+    Assert.assertTrue(runner.computeSplits(makeTimeseriesQuery(Granularities.ALL, true), 3).isEmpty());
+  }
+
+  @Test
+  public void testTimeseries()
+  {
+    final TimeseriesQueryRunnerFactory factory = new TimeseriesQueryRunnerFactory(
+        new TimeseriesQueryQueryToolChest(QueryRunnerTestHelper.noopIntervalChunkingQueryRunnerDecorator()),
+        new TimeseriesQueryEngine(),
+        QueryRunnerTestHelper.NOOP_QUERYWATCHER
+    );
+    for (Granularity granularity : ImmutableList.of(Granularities.ALL, Granularities.DAY, Granularities.MONTH)) {
+      assertSplitRunnerMatches(factory, makeTimeseriesQuery(granularity, false));
+    }
+  }
+
+  @Test
+  public void testGroupBy()
+  {
+    for (String strategy : ImmutableList.of(GroupByStrategySelector.STRATEGY_V1, GroupByStrategySelector.STRATEGY_V2)) {
+      final Pair<GroupByQueryRunnerFactory, Closer> factoryAndCloser = GroupByQueryRunnerTest.makeQueryRunnerFactory(
+          new GroupByQueryConfig()
+          {
+            @Override
+            public String getDefaultStrategy()
+            {
+              return strategy;
+            }
+          }
+      );
+      closer.register(factoryAndCloser.rhs);
+      for (Granularity granularity : ImmutableList.of(Granularities.ALL, Granularities.DAY)) {
+        final GroupByQuery query = GroupByQuery
+            .builder()
+            .setDataSource(QueryRunnerTestHelper.dataSource)
+            .setQuerySegmentSpec(QueryRunnerTestHelper.fullOnIntervalSpec)
+            .setDimensions(new DefaultDimensionSpec("quality", "alias"))
+            .setAggregatorSpecs(AGGREGATORS)
+            .setGranularity(granularity)
+            .build();
+        assertSplitRunnerMatches(factoryAndCloser.lhs, query);
+      }
+    }
+  }
+
+  @Test
+  public void testRangesNotPickedUpByProcessingThreadsAreStreamedByCallingThread() throws Exception
+  {
+    final TimeseriesQueryRunnerFactory factory = new TimeseriesQueryRunnerFactory(
+        new TimeseriesQueryQueryToolChest(QueryRunnerTestHelper.noopIntervalChunkingQueryRunnerDecorator()),
+        new TimeseriesQueryEngine(),
+        QueryRunnerTestHelper.NOOP_QUERYWATCHER
+    );
+    final QueryRunner<Result<TimeseriesResultValue>> runner = factory.createRunner(segment);
+    final List<Thread> runningThreads = new CopyOnWriteArrayList<>();
+    final QueryRunner<Result<TimeseriesResultValue>> splitRunner = new SegmentSplittingQueryRunner<>(
+        (queryPlus, responseContext) -> {
+          runningThreads.add(Thread.currentThread());
+          return runner.run(queryPlus, responseContext);
+        },
+        segment,
+        executor,
+        PROCESSING_CONFIG
+    );
+    final TimeseriesQuery query = makeTimeseriesQuery(Granularities.DAY, false);
+    final Sequence<Result<TimeseriesResultValue>> results = splitRunner.run(QueryPlus.wrap(query), new HashMap<>());
+    Assert.assertEquals(1, runningThreads.size());
+
+    // Keep all processing threads busy while the ranges are run
+    final CountDownLatch busy = new CountDownLatch(3);
+    final CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < 3; i++) {
+      executor.submit(
+          new AbstractPrioritizedCallable<Void>(0)
+          {
+            @Override
+            public Void call() throws InterruptedException
+            {
+              busy.countDown();
+              release.await();
+              return null;
+            }
+          }
+      );
+    }
+    busy.await();
+    final List<Result<TimeseriesResultValue>> actual = new ArrayList<>();
+    Yielder<Result<TimeseriesResultValue>> yielder = Yielders.each(results);
+    try {
+      // The other ranges are only run once the results of the first range are consumed
+      Assert.assertEquals(1, runningThreads.size());
+      while (!yielder.isDone()) {
+        actual.add(yielder.get());
+        yielder = yielder.next(null);
+      }
+    }
+    finally {
+      yielder.close();
+      release.countDown();
+    }
+    Assert.assertEquals(runner.run(QueryPlus.wrap(query), new HashMap<>()).toList(), actual);
+    Assert.assertEquals(4, runningThreads.size());
+    for (Thread thread : runningThreads) {
+      Assert.assertSame(Thread.currentThread(), thread);
+    }
+  }
+
+  @Test
+  public void testCloseWaitsForRunningRanges() throws Exception
+  {
+    final TimeseriesQueryRunnerFactory factory = new TimeseriesQueryRunnerFactory(
+        new TimeseriesQueryQueryToolChest(QueryRunnerTestHelper.noopIntervalChunkingQueryRunnerDecorator()),
+        new TimeseriesQueryEngine(),
+        QueryRunnerTestHelper.NOOP_QUERYWATCHER
+    );
+    final QueryRunner<Result<TimeseriesResultValue>> runner = factory.createRunner(segment);
+    final Thread callingThread = Thread.currentThread();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger numRunning = new AtomicInteger();
+    final QueryRunner<Result<TimeseriesResultValue>> splitRunner = new SegmentSplittingQueryRunner<>(
+        (queryPlus, responseContext) -> {
+          if (Thread.currentThread() == callingThread) {
+            return runner.run(queryPlus, responseContext);
+          }
+          numRunning.incrementAndGet();
+          try {
+            started.countDown();
+            release.await();
+            return Sequences.simple(runner.run(queryPlus, responseContext).toList());
+          }
+          catch (InterruptedException e) {
+            throw new QueryInterruptedException(e);
+          }
+          finally {
+            numRunning.decrementAndGet();
+          }
+        },
+        segment,
+        executor,
+        PROCESSING_CONFIG
+    );
+    final Sequence<Result<TimeseriesResultValue>> results = splitRunner.run(
+        QueryPlus.wrap(makeTimeseriesQuery(Granularities.DAY, false)),
+        new HashMap<>()
+    );
+    final Yielder<Result<TimeseriesResultValue>> yielder = Yielders.each(results);
+    started.await();
+
+    // Closing the results before the ranges are consumed must not return while processing threads read the segment
+    final CountDownLatch closed = new CountDownLatch(1);
+    final Thread closingThread = new Thread(
+        () -> {
+          try {
+            yielder.close();
+          }
+          catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+          closed.countDown();
+        }
+    );
+    closingThread.start();
+    Assert.assertFalse(closed.await(100, TimeUnit.MILLISECONDS));
+    Assert.assertTrue(numRunning.get() > 0);
+    release.countDown();
+    closed.await();
+    Assert.assertEquals(0, numRunning.get());
+    closingThread.join();
+  }
+
+  private <T> void assertSplitRunnerMatches(QueryRunnerFactory<T, ? extends Query<T>> factory, Query<T> query)
+  {
+    final QueryRunner<T> runner = factory.createRunner(segment);
+    final List<T> expected = runMerged(factory, runner, query);
+    final List<T> actual = runMerged(
+        factory,
+        new SegmentSplittingQueryRunner<>(runner, segment, executor, PROCESSING_CONFIG),
+        query
+    );
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected, actual);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> runMerged(
+      QueryRunnerFactory<T, ? extends Query<T>> factory,
+      QueryRunner<T> runner,
+      Query<T> query
+  )
+  {
+    final QueryToolChest<T, Query<T>> toolChest = (QueryToolChest<T, Query<T>>) factory.getToolchest();
+    return new FinalizeResultsQueryRunner<>(
+        toolChest.mergeResults(factory.mergeRunners(Execs.directExecutor(), ImmutableList.of(runner))),
+        toolChest
+    ).run(QueryPlus.wrap(query), new HashMap<>()).toList();
+  }
+
+  private static TimeseriesQuery makeTimeseriesQuery(Granularity granularity, boolean descending)
+  {
+    return Druids.newTimeseriesQueryBuilder()
+                 .dataSource(QueryRunnerTestHelper.dataSource)
+                 .granularity(granularity)
+                 .intervals(QueryRunnerTestHelper.fullOnIntervalSpec)
+                 .aggregators(AGGREGATORS)
+                 .descending(descending)
+                 .build();
+  }
+}
@@ -22,11 +22,16 @@ package org.apache.druid.query.filter;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableRangeSet;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeSet;
+import org.apache.druid.query.ordering.StringComparators;
+import org.apache.druid.timeline.partition.ColumnRange;
+import org.apache.druid.timeline.partition.NumericColumnRange;
 import org.apache.druid.timeline.partition.ShardSpec;
+import org.apache.druid.timeline.partition.StringColumnRange;
 import org.easymock.EasyMock;
 import org.junit.Assert;
 import org.junit.Test;
@@ -76,6 +81,48 @@ public class DimFilterUtilsTest
     assertFilterResult(filter1, shards, expected1);
   }
 
+  @Test
+  public void testPossibleInColumnRanges()
+  {
+    final DimFilter filter = new AndDimFilter(
+        ImmutableList.of(
+            new BoundDimFilter("dim1", "b", "d", false, true, null, null, StringComparators.LEXICOGRAPHIC),
+            new BoundDimFilter("met1", "10", "20", false, false, null, null, StringComparators.NUMERIC),
+            new RegexDimFilter("dim2", "pattern", null)
+        )
+    );
+
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of()));
+    Assert.assertTrue(possibleInColumnRanges(null, ImmutableMap.of("dim1", new StringColumnRange("x", "y"))));
+
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of("dim1", new StringColumnRange("a", "b"))));
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of("dim1", new StringColumnRange(null, "b"))));
+    Assert.assertFalse(possibleInColumnRanges(filter, ImmutableMap.of("dim1", new StringColumnRange("d", "e"))));
+    Assert.assertFalse(possibleInColumnRanges(filter, ImmutableMap.of("dim1", new StringColumnRange(null, "a"))));
+
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of("met1", new NumericColumnRange(0, 10))));
+    Assert.assertFalse(possibleInColumnRanges(filter, ImmutableMap.of("met1", new NumericColumnRange(0, 9.5))));
+    Assert.assertFalse(possibleInColumnRanges(filter, ImmutableMap.of("met1", new NumericColumnRange(21, 30))));
+
+    // Ranges are only compared with the domain of the same type
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of("met1", new StringColumnRange("3", "4"))));
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of("dim1", new NumericColumnRange(3, 4))));
+
+    // No domain for dim2
+    Assert.assertTrue(possibleInColumnRanges(filter, ImmutableMap.of("dim2", new StringColumnRange("x", "y"))));
+    Assert.assertFalse(
+        possibleInColumnRanges(
+            filter,
+            ImmutableMap.of("dim2", new StringColumnRange("x", "y"), "met1", new NumericColumnRange(21, 30))
+        )
+    );
+  }
+
+  private static boolean possibleInColumnRanges(@Nullable DimFilter filter, Map<String, ColumnRange> columnRanges)
+  {
+    return DimFilterUtils.possibleInColumnRanges(filter, columnRanges, new HashMap<>(), new HashMap<>());
+  }
+
   private void assertFilterResult(DimFilter filter, Iterable<ShardSpec> input, Set<ShardSpec> expected)
   {
     Set<ShardSpec> result = DimFilterUtils.filterShards(filter, input, CONVERTER);
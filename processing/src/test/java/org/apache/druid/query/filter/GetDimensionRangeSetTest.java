@@ -233,6 +233,53 @@ public class GetDimensionRangeSetTest
 
   }
 
+  @Test
+  public void testNumericRangeSet()
+  {
+    final DimFilter numericSelector = new SelectorDimFilter("met1", "-0", null);
+    Assert.assertEquals(ImmutableRangeSet.of(Range.singleton(0.0)), numericSelector.getNumericRangeSet("met1"));
+    Assert.assertNull(numericSelector.getNumericRangeSet("met2"));
+    Assert.assertNull(selector1.getNumericRangeSet("dim1"));
+    Assert.assertNull(selector5.getNumericRangeSet("dim1"));
+
+    final DimFilter numericIn = new InDimFilter("met1", ImmutableList.of("1", "2.5"), null);
+    Assert.assertEquals(
+        numericRangeSet(ImmutableList.of(Range.singleton(1.0), Range.singleton(2.5))),
+        numericIn.getNumericRangeSet("met1")
+    );
+    Assert.assertNull(new InDimFilter("met1", Arrays.asList("1", null), null).getNumericRangeSet("met1"));
+
+    // Strict bounds are widened to closed ones
+    final DimFilter numericBound1 = new BoundDimFilter("met1", "1", "10", true, true, null, null,
+                                                       StringComparators.NUMERIC
+    );
+    final DimFilter numericBound2 = new BoundDimFilter("met1", "5", null, false, false, null, null,
+                                                       StringComparators.NUMERIC
+    );
+    Assert.assertEquals(ImmutableRangeSet.of(Range.closed(1.0, 10.0)), numericBound1.getNumericRangeSet("met1"));
+    Assert.assertEquals(ImmutableRangeSet.of(Range.atLeast(5.0)), numericBound2.getNumericRangeSet("met1"));
+    Assert.assertNull(bound1.getNumericRangeSet("dim1"));
+    Assert.assertNull(
+        new BoundDimFilter("met1", "abc", null, false, false, null, null, StringComparators.NUMERIC)
+            .getNumericRangeSet("met1")
+    );
+
+    Assert.assertEquals(
+        ImmutableRangeSet.of(Range.closed(5.0, 10.0)),
+        new AndDimFilter(ImmutableList.of(numericBound1, numericBound2, other1)).getNumericRangeSet("met1")
+    );
+    Assert.assertEquals(
+        ImmutableRangeSet.of(Range.atLeast(1.0)),
+        new OrDimFilter(ImmutableList.of(numericBound1, numericBound2)).getNumericRangeSet("met1")
+    );
+    Assert.assertNull(new OrDimFilter(ImmutableList.of(numericBound1, other1)).getNumericRangeSet("met1"));
+    Assert.assertNull(new NotDimFilter(numericBound1).getNumericRangeSet("met1"));
+    Assert.assertEquals(
+        numericBound1.getNumericRangeSet("met1"),
+        new NotDimFilter(new NotDimFilter(numericBound1)).getNumericRangeSet("met1")
+    );
+  }
+
   private static Range<String> point(String s)
   {
     if (s == null) {
@@ -247,6 +294,15 @@ public class GetDimensionRangeSetTest
     return Range.singleton(s);
   }
 
+  private static RangeSet<Double> numericRangeSet(List<Range<Double>> ranges)
+  {
+    ImmutableRangeSet.Builder<Double> builder = ImmutableRangeSet.builder();
+    for (Range<Double> range : ranges) {
+      builder.add(range);
+    }
+    return builder.build();
+  }
+
   private static RangeSet<String> rangeSet(Range<String> ranges)
   {
     return ImmutableRangeSet.of(ranges);
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.filter;
+
+import org.apache.druid.java.util.common.StringUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+public class Utf8PredicatesTest
+{
+  private static final int[] ALPHABET = "abAB%_\n\r\u0085 \u00e9\u212a\u4e2d\ud83d\ude00".codePoints().toArray();
+
+  @Test
+  public void testContains()
+  {
+    final Utf8Predicate predicate = Utf8Predicates.contains("b\u00e9");
+    Assert.assertTrue(apply(predicate, "ab\u00e9c"));
+    Assert.assertTrue(apply(predicate, "b\u00e9"));
+    Assert.assertFalse(apply(predicate, "be"));
+    Assert.assertFalse(apply(predicate, ""));
+    Assert.assertTrue(apply(Utf8Predicates.contains(""), ""));
+    Assert.assertNull(Utf8Predicates.contains("\ud83d"));
+  }
+
+  @Test
+  public void testContainsIgnoreCase()
+  {
+    final Utf8Predicate predicate = Utf8Predicates.containsIgnoreCase(
+        "Ok",
+        s -> org.apache.commons.lang.StringUtils.containsIgnoreCase(s, "Ok")
+    );
+    Assert.assertTrue(apply(predicate, "bOOKs"));
+    Assert.assertFalse(apply(predicate, "bo-ks"));
+    Assert.assertTrue(apply(predicate, "o\u212a"));
+    Assert.assertNull(Utf8Predicates.containsIgnoreCase("\u00e9", s -> true));
+  }
+
+  @Test
+  public void testLikeMatchesLikeMatcher()
+  {
+    final Random random = new Random(0);
+    for (int i = 0; i < 2000; i++) {
+      final String pattern = randomString(random, 6);
+      final LikeDimFilter.LikeMatcher matcher = LikeDimFilter.LikeMatcher.from(pattern, null);
+      final Utf8Predicate predicate = matcher.predicateFactory(null).makeUtf8Predicate();
+      Assert.assertNotNull(pattern, predicate);
+      for (int j = 0; j < 20; j++) {
+        final String value = randomString(random, 8);
+        Assert.assertEquals(
+            StringUtils.format("pattern[%s] value[%s]", pattern, value),
+            matcher.matches(value),
+            apply(predicate, value)
+        );
+      }
+    }
+  }
+
+  @Test
+  public void testLikeWithUnpairedSurrogate()
+  {
+    final LikeDimFilter.LikeMatcher matcher = LikeDimFilter.LikeMatcher.from("%\ud83d%", null);
+    Assert.assertNull(matcher.predicateFactory(null).makeUtf8Predicate());
+  }
+
+  @Test
+  public void testContainsMatchesString()
+  {
+    final Random random = new Random(0);
+    for (int i = 0; i < 2000; i++) {
+      final String needle = randomString(random, 3);
+      final Utf8Predicate predicate = Utf8Predicates.contains(needle);
+      for (int j = 0; j < 20; j++) {
+        final String value = randomString(random, 8);
+        Assert.assertEquals(value.contains(needle), apply(predicate, value));
+      }
+    }
+  }
+
+  private static boolean apply(Utf8Predicate predicate, String value)
+  {
+    // Offset the value within the buffer to check that predicates respect the given position.
+    final byte[] bytes = StringUtils.toUtf8(value);
+    final ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 2);
+    buffer.put((byte) 'x').put(bytes).put((byte) 'x');
+    return predicate.apply(buffer, 1, bytes.length);
+  }
+
+  private static String randomString(Random random, int maxCodePoints)
+  {
+    final StringBuilder builder = new StringBuilder();
+    final int length = random.nextInt(maxCodePoints + 1);
+    for (int i = 0; i < length; i++) {
+      builder.appendCodePoint(ALPHABET[random.nextInt(ALPHABET.length)]);
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.common.guava.CombiningSequence;
+import org.apache.druid.data.input.MapBasedRow;
+import org.apache.druid.data.input.Row;
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.java.util.common.guava.Sequences;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.apache.druid.query.dimension.DefaultDimensionSpec;
+import org.apache.druid.query.groupby.GroupByQuery;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+public class GroupByBinaryFnV2Test
+{
+  private static final GroupByQuery QUERY = GroupByQuery
+      .builder()
+      .setDataSource("test")
+      .setInterval("2000/2001")
+      .setDimensions(new DefaultDimensionSpec("dim", "dim"))
+      .setAggregatorSpecs(new LongSumAggregatorFactory("sum", "sum"))
+      .setGranularity(Granularities.ALL)
+      .build();
+
+  @Test
+  public void testCombineRunsOfEqualKeysWithoutModifyingInputs()
+  {
+    final List<Row> input = ImmutableList.of(
+        makeRow("a", 1),
+        makeRow("a", 2),
+        makeRow("a", 3),
+        makeRow("b", 4),
+        makeRow("c", 5),
+        makeRow("c", 6)
+    );
+
+    final List<Row> combined = CombiningSequence.create(
+        Sequences.simple(input),
+        QUERY.getRowOrdering(true),
+        new GroupByBinaryFnV2(QUERY)
+    ).toList();
+
+    Assert.assertEquals(
+        ImmutableList.of(makeRow("a", 6), makeRow("b", 4), makeRow("c", 11)),
+        combined
+    );
+    Assert.assertEquals(
+        ImmutableList.of(
+            makeRow("a", 1),
+            makeRow("a", 2),
+            makeRow("a", 3),
+            makeRow("b", 4),
+            makeRow("c", 5),
+            makeRow("c", 6)
+        ),
+        input
+    );
+  }
+
+  private static Row makeRow(String dim, long sum)
+  {
+    return new MapBasedRow(DateTimes.of("2000"), new HashMap<>(ImmutableMap.of("dim", dim, "sum", sum)));
+  }
+}
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.groupby.epinephelinae;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.collections.SerializablePair;
+import org.apache.druid.data.input.MapBasedRow;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.common.guava.Comparators;
+import org.apache.druid.java.util.common.parsers.CloseableIterator;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatSumAggregatorFactory;
+import org.apache.druid.query.aggregation.first.LongFirstAggregatorFactory;
+import org.apache.druid.segment.column.ColumnHolder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class SpillingGrouperTest
+{
+  private static final String[] KEYS = {null, "a", "b", "c", "d", "e", "f", "g", "h", "i"};
+  private static final int NUM_ROWS = 200;
+  private static final AggregatorFactory[] AGGREGATORS = {
+      new CountAggregatorFactory("count"),
+      new DoubleSumAggregatorFactory("doubleSum", "value"),
+      new FloatSumAggregatorFactory("floatSum", "value"),
+      new LongFirstAggregatorFactory("first", "value")
+  };
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File storageDirectory;
+  private LimitedTemporaryStorage temporaryStorage;
+  private SpillingGrouper<String> grouper;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    storageDirectory = temporaryFolder.newFolder();
+    temporaryStorage = new LimitedTemporaryStorage(storageDirectory, 10 * 1024 * 1024);
+    final TestColumnSelectorFactory columnSelectorFactory = new TestColumnSelectorFactory();
+    grouper = new SpillingGrouper<>(
+        Suppliers.ofInstance(ByteBuffer.allocate(64 * 1024)),
+        new StringKeySerdeFactory(),
+        columnSelectorFactory,
+        AGGREGATORS,
+        4,
+        0,
+        0,
+        temporaryStorage,
+        new DefaultObjectMapper(),
+        true,
+        null,
+        false,
+        64 * 1024
+    );
+    grouper.init();
+
+    // Rows are spread over the keys round robin, so that every spill file holds a subset of the keys
+    for (int i = 0; i < NUM_ROWS; i++) {
+      final String key = KEYS[i % KEYS.length];
+      columnSelectorFactory.setRow(
+          new MapBasedRow(0, ImmutableMap.of(ColumnHolder.TIME_COLUMN_NAME, (long) i, "value", (long) i))
+      );
+      Assert.assertTrue(grouper.aggregate(key, hash(key)).isOk());
+    }
+  }
+
+  @After
+  public void tearDown()
+  {
+    grouper.close();
+    temporaryStorage.close();
+  }
+
+  @Test
+  public void testSortedIteratorReadsSpilledEntries() throws IOException
+  {
+    Assert.assertTrue(getSpillFiles().size() > 1);
+
+    final List<String> keys = new ArrayList<>();
+    final Map<String, Object[]> combined = new HashMap<>();
+    try (CloseableIterator<Grouper.Entry<String>> iterator = grouper.iterator(true)) {
+      while (iterator.hasNext()) {
+        final Grouper.Entry<String> entry = iterator.next();
+        keys.add(entry.getKey());
+        assertValueTypes(entry.getValues());
+        combined.merge(entry.getKey(), entry.getValues(), SpillingGrouperTest::combine);
+      }
+    }
+
+    Assert.assertTrue(Comparators.<String>naturalNullsFirst().isOrdered(keys));
+    assertCombinedValues(combined);
+  }
+
+  @Test
+  public void testUnsortedIteratorReadsSpilledEntries() throws IOException
+  {
+    final Map<String, Object[]> combined = new HashMap<>();
+    try (CloseableIterator<Grouper.Entry<String>> iterator = grouper.iterator(false)) {
+      while (iterator.hasNext()) {
+        final Grouper.Entry<String> entry = iterator.next();
+        combined.merge(entry.getKey(), entry.getValues(), SpillingGrouperTest::combine);
+      }
+    }
+
+    assertCombinedValues(combined);
+  }
+
+  @Test
+  public void testMergeAndGetDictionary()
+  {
+    Assert.assertEquals(new HashSet<>(Arrays.asList(KEYS)), new HashSet<>(grouper.mergeAndGetDictionary()));
+  }
+
+  @Test
+  public void testSpillFilesAreDeleted() throws IOException
+  {
+    Assert.assertFalse(getSpillFiles().isEmpty());
+    grouper.reset();
+    Assert.assertTrue(getSpillFiles().isEmpty());
+    try (CloseableIterator<Grouper.Entry<String>> iterator = grouper.iterator(true)) {
+      Assert.assertFalse(iterator.hasNext());
+    }
+
+    final String key = "a";
+    Assert.assertTrue(grouper.aggregate(key, hash(key)).isOk());
+    grouper.close();
+    Assert.assertTrue(getSpillFiles().isEmpty());
+  }
+
+  private static int hash(String key)
+  {
+    return Groupers.smear(Objects.hashCode(key)) & 0x7fffffff;
+  }
+
+  private List<File> getSpillFiles()
+  {
+    final File[] files = storageDirectory.listFiles();
+    return files == null ? new ArrayList<>() : Arrays.asList(files);
+  }
+
+  private static Object[] combine(Object[] lhs, Object[] rhs)
+  {
+    final Object[] values = new Object[AGGREGATORS.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = AGGREGATORS[i].combine(lhs[i], rhs[i]);
+    }
+    return values;
+  }
+
+  private static void assertValueTypes(Object[] values)
+  {
+    Assert.assertEquals(Long.class, values[0].getClass());
+    Assert.assertEquals(Double.class, values[1].getClass());
+    Assert.assertEquals(Float.class, values[2].getClass());
+    Assert.assertEquals(SerializablePair.class, values[3].getClass());
+  }
+
+  private static void assertCombinedValues(Map<String, Object[]> combined)
+  {
+    Assert.assertEquals(KEYS.length, combined.size());
+    for (int k = 0; k < KEYS.length; k++) {
+      long count = 0;
+      long sum = 0;
+      for (int i = k; i < NUM_ROWS; i += KEYS.length) {
+        count++;
+        sum += i;
+      }
+      final Object[] values = combined.get(KEYS[k]);
+      Assert.assertEquals(count, values[0]);
+      Assert.assertEquals((double) sum, (Double) values[1], 0);
+      Assert.assertEquals((float) sum, ((Number) values[2]).floatValue(), 0);
+      // The complex value of the first aggregator is written through the spill mapper
+      Assert.assertEquals(new SerializablePair<>((long) k, (long) k), values[3]);
+    }
+  }
+
+  /**
+   * Serializes nullable string keys as ids of a dictionary which is cleared on reset, like the dictionaries of
+   * {@link RowBasedGrouperHelper}, so that every spill file has a dictionary of its own.
+   */
+  private static class StringKeySerdeFactory implements Grouper.KeySerdeFactory<String>
+  {
+    private static final Comparator<String> KEY_COMPARATOR = Comparators.naturalNullsFirst();
+
+    @Override
+    public long getMaxDictionarySize()
+    {
+      return Long.MAX_VALUE;
+    }
+
+    @Override
+    public Grouper.KeySerde<String> factorize()
+    {
+      return new StringKeySerde(new ArrayList<>());
+    }
+
+    @Override
+    public Grouper.KeySerde<String> factorizeWithDictionary(List<String> dictionary)
+    {
+      return new StringKeySerde(new ArrayList<>(dictionary));
+    }
+
+    @Override
+    public Comparator<Grouper.Entry<String>> objectComparator(boolean forceDefaultOrder)
+    {
+      return (lhs, rhs) -> KEY_COMPARATOR.compare(lhs.getKey(), rhs.getKey());
+    }
+  }
+
+  private static class StringKeySerde implements Grouper.KeySerde<String>
+  {
+    private final List<String> dictionary;
+    private final Map<String, Integer> reverseDictionary = new HashMap<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+
+    StringKeySerde(List<String> dictionary)
+    {
+      this.dictionary = dictionary;
+      for (int i = 0; i < dictionary.size(); i++) {
+        reverseDictionary.put(dictionary.get(i), i);
+      }
+    }
+
+    @Override
+    public int keySize()
+    {
+      return Integer.BYTES;
+    }
+
+    @Override
+    public Class<String> keyClazz()
+    {
+      return String.class;
+    }
+
+    @Override
+    public List<String> getDictionary()
+    {
+      return dictionary;
+    }
+
+    @Override
+    public ByteBuffer toByteBuffer(String key)
+    {
+      final int id = reverseDictionary.computeIfAbsent(
+          key,
+          k -> {
+            dictionary.add(k);
+            return dictionary.size() - 1;
+          }
+      );
+      buffer.putInt(0, id);
+      buffer.position(0);
+      return buffer;
+    }
+
+    @Override
+    public String fromByteBuffer(ByteBuffer buffer, int position)
+    {
+      return dictionary.get(buffer.getInt(position));
+    }
+
+    @Override
+    public Grouper.BufferComparator bufferComparator()
+    {
+      return (lhsBuffer, rhsBuffer, lhsPosition, rhsPosition) -> Objects.compare(
+          dictionary.get(lhsBuffer.getInt(lhsPosition)),
+          dictionary.get(rhsBuffer.getInt(rhsPosition)),
+          StringKeySerdeFactory.KEY_COMPARATOR
+      );
+    }
+
+    @Override
+    public Grouper.BufferComparator bufferComparatorWithAggregators(
+        AggregatorFactory[] aggregatorFactories,
+        int[] aggregatorOffsets
+    )
+    {
+      return bufferComparator();
+    }
+
+    @Override
+    public void reset()
+    {
+      dictionary.clear();
+      reverseDictionary.clear();
+    }
+  }
+}
@@ -46,6 +46,7 @@ import org.junit.runners.Parameterized;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 
@@ -318,5 +319,108 @@ public class ScanQueryRunnerFactoryTest
       );
       factory.getIntervalsFromSpecificQuerySpec(legacySpec);
     }
+
+    @Test
+    public void testTimeOrderedMergeStopsAtLimit()
+    {
+      final List<Interval> intervalsRun = new ArrayList<>();
+      final List<SegmentDescriptor> descriptors = new ArrayList<>();
+      final List<QueryRunner<ScanResultValue>> runners = new ArrayList<>();
+      // Served in a different order than their time order
+      for (String day : new String[]{"2019-01-02", "2019-01-03", "2019-01-01"}) {
+        final Interval interval = new Interval(DateTimes.of(day), DateTimes.of(day).plusDays(1));
+        descriptors.add(new SegmentDescriptor(interval, "1", 0));
+        runners.add(
+            (queryPlus, responseContext) -> {
+              intervalsRun.add(interval);
+              return Sequences.simple(
+                  Collections.singletonList(
+                      ScanQueryTestHelper.generateScanResultValue(
+                          interval.getStartMillis(),
+                          ScanQuery.ResultFormat.RESULT_FORMAT_LIST,
+                          5
+                      )
+                  )
+              );
+            }
+        );
+      }
+
+      final ScanQuery query = Druids.newScanQueryBuilder()
+                                    .dataSource("some src")
+                                    .intervals(new MultipleSpecificSegmentSpec(descriptors))
+                                    .order(ScanQuery.Order.ASCENDING)
+                                    .limit(7)
+                                    .build();
+      final List<ScanResultValue> output = factory.mergeRunners(null, runners)
+                                                  .run(QueryPlus.wrap(query), new HashMap<>())
+                                                  .toList();
+
+      Assert.assertEquals(7, output.size());
+      for (int i = 0; i < output.size(); i++) {
+        Assert.assertEquals(
+            DateTimes.of(i < 5 ? "2019-01-01" : "2019-01-02").getMillis(),
+            output.get(i).getFirstEventTimestamp(ScanQuery.ResultFormat.RESULT_FORMAT_LIST)
+        );
+      }
+      // The last interval is never read since the limit is reached before
+      Assert.assertEquals(
+          Arrays.asList(descriptors.get(2).getInterval(), descriptors.get(0).getInterval()),
+          intervalsRun
+      );
+    }
+
+    @Test
+    public void testTimeOrderedMergeOfTooManyPartitions()
+    {
+      final Interval interval = new Interval(DateTimes.of("2019-01-01"), DateTimes.of("2019-01-02"));
+      final List<SegmentDescriptor> descriptors = new ArrayList<>();
+      final List<QueryRunner<ScanResultValue>> runners = new ArrayList<>();
+      for (int partition = 0; partition < 3; partition++) {
+        descriptors.add(new SegmentDescriptor(interval, "1", partition));
+        final long timestamp = interval.getStartMillis() + partition;
+        runners.add(
+            (queryPlus, responseContext) -> Sequences.simple(
+                Collections.singletonList(
+                    ScanQueryTestHelper.generateScanResultValue(timestamp, ScanQuery.ResultFormat.RESULT_FORMAT_LIST, 2)
+                )
+            )
+        );
+      }
+
+      final Druids.ScanQueryBuilder queryBuilder =
+          Druids.newScanQueryBuilder()
+                .dataSource("some src")
+                .intervals(new MultipleSpecificSegmentSpec(descriptors))
+                .order(ScanQuery.Order.DESCENDING)
+                .context(
+                    ImmutableMap.of(
+                        ScanQueryConfig.CTX_KEY_MAX_SEGMENT_PARTITIONS_FOR_ORDERING, 2,
+                        ScanQueryConfig.CTX_KEY_MAX_ROWS_QUEUED_FOR_ORDERING, 4
+                    )
+                );
+
+      // Falls back to sorting the interval in a priority queue if the limit is small enough
+      final List<ScanResultValue> output = factory.mergeRunners(null, runners)
+                                                  .run(QueryPlus.wrap(queryBuilder.limit(3).build()), new HashMap<>())
+                                                  .toList();
+      Assert.assertEquals(3, output.size());
+      Assert.assertEquals(
+          interval.getStartMillis() + 2,
+          output.get(0).getFirstEventTimestamp(ScanQuery.ResultFormat.RESULT_FORMAT_LIST)
+      );
+      Assert.assertEquals(
+          interval.getStartMillis() + 1,
+          output.get(2).getFirstEventTimestamp(ScanQuery.ResultFormat.RESULT_FORMAT_LIST)
+      );
+
+      try {
+        factory.mergeRunners(null, runners).run(QueryPlus.wrap(queryBuilder.limit(5).build()), new HashMap<>());
+        Assert.fail("Expected the query to be rejected");
+      }
+      catch (UOE e) {
+        Assert.assertTrue(e.getMessage().startsWith("Time ordering for queries of 3 partitions per segment"));
+      }
+    }
   }
 }
@@ -234,6 +234,48 @@ public class ScanQueryRunnerTest
     verify(expectedResults, populateNullColumnAtLastForQueryableIndexCase(compactedListToRow(results), "null_column"));
   }
 
+  @Test
+  public void testFullOnSelectAsValueVector()
+  {
+    final List<String> columns = Lists.newArrayList(
+        getTimestampName(),
+        "expr",
+        "market",
+        "quality",
+        "qualityLong",
+        "qualityFloat",
+        "qualityDouble",
+        "qualityNumericString",
+        "placement",
+        "placementish",
+        "partial_null_column",
+        "null_column",
+        "index",
+        "indexMin",
+        "indexMaxPlusTen",
+        "quality_uniques",
+        "indexFloat",
+        "indexMaxFloat",
+        "indexMinFloat"
+    );
+    ScanQuery query = newTestQuery()
+        .intervals(I_0112_0114)
+        .virtualColumns(EXPR_COLUMN)
+        .resultFormat(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR)
+        .build();
+
+    HashMap<String, Object> context = new HashMap<String, Object>();
+    Iterable<ScanResultValue> results = runner.run(QueryPlus.wrap(query), context).toList();
+
+    List<ScanResultValue> expectedResults = toExpected(
+        toFullEvents(V_0112_0114),
+        columns,
+        0,
+        3
+    );
+    verify(expectedResults, populateNullColumnAtLastForQueryableIndexCase(valueVectorToRow(results), "null_column"));
+  }
+
   @Test
   public void testSelectWithUnderscoreUnderscoreTime()
   {
@@ -785,6 +827,96 @@ public class ScanQueryRunnerTest
     }
   }
 
+  @Test
+  public void testFullOnSelectWithFilterLimitAndAscendingTimeOrderingValueVectorFormat()
+  {
+    String[] seg1Results = new String[]{
+        "2011-01-12T00:00:00.000Z\tspot\tautomotive\tpreferred\tapreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\tbusiness\tpreferred\tbpreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\tentertainment\tpreferred\tepreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\thealth\tpreferred\thpreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\tmezzanine\tpreferred\tmpreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\tnews\tpreferred\tnpreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\tpremium\tpreferred\tppreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\ttechnology\tpreferred\ttpreferred\t100.000000",
+        "2011-01-12T00:00:00.000Z\tspot\ttravel\tpreferred\ttpreferred\t100.000000"
+    };
+    String[] seg2Results = new String[]{
+        "2011-01-13T00:00:00.000Z\tspot\tautomotive\tpreferred\tapreferred\t94.874713",
+        "2011-01-13T00:00:00.000Z\tspot\tbusiness\tpreferred\tbpreferred\t103.629399",
+        "2011-01-13T00:00:00.000Z\tspot\tentertainment\tpreferred\tepreferred\t110.087299",
+        "2011-01-13T00:00:00.000Z\tspot\thealth\tpreferred\thpreferred\t114.947403",
+        "2011-01-13T00:00:00.000Z\tspot\tmezzanine\tpreferred\tmpreferred\t104.465767",
+        "2011-01-13T00:00:00.000Z\tspot\tnews\tpreferred\tnpreferred\t102.851683",
+        "2011-01-13T00:00:00.000Z\tspot\tpremium\tpreferred\tppreferred\t108.863011",
+        "2011-01-13T00:00:00.000Z\tspot\ttechnology\tpreferred\ttpreferred\t111.356672",
+        "2011-01-13T00:00:00.000Z\tspot\ttravel\tpreferred\ttpreferred\t106.236928"
+    };
+    // limits shouldn't matter -> all rows should be returned if time-ordering on the broker is occurring
+    for (int limit : new int[]{3, 0}) {
+      /* Ascending */
+      ScanQuery query = newTestQuery()
+          .intervals(I_0112_0114)
+          .filters(new SelectorDimFilter(QueryRunnerTestHelper.marketDimension, "spot", null))
+          .columns(
+              QueryRunnerTestHelper.timeDimension,
+              QueryRunnerTestHelper.qualityDimension,
+              QueryRunnerTestHelper.indexMetric
+          )
+          .resultFormat(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR)
+          .order(ScanQuery.Order.ASCENDING)
+          .limit(limit)
+          .build();
+
+      HashMap<String, Object> context = new HashMap<>();
+      Iterable<ScanResultValue> results = runner.run(QueryPlus.wrap(query), context).toList();
+      final List<List<Map<String, Object>>> ascendingEvents = toEvents(
+          new String[]{
+              legacy ? getTimestampName() + ":TIME" : ColumnHolder.TIME_COLUMN_NAME,
+              null,
+              QueryRunnerTestHelper.qualityDimension + ":STRING",
+              null,
+              null,
+              QueryRunnerTestHelper.indexMetric + ":DOUBLE"
+          },
+          (String[]) ArrayUtils.addAll(seg1Results, seg2Results)
+      );
+      if (legacy) {
+        for (List<Map<String, Object>> batch : ascendingEvents) {
+          for (Map<String, Object> event : batch) {
+            event.put("__time", ((DateTime) event.get("timestamp")).getMillis());
+          }
+        }
+      } else {
+        for (List<Map<String, Object>> batch : ascendingEvents) {
+          for (Map<String, Object> event : batch) {
+            event.put("__time", ((DateTimes.of((String) event.get("__time"))).getMillis()));
+          }
+        }
+      }
+      List<ScanResultValue> ascendingExpectedResults = toExpected(
+          ascendingEvents,
+          legacy ?
+          Lists.newArrayList(
+              QueryRunnerTestHelper.timeDimension,
+              getTimestampName(),
+              // getTimestampName() always returns the legacy timestamp when legacy is true
+              "quality",
+              "index"
+          ) :
+          Lists.newArrayList(
+              QueryRunnerTestHelper.timeDimension,
+              "quality",
+              "index"
+          ),
+          0,
+          limit
+      );
+      results = valueVectorToRow(results);
+      verify(ascendingExpectedResults, results);
+    }
+  }
+
   @Test
   public void testFullOnSelectWithFilterLimitAndDescendingTimeOrderingCompactedListFormat()
   {
@@ -1111,6 +1243,24 @@ public class ScanQueryRunnerTest
     return results;
   }
 
+  private Iterable<ScanResultValue> valueVectorToRow(Iterable<ScanResultValue> results)
+  {
+    final List<ScanResultValue> rows = new ArrayList<>();
+    for (ScanResultValue input : results) {
+      final List<Map<String, Object>> mapEvents = new ArrayList<>();
+      final int numRows = ScanValueVectors.getNumRows(input.getEvents());
+      for (int row = 0; row < numRows; row++) {
+        final Map<String, Object> mapEvent = new LinkedHashMap<>();
+        for (int column = 0; column < input.getColumns().size(); column++) {
+          mapEvent.put(input.getColumns().get(column), ScanValueVectors.getValue(input.getEvents(), column, row));
+        }
+        mapEvents.add(mapEvent);
+      }
+      rows.add(new ScanResultValue(input.getSegmentId(), input.getColumns(), mapEvents));
+    }
+    return rows;
+  }
+
   private Iterable<ScanResultValue> compactedListToRow(Iterable<ScanResultValue> results)
   {
     return Lists.newArrayList(Iterables.transform(results, new Function<ScanResultValue, ScanResultValue>()
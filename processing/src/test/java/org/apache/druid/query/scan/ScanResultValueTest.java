@@ -20,6 +20,7 @@
 package org.apache.druid.query.scan;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
 import org.apache.druid.jackson.DefaultObjectMapper;
 import org.apache.druid.segment.column.ColumnHolder;
 import org.junit.Assert;
@@ -142,4 +143,51 @@ public class ScanResultValueTest
       Assert.assertEquals(1, events.size());
     }
   }
+
+  @Test
+  public void testValueVector() throws IOException
+  {
+    final List<Object> events = Arrays.asList(
+        new long[]{TIME_1_LONG, TIME_2_LONG, TIME_1_LONG},
+        ImmutableMap.of("dictionary", Arrays.asList("Feridun", "Justin"), "ids", new int[]{0, 1, 1}),
+        new Object[]{4, 6, null}
+    );
+    final ScanResultValue valueVectorSRV = new ScanResultValue(
+        "some_segment_id",
+        Arrays.asList(ColumnHolder.TIME_COLUMN_NAME, "name", "count"),
+        events
+    );
+    final ScanResultValue deserialized = JSON_MAPPER.readValue(
+        JSON_MAPPER.writeValueAsString(valueVectorSRV),
+        ScanResultValue.class
+    );
+
+    for (ScanResultValue srv : Arrays.asList(valueVectorSRV, deserialized)) {
+      Assert.assertEquals(3, srv.getNumEvents(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR));
+      Assert.assertEquals(TIME_1_LONG, srv.getFirstEventTimestamp(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR));
+
+      final List<ScanResultValue> singleEvents =
+          srv.toSingleEventScanResultValues(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR);
+      Assert.assertEquals(3, singleEvents.size());
+      Assert.assertEquals(
+          TIME_2_LONG,
+          singleEvents.get(1).getFirstEventTimestamp(ScanQuery.ResultFormat.RESULT_FORMAT_VALUE_VECTOR)
+      );
+      Assert.assertEquals("Justin", ScanValueVectors.getValue(singleEvents.get(1).getEvents(), 1, 0));
+      Assert.assertEquals(6, ScanValueVectors.getValue(singleEvents.get(1).getEvents(), 2, 0));
+
+      final List<Object> concatenated = ScanValueVectors.concat(
+          Arrays.asList(singleEvents.get(2).getEvents(), singleEvents.get(0).getEvents()),
+          3
+      );
+      Assert.assertEquals(
+          Arrays.asList(
+              Arrays.asList(TIME_1_LONG, TIME_1_LONG),
+              Arrays.asList("Justin", "Feridun"),
+              Arrays.asList(null, 4)
+          ),
+          concatenated
+      );
+    }
+  }
 }
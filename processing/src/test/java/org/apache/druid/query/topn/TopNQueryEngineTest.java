@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.query.topn;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.collections.CloseableStupidPool;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.common.concurrent.Execs;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.java.util.common.granularity.Granularity;
+import org.apache.druid.query.QueryRunnerTestHelper;
+import org.apache.druid.query.Result;
+import org.apache.druid.query.aggregation.AggregatorFactory;
+import org.apache.druid.segment.IncrementalIndexSegment;
+import org.apache.druid.segment.QueryableIndexSegment;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.segment.TestIndex;
+import org.apache.druid.timeline.SegmentId;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+public class TopNQueryEngineTest
+{
+  private static final List<AggregatorFactory> AGGREGATORS = ImmutableList.of(
+      QueryRunnerTestHelper.rowsCount,
+      QueryRunnerTestHelper.indexDoubleSum
+  );
+
+  private CloseableStupidPool<ByteBuffer> bufferPool;
+  private ExecutorService processingExecutor;
+  private TopNQueryEngine serialEngine;
+  private TopNQueryEngine parallelEngine;
+
+  @Before
+  public void setUp()
+  {
+    int numBytesPerRecord = 0;
+    for (AggregatorFactory aggregator : AGGREGATORS) {
+      numBytesPerRecord += aggregator.getMaxIntermediateSizeWithNulls();
+    }
+    // Two dictionary values per pass, so that topNs over the 9 values of "quality" take 5 passes
+    final int bufferSize = 2 * numBytesPerRecord;
+    bufferPool = new CloseableStupidPool<>("TopNQueryEngineTest-bufferPool", () -> ByteBuffer.allocate(bufferSize));
+    processingExecutor = Execs.multiThreaded(2, "TopNQueryEngineTest-%d");
+    serialEngine = new TopNQueryEngine(bufferPool);
+    parallelEngine = new TopNQueryEngine(
+        bufferPool,
+        processingExecutor,
+        bufferSize,
+        new TopNQueryConfig()
+        {
+          @Override
+          public int getMaxParallelScans()
+          {
+            return 3;
+          }
+        }
+    );
+  }
+
+  @After
+  public void tearDown()
+  {
+    processingExecutor.shutdownNow();
+    bufferPool.close();
+  }
+
+  @Test
+  public void testParallelScanOfQueryableIndex()
+  {
+    final StorageAdapter adapter = new QueryableIndexSegment(TestIndex.getMMappedTestIndex(), SegmentId.dummy("test"))
+        .asStorageAdapter();
+    assertParallelScanMatchesSerialScan(adapter, Granularities.ALL);
+    assertParallelScanMatchesSerialScan(adapter, Granularities.DAY);
+  }
+
+  @Test
+  public void testParallelScanOfIncrementalIndex()
+  {
+    final StorageAdapter adapter = new IncrementalIndexSegment(
+        TestIndex.getIncrementalTestIndex(),
+        SegmentId.dummy("test")
+    ).asStorageAdapter();
+    assertParallelScanMatchesSerialScan(adapter, Granularities.ALL);
+    assertParallelScanMatchesSerialScan(adapter, Granularities.DAY);
+  }
+
+  @Test
+  public void testParallelScanDisabledByContext()
+  {
+    final StorageAdapter adapter = new QueryableIndexSegment(TestIndex.getMMappedTestIndex(), SegmentId.dummy("test"))
+        .asStorageAdapter();
+    final TopNQuery query = makeQuery(Granularities.ALL)
+        .withOverriddenContext(ImmutableMap.of(TopNQueryConfig.CTX_KEY_MAX_PARALLEL_SCANS, 1));
+    Assert.assertEquals(
+        serialEngine.query(query, adapter, null).toList(),
+        parallelEngine.query(query, adapter, null).toList()
+    );
+  }
+
+  @Test
+  public void testParallelScanReportsMetricsOfAllRanges()
+  {
+    final StorageAdapter adapter = new QueryableIndexSegment(TestIndex.getMMappedTestIndex(), SegmentId.dummy("test"))
+        .asStorageAdapter();
+    final TopNQuery query = makeQuery(Granularities.ALL);
+    final RecordingTopNQueryMetrics serialMetrics = new RecordingTopNQueryMetrics();
+    final RecordingTopNQueryMetrics parallelMetrics = new RecordingTopNQueryMetrics();
+    serialEngine.query(query, adapter, serialMetrics).toList();
+    parallelEngine.query(query, adapter, parallelMetrics).toList();
+
+    Assert.assertEquals(serialMetrics.processedRows, parallelMetrics.processedRows);
+    Assert.assertEquals(0, parallelMetrics.numRunningScans);
+    // The scan of the first range, and the wait for the other ranges
+    Assert.assertEquals(2, parallelMetrics.numScans);
+  }
+
+  private void assertParallelScanMatchesSerialScan(StorageAdapter adapter, Granularity granularity)
+  {
+    final TopNQuery query = makeQuery(granularity);
+    final List<Result<TopNResultValue>> expected = serialEngine.query(query, adapter, null).toList();
+    final List<Result<TopNResultValue>> actual = parallelEngine.query(query, adapter, null).toList();
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected, actual);
+  }
+
+  private static TopNQuery makeQuery(Granularity granularity)
+  {
+    return new TopNQueryBuilder()
+        .dataSource(QueryRunnerTestHelper.dataSource)
+        .granularity(granularity)
+        .dimension(QueryRunnerTestHelper.qualityDimension)
+        .metric(QueryRunnerTestHelper.indexMetric)
+        .threshold(3)
+        .intervals(QueryRunnerTestHelper.fullOnIntervalSpec)
+        .aggregators(AGGREGATORS)
+        .build();
+  }
+
+  private static class RecordingTopNQueryMetrics extends DefaultTopNQueryMetrics
+  {
+    private final Thread ownerThread = Thread.currentThread();
+    private long processedRows = 0;
+    private int numRunningScans = 0;
+    private int numScans = 0;
+
+    RecordingTopNQueryMetrics()
+    {
+      super(new DefaultObjectMapper());
+    }
+
+    @Override
+    public TopNQueryMetrics addProcessedRows(long numRows)
+    {
+      checkOwnerThread();
+      processedRows += numRows;
+      return this;
+    }
+
+    @Override
+    public void startRecordingScanTime()
+    {
+      checkOwnerThread();
+      Assert.assertEquals(0, numRunningScans);
+      numRunningScans++;
+      numScans++;
+    }
+
+    @Override
+    public TopNQueryMetrics stopRecordingScanTime()
+    {
+      checkOwnerThread();
+      Assert.assertEquals(1, numRunningScans);
+      numRunningScans--;
+      return this;
+    }
+
+    private void checkOwnerThread()
+    {
+      Assert.assertSame(ownerThread, Thread.currentThread());
+    }
+  }
+}
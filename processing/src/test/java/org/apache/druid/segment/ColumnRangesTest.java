@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.data.input.MapBasedInputRow;
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.query.SchemaEvolutionTest;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.FloatSumAggregatorFactory;
+import org.apache.druid.query.aggregation.hyperloglog.HyperUniquesAggregatorFactory;
+import org.apache.druid.query.filter.BoundDimFilter;
+import org.apache.druid.query.filter.DimFilter;
+import org.apache.druid.query.filter.InDimFilter;
+import org.apache.druid.query.filter.SelectorDimFilter;
+import org.apache.druid.query.ordering.StringComparators;
+import org.apache.druid.segment.incremental.IncrementalIndexSchema;
+import org.apache.druid.timeline.partition.NumericColumnRange;
+import org.apache.druid.timeline.partition.StringColumnRange;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.List;
+
+public class ColumnRangesTest
+{
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  // c1 is a string, c2 nonexistent
+  private QueryableIndex index1 = null;
+
+  // c1 is a double, c2 is a string, "uniques" is uniques on c2
+  private QueryableIndex index2 = null;
+
+  // c1 nonexistent, c2 nonexistent
+  private QueryableIndex index3 = null;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    index1 = IndexBuilder.create()
+                         .tmpDir(temporaryFolder.newFolder())
+                         .schema(
+                             new IncrementalIndexSchema.Builder()
+                                 .withMetrics(new CountAggregatorFactory("cnt"))
+                                 .withRollup(false)
+                                 .build()
+                         )
+                         .rows(SchemaEvolutionTest.inputRowsWithDimensions(ImmutableList.of("c1")))
+                         .buildMMappedIndex();
+
+    index2 = IndexBuilder.create()
+                         .tmpDir(temporaryFolder.newFolder())
+                         .schema(
+                             new IncrementalIndexSchema.Builder()
+                                 .withMetrics(
+                                     new CountAggregatorFactory("cnt"),
+                                     new DoubleSumAggregatorFactory("c1", "c1"),
+                                     new HyperUniquesAggregatorFactory("uniques", "c2")
+                                 )
+                                 .withRollup(false)
+                                 .build()
+                         )
+                         .rows(SchemaEvolutionTest.inputRowsWithDimensions(ImmutableList.of("c2")))
+                         .buildMMappedIndex();
+
+    index3 = IndexBuilder.create()
+                         .tmpDir(temporaryFolder.newFolder())
+                         .schema(
+                             new IncrementalIndexSchema.Builder()
+                                 .withMetrics(new CountAggregatorFactory("cnt"))
+                                 .withRollup(false)
+                                 .build()
+                         )
+                         .rows(SchemaEvolutionTest.inputRowsWithDimensions(ImmutableList.of()))
+                         .buildMMappedIndex();
+  }
+
+  @After
+  public void tearDown()
+  {
+    index1.close();
+    index2.close();
+    index3.close();
+  }
+
+  @Test
+  public void testStringColumn() throws IOException
+  {
+    Assert.assertEquals(
+        ImmutableMap.of("c1", new StringColumnRange("1", "9")),
+        ColumnRanges.compute(ImmutableList.of(index1), ImmutableList.of("c1"))
+    );
+
+    // Some rows of c2 are null
+    Assert.assertEquals(
+        ImmutableMap.of("c2", new StringColumnRange(null, "c")),
+        ColumnRanges.compute(ImmutableList.of(index2), ImmutableList.of("c2"))
+    );
+
+    // Rows of index3 are null in c1
+    Assert.assertEquals(
+        ImmutableMap.of("c1", new StringColumnRange(null, "9")),
+        ColumnRanges.compute(ImmutableList.of(index1, index3), ImmutableList.of("c1"))
+    );
+  }
+
+  @Test
+  public void testNumericColumn() throws IOException
+  {
+    Assert.assertEquals(
+        ImmutableMap.of("c1", new NumericColumnRange(1, 10.1)),
+        ColumnRanges.compute(ImmutableList.of(index2), ImmutableList.of("c1"))
+    );
+
+    // Rows of index3 are null in c1, which is zero when not in SQL compatible mode
+    Assert.assertEquals(
+        ImmutableMap.of("c1", new NumericColumnRange(NullHandling.replaceWithDefault() ? 0 : 1, 10.1)),
+        ColumnRanges.compute(ImmutableList.of(index2, index3), ImmutableList.of("c1"))
+    );
+  }
+
+  @Test
+  public void testFloatColumnContainsFilterValuesOfStoredFloats() throws IOException
+  {
+    final QueryableIndex floatIndex = IndexBuilder
+        .create()
+        .tmpDir(temporaryFolder.newFolder())
+        .schema(
+            new IncrementalIndexSchema.Builder()
+                .withMetrics(new FloatSumAggregatorFactory("f", "f"))
+                .withRollup(false)
+                .build()
+        )
+        .rows(
+            ImmutableList.of(
+                new MapBasedInputRow(DateTimes.of("2000-01-01"), ImmutableList.of(), ImmutableMap.of("f", 0.1)),
+                new MapBasedInputRow(DateTimes.of("2000-01-02"), ImmutableList.of(), ImmutableMap.of("f", 1.1))
+            )
+        )
+        .buildMMappedIndex();
+    try {
+      final NumericColumnRange range = (NumericColumnRange) ColumnRanges
+          .compute(ImmutableList.of(floatIndex), ImmutableList.of("f"))
+          .get("f");
+
+      // (double) 0.1f > 0.1 and (double) 1.1f < 1.1, but the column matches both literals
+      final List<DimFilter> filters = ImmutableList.of(
+          new SelectorDimFilter("f", "0.1", null),
+          new SelectorDimFilter("f", "1.1", null),
+          new InDimFilter("f", ImmutableList.of("0.1", "5"), null),
+          new InDimFilter("f", ImmutableList.of("-5", "1.1"), null),
+          new BoundDimFilter("f", null, "0.1", false, false, null, null, StringComparators.NUMERIC),
+          new BoundDimFilter("f", "1.1", null, false, false, null, null, StringComparators.NUMERIC)
+      );
+      for (DimFilter filter : filters) {
+        Assert.assertTrue(filter.toString(), range.possibleInDomain(filter.getNumericRangeSet("f")));
+      }
+
+      Assert.assertFalse(range.possibleInDomain(new SelectorDimFilter("f", "1.2", null).getNumericRangeSet("f")));
+    }
+    finally {
+      floatIndex.close();
+    }
+  }
+
+  @Test
+  public void testColumnsWithoutRange() throws IOException
+  {
+    Assert.assertEquals(
+        ImmutableMap.of(),
+        ColumnRanges.compute(ImmutableList.of(index2, index3), ImmutableList.of("uniques", "nonexistent"))
+    );
+
+    // c1 has different types in index1 and index2
+    Assert.assertEquals(
+        ImmutableMap.of(),
+        ColumnRanges.compute(ImmutableList.of(index1, index2), ImmutableList.of("c1"))
+    );
+  }
+}
@@ -459,6 +459,80 @@ public class IndexMergerTestBase
     assertDimCompression(merged, indexSpec.getDimensionCompression());
   }
 
+  @Test
+  public void testMergeWithFrontCodedDictionary() throws Exception
+  {
+    final IndexSpec frontCodedIndexSpec = new IndexSpec(
+        indexSpec.getBitmapSerdeFactory(),
+        indexSpec.getDimensionCompression(),
+        indexSpec.getMetricCompression(),
+        indexSpec.getLongEncoding(),
+        null,
+        null,
+        null,
+        4
+    );
+
+    final List<QueryableIndex> indexes = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      final IncrementalIndex toPersist = IncrementalIndexTest.createIndex(null);
+      for (int j = 0; j < 50; j++) {
+        toPersist.add(
+            new MapBasedInputRow(
+                1,
+                Arrays.asList("dim1", "dim2"),
+                ImmutableMap.of(
+                    "dim1", "value" + j * (i + 1),
+                    "dim2", Arrays.asList("a" + j % 7, "b" + j)
+                )
+            )
+        );
+      }
+      indexes.add(
+          closer.closeLater(
+              indexIO.loadIndex(indexMerger.persist(toPersist, temporaryFolder.newFolder(), indexSpec, null))
+          )
+      );
+    }
+
+    final AggregatorFactory[] aggregators = {new CountAggregatorFactory("count")};
+    final File mergedDir = indexMerger.mergeQueryableIndex(
+        indexes,
+        true,
+        aggregators,
+        temporaryFolder.newFolder(),
+        indexSpec,
+        null
+    );
+    final File frontCodedMergedDir = indexMerger.mergeQueryableIndex(
+        indexes,
+        true,
+        aggregators,
+        temporaryFolder.newFolder(),
+        frontCodedIndexSpec,
+        null
+    );
+
+    indexIO.validateTwoSegments(mergedDir, frontCodedMergedDir);
+
+    final QueryableIndex merged = closer.closeLater(indexIO.loadIndex(mergedDir));
+    final QueryableIndex frontCodedMerged = closer.closeLater(indexIO.loadIndex(frontCodedMergedDir));
+    for (String dimension : Arrays.asList("dim1", "dim2")) {
+      final StringDictionaryEncodedColumn column =
+          (StringDictionaryEncodedColumn) merged.getColumnHolder(dimension).getColumn();
+      final StringDictionaryEncodedColumn frontCodedColumn =
+          (StringDictionaryEncodedColumn) frontCodedMerged.getColumnHolder(dimension).getColumn();
+      Assert.assertEquals(column.getCardinality(), frontCodedColumn.getCardinality());
+      for (int id = 0; id < column.getCardinality(); id++) {
+        final String value = column.lookupName(id);
+        Assert.assertEquals(value, frontCodedColumn.lookupName(id));
+        Assert.assertEquals(id, frontCodedColumn.lookupId(value));
+      }
+      Assert.assertEquals(column.lookupId("value0a"), frontCodedColumn.lookupId("value0a"));
+      Assert.assertEquals(column.lookupId("zzz"), frontCodedColumn.lookupId("zzz"));
+    }
+  }
+
   @Test
   public void testAppendRetainsValues() throws Exception
   {
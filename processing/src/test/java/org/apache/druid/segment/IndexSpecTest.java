@@ -20,6 +20,7 @@
 package org.apache.druid.segment;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
 import org.apache.druid.jackson.DefaultObjectMapper;
 import org.apache.druid.segment.data.CompressionFactory;
 import org.apache.druid.segment.data.CompressionStrategy;
@@ -57,6 +58,66 @@ public class IndexSpecTest
     Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
   }
 
+  @Test
+  public void testSerdeRangeSummaryColumns() throws Exception
+  {
+    final ObjectMapper objectMapper = new DefaultObjectMapper();
+    final String json = "{ \"rangeSummaryColumns\" : [\"dim1\", \"met1\"] }";
+
+    final IndexSpec spec = objectMapper.readValue(json, IndexSpec.class);
+
+    Assert.assertEquals(ImmutableList.of("dim1", "met1"), spec.getRangeSummaryColumns());
+    Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
+    Assert.assertNotEquals(new IndexSpec(), spec);
+  }
+
+  @Test
+  public void testSerdeNumericZoneMaps() throws Exception
+  {
+    final ObjectMapper objectMapper = new DefaultObjectMapper();
+    final String json = "{ \"numericZoneMaps\" : true }";
+
+    final IndexSpec spec = objectMapper.readValue(json, IndexSpec.class);
+
+    Assert.assertTrue(spec.isNumericZoneMaps());
+    Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
+    Assert.assertNotEquals(new IndexSpec(), spec);
+    Assert.assertFalse(objectMapper.writeValueAsString(new IndexSpec()).contains("numericZoneMaps"));
+  }
+
+  @Test
+  public void testSerdeBloomFilterColumns() throws Exception
+  {
+    final ObjectMapper objectMapper = new DefaultObjectMapper();
+    final String json = "{ \"bloomFilterColumns\" : [\"dim1\"] }";
+
+    final IndexSpec spec = objectMapper.readValue(json, IndexSpec.class);
+
+    Assert.assertEquals(ImmutableList.of("dim1"), spec.getBloomFilterColumns());
+    Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
+    Assert.assertNotEquals(new IndexSpec(), spec);
+  }
+
+  @Test
+  public void testSerdeFrontCodedDictionaryBucketSize() throws Exception
+  {
+    final ObjectMapper objectMapper = new DefaultObjectMapper();
+    final String json = "{ \"frontCodedDictionaryBucketSize\" : 16 }";
+
+    final IndexSpec spec = objectMapper.readValue(json, IndexSpec.class);
+
+    Assert.assertEquals(16, spec.getFrontCodedDictionaryBucketSize());
+    Assert.assertEquals(spec, objectMapper.readValue(objectMapper.writeValueAsBytes(spec), IndexSpec.class));
+    Assert.assertNotEquals(new IndexSpec(), spec);
+    Assert.assertFalse(objectMapper.writeValueAsString(new IndexSpec()).contains("frontCodedDictionaryBucketSize"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFrontCodedDictionaryBucketSizeMustBePowerOfTwo()
+  {
+    new IndexSpec(null, null, null, null, null, null, null, 10);
+  }
+
   @Test
   public void testDefaults()
   {
@@ -64,5 +125,9 @@ public class IndexSpecTest
     Assert.assertEquals(CompressionStrategy.LZ4, spec.getDimensionCompression());
     Assert.assertEquals(CompressionStrategy.LZ4, spec.getMetricCompression());
     Assert.assertEquals(CompressionFactory.LongEncodingStrategy.LONGS, spec.getLongEncoding());
+    Assert.assertEquals(ImmutableList.of(), spec.getRangeSummaryColumns());
+    Assert.assertFalse(spec.isNumericZoneMaps());
+    Assert.assertEquals(ImmutableList.of(), spec.getBloomFilterColumns());
+    Assert.assertEquals(0, spec.getFrontCodedDictionaryBucketSize());
   }
 }
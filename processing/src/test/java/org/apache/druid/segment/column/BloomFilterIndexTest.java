@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.column;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.data.input.InputRow;
+import org.apache.druid.data.input.MapBasedInputRow;
+import org.apache.druid.data.input.impl.DimensionsSpec;
+import org.apache.druid.data.input.impl.StringDimensionSchema;
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.java.util.common.StringUtils;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.query.aggregation.CountAggregatorFactory;
+import org.apache.druid.query.filter.Filter;
+import org.apache.druid.query.filter.SelectorDimFilter;
+import org.apache.druid.segment.ColumnSelectorBitmapIndexSelector;
+import org.apache.druid.segment.IndexBuilder;
+import org.apache.druid.segment.IndexSpec;
+import org.apache.druid.segment.QueryableIndex;
+import org.apache.druid.segment.QueryableIndexStorageAdapter;
+import org.apache.druid.segment.VirtualColumns;
+import org.apache.druid.segment.incremental.IncrementalIndexSchema;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BloomFilterIndexTest
+{
+  private static final int NUM_ROWS = 20000;
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private QueryableIndex index;
+  private ColumnSelectorBitmapIndexSelector selector;
+
+  @Before
+  public void setUp() throws IOException
+  {
+    final List<InputRow> rows = new ArrayList<>();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      final String id = id(i);
+      rows.add(
+          new MapBasedInputRow(
+              DateTimes.utc(i),
+              ImmutableList.of("id", "idNoBitmap", "other"),
+              ImmutableMap.of("id", id, "idNoBitmap", id, "other", id)
+          )
+      );
+    }
+    index = IndexBuilder.create()
+                        .tmpDir(temporaryFolder.newFolder())
+                        .schema(
+                            new IncrementalIndexSchema.Builder()
+                                .withDimensionsSpec(
+                                    new DimensionsSpec(
+                                        ImmutableList.of(
+                                            new StringDimensionSchema("id"),
+                                            new StringDimensionSchema("idNoBitmap", null, false),
+                                            new StringDimensionSchema("other")
+                                        ),
+                                        null,
+                                        null
+                                    )
+                                )
+                                .withMetrics(new CountAggregatorFactory("cnt"))
+                                .withRollup(false)
+                                .build()
+                        )
+                        .indexSpec(new IndexSpec(null, null, null, null, null, null, ImmutableList.of("id", "idNoBitmap"), null))
+                        .rows(rows)
+                        .buildMMappedIndex();
+    selector = new ColumnSelectorBitmapIndexSelector(
+        index.getBitmapFactoryForDimensions(),
+        VirtualColumns.EMPTY,
+        index
+    );
+  }
+
+  @Test
+  public void testMightContain()
+  {
+    Assert.assertNull(index.getColumnHolder("other").getBloomFilterIndex());
+
+    for (String column : ImmutableList.of("id", "idNoBitmap")) {
+      final BloomFilterIndex bloomFilterIndex = index.getColumnHolder(column).getBloomFilterIndex();
+      Assert.assertNotNull(column, bloomFilterIndex);
+      Assert.assertEquals(BloomFilterIndex.DEFAULT_ROWS_PER_BLOCK, bloomFilterIndex.getRowsPerBlock());
+      Assert.assertEquals(NUM_ROWS, bloomFilterIndex.getNumRows());
+
+      for (int i = 0; i < NUM_ROWS; i++) {
+        Assert.assertTrue(bloomFilterIndex.mightContain(id(i)));
+      }
+      Assert.assertTrue(bloomFilterIndex.mightContain(null));
+
+      int falsePositives = 0;
+      for (int i = NUM_ROWS; i < 2 * NUM_ROWS; i++) {
+        if (bloomFilterIndex.mightContain(id(i))) {
+          falsePositives++;
+        }
+      }
+      Assert.assertTrue(StringUtils.format("falsePositives[%d]", falsePositives), falsePositives < NUM_ROWS / 50);
+    }
+  }
+
+  @Test
+  public void testGetCandidateRows()
+  {
+    final BloomFilterIndex bloomFilterIndex = index.getColumnHolder("idNoBitmap").getBloomFilterIndex();
+
+    final ImmutableBitmap candidateRows = bloomFilterIndex.getCandidateRows(id(10000), selector.getBitmapFactory());
+    Assert.assertTrue(candidateRows.get(10000));
+    Assert.assertTrue(candidateRows.size() < NUM_ROWS);
+    Assert.assertNull(bloomFilterIndex.getCandidateRows(null, selector.getBitmapFactory()));
+  }
+
+  @Test
+  public void testSelectorFilter()
+  {
+    for (String column : ImmutableList.of("id", "idNoBitmap", "other")) {
+      Assert.assertEquals(column, 1, countRows(new SelectorDimFilter(column, id(123), null).toFilter()));
+      Assert.assertEquals(column, 1, countRows(new SelectorDimFilter(column, id(12345), null).toFilter()));
+      Assert.assertEquals(column, 0, countRows(new SelectorDimFilter(column, "absent", null).toFilter()));
+    }
+
+    Assert.assertNull(new SelectorDimFilter("other", id(123), null).toFilter().getCandidateBitmap(selector));
+    Assert.assertNotNull(new SelectorDimFilter("idNoBitmap", id(123), null).toFilter().getCandidateBitmap(selector));
+  }
+
+  private static String id(int i)
+  {
+    return StringUtils.format("id-%08d", i);
+  }
+
+  private int countRows(Filter filter)
+  {
+    return new QueryableIndexStorageAdapter(index)
+        .makeCursors(filter, Intervals.ETERNITY, VirtualColumns.EMPTY, Granularities.ALL, false, null)
+        .accumulate(
+            0,
+            (count, cursor) -> {
+              int rows = count;
+              for (; !cursor.isDone(); cursor.advance()) {
+                rows++;
+              }
+              return rows;
+            }
+        );
+  }
+}
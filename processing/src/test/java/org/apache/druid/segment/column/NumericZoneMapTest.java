@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.column;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
+import org.apache.druid.collections.bitmap.BitmapFactory;
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.collections.bitmap.RoaringBitmapFactory;
+import org.apache.druid.data.input.InputRow;
+import org.apache.druid.data.input.MapBasedInputRow;
+import org.apache.druid.data.input.impl.DimensionsSpec;
+import org.apache.druid.data.input.impl.LongDimensionSchema;
+import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.java.util.common.granularity.Granularities;
+import org.apache.druid.query.aggregation.DoubleSumAggregatorFactory;
+import org.apache.druid.query.aggregation.LongSumAggregatorFactory;
+import org.apache.druid.query.filter.BoundDimFilter;
+import org.apache.druid.query.filter.Filter;
+import org.apache.druid.query.ordering.StringComparators;
+import org.apache.druid.segment.ColumnSelectorBitmapIndexSelector;
+import org.apache.druid.segment.IndexBuilder;
+import org.apache.druid.segment.IndexSpec;
+import org.apache.druid.segment.QueryableIndex;
+import org.apache.druid.segment.QueryableIndexStorageAdapter;
+import org.apache.druid.segment.VirtualColumns;
+import org.apache.druid.segment.incremental.IncrementalIndexSchema;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.roaringbitmap.IntIterator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NumericZoneMapTest
+{
+  private static final int NUM_ROWS = 20000;
+
+  @Rule
+  public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final BitmapFactory bitmapFactory = new RoaringBitmapFactory();
+
+  @Test
+  public void testSerde()
+  {
+    final NumericZoneMap zoneMap = new NumericZoneMap(
+        4,
+        10,
+        new double[]{0, 10, Double.NEGATIVE_INFINITY},
+        new double[]{3, 20, Double.POSITIVE_INFINITY},
+        new int[]{0, 1, 2}
+    );
+    final ByteBuffer buffer = ByteBuffer.allocate((int) NumericZoneMap.getSerializedSize(3) + 1);
+    buffer.put((byte) 0x7f);
+    zoneMap.writeTo(buffer, ByteOrder.LITTLE_ENDIAN);
+    Assert.assertFalse(buffer.hasRemaining());
+
+    buffer.position(1);
+    final NumericZoneMap read = NumericZoneMap.read(buffer, ByteOrder.LITTLE_ENDIAN);
+    Assert.assertFalse(buffer.hasRemaining());
+    Assert.assertEquals(4, read.getRowsPerZone());
+    Assert.assertEquals(10, read.getNumRows());
+    Assert.assertEquals(3, read.getNumZones());
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(zoneMap.getMin(i), read.getMin(i), 0);
+      Assert.assertEquals(zoneMap.getMax(i), read.getMax(i), 0);
+      Assert.assertEquals(zoneMap.getNullCount(i), read.getNullCount(i));
+    }
+  }
+
+  @Test
+  public void testGetCandidateRows()
+  {
+    // Zone 2 only holds nulls, zone 3 is the last partial zone
+    final NumericZoneMap zoneMap = new NumericZoneMap(
+        4,
+        14,
+        new double[]{0, 10, Double.POSITIVE_INFINITY, 5},
+        new double[]{3, 20, Double.NEGATIVE_INFINITY, 5},
+        new int[]{0, 1, 4, 0}
+    );
+
+    Assert.assertEquals(
+        ImmutableList.of(4, 5, 6, 7),
+        toList(zoneMap.getCandidateRows(ImmutableRangeSet.of(Range.closed(15.0, 30.0)), false, bitmapFactory))
+    );
+    Assert.assertEquals(
+        ImmutableList.of(0, 1, 2, 3, 12, 13),
+        toList(zoneMap.getCandidateRows(ImmutableRangeSet.of(Range.closed(3.0, 5.0)), false, bitmapFactory))
+    );
+    Assert.assertEquals(
+        ImmutableList.of(4, 5, 6, 7, 8, 9, 10, 11),
+        toList(zoneMap.getCandidateRows(ImmutableRangeSet.of(Range.closed(100.0, 200.0)), true, bitmapFactory))
+    );
+    Assert.assertEquals(
+        ImmutableList.of(),
+        toList(zoneMap.getCandidateRows(ImmutableRangeSet.of(Range.closed(100.0, 200.0)), false, bitmapFactory))
+    );
+    Assert.assertNull(zoneMap.getCandidateRows(ImmutableRangeSet.of(Range.all()), true, bitmapFactory));
+  }
+
+  @Test
+  public void testZoneMapsWritten() throws IOException
+  {
+    final QueryableIndex index = buildIndex(true);
+
+    for (String column : ImmutableList.of("l", "lm", "dm")) {
+      final NumericZoneMap zoneMap = index.getColumnHolder(column).getNumericZoneMap();
+      Assert.assertNotNull(column, zoneMap);
+      Assert.assertEquals(NumericZoneMap.DEFAULT_ROWS_PER_ZONE, zoneMap.getRowsPerZone());
+      Assert.assertEquals(NUM_ROWS, zoneMap.getNumRows());
+      Assert.assertEquals(3, zoneMap.getNumZones());
+      Assert.assertEquals(0, zoneMap.getMin(0), 0);
+      Assert.assertEquals(8191, zoneMap.getMax(0), 0);
+      Assert.assertEquals(16384, zoneMap.getMin(2), 0);
+      Assert.assertEquals(NUM_ROWS - 1, zoneMap.getMax(2), 0);
+    }
+    Assert.assertNull(index.getColumnHolder(ColumnHolder.TIME_COLUMN_NAME).getNumericZoneMap());
+    Assert.assertNull(buildIndex(false).getColumnHolder("l").getNumericZoneMap());
+  }
+
+  @Test
+  public void testBoundFilterSkipsZones() throws IOException
+  {
+    final QueryableIndex index = buildIndex(true);
+    final ColumnSelectorBitmapIndexSelector selector = new ColumnSelectorBitmapIndexSelector(
+        index.getBitmapFactoryForDimensions(),
+        VirtualColumns.EMPTY,
+        index
+    );
+
+    for (String column : ImmutableList.of("l", "lm", "dm")) {
+      final Filter filter = numericBound(column, "10000", "10010").toFilter();
+      Assert.assertEquals(8192, filter.getCandidateBitmap(selector).size());
+      Assert.assertEquals(11, countRows(index, filter));
+
+      final Filter spanningFilter = numericBound(column, "8000", "8200").toFilter();
+      Assert.assertEquals(16384, spanningFilter.getCandidateBitmap(selector).size());
+      Assert.assertEquals(201, countRows(index, spanningFilter));
+
+      Assert.assertEquals(0, countRows(index, numericBound(column, "-10", "-1").toFilter()));
+    }
+
+    Assert.assertNull(
+        new BoundDimFilter("l", "10000", "10010", false, false, null, null, StringComparators.LEXICOGRAPHIC)
+            .toFilter()
+            .getCandidateBitmap(selector)
+    );
+  }
+
+  private QueryableIndex buildIndex(boolean numericZoneMaps) throws IOException
+  {
+    final List<InputRow> rows = new ArrayList<>();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      rows.add(new MapBasedInputRow(DateTimes.utc(i), ImmutableList.of("l"), ImmutableMap.of("l", i)));
+    }
+    return IndexBuilder.create()
+                       .tmpDir(temporaryFolder.newFolder())
+                       .schema(
+                           new IncrementalIndexSchema.Builder()
+                               .withDimensionsSpec(
+                                   new DimensionsSpec(ImmutableList.of(new LongDimensionSchema("l")), null, null)
+                               )
+                               .withMetrics(
+                                   new LongSumAggregatorFactory("lm", "l"),
+                                   new DoubleSumAggregatorFactory("dm", "l")
+                               )
+                               .withRollup(false)
+                               .build()
+                       )
+                       .indexSpec(new IndexSpec(null, null, null, null, null, numericZoneMaps, null, null))
+                       .rows(rows)
+                       .buildMMappedIndex();
+  }
+
+  private static BoundDimFilter numericBound(String column, String lower, String upper)
+  {
+    return new BoundDimFilter(column, lower, upper, false, false, null, null, StringComparators.NUMERIC);
+  }
+
+  private static int countRows(QueryableIndex index, Filter filter)
+  {
+    return new QueryableIndexStorageAdapter(index)
+        .makeCursors(filter, Intervals.ETERNITY, VirtualColumns.EMPTY, Granularities.ALL, false, null)
+        .accumulate(
+            0,
+            (count, cursor) -> {
+              int rows = count;
+              for (; !cursor.isDone(); cursor.advance()) {
+                rows++;
+              }
+              return rows;
+            }
+        );
+  }
+
+  private static List<Integer> toList(ImmutableBitmap bitmap)
+  {
+    final List<Integer> rows = new ArrayList<>();
+    final IntIterator iterator = bitmap.iterator();
+    while (iterator.hasNext()) {
+      rows.add(iterator.next());
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.data;
+
+import org.apache.druid.common.config.NullHandling;
+import org.apache.druid.java.util.common.guava.Comparators;
+import org.apache.druid.segment.writeout.OnHeapMemorySegmentWriteOutMedium;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+@RunWith(Parameterized.class)
+public class FrontCodedIndexedTest
+{
+  @Parameterized.Parameters(name = "bucketSize={0}, withNull={1}")
+  public static Collection<Object[]> constructorFeeder()
+  {
+    final List<Object[]> constructors = new ArrayList<>();
+    for (int bucketSize : new int[]{1, 4, 16, 128}) {
+      for (boolean withNull : new boolean[]{true, false}) {
+        constructors.add(new Object[]{bucketSize, withNull});
+      }
+    }
+    return constructors;
+  }
+
+  // Code points of different UTF-8 lengths, including characters above U+FFFF and between U+E000 and U+FFFF, which
+  // sort differently in UTF-8 and UTF-16 order.
+  private static final int[] CODE_POINTS = {'a', 'b', 'z', 0xE9, 0x4E2D, 0xE000, 0xFF5E, 0x1F600, 0x10400};
+
+  private final int bucketSize;
+  private final boolean withNull;
+
+  public FrontCodedIndexedTest(int bucketSize, boolean withNull)
+  {
+    this.bucketSize = bucketSize;
+    this.withNull = withNull;
+  }
+
+  @Test
+  public void testGetAndIndexOf() throws IOException
+  {
+    final Random random = new Random(bucketSize);
+    final TreeSet<String> values = new TreeSet<>();
+    while (values.size() < 5000) {
+      values.add(randomString(random));
+    }
+    final List<String> dictionary = new ArrayList<>();
+    if (withNull) {
+      dictionary.add(null);
+    }
+    dictionary.addAll(values);
+
+    final FrontCodedIndexed indexed = writeAndRead(dictionary);
+
+    Assert.assertEquals(dictionary.size(), indexed.size());
+    for (int i = 0; i < dictionary.size(); i++) {
+      Assert.assertEquals(dictionary.get(i), indexed.get(i));
+      Assert.assertEquals(i, indexed.indexOf(dictionary.get(i)));
+    }
+    Assert.assertEquals(dictionary, toList(indexed));
+
+    for (int i = 0; i < 5000; i++) {
+      final String probe = randomString(random);
+      Assert.assertEquals(
+          probe,
+          Collections.binarySearch(dictionary, probe, Comparators.naturalNullsFirst()),
+          indexed.indexOf(probe)
+      );
+    }
+  }
+
+  @Test
+  public void testNullAndEmpty() throws IOException
+  {
+    final List<String> nullOnly = withNull ? Collections.singletonList(null) : Collections.emptyList();
+    final FrontCodedIndexed withoutValues = writeAndRead(nullOnly);
+    Assert.assertEquals(withNull ? 1 : 0, withoutValues.size());
+    Assert.assertEquals(withNull ? 0 : -1, withoutValues.indexOf(null));
+    Assert.assertEquals(withNull ? -2 : -1, withoutValues.indexOf("a"));
+
+    final List<String> dictionary = new ArrayList<>();
+    if (withNull) {
+      dictionary.add(null);
+    }
+    if (!NullHandling.replaceWithDefault()) {
+      dictionary.add("");
+    }
+    dictionary.addAll(Arrays.asList("a", "aa", "aab", "b"));
+    final FrontCodedIndexed indexed = writeAndRead(dictionary);
+    Assert.assertEquals(dictionary, toList(indexed));
+    Assert.assertEquals(dictionary.indexOf("aab"), indexed.indexOf("aab"));
+    Assert.assertEquals(-(dictionary.indexOf("b") + 1), indexed.indexOf("aac"));
+    Assert.assertEquals(-(dictionary.size() + 1), indexed.indexOf("c"));
+  }
+
+  private FrontCodedIndexed writeAndRead(List<String> values) throws IOException
+  {
+    final FrontCodedIndexedWriter writer = new FrontCodedIndexedWriter(
+        new OnHeapMemorySegmentWriteOutMedium(),
+        bucketSize
+    );
+    writer.open();
+    for (String value : values) {
+      writer.write(value);
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeTo(Channels.newChannel(out), null);
+    Assert.assertEquals(writer.getSerializedSize(), out.size());
+
+    final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+    final FrontCodedIndexed indexed = FrontCodedIndexed.read(buffer);
+    Assert.assertFalse(buffer.hasRemaining());
+    return indexed;
+  }
+
+  private static List<String> toList(Indexed<String> indexed)
+  {
+    final List<String> list = new ArrayList<>();
+    indexed.forEach(list::add);
+    return list;
+  }
+
+  private static String randomString(Random random)
+  {
+    final StringBuilder builder = new StringBuilder();
+    final int length = 1 + random.nextInt(6);
+    for (int i = 0; i < length; i++) {
+      builder.appendCodePoint(CODE_POINTS[random.nextInt(CODE_POINTS.length)]);
+    }
+    return builder.toString();
+  }
+}
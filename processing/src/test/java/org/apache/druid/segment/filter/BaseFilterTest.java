@@ -54,7 +54,6 @@ import org.apache.druid.segment.QueryableIndexStorageAdapter;
 import org.apache.druid.segment.StorageAdapter;
 import org.apache.druid.segment.VirtualColumns;
 import org.apache.druid.segment.column.ValueType;
-import org.apache.druid.segment.data.BitmapSerdeFactory;
 import org.apache.druid.segment.data.ConciseBitmapSerdeFactory;
 import org.apache.druid.segment.data.IndexedInts;
 import org.apache.druid.segment.data.RoaringBitmapSerdeFactory;
@@ -168,9 +167,10 @@ public abstract class BaseFilterTest
   {
     final List<Object[]> constructors = new ArrayList<>();
 
-    final Map<String, BitmapSerdeFactory> bitmapSerdeFactories = ImmutableMap.of(
-        "concise", new ConciseBitmapSerdeFactory(),
-        "roaring", new RoaringBitmapSerdeFactory(true)
+    final Map<String, IndexSpec> indexSpecs = ImmutableMap.of(
+        "concise", new IndexSpec(new ConciseBitmapSerdeFactory(), null, null, null),
+        "roaring", new IndexSpec(new RoaringBitmapSerdeFactory(true), null, null, null),
+        "roaring, frontCoded", new IndexSpec(new RoaringBitmapSerdeFactory(true), null, null, null, null, null, null, 4)
     );
 
     final Map<String, SegmentWriteOutMediumFactory> segmentWriteOutMediumFactories = ImmutableMap.of(
@@ -196,7 +196,7 @@ public abstract class BaseFilterTest
         }
     );
 
-    for (Map.Entry<String, BitmapSerdeFactory> bitmapSerdeFactoryEntry : bitmapSerdeFactories.entrySet()) {
+    for (Map.Entry<String, IndexSpec> indexSpecEntry : indexSpecs.entrySet()) {
       for (Map.Entry<String, SegmentWriteOutMediumFactory> segmentWriteOutMediumFactoryEntry :
           segmentWriteOutMediumFactories.entrySet()) {
         for (Map.Entry<String, Function<IndexBuilder, Pair<StorageAdapter, Closeable>>> finisherEntry :
@@ -204,15 +204,15 @@ public abstract class BaseFilterTest
           for (boolean cnf : ImmutableList.of(false, true)) {
             for (boolean optimize : ImmutableList.of(false, true)) {
               final String testName = StringUtils.format(
-                  "bitmaps[%s], indexMerger[%s], finisher[%s], optimize[%s]",
-                  bitmapSerdeFactoryEntry.getKey(),
+                  "indexSpec[%s], indexMerger[%s], finisher[%s], optimize[%s]",
+                  indexSpecEntry.getKey(),
                   segmentWriteOutMediumFactoryEntry.getKey(),
                   finisherEntry.getKey(),
                   optimize
               );
               final IndexBuilder indexBuilder = IndexBuilder
                   .create()
-                  .indexSpec(new IndexSpec(bitmapSerdeFactoryEntry.getValue(), null, null, null))
+                  .indexSpec(indexSpecEntry.getValue())
                   .segmentWriteOutMediumFactory(segmentWriteOutMediumFactoryEntry.getValue());
 
               constructors.add(new Object[]{testName, indexBuilder, finisherEntry.getValue(), cnf, optimize});
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.serde;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.druid.collections.bitmap.ImmutableBitmap;
+import org.apache.druid.query.filter.Utf8Predicates;
+import org.apache.druid.segment.column.BitmapIndex;
+import org.apache.druid.segment.data.GenericIndexed;
+import org.apache.druid.segment.data.RoaringBitmapSerdeFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.roaringbitmap.IntIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BitmapIndexColumnPartSupplierTest
+{
+  private static final List<String> DICTIONARY = ImmutableList.of("apple", "banana", "cherry", "pineapple");
+
+  @Test
+  public void testMatchValuesUtf8()
+  {
+    final BitmapIndex bitmapIndex = makeBitmapIndex(0);
+    final ImmutableBitmap matches = bitmapIndex.matchValues(
+        s -> s != null && s.contains("apple"),
+        Utf8Predicates.contains("apple"),
+        null
+    );
+    Assert.assertNotNull(matches);
+    Assert.assertEquals(ImmutableList.of(0, 3), toList(matches));
+  }
+
+  @Test
+  public void testMatchValuesCached()
+  {
+    final BitmapIndex bitmapIndex = makeBitmapIndex(1);
+    final AtomicInteger evaluations = new AtomicInteger();
+    final byte[] cacheKey = new byte[]{1};
+
+    for (int i = 0; i < 2; i++) {
+      final ImmutableBitmap matches = bitmapIndex.matchValues(
+          s -> {
+            evaluations.incrementAndGet();
+            return s != null && s.startsWith("b");
+          },
+          null,
+          cacheKey.clone()
+      );
+      Assert.assertEquals(ImmutableList.of(1), toList(matches));
+    }
+    Assert.assertEquals(DICTIONARY.size(), evaluations.get());
+
+    // Evicts the first entry, since the cache holds a single one.
+    bitmapIndex.matchValues(s -> false, null, new byte[]{2});
+    bitmapIndex.matchValues(
+        s -> {
+          evaluations.incrementAndGet();
+          return false;
+        },
+        null,
+        cacheKey
+    );
+    Assert.assertEquals(2 * DICTIONARY.size(), evaluations.get());
+  }
+
+  @Test
+  public void testMatchValuesNotCachedWithoutKey()
+  {
+    final BitmapIndex bitmapIndex = makeBitmapIndex(10);
+    Assert.assertEquals(ImmutableList.of(2), toList(bitmapIndex.matchValues("cherry"::equals, null, null)));
+    Assert.assertEquals(ImmutableList.of(), toList(bitmapIndex.matchValues(s -> false, null, null)));
+  }
+
+  private static BitmapIndex makeBitmapIndex(int matchCacheSize)
+  {
+    final RoaringBitmapSerdeFactory serdeFactory = new RoaringBitmapSerdeFactory(null);
+    // matchValues only reads the dictionary, so the bitmaps of the values are left out.
+    return new BitmapIndexColumnPartSupplier(
+        serdeFactory.getBitmapFactory(),
+        GenericIndexed.fromIterable(Collections.emptyList(), serdeFactory.getObjectStrategy()),
+        GenericIndexed.fromIterable(DICTIONARY, GenericIndexed.STRING_STRATEGY),
+        matchCacheSize
+    ).get();
+  }
+
+  private static List<Integer> toList(ImmutableBitmap bitmap)
+  {
+    final List<Integer> list = new ArrayList<>();
+    final IntIterator iterator = bitmap.iterator();
+    while (iterator.hasNext()) {
+      list.add(iterator.next());
+    }
+    return list;
+  }
+}
@@ -22,7 +22,9 @@ package org.apache.druid.client;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import org.apache.druid.client.selector.QueryableDruidServer;
 import org.apache.druid.client.selector.ServerSelector;
@@ -47,9 +49,13 @@ import org.apache.druid.timeline.VersionedIntervalTimeline;
 import org.apache.druid.timeline.partition.PartitionChunk;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
@@ -136,14 +142,30 @@ public class BrokerServerView implements TimelineServerView
           @Override
           public ServerView.CallbackAction segmentAdded(DruidServerMetadata server, DataSegment segment)
           {
-            serverAddedSegment(server, segment);
+            serverAddedSegments(server, Collections.singletonList(segment));
             return ServerView.CallbackAction.CONTINUE;
           }
 
           @Override
           public ServerView.CallbackAction segmentRemoved(final DruidServerMetadata server, DataSegment segment)
           {
-            serverRemovedSegment(server, segment);
+            serverRemovedSegments(server, Collections.singletonList(segment));
+            return ServerView.CallbackAction.CONTINUE;
+          }
+
+          @Override
+          public ServerView.CallbackAction segmentsChanged(
+              DruidServerMetadata server,
+              Collection<DataSegment> added,
+              Collection<DataSegment> removed
+          )
+          {
+            if (!added.isEmpty()) {
+              serverAddedSegments(server, added);
+            }
+            if (!removed.isEmpty()) {
+              serverRemovedSegments(server, removed);
+            }
             return ServerView.CallbackAction.CONTINUE;
           }
 
@@ -219,84 +241,123 @@ public class BrokerServerView implements TimelineServerView
 
   private QueryableDruidServer removeServer(DruidServer server)
   {
-    for (DataSegment segment : server.iterateAllSegments()) {
-      serverRemovedSegment(server.getMetadata(), segment);
-    }
+    serverRemovedSegments(server.getMetadata(), Lists.newArrayList(server.iterateAllSegments()));
     return clients.remove(server.getName());
   }
 
-  private void serverAddedSegment(final DruidServerMetadata server, final DataSegment segment)
+  /**
+   * Adds a batch of segments served by one server. New segments are added to the timelines with one
+   * {@link VersionedIntervalTimeline#addAll} call per dataSource, after the server has been associated with them.
+   */
+  private void serverAddedSegments(final DruidServerMetadata server, final Collection<DataSegment> segments)
   {
-    SegmentId segmentId = segment.getId();
     synchronized (lock) {
-      log.debug("Adding segment[%s] for server[%s]", segment, server);
+      QueryableDruidServer queryableDruidServer = clients.get(server.getName());
+      if (queryableDruidServer == null) {
+        queryableDruidServer = addServer(baseView.getInventoryValue(server.getName()));
+      }
 
-      ServerSelector selector = selectors.get(segmentId);
-      if (selector == null) {
-        selector = new ServerSelector(segment, tierSelectorStrategy);
+      final Map<String, List<PartitionChunk<ServerSelector>>> newChunks = new HashMap<>();
+      for (DataSegment segment : segments) {
+        log.debug("Adding segment[%s] for server[%s]", segment, server);
 
-        VersionedIntervalTimeline<String, ServerSelector> timeline = timelines.get(segment.getDataSource());
-        if (timeline == null) {
-          timeline = new VersionedIntervalTimeline<>(Ordering.natural());
-          timelines.put(segment.getDataSource(), timeline);
+        ServerSelector selector = selectors.get(segment.getId());
+        if (selector == null) {
+          selector = new ServerSelector(segment, tierSelectorStrategy);
+          newChunks.computeIfAbsent(segment.getDataSource(), dataSource -> new ArrayList<>())
+                   .add(segment.getShardSpec().createChunk(selector));
+          selectors.put(segment.getId(), selector);
         }
-
-        timeline.add(segment.getInterval(), segment.getVersion(), segment.getShardSpec().createChunk(selector));
-        selectors.put(segmentId, selector);
+        selector.addServerAndUpdateSegment(queryableDruidServer, segment);
       }
 
-      QueryableDruidServer queryableDruidServer = clients.get(server.getName());
-      if (queryableDruidServer == null) {
-        queryableDruidServer = addServer(baseView.getInventoryValue(server.getName()));
+      for (Map.Entry<String, List<PartitionChunk<ServerSelector>>> entry : newChunks.entrySet()) {
+        final VersionedIntervalTimeline<String, ServerSelector> timeline = timelines.computeIfAbsent(
+            entry.getKey(),
+            dataSource -> new VersionedIntervalTimeline<>(Ordering.natural())
+        );
+        timeline.addAll(
+            entry.getValue().iterator(),
+            selector -> selector.getSegment().getInterval(),
+            selector -> selector.getSegment().getVersion()
+        );
       }
-      selector.addServerAndUpdateSegment(queryableDruidServer, segment);
-      runTimelineCallbacks(callback -> callback.segmentAdded(server, segment));
+
+      runTimelineCallbacks(callback -> callback.segmentsAdded(server, segments));
     }
   }
 
-  private void serverRemovedSegment(DruidServerMetadata server, DataSegment segment)
+  /**
+   * Removes a batch of segments from one server. Segments which are not served by any server anymore are removed
+   * from the timelines with one {@link VersionedIntervalTimeline#removeAll} call per dataSource.
+   */
+  private void serverRemovedSegments(final DruidServerMetadata server, final Collection<DataSegment> segments)
   {
-    SegmentId segmentId = segment.getId();
-    final ServerSelector selector;
-
     synchronized (lock) {
-      log.debug("Removing segment[%s] from server[%s].", segmentId, server);
+      final QueryableDruidServer queryableDruidServer = clients.get(server.getName());
+      final List<DataSegment> removedFromServer = new ArrayList<>();
+      final Map<String, List<PartitionChunk<ServerSelector>>> emptyChunks = new HashMap<>();
+
+      for (DataSegment segment : segments) {
+        SegmentId segmentId = segment.getId();
+        log.debug("Removing segment[%s] from server[%s].", segmentId, server);
+
+        final ServerSelector selector = selectors.get(segmentId);
+        if (selector == null) {
+          log.warn("Told to remove non-existant segment[%s]", segmentId);
+          continue;
+        }
 
-      selector = selectors.get(segmentId);
-      if (selector == null) {
-        log.warn("Told to remove non-existant segment[%s]", segmentId);
-        return;
-      }
+        if (!selector.removeServer(queryableDruidServer)) {
+          log.warn(
+              "Asked to disassociate non-existant association between server[%s] and segment[%s]",
+              server,
+              segmentId
+          );
+        } else {
+          removedFromServer.add(segment);
+        }
 
-      QueryableDruidServer queryableDruidServer = clients.get(server.getName());
-      if (!selector.removeServer(queryableDruidServer)) {
-        log.warn(
-            "Asked to disassociate non-existant association between server[%s] and segment[%s]",
-            server,
-            segmentId
-        );
-      } else {
-        runTimelineCallbacks(callback -> callback.serverSegmentRemoved(server, segment));
+        if (selector.isEmpty()) {
+          selectors.remove(segmentId);
+          emptyChunks.computeIfAbsent(segment.getDataSource(), dataSource -> new ArrayList<>())
+                     .add(segment.getShardSpec().createChunk(selector));
+        }
       }
 
-      if (selector.isEmpty()) {
-        VersionedIntervalTimeline<String, ServerSelector> timeline = timelines.get(segment.getDataSource());
-        selectors.remove(segmentId);
+      if (!removedFromServer.isEmpty()) {
+        runTimelineCallbacks(callback -> callback.serverSegmentsRemoved(server, removedFromServer));
+      }
 
-        final PartitionChunk<ServerSelector> removedPartition = timeline.remove(
-            segment.getInterval(), segment.getVersion(), segment.getShardSpec().createChunk(selector)
-        );
+      final List<DataSegment> removedFromTimeline = new ArrayList<>();
+      for (Map.Entry<String, List<PartitionChunk<ServerSelector>>> entry : emptyChunks.entrySet()) {
+        final VersionedIntervalTimeline<String, ServerSelector> timeline = timelines.get(entry.getKey());
+        final Set<ServerSelector> removedSelectors = Sets.newIdentityHashSet();
+        for (PartitionChunk<ServerSelector> removedPartition : timeline.removeAll(
+            entry.getValue().iterator(),
+            selector -> selector.getSegment().getInterval(),
+            selector -> selector.getSegment().getVersion()
+        )) {
+          removedSelectors.add(removedPartition.getObject());
+        }
 
-        if (removedPartition == null) {
-          log.warn(
-              "Asked to remove timeline entry[interval: %s, version: %s] that doesn't exist",
-              segment.getInterval(),
-              segment.getVersion()
-          );
-        } else {
-          runTimelineCallbacks(callback -> callback.segmentRemoved(segment));
+        for (PartitionChunk<ServerSelector> chunk : entry.getValue()) {
+          final DataSegment segment = chunk.getObject().getSegment();
+          if (removedSelectors.contains(chunk.getObject())) {
+            removedFromTimeline.add(segment);
+          } else {
+            log.warn(
+                "Asked to remove timeline entry[interval: %s, version: %s] that doesn't exist",
+                segment.getInterval(),
+                segment.getVersion()
+            );
+          }
         }
       }
+
+      if (!removedFromTimeline.isEmpty()) {
+        runTimelineCallbacks(callback -> callback.segmentsRemoved(removedFromTimeline));
+      }
     }
   }
 
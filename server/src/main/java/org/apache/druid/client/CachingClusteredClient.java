@@ -300,7 +300,8 @@ public class CachingClusteredClient implements QuerySegmentWalker
 
       final Set<ServerToSegment> segments = new LinkedHashSet<>();
       final Map<String, Optional<RangeSet<String>>> dimensionRangeCache = new HashMap<>();
-      // Filter unneeded chunks based on partition dimension
+      final Map<String, Optional<RangeSet<Double>>> numericRangeCache = new HashMap<>();
+      // Filter unneeded chunks based on partition dimension and column ranges recorded at ingestion
       for (TimelineObjectHolder<String, ServerSelector> holder : serversLookup) {
         final Set<PartitionChunk<ServerSelector>> filteredChunks = DimFilterUtils.filterShards(
             query.getFilter(),
@@ -310,6 +311,14 @@ public class CachingClusteredClient implements QuerySegmentWalker
         );
         for (PartitionChunk<ServerSelector> chunk : filteredChunks) {
           ServerSelector server = chunk.getObject();
+          if (!DimFilterUtils.possibleInColumnRanges(
+              query.getFilter(),
+              server.getSegment().getColumnRanges(),
+              dimensionRangeCache,
+              numericRangeCache
+          )) {
+            continue;
+          }
           final SegmentDescriptor segment = new SegmentDescriptor(
               holder.getInterval(),
               holder.getVersion(),
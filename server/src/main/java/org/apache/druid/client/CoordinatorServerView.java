@@ -20,6 +20,7 @@
 package org.apache.druid.client;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
 import com.google.inject.Inject;
 import org.apache.druid.guice.ManageLifecycle;
@@ -33,8 +34,11 @@ import org.apache.druid.timeline.SegmentId;
 import org.apache.druid.timeline.VersionedIntervalTimeline;
 import org.apache.druid.timeline.partition.PartitionChunk;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -76,14 +80,30 @@ public class CoordinatorServerView implements InventoryView
           @Override
           public ServerView.CallbackAction segmentAdded(DruidServerMetadata server, DataSegment segment)
           {
-            serverAddedSegment(server, segment);
+            serverAddedSegments(server, Collections.singletonList(segment));
             return ServerView.CallbackAction.CONTINUE;
           }
 
           @Override
           public ServerView.CallbackAction segmentRemoved(final DruidServerMetadata server, DataSegment segment)
           {
-            serverRemovedSegment(server, segment);
+            serverRemovedSegments(server, Collections.singletonList(segment));
+            return ServerView.CallbackAction.CONTINUE;
+          }
+
+          @Override
+          public ServerView.CallbackAction segmentsChanged(
+              DruidServerMetadata server,
+              Collection<DataSegment> added,
+              Collection<DataSegment> removed
+          )
+          {
+            if (!added.isEmpty()) {
+              serverAddedSegments(server, added);
+            }
+            if (!removed.isEmpty()) {
+              serverRemovedSegments(server, removed);
+            }
             return ServerView.CallbackAction.CONTINUE;
           }
 
@@ -123,69 +143,74 @@ public class CoordinatorServerView implements InventoryView
 
   private void removeServer(DruidServer server)
   {
-    for (DataSegment segment : server.iterateAllSegments()) {
-      serverRemovedSegment(server.getMetadata(), segment);
-    }
+    serverRemovedSegments(server.getMetadata(), Lists.newArrayList(server.iterateAllSegments()));
   }
 
-  private void serverAddedSegment(final DruidServerMetadata server, final DataSegment segment)
+  private void serverAddedSegments(final DruidServerMetadata server, final Collection<DataSegment> segments)
   {
-    SegmentId segmentId = segment.getId();
     synchronized (lock) {
-      log.debug("Adding segment[%s] for server[%s]", segment, server);
-
-      SegmentLoadInfo segmentLoadInfo = segmentLoadInfos.get(segmentId);
-      if (segmentLoadInfo == null) {
-        // servers escape the scope of this object so use ConcurrentSet
-        segmentLoadInfo = new SegmentLoadInfo(segment);
-
-        VersionedIntervalTimeline<String, SegmentLoadInfo> timeline = timelines.get(segment.getDataSource());
-        if (timeline == null) {
-          timeline = new VersionedIntervalTimeline<>(Ordering.natural());
-          timelines.put(segment.getDataSource(), timeline);
+      final Map<String, List<PartitionChunk<SegmentLoadInfo>>> newChunks = new HashMap<>();
+      for (DataSegment segment : segments) {
+        log.debug("Adding segment[%s] for server[%s]", segment, server);
+
+        SegmentLoadInfo segmentLoadInfo = segmentLoadInfos.get(segment.getId());
+        if (segmentLoadInfo == null) {
+          // servers escape the scope of this object so use ConcurrentSet
+          segmentLoadInfo = new SegmentLoadInfo(segment);
+          newChunks.computeIfAbsent(segment.getDataSource(), dataSource -> new ArrayList<>())
+                   .add(segment.getShardSpec().createChunk(segmentLoadInfo));
+          segmentLoadInfos.put(segment.getId(), segmentLoadInfo);
         }
+        segmentLoadInfo.addServer(server);
+      }
 
-        timeline.add(
-            segment.getInterval(),
-            segment.getVersion(),
-            segment.getShardSpec().createChunk(segmentLoadInfo)
+      for (Map.Entry<String, List<PartitionChunk<SegmentLoadInfo>>> entry : newChunks.entrySet()) {
+        final VersionedIntervalTimeline<String, SegmentLoadInfo> timeline = timelines.computeIfAbsent(
+            entry.getKey(),
+            dataSource -> new VersionedIntervalTimeline<>(Ordering.natural())
+        );
+        timeline.addAll(
+            entry.getValue().iterator(),
+            segmentLoadInfo -> segmentLoadInfo.getSegment().getInterval(),
+            segmentLoadInfo -> segmentLoadInfo.getSegment().getVersion()
         );
-        segmentLoadInfos.put(segmentId, segmentLoadInfo);
       }
-      segmentLoadInfo.addServer(server);
     }
   }
 
-  private void serverRemovedSegment(DruidServerMetadata server, DataSegment segment)
+  private void serverRemovedSegments(DruidServerMetadata server, Collection<DataSegment> segments)
   {
-    SegmentId segmentId = segment.getId();
-
     synchronized (lock) {
-      log.debug("Removing segment[%s] from server[%s].", segmentId, server);
-
-      final SegmentLoadInfo segmentLoadInfo = segmentLoadInfos.get(segmentId);
-      if (segmentLoadInfo == null) {
-        log.warn("Told to remove non-existant segment[%s]", segmentId);
-        return;
+      final Map<String, List<PartitionChunk<SegmentLoadInfo>>> emptyChunks = new HashMap<>();
+      for (DataSegment segment : segments) {
+        SegmentId segmentId = segment.getId();
+        log.debug("Removing segment[%s] from server[%s].", segmentId, server);
+
+        final SegmentLoadInfo segmentLoadInfo = segmentLoadInfos.get(segmentId);
+        if (segmentLoadInfo == null) {
+          log.warn("Told to remove non-existant segment[%s]", segmentId);
+          continue;
+        }
+        segmentLoadInfo.removeServer(server);
+        if (segmentLoadInfo.isEmpty()) {
+          segmentLoadInfos.remove(segmentId);
+          emptyChunks.computeIfAbsent(segment.getDataSource(), dataSource -> new ArrayList<>())
+                     .add(segment.getShardSpec().createChunk(segmentLoadInfo));
+        }
       }
-      segmentLoadInfo.removeServer(server);
-      if (segmentLoadInfo.isEmpty()) {
-        VersionedIntervalTimeline<String, SegmentLoadInfo> timeline = timelines.get(segment.getDataSource());
-        segmentLoadInfos.remove(segmentId);
-
-        final PartitionChunk<SegmentLoadInfo> removedPartition = timeline.remove(
-            segment.getInterval(), segment.getVersion(), segment.getShardSpec().createChunk(
-                new SegmentLoadInfo(
-                    segment
-                )
-            )
+
+      for (Map.Entry<String, List<PartitionChunk<SegmentLoadInfo>>> entry : emptyChunks.entrySet()) {
+        final List<PartitionChunk<SegmentLoadInfo>> removedPartitions = timelines.get(entry.getKey()).removeAll(
+            entry.getValue().iterator(),
+            segmentLoadInfo -> segmentLoadInfo.getSegment().getInterval(),
+            segmentLoadInfo -> segmentLoadInfo.getSegment().getVersion()
         );
 
-        if (removedPartition == null) {
+        if (removedPartitions.size() < entry.getValue().size()) {
           log.warn(
-              "Asked to remove timeline entry[interval: %s, version: %s] that doesn't exist",
-              segment.getInterval(),
-              segment.getVersion()
+              "Asked to remove [%,d] timeline entries of dataSource[%s] that don't exist",
+              entry.getValue().size() - removedPartitions.size(),
+              entry.getKey()
           );
         }
       }
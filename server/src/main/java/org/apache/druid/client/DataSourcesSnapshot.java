@@ -19,36 +19,99 @@
 
 package org.apache.druid.client;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Ordering;
+import com.google.common.collect.Iterables;
+import org.apache.druid.java.util.common.JodaUtils;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.SegmentId;
 import org.apache.druid.timeline.VersionedIntervalTimeline;
+import org.joda.time.Interval;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * An immutable snapshot of fields from {@link org.apache.druid.metadata.SQLMetadataSegmentManager} (dataSources and
  * overshadowedSegments). Getters of {@link org.apache.druid.metadata.MetadataSegmentManager} should use this snapshot
  * to return dataSources and overshadowedSegments.
+ *
+ * The snapshot also holds a timeline of used segments per dataSource, which coordinator helpers share instead of
+ * building their own. Timelines and overshadowed segments are derived from the previous snapshot: dataSources whose
+ * segments did not change reuse them, other dataSources apply the added and removed segments to a copy of the previous
+ * timeline and recompute overshadowed segments only for the intervals of the changed segments.
  */
 public class DataSourcesSnapshot
 {
   private final Map<String, ImmutableDruidDataSource> dataSources;
+  private final ImmutableMap<String, VersionedIntervalTimeline<String, DataSegment>> usedSegmentsTimelinesPerDataSource;
+  private final ImmutableMap<String, ImmutableSet<SegmentId>> overshadowedSegmentsPerDataSource;
   private final ImmutableSet<SegmentId> overshadowedSegments;
 
   public DataSourcesSnapshot(
       Map<String, ImmutableDruidDataSource> dataSources
   )
+  {
+    this(dataSources, null);
+  }
+
+  /**
+   * @param previous snapshot to derive timelines and overshadowed segments from. Segments are compared by identity,
+   *                 a segment with the Id of a previous one but a different object replaces it.
+   */
+  public DataSourcesSnapshot(
+      Map<String, ImmutableDruidDataSource> dataSources,
+      @Nullable DataSourcesSnapshot previous
+  )
   {
     this.dataSources = dataSources;
-    this.overshadowedSegments = ImmutableSet.copyOf(determineOvershadowedSegments());
+
+    final ImmutableMap.Builder<String, VersionedIntervalTimeline<String, DataSegment>> timelinesBuilder =
+        ImmutableMap.builder();
+    final ImmutableMap.Builder<String, ImmutableSet<SegmentId>> overshadowedBuilder = ImmutableMap.builder();
+    final ImmutableSet.Builder<SegmentId> allOvershadowedBuilder = ImmutableSet.builder();
+    for (ImmutableDruidDataSource dataSource : dataSources.values()) {
+      final String name = dataSource.getName();
+      final ImmutableDruidDataSource previousDataSource = previous == null ? null : previous.getDataSource(name);
+      final VersionedIntervalTimeline<String, DataSegment> timeline;
+      final ImmutableSet<SegmentId> overshadowed;
+      if (previousDataSource == null) {
+        timeline = VersionedIntervalTimeline.forSegments(dataSource.getSegments());
+        overshadowed = determineOvershadowedSegments(dataSource, timeline);
+      } else {
+        final List<DataSegment> removedSegments = findChangedSegments(dataSource, previousDataSource);
+        final List<DataSegment> addedSegments = findChangedSegments(previousDataSource, dataSource);
+        final VersionedIntervalTimeline<String, DataSegment> previousTimeline =
+            previous.usedSegmentsTimelinesPerDataSource.get(name);
+        final ImmutableSet<SegmentId> previousOvershadowed = previous.overshadowedSegmentsPerDataSource.get(name);
+        if (removedSegments.isEmpty() && addedSegments.isEmpty()) {
+          timeline = previousTimeline;
+          overshadowed = previousOvershadowed;
+        } else {
+          timeline = previousTimeline.copy();
+          VersionedIntervalTimeline.removeSegments(timeline, removedSegments.iterator());
+          VersionedIntervalTimeline.addSegments(timeline, addedSegments.iterator());
+          overshadowed = updateOvershadowedSegments(
+              dataSource,
+              timeline,
+              previousOvershadowed,
+              Iterables.concat(removedSegments, addedSegments)
+          );
+        }
+      }
+      timelinesBuilder.put(name, timeline);
+      overshadowedBuilder.put(name, overshadowed);
+      allOvershadowedBuilder.addAll(overshadowed);
+    }
+    this.usedSegmentsTimelinesPerDataSource = timelinesBuilder.build();
+    this.overshadowedSegmentsPerDataSource = overshadowedBuilder.build();
+    this.overshadowedSegments = allOvershadowedBuilder.build();
   }
 
   public Collection<ImmutableDruidDataSource> getDataSources()
@@ -67,6 +130,15 @@ public class DataSourcesSnapshot
     return dataSources.get(dataSourceName);
   }
 
+  /**
+   * Returns timelines of the used segments of each dataSource. The timelines are shared between snapshots and must
+   * not be modified.
+   */
+  public Map<String, VersionedIntervalTimeline<String, DataSegment>> getUsedSegmentsTimelinesPerDataSource()
+  {
+    return usedSegmentsTimelinesPerDataSource;
+  }
+
   public ImmutableSet<SegmentId> getOvershadowedSegments()
   {
     return overshadowedSegments;
@@ -84,31 +156,82 @@ public class DataSourcesSnapshot
   }
 
   /**
-   * This method builds timelines from all dataSources and finds the overshadowed segments list
+   * Returns the segments of the given dataSource which are not in the other one as the same object.
+   */
+  private static List<DataSegment> findChangedSegments(
+      ImmutableDruidDataSource other,
+      ImmutableDruidDataSource dataSource
+  )
+  {
+    final List<DataSegment> changedSegments = new ArrayList<>();
+    for (DataSegment segment : dataSource.getSegments()) {
+      if (other.getSegment(segment.getId()) != segment) {
+        changedSegments.add(segment);
+      }
+    }
+    return changedSegments;
+  }
+
+  /**
+   * Finds the segments of a dataSource which are overshadowed by other segments of the same dataSource.
    *
-   * @return overshadowed segment Ids list
+   * @return overshadowed segment Ids
    */
-  private List<SegmentId> determineOvershadowedSegments()
+  private static ImmutableSet<SegmentId> determineOvershadowedSegments(
+      ImmutableDruidDataSource dataSource,
+      VersionedIntervalTimeline<String, DataSegment> timeline
+  )
   {
-    final List<DataSegment> segments = dataSources.values().stream()
-                                                  .flatMap(ds -> ds.getSegments().stream())
-                                                  .collect(Collectors.toList());
-    final Map<String, VersionedIntervalTimeline<String, DataSegment>> timelines = new HashMap<>();
-    segments.forEach(segment -> timelines
-        .computeIfAbsent(segment.getDataSource(), dataSource -> new VersionedIntervalTimeline<>(Ordering.natural()))
-        .add(segment.getInterval(), segment.getVersion(), segment.getShardSpec().createChunk(segment)));
-
-    // It's fine to add all overshadowed segments to a single collection because only
-    // a small fraction of the segments in the cluster are expected to be overshadowed,
-    // so building this collection shouldn't generate a lot of garbage.
-    final List<SegmentId> overshadowedSegments = new ArrayList<>();
-    for (DataSegment dataSegment : segments) {
-      final VersionedIntervalTimeline<String, DataSegment> timeline = timelines.get(dataSegment.getDataSource());
-      if (timeline != null && timeline.isOvershadowed(dataSegment.getInterval(), dataSegment.getVersion())) {
+    // Only a small fraction of the segments in the cluster are expected to be overshadowed, so building this
+    // collection shouldn't generate a lot of garbage.
+    final ImmutableSet.Builder<SegmentId> overshadowedSegments = ImmutableSet.builder();
+    for (DataSegment dataSegment : dataSource.getSegments()) {
+      if (timeline.isOvershadowed(dataSegment.getInterval(), dataSegment.getVersion())) {
         overshadowedSegments.add(dataSegment.getId());
       }
     }
-    return overshadowedSegments;
+    return overshadowedSegments.build();
+  }
+
+  /**
+   * Like {@link #determineOvershadowedSegments}, but only checks the segments overlapping the given changed segments.
+   * Whether a segment is overshadowed only depends on the segments overlapping it, the other segments keep their
+   * previous state.
+   */
+  private static ImmutableSet<SegmentId> updateOvershadowedSegments(
+      ImmutableDruidDataSource dataSource,
+      VersionedIntervalTimeline<String, DataSegment> timeline,
+      Set<SegmentId> previousOvershadowedSegments,
+      Iterable<DataSegment> changedSegments
+  )
+  {
+    // Condensed intervals don't overlap each other, keyed by their start to find the only one which may overlap an
+    // interval.
+    final NavigableMap<Long, Interval> changedIntervals = new TreeMap<>();
+    final Iterable<Interval> intervals = Iterables.transform(changedSegments, DataSegment::getInterval);
+    for (Interval interval : JodaUtils.condenseIntervals(intervals)) {
+      changedIntervals.put(interval.getStartMillis(), interval);
+    }
+
+    final ImmutableSet.Builder<SegmentId> overshadowedSegments = ImmutableSet.builder();
+    for (SegmentId segmentId : previousOvershadowedSegments) {
+      final DataSegment dataSegment = dataSource.getSegment(segmentId);
+      if (dataSegment != null && !overlapsAny(changedIntervals, dataSegment.getInterval())) {
+        overshadowedSegments.add(segmentId);
+      }
+    }
+    for (DataSegment dataSegment : dataSource.getSegments()) {
+      if (overlapsAny(changedIntervals, dataSegment.getInterval()) &&
+          timeline.isOvershadowed(dataSegment.getInterval(), dataSegment.getVersion())) {
+        overshadowedSegments.add(dataSegment.getId());
+      }
+    }
+    return overshadowedSegments.build();
   }
 
+  private static boolean overlapsAny(NavigableMap<Long, Interval> intervals, Interval interval)
+  {
+    final Map.Entry<Long, Interval> lastStartingBefore = intervals.lowerEntry(interval.getEndMillis());
+    return lastStartingBefore != null && lastStartingBefore.getValue().overlaps(interval);
+  }
 }
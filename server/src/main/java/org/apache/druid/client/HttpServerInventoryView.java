@@ -60,6 +60,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -548,11 +549,12 @@ public class HttpServerInventoryView implements ServerInventoryView, FilteredSer
           Map<SegmentId, DataSegment> toRemove = Maps.newHashMapWithExpectedSize(druidServer.getTotalSegments());
           druidServer.iterateAllSegments().forEach(segment -> toRemove.put(segment.getId(), segment));
 
+          final SegmentChanges segmentChanges = new SegmentChanges();
           for (DataSegmentChangeRequest request : changes) {
             if (request instanceof SegmentChangeRequestLoad) {
               DataSegment segment = ((SegmentChangeRequestLoad) request).getSegment();
               toRemove.remove(segment.getId());
-              addSegment(segment);
+              addSegment(segment, segmentChanges);
             } else {
               log.error(
                   "Server[%s] gave a non-load dataSegmentChangeRequest[%s]., Ignored.",
@@ -563,18 +565,20 @@ public class HttpServerInventoryView implements ServerInventoryView, FilteredSer
           }
 
           for (DataSegment segmentToRemove : toRemove.values()) {
-            removeSegment(segmentToRemove);
+            removeSegment(segmentToRemove, segmentChanges);
           }
+          segmentChanges.runCallbacks();
         }
 
         @Override
         public void deltaSync(List<DataSegmentChangeRequest> changes)
         {
+          final SegmentChanges segmentChanges = new SegmentChanges();
           for (DataSegmentChangeRequest request : changes) {
             if (request instanceof SegmentChangeRequestLoad) {
-              addSegment(((SegmentChangeRequestLoad) request).getSegment());
+              addSegment(((SegmentChangeRequestLoad) request).getSegment(), segmentChanges);
             } else if (request instanceof SegmentChangeRequestDrop) {
-              removeSegment(((SegmentChangeRequestDrop) request).getSegment());
+              removeSegment(((SegmentChangeRequestDrop) request).getSegment(), segmentChanges);
             } else {
               log.error(
                   "Server[%s] gave a non load/drop dataSegmentChangeRequest[%s], Ignored.",
@@ -583,25 +587,17 @@ public class HttpServerInventoryView implements ServerInventoryView, FilteredSer
               );
             }
           }
+          segmentChanges.runCallbacks();
         }
       };
     }
 
-    private void addSegment(final DataSegment segment)
+    private void addSegment(final DataSegment segment, final SegmentChanges segmentChanges)
     {
       if (finalPredicate.apply(Pair.of(druidServer.getMetadata(), segment))) {
         if (druidServer.getSegment(segment.getId()) == null) {
           druidServer.addDataSegment(segment);
-          runSegmentCallbacks(
-              new Function<SegmentCallback, CallbackAction>()
-              {
-                @Override
-                public CallbackAction apply(SegmentCallback input)
-                {
-                  return input.segmentAdded(druidServer.getMetadata(), segment);
-                }
-              }
-          );
+          segmentChanges.added(segment);
         } else {
           log.warn(
               "Not adding or running callbacks for existing segment[%s] on server[%s]",
@@ -612,19 +608,10 @@ public class HttpServerInventoryView implements ServerInventoryView, FilteredSer
       }
     }
 
-    private void removeSegment(final DataSegment segment)
+    private void removeSegment(final DataSegment segment, final SegmentChanges segmentChanges)
     {
       if (druidServer.removeDataSegment(segment.getId()) != null) {
-        runSegmentCallbacks(
-            new Function<SegmentCallback, CallbackAction>()
-            {
-              @Override
-              public CallbackAction apply(SegmentCallback input)
-              {
-                return input.segmentRemoved(druidServer.getMetadata(), segment);
-              }
-            }
-        );
+        segmentChanges.removed(segment);
       } else {
         log.warn(
             "Not running cleanup or callbacks for non-existing segment[%s] on server[%s]",
@@ -633,5 +620,41 @@ public class HttpServerInventoryView implements ServerInventoryView, FilteredSer
         );
       }
     }
+
+    /**
+     * Net segment changes of one sync round. A segment which is loaded and dropped again within the same round
+     * cancels out, so callbacks only see the difference between the server's state before and after the round.
+     */
+    private class SegmentChanges
+    {
+      private final Map<SegmentId, DataSegment> added = new LinkedHashMap<>();
+      private final Map<SegmentId, DataSegment> removed = new LinkedHashMap<>();
+
+      void added(DataSegment segment)
+      {
+        if (removed.remove(segment.getId()) == null) {
+          added.put(segment.getId(), segment);
+        }
+      }
+
+      void removed(DataSegment segment)
+      {
+        if (added.remove(segment.getId()) == null) {
+          removed.put(segment.getId(), segment);
+        }
+      }
+
+      void runCallbacks()
+      {
+        if (added.isEmpty() && removed.isEmpty()) {
+          return;
+        }
+        final List<DataSegment> addedSegments = new ArrayList<>(added.values());
+        final List<DataSegment> removedSegments = new ArrayList<>(removed.values());
+        runSegmentCallbacks(
+            input -> input.segmentsChanged(druidServer.getMetadata(), addedSegments, removedSegments)
+        );
+      }
+    }
   }
 }
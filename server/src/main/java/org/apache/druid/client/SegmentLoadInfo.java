@@ -38,6 +38,11 @@ public class SegmentLoadInfo
     this.servers = Sets.newConcurrentHashSet();
   }
 
+  public DataSegment getSegment()
+  {
+    return segment;
+  }
+
   public boolean addServer(DruidServerMetadata server)
   {
     return servers.add(server);
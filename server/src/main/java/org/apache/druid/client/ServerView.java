@@ -22,6 +22,7 @@ package org.apache.druid.client;
 import org.apache.druid.server.coordination.DruidServerMetadata;
 import org.apache.druid.timeline.DataSegment;
 
+import java.util.Collection;
 import java.util.concurrent.Executor;
 
 /**
@@ -92,6 +93,37 @@ public interface ServerView
      */
     CallbackAction segmentRemoved(DruidServerMetadata server, DataSegment segment);
 
+    /**
+     * Called with all segments added to and removed from a server in one round of inventory updates, so that
+     * callbacks can apply them in bulk. A segment appears in at most one of the two collections. The default
+     * implementation calls {@link #segmentAdded} for every added segment and then {@link #segmentRemoved} for every
+     * removed segment.
+     *
+     * @param server  The server whose segments changed
+     * @param added   The segments that were added
+     * @param removed The segments that were removed
+     * @return UNREGISTER if the callback has completed its work and should be unregistered.  CONTINUE if the callback
+     * should remain registered.
+     */
+    default CallbackAction segmentsChanged(
+        DruidServerMetadata server,
+        Collection<DataSegment> added,
+        Collection<DataSegment> removed
+    )
+    {
+      for (DataSegment segment : added) {
+        if (segmentAdded(server, segment) == CallbackAction.UNREGISTER) {
+          return CallbackAction.UNREGISTER;
+        }
+      }
+      for (DataSegment segment : removed) {
+        if (segmentRemoved(server, segment) == CallbackAction.UNREGISTER) {
+          return CallbackAction.UNREGISTER;
+        }
+      }
+      return CallbackAction.CONTINUE;
+    }
+
     CallbackAction segmentViewInitialized();
   }
 
@@ -33,9 +33,12 @@ import org.apache.druid.server.coordination.DruidServerMetadata;
 import org.apache.druid.server.initialization.ZkPathsConfig;
 import org.apache.druid.timeline.DataSegment;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 /**
  * This class is deprecated. Use {@link HttpServerInventoryView} instead.
@@ -156,11 +159,33 @@ public class SingleServerInventoryView extends AbstractCuratorServerInventoryVie
       return action;
     }
 
+    @Override
+    public CallbackAction segmentsChanged(
+        DruidServerMetadata server,
+        Collection<DataSegment> added,
+        Collection<DataSegment> removed
+    )
+    {
+      final List<DataSegment> filteredAdded = filterSegments(server, added);
+      final List<DataSegment> filteredRemoved = filterSegments(server, removed);
+      if (filteredAdded.isEmpty() && filteredRemoved.isEmpty()) {
+        return CallbackAction.CONTINUE;
+      }
+      return callback.segmentsChanged(server, filteredAdded, filteredRemoved);
+    }
+
     @Override
     public CallbackAction segmentViewInitialized()
     {
       return callback.segmentViewInitialized();
     }
+
+    private List<DataSegment> filterSegments(DruidServerMetadata server, Collection<DataSegment> segments)
+    {
+      return segments.stream()
+                     .filter(segment -> filter.apply(Pair.of(server, segment)))
+                     .collect(Collectors.toList());
+    }
   }
 
 }
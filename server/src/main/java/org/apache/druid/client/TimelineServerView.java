@@ -27,6 +27,7 @@ import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.TimelineLookup;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Executor;
 
@@ -92,5 +93,61 @@ public interface TimelineServerView extends ServerView
      * @return continue or unregister
      */
     CallbackAction serverSegmentRemoved(DruidServerMetadata server, DataSegment segment);
+
+    /**
+     * Bulk version of {@link #segmentAdded}, called when a batch of segments on a particular server has been added to
+     * the timeline. The default implementation calls {@link #segmentAdded} for every segment.
+     *
+     * @param server   the server
+     * @param segments the segments
+     *
+     * @return continue or unregister
+     */
+    default CallbackAction segmentsAdded(DruidServerMetadata server, Collection<DataSegment> segments)
+    {
+      for (DataSegment segment : segments) {
+        if (segmentAdded(server, segment) == CallbackAction.UNREGISTER) {
+          return CallbackAction.UNREGISTER;
+        }
+      }
+      return CallbackAction.CONTINUE;
+    }
+
+    /**
+     * Bulk version of {@link #segmentRemoved}. The default implementation calls {@link #segmentRemoved} for every
+     * segment.
+     *
+     * @param segments the segments
+     *
+     * @return continue or unregister
+     */
+    default CallbackAction segmentsRemoved(Collection<DataSegment> segments)
+    {
+      for (DataSegment segment : segments) {
+        if (segmentRemoved(segment) == CallbackAction.UNREGISTER) {
+          return CallbackAction.UNREGISTER;
+        }
+      }
+      return CallbackAction.CONTINUE;
+    }
+
+    /**
+     * Bulk version of {@link #serverSegmentRemoved}. The default implementation calls {@link #serverSegmentRemoved}
+     * for every segment.
+     *
+     * @param server   The server that removed the segments
+     * @param segments The segments that were removed
+     *
+     * @return continue or unregister
+     */
+    default CallbackAction serverSegmentsRemoved(DruidServerMetadata server, Collection<DataSegment> segments)
+    {
+      for (DataSegment segment : segments) {
+        if (serverSegmentRemoved(server, segment) == CallbackAction.UNREGISTER) {
+          return CallbackAction.UNREGISTER;
+        }
+      }
+      return CallbackAction.CONTINUE;
+    }
   }
 }
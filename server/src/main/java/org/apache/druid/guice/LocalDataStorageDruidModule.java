@@ -34,6 +34,7 @@ import org.apache.druid.segment.loading.LocalDataSegmentPusher;
 import org.apache.druid.segment.loading.LocalDataSegmentPusherConfig;
 import org.apache.druid.segment.loading.LocalFileTimestampVersionFinder;
 import org.apache.druid.segment.loading.LocalLoadSpec;
+import org.apache.druid.segment.loading.SegmentCacheStats;
 import org.apache.druid.segment.loading.SegmentLoader;
 import org.apache.druid.segment.loading.SegmentLoaderLocalCacheManager;
 
@@ -49,6 +50,7 @@ public class LocalDataStorageDruidModule implements DruidModule
   public void configure(Binder binder)
   {
     binder.bind(SegmentLoader.class).to(SegmentLoaderLocalCacheManager.class).in(LazySingleton.class);
+    binder.bind(SegmentCacheStats.class).in(LazySingleton.class);
 
     bindDeepStorageLocal(binder);
 
@@ -21,7 +21,10 @@ package org.apache.druid.guice;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.inject.Binder;
+import com.google.inject.Key;
 import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.OptionalBinder;
+import org.apache.druid.guice.annotations.Processing;
 import org.apache.druid.query.Query;
 import org.apache.druid.query.QueryRunnerFactory;
 import org.apache.druid.query.QueryWatcher;
@@ -47,6 +50,7 @@ import org.apache.druid.query.topn.TopNQueryRunnerFactory;
 import org.apache.druid.server.QueryManager;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  */
@@ -76,6 +80,10 @@ public class QueryRunnerFactoryModule extends QueryToolChestModule
     binder.bind(QueryManager.class)
           .in(LazySingleton.class);
 
+    // Some processes install the query runner factories without a processing pool, the factories then run every
+    // segment on the calling thread only.
+    OptionalBinder.newOptionalBinder(binder, Key.get(ExecutorService.class, Processing.class));
+
     final MapBinder<Class<? extends Query>, QueryRunnerFactory> queryFactoryBinder = DruidBinders.queryRunnerFactoryBinder(
         binder
     );
@@ -26,7 +26,9 @@ import org.joda.time.Interval;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -109,6 +111,46 @@ public interface IndexerMetadataStorageCoordinator
       boolean skipSegmentLineageCheck
   );
 
+  /**
+   * Allocate pending segments for several sequences in the same interval at once. This is equivalent to calling
+   * {@link #allocatePendingSegment} for each request, but implementations may look up the existing and pending
+   * segments of the interval only once and insert all new pending segments together, which is much cheaper when many
+   * tasks allocate segments for the same interval at the same time.
+   *
+   * @param dataSource              dataSource for which to allocate segments
+   * @param interval                interval for which to allocate segments
+   * @param maxVersion              use this version if we have no better version to use
+   * @param skipSegmentLineageCheck see {@link #allocatePendingSegment}
+   * @param requests                sequenceName and previousSegmentId of each segment to allocate
+   *
+   * @return the pending segment identifier of each request. The identifier is null if it was impossible to allocate a
+   * new segment for the request.
+   */
+  default Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocatePendingSegments(
+      String dataSource,
+      Interval interval,
+      String maxVersion,
+      boolean skipSegmentLineageCheck,
+      List<SegmentCreateRequest> requests
+  )
+  {
+    final Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocated = new HashMap<>();
+    for (SegmentCreateRequest request : requests) {
+      allocated.put(
+          request,
+          allocatePendingSegment(
+              dataSource,
+              request.getSequenceName(),
+              request.getPreviousSegmentId(),
+              interval,
+              maxVersion,
+              skipSegmentLineageCheck
+          )
+      );
+    }
+    return allocated;
+  }
+
   /**
    * Delete pending segments created in the given interval for the given dataSource from the pending segments table.
    * The {@code created_date} field of the pending segments table is checked to find segments to be deleted.
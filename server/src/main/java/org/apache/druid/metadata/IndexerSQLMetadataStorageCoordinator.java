@@ -31,6 +31,7 @@ import com.google.common.io.BaseEncoding;
 import com.google.inject.Inject;
 import org.apache.druid.indexing.overlord.DataSourceMetadata;
 import org.apache.druid.indexing.overlord.IndexerMetadataStorageCoordinator;
+import org.apache.druid.indexing.overlord.SegmentCreateRequest;
 import org.apache.druid.indexing.overlord.SegmentPublishResult;
 import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.IAE;
@@ -52,6 +53,7 @@ import org.joda.time.Interval;
 import org.skife.jdbi.v2.FoldController;
 import org.skife.jdbi.v2.Folder3;
 import org.skife.jdbi.v2.Handle;
+import org.skife.jdbi.v2.PreparedBatch;
 import org.skife.jdbi.v2.Query;
 import org.skife.jdbi.v2.ResultIterator;
 import org.skife.jdbi.v2.StatementContext;
@@ -68,12 +70,16 @@ import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -82,6 +88,9 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
 {
   private static final Logger log = new Logger(IndexerSQLMetadataStorageCoordinator.class);
 
+  // Keeps the IN lists used when looking up pending segments of many sequences at once to a reasonable size.
+  private static final int MAX_NUM_SHA1S_PER_QUERY = 100;
+
   private final ObjectMapper jsonMapper;
   private final MetadataStorageTablesConfig dbTables;
   private final SQLMetadataConnector connector;
@@ -418,15 +427,7 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
     // UNIQUE key for the row, ensuring sequences do not fork in two directions.
     // Using a single column instead of (sequence_name, sequence_prev_id) as some MySQL storage engines
     // have difficulty with large unique keys (see https://github.com/apache/incubator-druid/issues/2319)
-    final String sequenceNamePrevIdSha1 = BaseEncoding.base16().encode(
-        Hashing.sha1()
-               .newHasher()
-               .putBytes(StringUtils.toUtf8(sequenceName))
-               .putByte((byte) 0xff)
-               .putBytes(StringUtils.toUtf8(previousSegmentIdNotNull))
-               .hash()
-               .asBytes()
-    );
+    final String sequenceNamePrevIdSha1 = getSequenceNamePrevIdSha1(sequenceName, previousSegmentIdNotNull);
 
     insertToMetastore(
         handle,
@@ -487,16 +488,7 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
     // UNIQUE key for the row, ensuring we don't have more than one segment per sequence per interval.
     // Using a single column instead of (sequence_name, sequence_prev_id) as some MySQL storage engines
     // have difficulty with large unique keys (see https://github.com/apache/incubator-druid/issues/2319)
-    final String sequenceNamePrevIdSha1 = BaseEncoding.base16().encode(
-        Hashing.sha1()
-               .newHasher()
-               .putBytes(StringUtils.toUtf8(sequenceName))
-               .putByte((byte) 0xff)
-               .putLong(interval.getStartMillis())
-               .putLong(interval.getEndMillis())
-               .hash()
-               .asBytes()
-    );
+    final String sequenceNamePrevIdSha1 = getSequenceNameIntervalSha1(sequenceName, interval);
 
     // always insert empty previous sequence id
     insertToMetastore(handle, newIdentifier, dataSource, interval, "", sequenceName, sequenceNamePrevIdSha1);
@@ -506,6 +498,171 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
     return newIdentifier;
   }
 
+  @Override
+  public Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocatePendingSegments(
+      final String dataSource,
+      final Interval interval,
+      final String maxVersion,
+      final boolean skipSegmentLineageCheck,
+      final List<SegmentCreateRequest> requests
+  )
+  {
+    Preconditions.checkNotNull(dataSource, "dataSource");
+    Preconditions.checkNotNull(interval, "interval");
+    Preconditions.checkNotNull(maxVersion, "maxVersion");
+    Preconditions.checkNotNull(requests, "requests");
+
+    if (requests.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    return connector.retryTransaction(
+        (handle, transactionStatus) -> allocatePendingSegments(
+            handle,
+            dataSource,
+            interval,
+            maxVersion,
+            skipSegmentLineageCheck,
+            requests
+        ),
+        3,
+        SQLMetadataConnector.DEFAULT_MAX_TRIES
+    );
+  }
+
+  private Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocatePendingSegments(
+      final Handle handle,
+      final String dataSource,
+      final Interval interval,
+      final String maxVersion,
+      final boolean skipSegmentLineageCheck,
+      final List<SegmentCreateRequest> requests
+  ) throws IOException
+  {
+    // Requests sharing the unique key of the pending segments table must get the same segment, just like they would
+    // if they were allocated one by one.
+    final Map<String, List<SegmentCreateRequest>> requestsBySha1 = new LinkedHashMap<>();
+    for (SegmentCreateRequest request : requests) {
+      final String sequenceNamePrevIdSha1 = skipSegmentLineageCheck
+                                            ? getSequenceNameIntervalSha1(request.getSequenceName(), interval)
+                                            : getSequenceNamePrevIdSha1(
+                                                request.getSequenceName(),
+                                                getPreviousSegmentIdNotNull(request)
+                                            );
+      requestsBySha1.computeIfAbsent(sequenceNamePrevIdSha1, k -> new ArrayList<>()).add(request);
+    }
+
+    final Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocated = new HashMap<>();
+    final Map<String, SegmentIdWithShardSpec> existingIdentifiers = getPendingSegmentsForSha1sWithHandle(
+        handle,
+        dataSource,
+        requestsBySha1.keySet()
+    );
+    final List<String> newSha1s = new ArrayList<>();
+    for (Map.Entry<String, List<SegmentCreateRequest>> entry : requestsBySha1.entrySet()) {
+      final SegmentIdWithShardSpec existingIdentifier = existingIdentifiers.get(entry.getKey());
+      if (existingIdentifier == null) {
+        newSha1s.add(entry.getKey());
+      } else if (existingIdentifier.getInterval().equals(interval)) {
+        entry.getValue().forEach(request -> allocated.put(request, existingIdentifier));
+      } else {
+        log.warn(
+            "Cannot use existing pending segment [%s] for requests%s in DB, does not match requested interval[%s]",
+            existingIdentifier,
+            entry.getValue(),
+            interval
+        );
+        entry.getValue().forEach(request -> allocated.put(request, null));
+      }
+    }
+
+    if (newSha1s.isEmpty()) {
+      return allocated;
+    }
+
+    final List<SegmentIdWithShardSpec> newIdentifiers = createNewSegments(
+        handle,
+        dataSource,
+        interval,
+        maxVersion,
+        newSha1s.size()
+    );
+    if (newIdentifiers.isEmpty()) {
+      newSha1s.forEach(sha1 -> requestsBySha1.get(sha1).forEach(request -> allocated.put(request, null)));
+      return allocated;
+    }
+
+    // As in allocatePendingSegment, a concurrent insert of the same key fails the whole batch, and the transaction
+    // is then retried from the SELECT.
+    final PreparedBatch batch = handle.prepareBatch(getInsertPendingSegmentSql());
+    for (int i = 0; i < newSha1s.size(); i++) {
+      final String sequenceNamePrevIdSha1 = newSha1s.get(i);
+      final SegmentIdWithShardSpec newIdentifier = newIdentifiers.get(i);
+      final List<SegmentCreateRequest> sameKeyRequests = requestsBySha1.get(sequenceNamePrevIdSha1);
+      final SegmentCreateRequest request = sameKeyRequests.get(0);
+      batch.add()
+           .bind("id", newIdentifier.toString())
+           .bind("dataSource", dataSource)
+           .bind("created_date", DateTimes.nowUtc().toString())
+           .bind("start", interval.getStart().toString())
+           .bind("end", interval.getEnd().toString())
+           .bind("sequence_name", request.getSequenceName())
+           // always insert empty previous sequence id when skipping the lineage check
+           .bind("sequence_prev_id", skipSegmentLineageCheck ? "" : getPreviousSegmentIdNotNull(request))
+           .bind("sequence_name_prev_id_sha1", sequenceNamePrevIdSha1)
+           .bind("payload", jsonMapper.writeValueAsBytes(newIdentifier));
+      sameKeyRequests.forEach(sameKeyRequest -> allocated.put(sameKeyRequest, newIdentifier));
+    }
+    batch.execute();
+
+    log.info(
+        "Allocated [%,d] pending segments for [%,d] requests of dataSource[%s], interval[%s] in DB",
+        newIdentifiers.size(),
+        requests.size(),
+        dataSource,
+        interval
+    );
+
+    return allocated;
+  }
+
+  /**
+   * Returns the pending segments having one of the given values of the unique key column
+   * {@code sequence_name_prev_id_sha1}, keyed by that value.
+   */
+  private Map<String, SegmentIdWithShardSpec> getPendingSegmentsForSha1sWithHandle(
+      final Handle handle,
+      final String dataSource,
+      final Set<String> sequenceNamePrevIdSha1s
+  ) throws IOException
+  {
+    final Map<String, SegmentIdWithShardSpec> identifiers = new HashMap<>();
+    for (List<String> sha1s : Iterables.partition(sequenceNamePrevIdSha1s, MAX_NUM_SHA1S_PER_QUERY)) {
+      final String sha1Parameters = IntStream.range(0, sha1s.size())
+                                             .mapToObj(i -> ":sha1_" + i)
+                                             .collect(Collectors.joining(", "));
+      Query<Map<String, Object>> query = handle.createQuery(
+          StringUtils.format(
+              "SELECT sequence_name_prev_id_sha1, payload FROM %s WHERE "
+              + "dataSource = :dataSource AND "
+              + "sequence_name_prev_id_sha1 IN (%s)",
+              dbTables.getPendingSegmentsTable(),
+              sha1Parameters
+          )
+      ).bind("dataSource", dataSource);
+      for (int i = 0; i < sha1s.size(); i++) {
+        query = query.bind("sha1_" + i, sha1s.get(i));
+      }
+      final List<Pair<String, byte[]>> rows = query
+          .map((index, r, ctx) -> Pair.of(r.getString("sequence_name_prev_id_sha1"), r.getBytes("payload")))
+          .list();
+      for (Pair<String, byte[]> row : rows) {
+        identifiers.put(row.lhs, jsonMapper.readValue(row.rhs, SegmentIdWithShardSpec.class));
+      }
+    }
+    return identifiers;
+  }
+
   private CheckExistingSegmentIdResult checkAndGetExistingSegmentId(
       final Query<Map<String, Object>> query,
       final Interval interval,
@@ -579,6 +736,48 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
     }
   }
 
+  private String getInsertPendingSegmentSql()
+  {
+    return StringUtils.format(
+        "INSERT INTO %1$s (id, dataSource, created_date, start, %2$send%2$s, sequence_name, sequence_prev_id, sequence_name_prev_id_sha1, payload) "
+        + "VALUES (:id, :dataSource, :created_date, :start, :end, :sequence_name, :sequence_prev_id, :sequence_name_prev_id_sha1, :payload)",
+        dbTables.getPendingSegmentsTable(),
+        connector.getQuoteString()
+    );
+  }
+
+  private static String getPreviousSegmentIdNotNull(SegmentCreateRequest request)
+  {
+    return request.getPreviousSegmentId() == null ? "" : request.getPreviousSegmentId();
+  }
+
+  private static String getSequenceNamePrevIdSha1(String sequenceName, String previousSegmentIdNotNull)
+  {
+    return BaseEncoding.base16().encode(
+        Hashing.sha1()
+               .newHasher()
+               .putBytes(StringUtils.toUtf8(sequenceName))
+               .putByte((byte) 0xff)
+               .putBytes(StringUtils.toUtf8(previousSegmentIdNotNull))
+               .hash()
+               .asBytes()
+    );
+  }
+
+  private static String getSequenceNameIntervalSha1(String sequenceName, Interval interval)
+  {
+    return BaseEncoding.base16().encode(
+        Hashing.sha1()
+               .newHasher()
+               .putBytes(StringUtils.toUtf8(sequenceName))
+               .putByte((byte) 0xff)
+               .putLong(interval.getStartMillis())
+               .putLong(interval.getEndMillis())
+               .hash()
+               .asBytes()
+    );
+  }
+
   private void insertToMetastore(
       Handle handle,
       SegmentIdWithShardSpec newIdentifier,
@@ -589,14 +788,7 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
       String sequenceNamePrevIdSha1
   ) throws JsonProcessingException
   {
-    handle.createStatement(
-        StringUtils.format(
-            "INSERT INTO %1$s (id, dataSource, created_date, start, %2$send%2$s, sequence_name, sequence_prev_id, sequence_name_prev_id_sha1, payload) "
-            + "VALUES (:id, :dataSource, :created_date, :start, :end, :sequence_name, :sequence_prev_id, :sequence_name_prev_id_sha1, :payload)",
-            dbTables.getPendingSegmentsTable(),
-            connector.getQuoteString()
-        )
-    )
+    handle.createStatement(getInsertPendingSegmentSql())
           .bind("id", newIdentifier.toString())
           .bind("dataSource", dataSource)
           .bind("created_date", DateTimes.nowUtc().toString())
@@ -616,6 +808,24 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
       final Interval interval,
       final String maxVersion
   ) throws IOException
+  {
+    final List<SegmentIdWithShardSpec> newIdentifiers = createNewSegments(handle, dataSource, interval, maxVersion, 1);
+    return newIdentifiers.isEmpty() ? null : newIdentifiers.get(0);
+  }
+
+  /**
+   * Makes up the given number of consecutive pending segments, reading the existing and pending segments of the
+   * interval only once.
+   *
+   * @return the new segment identifiers, or an empty list if it was impossible to allocate new segments
+   */
+  private List<SegmentIdWithShardSpec> createNewSegments(
+      final Handle handle,
+      final String dataSource,
+      final Interval interval,
+      final String maxVersion,
+      final int numSegments
+  ) throws IOException
   {
     // Make up a pending segment based on existing segments and pending segments in the DB. This works
     // assuming that all tasks inserting segments at a particular point in time are going through the
@@ -636,7 +846,7 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
           maxVersion,
           existingChunks.size()
       );
-      return null;
+      return Collections.emptyList();
     } else {
       SegmentIdWithShardSpec maxId = null;
 
@@ -665,50 +875,70 @@ public class IndexerSQLMetadataStorageCoordinator implements IndexerMetadataStor
         }
       }
 
-      if (maxId == null) {
-        return new SegmentIdWithShardSpec(
-            dataSource,
-            interval,
-            maxVersion,
-            new NumberedShardSpec(0, 0)
-        );
-      } else if (!maxId.getInterval().equals(interval) || maxId.getVersion().compareTo(maxVersion) > 0) {
-        log.warn(
-            "Cannot allocate new segment for dataSource[%s], interval[%s], maxVersion[%s]: conflicting segment[%s].",
-            dataSource,
-            interval,
-            maxVersion,
-            maxId
-        );
-        return null;
-      } else if (maxId.getShardSpec() instanceof LinearShardSpec) {
-        return new SegmentIdWithShardSpec(
-            dataSource,
-            maxId.getInterval(),
-            maxId.getVersion(),
-            new LinearShardSpec(maxId.getShardSpec().getPartitionNum() + 1)
-        );
-      } else if (maxId.getShardSpec() instanceof NumberedShardSpec) {
-        return new SegmentIdWithShardSpec(
-            dataSource,
-            maxId.getInterval(),
-            maxId.getVersion(),
-            new NumberedShardSpec(
-                maxId.getShardSpec().getPartitionNum() + 1,
-                ((NumberedShardSpec) maxId.getShardSpec()).getPartitions()
-            )
-        );
-      } else {
-        log.warn(
-            "Cannot allocate new segment for dataSource[%s], interval[%s], maxVersion[%s]: ShardSpec class[%s] used by [%s].",
-            dataSource,
-            interval,
-            maxVersion,
-            maxId.getShardSpec().getClass(),
-            maxId
-        );
-        return null;
+      final List<SegmentIdWithShardSpec> newIdentifiers = new ArrayList<>(numSegments);
+      for (int i = 0; i < numSegments; i++) {
+        final SegmentIdWithShardSpec newIdentifier = getNextSegmentId(dataSource, interval, maxVersion, maxId);
+        if (newIdentifier == null) {
+          return Collections.emptyList();
+        }
+        newIdentifiers.add(newIdentifier);
+        maxId = newIdentifier;
       }
+      return newIdentifiers;
+    }
+  }
+
+  @Nullable
+  private SegmentIdWithShardSpec getNextSegmentId(
+      final String dataSource,
+      final Interval interval,
+      final String maxVersion,
+      @Nullable final SegmentIdWithShardSpec maxId
+  )
+  {
+    if (maxId == null) {
+      return new SegmentIdWithShardSpec(
+          dataSource,
+          interval,
+          maxVersion,
+          new NumberedShardSpec(0, 0)
+      );
+    } else if (!maxId.getInterval().equals(interval) || maxId.getVersion().compareTo(maxVersion) > 0) {
+      log.warn(
+          "Cannot allocate new segment for dataSource[%s], interval[%s], maxVersion[%s]: conflicting segment[%s].",
+          dataSource,
+          interval,
+          maxVersion,
+          maxId
+      );
+      return null;
+    } else if (maxId.getShardSpec() instanceof LinearShardSpec) {
+      return new SegmentIdWithShardSpec(
+          dataSource,
+          maxId.getInterval(),
+          maxId.getVersion(),
+          new LinearShardSpec(maxId.getShardSpec().getPartitionNum() + 1)
+      );
+    } else if (maxId.getShardSpec() instanceof NumberedShardSpec) {
+      return new SegmentIdWithShardSpec(
+          dataSource,
+          maxId.getInterval(),
+          maxId.getVersion(),
+          new NumberedShardSpec(
+              maxId.getShardSpec().getPartitionNum() + 1,
+              ((NumberedShardSpec) maxId.getShardSpec()).getPartitions()
+          )
+      );
+    } else {
+      log.warn(
+          "Cannot allocate new segment for dataSource[%s], interval[%s], maxVersion[%s]: ShardSpec class[%s] used by [%s].",
+          dataSource,
+          interval,
+          maxVersion,
+          maxId.getShardSpec().getClass(),
+          maxId
+      );
+      return null;
     }
   }
 
@@ -723,7 +723,8 @@ public class SQLMetadataSegmentManager implements MetadataSegmentManager
         newDataSources,
         v -> v.toImmutableDruidDataSource()
     );
-    dataSourcesSnapshot = new DataSourcesSnapshot(updatedDataSources);
+    // Timelines and overshadowed segments of dataSources which didn't change since the last poll are reused.
+    dataSourcesSnapshot = new DataSourcesSnapshot(updatedDataSources, dataSourcesSnapshot);
   }
 
   /**
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.java.util.common.RE;
+import org.apache.druid.segment.QueryableIndex;
+import org.apache.druid.segment.ReferenceCountingSegment;
+import org.apache.druid.segment.Segment;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.timeline.DataSegment;
+import org.apache.druid.timeline.SegmentId;
+import org.joda.time.Interval;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Segment} which is registered in the timeline and announced before its files are present on local disk.
+ * The files are fetched from deep storage by {@link SegmentLoaderLocalCacheManager} the first time the segment is
+ * accessed, and may be evicted again once no query holds a reference to it.
+ *
+ * Eviction is only safe while no query uses the segment, so {@link org.apache.druid.server.SegmentManager} wraps
+ * this segment in the {@link ReferenceCountingSegment} created by {@link #createReferenceCountingSegment()}.
+ */
+public class LazyLoadingSegment implements Segment
+{
+  private final DataSegment dataSegment;
+  private final SegmentLoaderLocalCacheManager cacheManager;
+
+  /**
+   * Guards {@link #delegate} and {@link #closed}. A plain lock instead of synchronized so that eviction can skip
+   * segments which are being accessed concurrently, see {@link #evictIfUnused()}.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  @Nullable
+  private Segment delegate;
+  private boolean closed;
+
+  @Nullable
+  private volatile ReferenceCountingSegment referenceCountingSegment;
+
+  LazyLoadingSegment(DataSegment dataSegment, SegmentLoaderLocalCacheManager cacheManager)
+  {
+    this.dataSegment = dataSegment;
+    this.cacheManager = cacheManager;
+  }
+
+  public DataSegment getDataSegment()
+  {
+    return dataSegment;
+  }
+
+  /**
+   * Creates the {@link ReferenceCountingSegment} that queries acquire this segment through. Every reference acquired
+   * while the segment is fetched counts as one cache hit, no matter how often the query accesses the segment.
+   */
+  public ReferenceCountingSegment createReferenceCountingSegment()
+  {
+    final ReferenceCountingSegment referenceCounter = new ReferenceCountingSegment(this)
+    {
+      @Override
+      public boolean increment()
+      {
+        if (!super.increment()) {
+          return false;
+        }
+        // A referenced segment cannot be evicted, so it stays fetched for the whole query
+        if (isLoaded()) {
+          cacheManager.recordVirtualSegmentHit();
+        }
+        return true;
+      }
+    };
+    this.referenceCountingSegment = referenceCounter;
+    return referenceCounter;
+  }
+
+  @Override
+  public SegmentId getId()
+  {
+    return dataSegment.getId();
+  }
+
+  @Override
+  public Interval getDataInterval()
+  {
+    return dataSegment.getInterval();
+  }
+
+  @Nullable
+  @Override
+  public QueryableIndex asQueryableIndex()
+  {
+    return getOrLoad().asQueryableIndex();
+  }
+
+  @Override
+  public StorageAdapter asStorageAdapter()
+  {
+    return getOrLoad().asStorageAdapter();
+  }
+
+  @Override
+  public <T> T as(Class<T> clazz)
+  {
+    return getOrLoad().as(clazz);
+  }
+
+  boolean isLoaded()
+  {
+    lock.lock();
+    try {
+      return delegate != null;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  private Segment getOrLoad()
+  {
+    final Segment segment;
+    final boolean fetched;
+    lock.lock();
+    try {
+      if (closed) {
+        throw new ISE("Segment[%s] is already closed", dataSegment.getId());
+      }
+      fetched = delegate != null;
+      if (!fetched) {
+        try {
+          delegate = cacheManager.fetchVirtualSegment(this);
+        }
+        catch (SegmentLoadingException e) {
+          throw new RE(e, "Failed to fetch segment[%s] from deep storage", dataSegment.getId());
+        }
+      }
+      segment = delegate;
+    }
+    finally {
+      lock.unlock();
+    }
+
+    // Touched outside of the lock, the cache manager takes segment locks while holding its own during eviction.
+    if (fetched) {
+      cacheManager.touchVirtualSegment(this);
+    }
+    return segment;
+  }
+
+  /**
+   * Closes the loaded segment and removes its local files if nobody references it. Segments locked by another thread
+   * are skipped rather than waited on, since they are being fetched or accessed.
+   *
+   * @return true if the segment was evicted
+   */
+  boolean evictIfUnused()
+  {
+    if (!lock.tryLock()) {
+      return false;
+    }
+    try {
+      // delegate is null for files kept from before a restart which were not accessed yet, they are evicted as well
+      final ReferenceCountingSegment referenceCounter = referenceCountingSegment;
+      if (referenceCounter != null && referenceCounter.getNumReferences() > 0) {
+        return false;
+      }
+      closeDelegate();
+      cacheManager.removeVirtualSegmentFiles(dataSegment);
+      return true;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    lock.lock();
+    try {
+      closed = true;
+      closeDelegate();
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  private void closeDelegate()
+  {
+    if (delegate != null) {
+      try {
+        delegate.close();
+      }
+      catch (IOException e) {
+        throw new RE(e, "Failed to close segment[%s]", dataSegment.getId());
+      }
+      finally {
+        delegate = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import org.apache.druid.timeline.DataSegment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Prefers the location with the fewest segment downloads in progress, breaking ties by choosing the location which
+ * was selected least recently. This keeps concurrent downloads, and the reads of the freshly loaded segments which
+ * usually follow, from concentrating on a single device.
+ */
+public class LeastBusyStorageLocationSelectorStrategy implements StorageLocationSelectorStrategy
+{
+  private static final Comparator<StorageLocation> COMPARATOR =
+      Comparator.comparingInt(StorageLocation::getNumActiveLoads)
+                .thenComparingLong(StorageLocation::getLastLoadStartMillis);
+
+  @Override
+  public Iterator<StorageLocation> getLocations(List<StorageLocation> locations, DataSegment segment)
+  {
+    final List<StorageLocation> sorted = new ArrayList<>(locations);
+    sorted.sort(COMPARATOR);
+    return sorted.iterator();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "LeastBusyStorageLocationSelectorStrategy{}";
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import org.apache.druid.timeline.DataSegment;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Orders the locations randomly, with the probability of a location coming first proportional to its available
+ * space. Emptier locations receive more segments without all new segments landing on the same location.
+ */
+public class RandomStorageLocationSelectorStrategy implements StorageLocationSelectorStrategy
+{
+  @Override
+  public Iterator<StorageLocation> getLocations(List<StorageLocation> locations, DataSegment segment)
+  {
+    final List<StorageLocation> remaining = new ArrayList<>(locations);
+    final List<StorageLocation> ordered = new ArrayList<>(locations.size());
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+    while (!remaining.isEmpty()) {
+      long totalAvailable = 0;
+      for (StorageLocation location : remaining) {
+        totalAvailable += Math.max(location.available(), 0);
+      }
+
+      int chosen = 0;
+      if (totalAvailable > 0) {
+        long target = random.nextLong(totalAvailable);
+        for (int i = 0; i < remaining.size(); i++) {
+          target -= Math.max(remaining.get(i).available(), 0);
+          if (target < 0) {
+            chosen = i;
+            break;
+          }
+        }
+      } else {
+        chosen = random.nextInt(remaining.size());
+      }
+      ordered.add(remaining.remove(chosen));
+    }
+    return ordered.iterator();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "RandomStorageLocationSelectorStrategy{}";
+  }
+}
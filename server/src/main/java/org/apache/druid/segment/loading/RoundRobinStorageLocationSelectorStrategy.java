@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import org.apache.druid.timeline.DataSegment;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cycles through the locations, so that consecutively loaded segments, which are often queried together, are spread
+ * over all locations.
+ */
+public class RoundRobinStorageLocationSelectorStrategy implements StorageLocationSelectorStrategy
+{
+  private final AtomicInteger startIndex = new AtomicInteger(0);
+
+  @Override
+  public Iterator<StorageLocation> getLocations(List<StorageLocation> locations, DataSegment segment)
+  {
+    final int numLocations = locations.size();
+    final List<StorageLocation> ordered = new ArrayList<>(numLocations);
+    if (numLocations > 0) {
+      final int start = Math.floorMod(startIndex.getAndIncrement(), numLocations);
+      for (int i = 0; i < numLocations; i++) {
+        ordered.add(locations.get((start + i) % numLocations));
+      }
+    }
+    return ordered.iterator();
+  }
+
+  @Override
+  public String toString()
+  {
+    return "RoundRobinStorageLocationSelectorStrategy{}";
+  }
+}
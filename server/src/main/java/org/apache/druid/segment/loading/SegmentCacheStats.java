@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for segments served through virtual storage, see {@link SegmentLoaderConfig#isVirtualStorage()}.
+ */
+public class SegmentCacheStats
+{
+  private final AtomicLong hitCounter = new AtomicLong();
+  private final AtomicLong missCounter = new AtomicLong();
+  private final AtomicLong evictionCounter = new AtomicLong();
+  private final AtomicLong evictedBytesCounter = new AtomicLong();
+  private final AtomicLong fetchTimeMillisCounter = new AtomicLong();
+  private final AtomicLong fetchedBytesCounter = new AtomicLong();
+  private final AtomicLong fetchErrorCounter = new AtomicLong();
+
+  public void incrementHit()
+  {
+    hitCounter.incrementAndGet();
+  }
+
+  public void incrementFetch(long fetchTimeMillis, long bytes)
+  {
+    missCounter.incrementAndGet();
+    fetchTimeMillisCounter.addAndGet(fetchTimeMillis);
+    fetchedBytesCounter.addAndGet(bytes);
+  }
+
+  public void incrementFetchError()
+  {
+    fetchErrorCounter.incrementAndGet();
+  }
+
+  public void incrementEviction(long bytes)
+  {
+    evictionCounter.incrementAndGet();
+    evictedBytesCounter.addAndGet(bytes);
+  }
+
+  public Snapshot snapshot()
+  {
+    return new Snapshot(
+        hitCounter.get(),
+        missCounter.get(),
+        evictionCounter.get(),
+        evictedBytesCounter.get(),
+        fetchTimeMillisCounter.get(),
+        fetchedBytesCounter.get(),
+        fetchErrorCounter.get()
+    );
+  }
+
+  public static class Snapshot
+  {
+    private final long numHits;
+    private final long numMisses;
+    private final long numEvictions;
+    private final long evictedBytes;
+    private final long fetchTimeMillis;
+    private final long fetchedBytes;
+    private final long numFetchErrors;
+
+    Snapshot(
+        final long numHits,
+        final long numMisses,
+        final long numEvictions,
+        final long evictedBytes,
+        final long fetchTimeMillis,
+        final long fetchedBytes,
+        final long numFetchErrors
+    )
+    {
+      this.numHits = numHits;
+      this.numMisses = numMisses;
+      this.numEvictions = numEvictions;
+      this.evictedBytes = evictedBytes;
+      this.fetchTimeMillis = fetchTimeMillis;
+      this.fetchedBytes = fetchedBytes;
+      this.numFetchErrors = numFetchErrors;
+    }
+
+    public long getNumHits()
+    {
+      return numHits;
+    }
+
+    public long getNumMisses()
+    {
+      return numMisses;
+    }
+
+    public long getNumEvictions()
+    {
+      return numEvictions;
+    }
+
+    public long getEvictedBytes()
+    {
+      return evictedBytes;
+    }
+
+    public long getFetchTimeMillis()
+    {
+      return fetchTimeMillis;
+    }
+
+    public long getFetchedBytes()
+    {
+      return fetchedBytes;
+    }
+
+    public long getNumFetchErrors()
+    {
+      return numFetchErrors;
+    }
+
+    public double hitRate()
+    {
+      final long lookups = numHits + numMisses;
+      return lookups == 0 ? 0 : ((double) numHits) / lookups;
+    }
+
+    public long averageFetchTimeMillis()
+    {
+      return numMisses == 0 ? 0 : fetchTimeMillis / numMisses;
+    }
+
+    public Snapshot delta(Snapshot oldSnapshot)
+    {
+      if (oldSnapshot == null) {
+        return this;
+      } else {
+        return new Snapshot(
+            numHits - oldSnapshot.numHits,
+            numMisses - oldSnapshot.numMisses,
+            numEvictions - oldSnapshot.numEvictions,
+            evictedBytes - oldSnapshot.evictedBytes,
+            fetchTimeMillis - oldSnapshot.fetchTimeMillis,
+            fetchedBytes - oldSnapshot.fetchedBytes,
+            numFetchErrors - oldSnapshot.numFetchErrors
+        );
+      }
+    }
+  }
+}
@@ -58,6 +58,12 @@ public class SegmentLoaderConfig
   @JsonProperty
   private int statusQueueMaxSize = 100;
 
+  @JsonProperty("virtualStorage")
+  private boolean virtualStorage = false;
+
+  @JsonProperty("locationSelector")
+  private StorageLocationSelectorStrategy locationSelectorStrategy = new LeastBytesUsedStorageLocationSelectorStrategy();
+
   public List<StorageLocationConfig> getLocations()
   {
     return locations;
@@ -106,12 +112,29 @@ public class SegmentLoaderConfig
     return statusQueueMaxSize;
   }
 
+  /**
+   * If true, assigned segments are registered and announced without being downloaded. Segment files are fetched
+   * from deep storage the first time a query touches them, and least recently used segments are evicted from the
+   * local cache when the storage locations run out of space.
+   */
+  public boolean isVirtualStorage()
+  {
+    return virtualStorage;
+  }
+
+  public StorageLocationSelectorStrategy getLocationSelectorStrategy()
+  {
+    return locationSelectorStrategy;
+  }
+
   public SegmentLoaderConfig withLocations(List<StorageLocationConfig> locations)
   {
     SegmentLoaderConfig retVal = new SegmentLoaderConfig();
     retVal.locations = Lists.newArrayList(locations);
     retVal.deleteOnRemove = this.deleteOnRemove;
     retVal.infoDir = this.infoDir;
+    retVal.virtualStorage = this.virtualStorage;
+    retVal.locationSelectorStrategy = this.locationSelectorStrategy;
     return retVal;
   }
 
@@ -123,6 +146,8 @@ public class SegmentLoaderConfig
            ", deleteOnRemove=" + deleteOnRemove +
            ", dropSegmentDelayMillis=" + dropSegmentDelayMillis +
            ", infoDir=" + infoDir +
+           ", virtualStorage=" + virtualStorage +
+           ", locationSelectorStrategy=" + locationSelectorStrategy +
            '}';
   }
 }
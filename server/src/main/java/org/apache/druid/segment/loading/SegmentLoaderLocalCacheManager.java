@@ -21,7 +21,6 @@ package org.apache.druid.segment.loading;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.primitives.Longs;
 import com.google.inject.Inject;
 import org.apache.commons.io.FileUtils;
 import org.apache.druid.guice.annotations.Json;
@@ -34,21 +33,21 @@ import org.apache.druid.timeline.DataSegment;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  */
 public class SegmentLoaderLocalCacheManager implements SegmentLoader
 {
   private static final EmittingLogger log = new EmittingLogger(SegmentLoaderLocalCacheManager.class);
-  private static final Comparator<StorageLocation> COMPARATOR = (left, right) ->
-      Longs.compare(right.available(), left.available());
-
   private final IndexIO indexIO;
   private final SegmentLoaderConfig config;
   private final ObjectMapper jsonMapper;
+  private final SegmentCacheStats cacheStats;
 
   private final List<StorageLocation> locations;
 
@@ -77,6 +76,15 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
    */
   private final ConcurrentHashMap<DataSegment, ReferenceCountingLock> segmentLocks = new ConcurrentHashMap<>();
 
+  /**
+   * Segments fetched on demand when {@link SegmentLoaderConfig#isVirtualStorage()} is enabled, in access order so that
+   * the least recently used segment is evicted first. Segments which are registered but not fetched are not in here.
+   * {@link #fetchVirtualSegment} takes the monitor of this map while holding the lock of a {@link LazyLoadingSegment},
+   * and eviction takes the locks of other segments while holding the monitor. This cannot deadlock because eviction
+   * only uses {@link java.util.concurrent.locks.ReentrantLock#tryLock()} and skips segments locked by other threads.
+   */
+  private final LinkedHashMap<DataSegment, LazyLoadingSegment> virtualSegments = new LinkedHashMap<>(16, 0.75f, true);
+
   // Note that we only create this via injection in historical and realtime nodes. Peons create these
   // objects via SegmentLoaderFactory objects, so that they can store segments in task-specific
   // directories rather than statically configured directories.
@@ -84,12 +92,14 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
   public SegmentLoaderLocalCacheManager(
       IndexIO indexIO,
       SegmentLoaderConfig config,
-      @Json ObjectMapper mapper
+      @Json ObjectMapper mapper,
+      SegmentCacheStats cacheStats
   )
   {
     this.indexIO = indexIO;
     this.config = config;
     this.jsonMapper = mapper;
+    this.cacheStats = cacheStats;
 
     this.locations = new ArrayList<>();
     for (StorageLocationConfig locationConfig : config.getLocations()) {
@@ -101,7 +111,15 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
           )
       );
     }
-    locations.sort(COMPARATOR);
+  }
+
+  public SegmentLoaderLocalCacheManager(
+      IndexIO indexIO,
+      SegmentLoaderConfig config,
+      ObjectMapper mapper
+  )
+  {
+    this(indexIO, config, mapper, new SegmentCacheStats());
   }
 
   @Override
@@ -123,6 +141,37 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
 
   @Override
   public Segment getSegment(DataSegment segment) throws SegmentLoadingException
+  {
+    if (config.isVirtualStorage()) {
+      return registerVirtualSegment(segment);
+    }
+    return loadSegment(segment);
+  }
+
+  private LazyLoadingSegment registerVirtualSegment(DataSegment segment)
+  {
+    final LazyLoadingSegment lazySegment = new LazyLoadingSegment(segment, this);
+    final ReferenceCountingLock lock = createOrGetLock(segment);
+    synchronized (lock) {
+      try {
+        // Files fetched before a restart are still on disk. Account for them in their location and make them
+        // evictable, otherwise they would occupy space that virtual storage doesn't know about.
+        final StorageLocation location = findStorageLocationIfLoaded(segment);
+        if (location != null) {
+          location.addSegment(segment);
+          synchronized (virtualSegments) {
+            virtualSegments.put(segment, lazySegment);
+          }
+        }
+      }
+      finally {
+        unlock(segment, lock);
+      }
+    }
+    return lazySegment;
+  }
+
+  private Segment loadSegment(DataSegment segment) throws SegmentLoadingException
   {
     final ReferenceCountingLock lock = createOrGetLock(segment);
     final File segmentFiles;
@@ -151,6 +200,104 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
     return factory.factorize(segment, segmentFiles);
   }
 
+  /**
+   * Downloads the files of a segment registered through virtual storage, evicting least recently used segments if
+   * needed. Called by {@link LazyLoadingSegment} while holding its lock.
+   */
+  Segment fetchVirtualSegment(LazyLoadingSegment lazySegment) throws SegmentLoadingException
+  {
+    final DataSegment segment = lazySegment.getDataSegment();
+    // files kept from before a restart only need to be opened
+    final boolean cached = isSegmentLoaded(segment);
+    final long startNanos = System.nanoTime();
+    final Segment loaded;
+    try {
+      loaded = loadSegment(segment);
+    }
+    catch (SegmentLoadingException e) {
+      cacheStats.incrementFetchError();
+      throw e;
+    }
+    if (cached) {
+      cacheStats.incrementHit();
+    } else {
+      cacheStats.incrementFetch(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), segment.getSize());
+    }
+
+    synchronized (virtualSegments) {
+      virtualSegments.put(segment, lazySegment);
+    }
+    return loaded;
+  }
+
+  void touchVirtualSegment(LazyLoadingSegment lazySegment)
+  {
+    synchronized (virtualSegments) {
+      // Only for the access order side effect.
+      virtualSegments.get(lazySegment.getDataSegment());
+    }
+  }
+
+  void recordVirtualSegmentHit()
+  {
+    cacheStats.incrementHit();
+  }
+
+  /**
+   * Evicts least recently used virtual segments until some location has room for the given segment, or until there is
+   * nothing left that can be evicted.
+   */
+  private void reserveVirtualStorage(DataSegment segment)
+  {
+    while (!hasAvailableLocation(segment) && evictLeastRecentlyUsed()) {
+      // keep evicting
+    }
+  }
+
+  private boolean hasAvailableLocation(DataSegment segment)
+  {
+    for (StorageLocation location : locations) {
+      if (location.hasRoomFor(segment)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean evictLeastRecentlyUsed()
+  {
+    synchronized (virtualSegments) {
+      final Iterator<LazyLoadingSegment> iterator = virtualSegments.values().iterator();
+      while (iterator.hasNext()) {
+        final LazyLoadingSegment candidate = iterator.next();
+        if (candidate.evictIfUnused()) {
+          iterator.remove();
+          cacheStats.incrementEviction(candidate.getDataSegment().getSize());
+          log.debug("Evicted segment[%s] from virtual storage", candidate.getId());
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes the local files of an evicted virtual segment. Called by {@link LazyLoadingSegment#evictIfUnused()} while
+   * holding its lock, so that the segment cannot be fetched again before the files are gone.
+   */
+  void removeVirtualSegmentFiles(DataSegment segment)
+  {
+    final ReferenceCountingLock lock = createOrGetLock(segment);
+    synchronized (lock) {
+      try {
+        removeSegmentFiles(segment);
+      }
+      finally {
+        unlock(segment, lock);
+      }
+    }
+  }
+
   @Override
   public File getSegmentFiles(DataSegment segment) throws SegmentLoadingException
   {
@@ -179,10 +326,18 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
    */
   private StorageLocation loadSegmentWithRetry(DataSegment segment, String storageDirStr) throws SegmentLoadingException
   {
-    for (StorageLocation loc : locations) {
+    if (config.isVirtualStorage()) {
+      reserveVirtualStorage(segment);
+    }
+
+    final Iterator<StorageLocation> locationsIterator = config.getLocationSelectorStrategy()
+                                                              .getLocations(locations, segment);
+    while (locationsIterator.hasNext()) {
+      final StorageLocation loc = locationsIterator.next();
       if (loc.canHandle(segment)) {
         File storageDir = new File(loc.getPath(), storageDirStr);
 
+        loc.beginLoad();
         try {
           loadInLocationWithStartMarker(segment, storageDir);
           return loc;
@@ -198,6 +353,9 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
 
           cleanupCacheFiles(loc.getPath(), storageDir);
         }
+        finally {
+          loc.endLoad();
+        }
       }
     }
     throw new SegmentLoadingException("Failed to load segment %s in all locations.", segment.getId());
@@ -247,6 +405,13 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
   @Override
   public void cleanup(DataSegment segment)
   {
+    if (config.isVirtualStorage()) {
+      // Must not hold the segment lock here, see removeVirtualSegmentFiles()
+      synchronized (virtualSegments) {
+        virtualSegments.remove(segment);
+      }
+    }
+
     if (!config.isDeleteOnRemove()) {
       return;
     }
@@ -257,22 +422,14 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
         StorageLocation loc = findStorageLocationIfLoaded(segment);
 
         if (loc == null) {
-          log.warn("Asked to cleanup something[%s] that didn't exist.  Skipping.", segment);
+          // Segments in virtual storage are often dropped without ever being fetched
+          if (!config.isVirtualStorage()) {
+            log.warn("Asked to cleanup something[%s] that didn't exist.  Skipping.", segment);
+          }
           return;
         }
 
-        // If storageDir.mkdirs() success, but downloadStartMarker.createNewFile() failed,
-        // in this case, findStorageLocationIfLoaded() will think segment is located in the failed storageDir which is actually not.
-        // So we should always clean all possible locations here
-        for (StorageLocation location : locations) {
-          File localStorageDir = new File(location.getPath(), DataSegmentPusher.getDefaultStorageDir(segment, false));
-          if (localStorageDir.exists()) {
-            // Druid creates folders of the form dataSource/interval/version/partitionNum.
-            // We need to clean up all these directories if they are all empty.
-            cleanupCacheFiles(location.getPath(), localStorageDir);
-            location.removeSegment(segment);
-          }
-        }
+        removeSegmentFiles(segment);
       }
       finally {
         unlock(segment, lock);
@@ -280,6 +437,22 @@ public class SegmentLoaderLocalCacheManager implements SegmentLoader
     }
   }
 
+  private void removeSegmentFiles(DataSegment segment)
+  {
+    // If storageDir.mkdirs() success, but downloadStartMarker.createNewFile() failed,
+    // in this case, findStorageLocationIfLoaded() will think segment is located in the failed storageDir which is actually not.
+    // So we should always clean all possible locations here
+    for (StorageLocation location : locations) {
+      File localStorageDir = new File(location.getPath(), DataSegmentPusher.getDefaultStorageDir(segment, false));
+      if (localStorageDir.exists()) {
+        // Druid creates folders of the form dataSource/interval/version/partitionNum.
+        // We need to clean up all these directories if they are all empty.
+        cleanupCacheFiles(location.getPath(), localStorageDir);
+        location.removeSegment(segment);
+      }
+    }
+  }
+
   private void cleanupCacheFiles(File baseFile, File cacheFile)
   {
     if (cacheFile.equals(baseFile)) {
@@ -26,10 +26,11 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
 */
-class StorageLocation
+public class StorageLocation
 {
   private static final Logger log = new Logger(StorageLocation.class);
 
@@ -40,6 +41,9 @@ class StorageLocation
 
   private volatile long currSize = 0;
 
+  private final AtomicInteger numActiveLoads = new AtomicInteger(0);
+  private volatile long lastLoadStartMillis = 0;
+
   StorageLocation(File path, long maxSize, @Nullable Double freeSpacePercent)
   {
     this.path = path;
@@ -114,8 +118,46 @@ class StorageLocation
     return true;
   }
 
+  /**
+   * Same checks as {@link #canHandle} without the warnings, for virtual storage which evicts segments until this
+   * returns true.
+   */
+  boolean hasRoomFor(DataSegment segment)
+  {
+    if (available() < segment.getSize()) {
+      return false;
+    }
+    return freeSpaceToKeep <= 0 || freeSpaceToKeep + segment.getSize() <= path.getFreeSpace();
+  }
+
   synchronized long available()
   {
     return maxSize - currSize;
   }
+
+  synchronized long currSizeBytes()
+  {
+    return currSize;
+  }
+
+  void beginLoad()
+  {
+    numActiveLoads.incrementAndGet();
+    lastLoadStartMillis = System.currentTimeMillis();
+  }
+
+  void endLoad()
+  {
+    numActiveLoads.decrementAndGet();
+  }
+
+  int getNumActiveLoads()
+  {
+    return numActiveLoads.get();
+  }
+
+  long getLastLoadStartMillis()
+  {
+    return lastLoadStartMillis;
+  }
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.druid.timeline.DataSegment;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Decides in which order {@link SegmentLoaderLocalCacheManager} tries the configured {@link StorageLocation}s when
+ * it downloads a segment. The first location in the order which has room for the segment is used. Implementations
+ * must be thread-safe.
+ */
+@JsonTypeInfo(
+    use = JsonTypeInfo.Id.NAME,
+    property = "strategy",
+    defaultImpl = LeastBytesUsedStorageLocationSelectorStrategy.class
+)
+@JsonSubTypes(value = {
+    @JsonSubTypes.Type(name = "leastBytesUsed", value = LeastBytesUsedStorageLocationSelectorStrategy.class),
+    @JsonSubTypes.Type(name = "roundRobin", value = RoundRobinStorageLocationSelectorStrategy.class),
+    @JsonSubTypes.Type(name = "random", value = RandomStorageLocationSelectorStrategy.class),
+    @JsonSubTypes.Type(name = "leastBusy", value = LeastBusyStorageLocationSelectorStrategy.class)
+})
+public interface StorageLocationSelectorStrategy
+{
+  Iterator<StorageLocation> getLocations(List<StorageLocation> locations, DataSegment segment);
+}
@@ -45,6 +45,9 @@ public class FireDepartmentMetrics
   private final AtomicLong sinkCount = new AtomicLong(0);
   private final AtomicLong messageMaxTimestamp = new AtomicLong(0);
   private final AtomicLong messageGap = new AtomicLong(0);
+  private final AtomicLong parseTimeNanos = new AtomicLong(0);
+  private final AtomicLong parseWaitTimeNanos = new AtomicLong(0);
+  private final AtomicLong appendTimeNanos = new AtomicLong(0);
 
   public void incrementProcessed()
   {
@@ -131,6 +134,21 @@ public class FireDepartmentMetrics
     this.messageMaxTimestamp.set(Math.max(messageMaxTimestamp, this.messageMaxTimestamp.get()));
   }
 
+  public void incrementParseTimeNanos(long nanos)
+  {
+    parseTimeNanos.addAndGet(nanos);
+  }
+
+  public void incrementParseWaitTimeNanos(long nanos)
+  {
+    parseWaitTimeNanos.addAndGet(nanos);
+  }
+
+  public void incrementAppendTimeNanos(long nanos)
+  {
+    appendTimeNanos.addAndGet(nanos);
+  }
+
   public long processed()
   {
     return processedCount.get();
@@ -221,6 +239,21 @@ public class FireDepartmentMetrics
     return messageGap.get();
   }
 
+  public long parseTimeNanos()
+  {
+    return parseTimeNanos.get();
+  }
+
+  public long parseWaitTimeNanos()
+  {
+    return parseWaitTimeNanos.get();
+  }
+
+  public long appendTimeNanos()
+  {
+    return appendTimeNanos.get();
+  }
+
   public FireDepartmentMetrics snapshot()
   {
     final FireDepartmentMetrics retVal = new FireDepartmentMetrics();
@@ -242,6 +275,9 @@ public class FireDepartmentMetrics
     retVal.sinkCount.set(sinkCount.get());
     retVal.messageMaxTimestamp.set(messageMaxTimestamp.get());
     retVal.messageGap.set(System.currentTimeMillis() - messageMaxTimestamp.get());
+    retVal.parseTimeNanos.set(parseTimeNanos.get());
+    retVal.parseWaitTimeNanos.set(parseWaitTimeNanos.get());
+    retVal.appendTimeNanos.set(appendTimeNanos.get());
     return retVal;
   }
 
@@ -272,6 +308,9 @@ public class FireDepartmentMetrics
     sinkCount.addAndGet(otherSnapshot.sinkCount());
     messageMaxTimestamp.set(Math.max(messageMaxTimestamp(), otherSnapshot.messageMaxTimestamp()));
     messageGap.set(Math.max(messageGap(), otherSnapshot.messageGap()));
+    parseTimeNanos.addAndGet(otherSnapshot.parseTimeNanos());
+    parseWaitTimeNanos.addAndGet(otherSnapshot.parseWaitTimeNanos());
+    appendTimeNanos.addAndGet(otherSnapshot.appendTimeNanos());
     return this;
   }
 }
@@ -59,6 +59,7 @@ import org.apache.druid.query.QueryRunner;
 import org.apache.druid.query.QueryRunnerFactoryConglomerate;
 import org.apache.druid.query.QuerySegmentWalker;
 import org.apache.druid.query.SegmentDescriptor;
+import org.apache.druid.segment.ColumnRanges;
 import org.apache.druid.segment.IndexIO;
 import org.apache.druid.segment.IndexMerger;
 import org.apache.druid.segment.IndexSpec;
@@ -76,6 +77,7 @@ import org.apache.druid.segment.realtime.plumber.Sink;
 import org.apache.druid.server.coordination.DataSegmentAnnouncer;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.VersionedIntervalTimeline;
+import org.apache.druid.timeline.partition.ColumnRange;
 import org.joda.time.Interval;
 
 import javax.annotation.Nullable;
@@ -712,6 +714,7 @@ public class AppenderatorImpl implements Appenderator
       }
 
       final File mergedFile;
+      final Map<String, ColumnRange> columnRanges;
       List<QueryableIndex> indexes = new ArrayList<>();
       Closer closer = Closer.create();
       try {
@@ -731,6 +734,7 @@ public class AppenderatorImpl implements Appenderator
             tuningConfig.getIndexSpec(),
             tuningConfig.getSegmentWriteOutMediumFactory()
         );
+        columnRanges = ColumnRanges.compute(indexes, tuningConfig.getIndexSpec().getRangeSummaryColumns());
       }
       catch (Throwable t) {
         throw closer.rethrow(t);
@@ -746,7 +750,9 @@ public class AppenderatorImpl implements Appenderator
           // semantics.
           () -> dataSegmentPusher.push(
               mergedFile,
-              sink.getSegment().withDimensions(IndexMerger.getMergedDimensionsFromQueryableIndexes(indexes)),
+              sink.getSegment()
+                  .withDimensions(IndexMerger.getMergedDimensionsFromQueryableIndexes(indexes))
+                  .withColumnRanges(columnRanges),
               useUniquePath
           ),
           exception -> exception instanceof Exception,
@@ -26,6 +26,7 @@ import org.apache.druid.common.guava.SettableSupplier;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.segment.ReferenceCountingSegment;
 import org.apache.druid.segment.Segment;
+import org.apache.druid.segment.loading.LazyLoadingSegment;
 import org.apache.druid.segment.loading.SegmentLoader;
 import org.apache.druid.segment.loading.SegmentLoadingException;
 import org.apache.druid.timeline.DataSegment;
@@ -174,10 +175,17 @@ public class SegmentManager
             log.warn("Told to load an adapter for segment[%s] that already exists", segment.getId());
             resultSupplier.set(false);
           } else {
+            // Virtual storage needs to know whether the segment is in use before evicting it
+            final ReferenceCountingSegment referenceCountingSegment;
+            if (adapter instanceof LazyLoadingSegment) {
+              referenceCountingSegment = ((LazyLoadingSegment) adapter).createReferenceCountingSegment();
+            } else {
+              referenceCountingSegment = new ReferenceCountingSegment(adapter);
+            }
             loadedIntervals.add(
                 segment.getInterval(),
                 segment.getVersion(),
-                segment.getShardSpec().createChunk(new ReferenceCountingSegment(adapter))
+                segment.getShardSpec().createChunk(referenceCountingSegment)
             );
             dataSourceState.addSegment(segment);
             resultSupplier.set(true);
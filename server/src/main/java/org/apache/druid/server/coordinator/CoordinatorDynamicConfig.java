@@ -55,6 +55,7 @@ public class CoordinatorDynamicConfig
   private final int replicantLifetime;
   private final int replicationThrottleLimit;
   private final int balancerComputeThreads;
+  private final int ruleRunnerThreads;
   private final boolean emitBalancingStats;
   private final boolean killAllDataSources;
   private final Set<String> killableDataSources;
@@ -81,6 +82,7 @@ public class CoordinatorDynamicConfig
       @JsonProperty("replicantLifetime") int replicantLifetime,
       @JsonProperty("replicationThrottleLimit") int replicationThrottleLimit,
       @JsonProperty("balancerComputeThreads") int balancerComputeThreads,
+      @JsonProperty("ruleRunnerThreads") int ruleRunnerThreads,
       @JsonProperty("emitBalancingStats") boolean emitBalancingStats,
 
       // Type is Object here so that we can support both string and list as
@@ -101,6 +103,7 @@ public class CoordinatorDynamicConfig
     this.replicantLifetime = replicantLifetime;
     this.replicationThrottleLimit = replicationThrottleLimit;
     this.balancerComputeThreads = Math.max(balancerComputeThreads, 1);
+    this.ruleRunnerThreads = Math.max(ruleRunnerThreads, 1);
     this.emitBalancingStats = emitBalancingStats;
     this.killAllDataSources = killAllDataSources;
     this.killableDataSources = parseJsonStringOrArray(killableDataSources);
@@ -200,6 +203,16 @@ public class CoordinatorDynamicConfig
     return balancerComputeThreads;
   }
 
+  /**
+   * Number of threads {@link org.apache.druid.server.coordinator.helper.DruidCoordinatorRuleRunner} uses to run rules
+   * for the segments of different dataSources in parallel.
+   */
+  @JsonProperty
+  public int getRuleRunnerThreads()
+  {
+    return ruleRunnerThreads;
+  }
+
   /**
    * List of dataSources for which kill tasks are sent in
    * {@link org.apache.druid.server.coordinator.helper.DruidCoordinatorSegmentKiller}.
@@ -277,6 +290,7 @@ public class CoordinatorDynamicConfig
            ", replicantLifetime=" + replicantLifetime +
            ", replicationThrottleLimit=" + replicationThrottleLimit +
            ", balancerComputeThreads=" + balancerComputeThreads +
+           ", ruleRunnerThreads=" + ruleRunnerThreads +
            ", emitBalancingStats=" + emitBalancingStats +
            ", killAllDataSources=" + killAllDataSources +
            ", killDataSourceWhitelist=" + killableDataSources +
@@ -320,6 +334,9 @@ public class CoordinatorDynamicConfig
     if (balancerComputeThreads != that.balancerComputeThreads) {
       return false;
     }
+    if (ruleRunnerThreads != that.ruleRunnerThreads) {
+      return false;
+    }
     if (emitBalancingStats != that.emitBalancingStats) {
       return false;
     }
@@ -352,6 +369,7 @@ public class CoordinatorDynamicConfig
         replicantLifetime,
         replicationThrottleLimit,
         balancerComputeThreads,
+        ruleRunnerThreads,
         emitBalancingStats,
         killAllDataSources,
         maxSegmentsInNodeLoadingQueue,
@@ -376,6 +394,7 @@ public class CoordinatorDynamicConfig
     private static final int DEFAULT_REPLICANT_LIFETIME = 15;
     private static final int DEFAULT_REPLICATION_THROTTLE_LIMIT = 10;
     private static final int DEFAULT_BALANCER_COMPUTE_THREADS = 1;
+    private static final int DEFAULT_RULE_RUNNER_THREADS = 1;
     private static final boolean DEFAULT_EMIT_BALANCING_STATS = false;
     private static final boolean DEFAULT_KILL_ALL_DATA_SOURCES = false;
     private static final int DEFAULT_MAX_SEGMENTS_IN_NODE_LOADING_QUEUE = 0;
@@ -389,6 +408,7 @@ public class CoordinatorDynamicConfig
     private Integer replicationThrottleLimit;
     private Boolean emitBalancingStats;
     private Integer balancerComputeThreads;
+    private Integer ruleRunnerThreads;
     private Object killableDataSources;
     private Boolean killAllDataSources;
     private Object killPendingSegmentsSkipList;
@@ -409,6 +429,7 @@ public class CoordinatorDynamicConfig
         @JsonProperty("replicantLifetime") @Nullable Integer replicantLifetime,
         @JsonProperty("replicationThrottleLimit") @Nullable Integer replicationThrottleLimit,
         @JsonProperty("balancerComputeThreads") @Nullable Integer balancerComputeThreads,
+        @JsonProperty("ruleRunnerThreads") @Nullable Integer ruleRunnerThreads,
         @JsonProperty("emitBalancingStats") @Nullable Boolean emitBalancingStats,
         @JsonProperty("killDataSourceWhitelist") @Nullable Object killableDataSources,
         @JsonProperty("killAllDataSources") @Nullable Boolean killAllDataSources,
@@ -425,6 +446,7 @@ public class CoordinatorDynamicConfig
       this.replicantLifetime = replicantLifetime;
       this.replicationThrottleLimit = replicationThrottleLimit;
       this.balancerComputeThreads = balancerComputeThreads;
+      this.ruleRunnerThreads = ruleRunnerThreads;
       this.emitBalancingStats = emitBalancingStats;
       this.killAllDataSources = killAllDataSources;
       this.killableDataSources = killableDataSources;
@@ -476,6 +498,12 @@ public class CoordinatorDynamicConfig
       return this;
     }
 
+    public Builder withRuleRunnerThreads(int ruleRunnerThreads)
+    {
+      this.ruleRunnerThreads = ruleRunnerThreads;
+      return this;
+    }
+
     public Builder withEmitBalancingStats(boolean emitBalancingStats)
     {
       this.emitBalancingStats = emitBalancingStats;
@@ -522,6 +550,7 @@ public class CoordinatorDynamicConfig
           replicantLifetime == null ? DEFAULT_REPLICANT_LIFETIME : replicantLifetime,
           replicationThrottleLimit == null ? DEFAULT_REPLICATION_THROTTLE_LIMIT : replicationThrottleLimit,
           balancerComputeThreads == null ? DEFAULT_BALANCER_COMPUTE_THREADS : balancerComputeThreads,
+          ruleRunnerThreads == null ? DEFAULT_RULE_RUNNER_THREADS : ruleRunnerThreads,
           emitBalancingStats == null ? DEFAULT_EMIT_BALANCING_STATS : emitBalancingStats,
           killableDataSources,
           killAllDataSources == null ? DEFAULT_KILL_ALL_DATA_SOURCES : killAllDataSources,
@@ -546,6 +575,7 @@ public class CoordinatorDynamicConfig
           replicantLifetime == null ? defaults.getReplicantLifetime() : replicantLifetime,
           replicationThrottleLimit == null ? defaults.getReplicationThrottleLimit() : replicationThrottleLimit,
           balancerComputeThreads == null ? defaults.getBalancerComputeThreads() : balancerComputeThreads,
+          ruleRunnerThreads == null ? defaults.getRuleRunnerThreads() : ruleRunnerThreads,
           emitBalancingStats == null ? defaults.emitBalancingStats() : emitBalancingStats,
           killableDataSources == null ? defaults.getKillableDataSources() : killableDataSources,
           killAllDataSources == null ? defaults.isKillAllDataSources() : killAllDataSources,
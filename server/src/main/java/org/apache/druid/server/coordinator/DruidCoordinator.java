@@ -56,6 +56,7 @@ import org.apache.druid.java.util.common.lifecycle.LifecycleStart;
 import org.apache.druid.java.util.common.lifecycle.LifecycleStop;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
 import org.apache.druid.metadata.MetadataRuleManager;
 import org.apache.druid.metadata.MetadataSegmentManager;
 import org.apache.druid.server.DruidNode;
@@ -73,6 +74,7 @@ import org.apache.druid.server.initialization.ZkPathsConfig;
 import org.apache.druid.server.lookup.cache.LookupCoordinatorManager;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.SegmentId;
+import org.apache.druid.timeline.VersionedIntervalTimeline;
 import org.joda.time.DateTime;
 import org.joda.time.Duration;
 
@@ -90,6 +92,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -124,6 +127,11 @@ public class DruidCoordinator
 
   private static final EmittingLogger log = new EmittingLogger(DruidCoordinator.class);
 
+  /**
+   * Dimension of the "coordinator/time" metric, which is emitted for every {@link DruidCoordinatorHelper} run.
+   */
+  private static final String HELPER_DIMENSION = "helper";
+
   private final Object lock = new Object();
   private final DruidCoordinatorConfig config;
   private final ZkPathsConfig zkPaths;
@@ -691,9 +699,10 @@ public class DruidCoordinator
 
         // Do coordinator stuff.
         dataSourcesSnapshot = metadataSegmentManager.getDataSourcesSnapshot();
-        final Collection<ImmutableDruidDataSource> dataSources = Optional.ofNullable(dataSourcesSnapshot)
-                                                                         .map(m -> m.getDataSources())
-                                                                         .orElse(null);
+        final Map<String, VersionedIntervalTimeline<String, DataSegment>> dataSources = Optional
+            .ofNullable(dataSourcesSnapshot)
+            .map(DataSourcesSnapshot::getUsedSegmentsTimelinesPerDataSource)
+            .orElse(null);
 
         if (dataSources == null) {
           log.info("Metadata store not polled yet, skipping this run.");
@@ -713,7 +722,13 @@ public class DruidCoordinator
         for (DruidCoordinatorHelper helper : helpers) {
           // Don't read state and run state in the same helper otherwise racy conditions may exist
           if (coordLeaderSelector.isLeader() && startingLeaderCounter == coordLeaderSelector.localTerm()) {
+            final long helperStartNanos = System.nanoTime();
             params = helper.run(params);
+            emitter.emit(
+                new ServiceMetricEvent.Builder()
+                    .setDimension(HELPER_DIMENSION, helper.getClass().getSimpleName())
+                    .build("coordinator/time", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - helperStartNanos))
+            );
 
             if (params == null) {
               // This helper wanted to cancel the run. No log message, since the helper should have logged a reason.
@@ -740,68 +755,7 @@ public class DruidCoordinator
       super(
           ImmutableList.of(
               new DruidCoordinatorSegmentInfoLoader(DruidCoordinator.this),
-              params -> {
-                List<ImmutableDruidServer> servers = serverInventoryView
-                    .getInventory()
-                    .stream()
-                    .filter(DruidServer::segmentReplicatable)
-                    .map(DruidServer::toImmutableDruidServer)
-                    .collect(Collectors.toList());
-
-                if (log.isDebugEnabled()) {
-                  // Display info about all historical servers
-                  log.debug("Servers");
-                  for (ImmutableDruidServer druidServer : servers) {
-                    log.debug("  %s", druidServer);
-                    log.debug("    -- DataSources");
-                    for (ImmutableDruidDataSource druidDataSource : druidServer.getDataSources()) {
-                      log.debug("    %s", druidDataSource);
-                    }
-                  }
-                }
-
-                // Find all historical servers, group them by subType and sort by ascending usage
-                Set<String> decommissioningServers = params.getCoordinatorDynamicConfig().getDecommissioningNodes();
-                final DruidCluster cluster = new DruidCluster();
-                for (ImmutableDruidServer server : servers) {
-                  if (!loadManagementPeons.containsKey(server.getName())) {
-                    LoadQueuePeon loadQueuePeon = taskMaster.giveMePeon(server);
-                    loadQueuePeon.start();
-                    log.info("Created LoadQueuePeon for server[%s].", server.getName());
-
-                    loadManagementPeons.put(server.getName(), loadQueuePeon);
-                  }
-
-                  cluster.add(
-                      new ServerHolder(
-                          server,
-                          loadManagementPeons.get(server.getName()),
-                          decommissioningServers.contains(server.getHost())
-                      )
-                  );
-                }
-
-                segmentReplicantLookup = SegmentReplicantLookup.make(cluster);
-
-                // Stop peons for servers that aren't there anymore.
-                final Set<String> disappeared = Sets.newHashSet(loadManagementPeons.keySet());
-                for (ImmutableDruidServer server : servers) {
-                  disappeared.remove(server.getName());
-                }
-                for (String name : disappeared) {
-                  log.info("Removing listener for server[%s] which is no longer there.", name);
-                  LoadQueuePeon peon = loadManagementPeons.remove(name);
-                  peon.stop();
-                }
-
-                return params.buildFromExisting()
-                             .withDruidCluster(cluster)
-                             .withDatabaseRuleManager(metadataRuleManager)
-                             .withLoadManagementPeons(loadManagementPeons)
-                             .withSegmentReplicantLookup(segmentReplicantLookup)
-                             .withBalancerReferenceTimestamp(DateTimes.nowUtc())
-                             .build();
-              },
+              new UpdateCoordinatorStateAndPrepareCluster(),
               new DruidCoordinatorRuleRunner(DruidCoordinator.this),
               new DruidCoordinatorCleanupUnneeded(),
               new DruidCoordinatorCleanupOvershadowed(DruidCoordinator.this),
@@ -813,6 +767,78 @@ public class DruidCoordinator
     }
   }
 
+  /**
+   * Refreshes the view of the historical servers and their load queues, and puts the resulting {@link DruidCluster}
+   * into the runtime params for the helpers which follow.
+   */
+  private class UpdateCoordinatorStateAndPrepareCluster implements DruidCoordinatorHelper
+  {
+    @Override
+    public DruidCoordinatorRuntimeParams run(DruidCoordinatorRuntimeParams params)
+    {
+      List<ImmutableDruidServer> servers = serverInventoryView
+          .getInventory()
+          .stream()
+          .filter(DruidServer::segmentReplicatable)
+          .map(DruidServer::toImmutableDruidServer)
+          .collect(Collectors.toList());
+
+      if (log.isDebugEnabled()) {
+        // Display info about all historical servers
+        log.debug("Servers");
+        for (ImmutableDruidServer druidServer : servers) {
+          log.debug("  %s", druidServer);
+          log.debug("    -- DataSources");
+          for (ImmutableDruidDataSource druidDataSource : druidServer.getDataSources()) {
+            log.debug("    %s", druidDataSource);
+          }
+        }
+      }
+
+      // Find all historical servers, group them by subType and sort by ascending usage
+      Set<String> decommissioningServers = params.getCoordinatorDynamicConfig().getDecommissioningNodes();
+      final DruidCluster cluster = new DruidCluster();
+      for (ImmutableDruidServer server : servers) {
+        if (!loadManagementPeons.containsKey(server.getName())) {
+          LoadQueuePeon loadQueuePeon = taskMaster.giveMePeon(server);
+          loadQueuePeon.start();
+          log.info("Created LoadQueuePeon for server[%s].", server.getName());
+
+          loadManagementPeons.put(server.getName(), loadQueuePeon);
+        }
+
+        cluster.add(
+            new ServerHolder(
+                server,
+                loadManagementPeons.get(server.getName()),
+                decommissioningServers.contains(server.getHost())
+            )
+        );
+      }
+
+      segmentReplicantLookup = SegmentReplicantLookup.make(cluster);
+
+      // Stop peons for servers that aren't there anymore.
+      final Set<String> disappeared = Sets.newHashSet(loadManagementPeons.keySet());
+      for (ImmutableDruidServer server : servers) {
+        disappeared.remove(server.getName());
+      }
+      for (String name : disappeared) {
+        log.info("Removing listener for server[%s] which is no longer there.", name);
+        LoadQueuePeon peon = loadManagementPeons.remove(name);
+        peon.stop();
+      }
+
+      return params.buildFromExisting()
+                   .withDruidCluster(cluster)
+                   .withDatabaseRuleManager(metadataRuleManager)
+                   .withLoadManagementPeons(loadManagementPeons)
+                   .withSegmentReplicantLookup(segmentReplicantLookup)
+                   .withBalancerReferenceTimestamp(DateTimes.nowUtc())
+                   .build();
+    }
+  }
+
   private class CoordinatorIndexingServiceRunnable extends CoordinatorRunnable
   {
     public CoordinatorIndexingServiceRunnable(List<DruidCoordinatorHelper> helpers, final int startingLeaderCounter)
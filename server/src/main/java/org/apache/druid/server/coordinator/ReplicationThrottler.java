@@ -36,7 +36,7 @@ public class ReplicationThrottler
 {
   private static final EmittingLogger log = new EmittingLogger(ReplicationThrottler.class);
 
-  private final Map<String, Boolean> replicatingLookup = new HashMap<>();
+  private final Map<String, Boolean> replicatingLookup = new ConcurrentHashMap<>();
   private final ReplicatorSegmentHolder currentlyReplicating = new ReplicatorSegmentHolder();
 
   private volatile int maxReplicants;
@@ -90,9 +90,16 @@ public class ReplicationThrottler
     return replicatingLookup.get(tier) && !currentlyReplicating.isAtMaxReplicants(tier);
   }
 
-  public void registerReplicantCreation(String tier, SegmentId segmentId, String serverId)
+  /**
+   * Registers a replicant which is about to be created. Checking the limit and registering is atomic, so that
+   * segments assigned concurrently by {@link org.apache.druid.server.coordinator.helper.DruidCoordinatorRuleRunner}
+   * cannot exceed the replication throttle limit of a tier together.
+   *
+   * @return false if the tier is already at the limit, in which case the replicant must not be created
+   */
+  public boolean registerReplicantCreation(String tier, SegmentId segmentId, String serverId)
   {
-    currentlyReplicating.addSegment(tier, segmentId, serverId);
+    return currentlyReplicating.addSegment(tier, segmentId, serverId);
   }
 
   public void unregisterReplicantCreation(String tier, SegmentId segmentId)
@@ -102,7 +109,8 @@ public class ReplicationThrottler
 
   private class ReplicatorSegmentHolder
   {
-    private final Map<String, ConcurrentHashMap<SegmentId, String>> currentlyProcessingSegments = new HashMap<>();
+    private final Map<String, ConcurrentHashMap<SegmentId, String>> currentlyProcessingSegments =
+        new ConcurrentHashMap<>();
     private final Map<String, Integer> lifetimes = new HashMap<>();
 
     public boolean isAtMaxReplicants(String tier)
@@ -111,13 +119,18 @@ public class ReplicationThrottler
       return (segments != null && segments.size() >= maxReplicants);
     }
 
-    public void addSegment(String tier, SegmentId segmentId, String serverId)
+    public boolean addSegment(String tier, SegmentId segmentId, String serverId)
     {
       ConcurrentHashMap<SegmentId, String> segments =
           currentlyProcessingSegments.computeIfAbsent(tier, t -> new ConcurrentHashMap<>());
 
-      if (!isAtMaxReplicants(tier)) {
+      // removals from load callbacks don't need the lock, they can only make room
+      synchronized (segments) {
+        if (segments.size() >= maxReplicants) {
+          return false;
+        }
         segments.put(segmentId, serverId);
+        return true;
       }
     }
 
@@ -31,7 +31,9 @@ import org.apache.druid.timeline.VersionedIntervalTimeline;
 
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 
 public class DruidCoordinatorCleanupOvershadowed implements DruidCoordinatorHelper
@@ -52,24 +54,29 @@ public class DruidCoordinatorCleanupOvershadowed implements DruidCoordinatorHelp
     // Unservice old partitions if we've had enough time to make sure we aren't flapping with old data
     if (params.hasDeletionWaitTimeElapsed()) {
       DruidCluster cluster = params.getDruidCluster();
-      Map<String, VersionedIntervalTimeline<String, DataSegment>> timelines = new HashMap<>();
 
+      // Replicas of a segment are served by several servers, so collect distinct segments first and build each
+      // timeline with a single bulk add.
+      Map<String, Set<DataSegment>> servedSegments = new HashMap<>();
       for (SortedSet<ServerHolder> serverHolders : cluster.getSortedHistoricalsByTier()) {
         for (ServerHolder serverHolder : serverHolders) {
           ImmutableDruidServer server = serverHolder.getServer();
 
           for (ImmutableDruidDataSource dataSource : server.getDataSources()) {
-            VersionedIntervalTimeline<String, DataSegment> timeline = timelines.get(dataSource.getName());
-            if (timeline == null) {
-              timeline = new VersionedIntervalTimeline<>(Comparator.naturalOrder());
-              timelines.put(dataSource.getName(), timeline);
-            }
-
-            VersionedIntervalTimeline.addSegments(timeline, dataSource.getSegments().iterator());
+            Set<DataSegment> segments = servedSegments.computeIfAbsent(dataSource.getName(), name -> new HashSet<>());
+            segments.addAll(dataSource.getSegments());
           }
         }
       }
 
+      Map<String, VersionedIntervalTimeline<String, DataSegment>> timelines = new HashMap<>();
+      for (Map.Entry<String, Set<DataSegment>> entry : servedSegments.entrySet()) {
+        VersionedIntervalTimeline<String, DataSegment> timeline =
+            new VersionedIntervalTimeline<>(Comparator.naturalOrder());
+        VersionedIntervalTimeline.addSegments(timeline, entry.getValue().iterator());
+        timelines.put(entry.getKey(), timeline);
+      }
+
       //Remove all segments in db that are overshadowed by served segments
       for (DataSegment dataSegment : params.getAvailableSegments()) {
         VersionedIntervalTimeline<String, DataSegment> timeline = timelines.get(dataSegment.getDataSource());
@@ -21,8 +21,14 @@ package org.apache.druid.server.coordinator.helper;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.druid.client.DataSourcesSnapshot;
 import org.apache.druid.java.util.common.DateTimes;
+import org.apache.druid.java.util.common.RE;
+import org.apache.druid.java.util.common.concurrent.Execs;
 import org.apache.druid.java.util.emitter.EmittingLogger;
 import org.apache.druid.metadata.MetadataRuleManager;
 import org.apache.druid.server.coordinator.CoordinatorStats;
@@ -35,9 +41,14 @@ import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.SegmentId;
 import org.joda.time.DateTime;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 /**
  */
@@ -105,12 +116,96 @@ public class DruidCoordinatorRuleRunner implements DruidCoordinatorHelper
         .build();
 
     // Run through all matched rules for available segments
-    DateTime now = DateTimes.nowUtc();
-    MetadataRuleManager databaseRuleManager = paramsWithReplicationManager.getDatabaseRuleManager();
+    final DateTime now = DateTimes.nowUtc();
+    final int numThreads = params.getCoordinatorDynamicConfig().getRuleRunnerThreads();
+    final List<RuleRunResult> results;
+    if (numThreads > 1) {
+      results = runRulesInParallel(
+          numThreads,
+          params.getAvailableSegments(),
+          overshadowed,
+          paramsWithReplicationManager,
+          now
+      );
+    } else {
+      results = Collections.singletonList(
+          runRules(params.getAvailableSegments(), overshadowed, paramsWithReplicationManager, now)
+      );
+    }
 
     final List<SegmentId> segmentsWithMissingRules = Lists.newArrayListWithCapacity(MAX_MISSING_RULES);
     int missingRules = 0;
-    for (DataSegment segment : params.getAvailableSegments()) {
+    for (RuleRunResult result : results) {
+      stats.accumulate(result.stats);
+      missingRules += result.missingRules;
+      for (SegmentId segmentId : result.segmentsWithMissingRules) {
+        if (segmentsWithMissingRules.size() < MAX_MISSING_RULES) {
+          segmentsWithMissingRules.add(segmentId);
+        }
+      }
+    }
+
+    if (!segmentsWithMissingRules.isEmpty()) {
+      log.makeAlert("Unable to find matching rules!")
+         .addData("segmentsWithMissingRulesCount", missingRules)
+         .addData("segmentsWithMissingRules", segmentsWithMissingRules)
+         .emit();
+    }
+
+    return params.buildFromExisting().withCoordinatorStats(stats).build();
+  }
+
+  /**
+   * Runs rules for the segments of each dataSource in a separate task. Rules of a segment only depend on its
+   * dataSource, and {@link ReplicationThrottler} and the {@link org.apache.druid.server.coordinator.LoadQueuePeon}s
+   * are safe to use concurrently, so the tasks don't need further coordination. Segments of a dataSource are still
+   * processed in the {@link DruidCoordinator#SEGMENT_COMPARATOR_RECENT_FIRST} order of the available segments.
+   */
+  private List<RuleRunResult> runRulesInParallel(
+      final int numThreads,
+      final Iterable<DataSegment> segments,
+      final Set<SegmentId> overshadowed,
+      final DruidCoordinatorRuntimeParams params,
+      final DateTime now
+  )
+  {
+    final Map<String, List<DataSegment>> segmentsPerDataSource = new LinkedHashMap<>();
+    for (DataSegment segment : segments) {
+      segmentsPerDataSource.computeIfAbsent(segment.getDataSource(), dataSource -> new ArrayList<>()).add(segment);
+    }
+
+    final ListeningExecutorService exec = MoreExecutors.listeningDecorator(
+        Execs.multiThreaded(numThreads, "coordinator-rule-runner-%s")
+    );
+    try {
+      final List<ListenableFuture<RuleRunResult>> futures = new ArrayList<>(segmentsPerDataSource.size());
+      for (List<DataSegment> dataSourceSegments : segmentsPerDataSource.values()) {
+        futures.add(exec.submit(() -> runRules(dataSourceSegments, overshadowed, params, now)));
+      }
+      return Futures.allAsList(futures).get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    catch (ExecutionException e) {
+      throw new RE(e.getCause(), "Failed to run rules");
+    }
+    finally {
+      exec.shutdownNow();
+    }
+  }
+
+  private RuleRunResult runRules(
+      final Iterable<DataSegment> segments,
+      final Set<SegmentId> overshadowed,
+      final DruidCoordinatorRuntimeParams params,
+      final DateTime now
+  )
+  {
+    final MetadataRuleManager databaseRuleManager = params.getDatabaseRuleManager();
+    final RuleRunResult result = new RuleRunResult();
+    for (DataSegment segment : segments) {
       if (overshadowed.contains(segment.getId())) {
         // Skipping overshadowed segments
         continue;
@@ -119,27 +214,29 @@ public class DruidCoordinatorRuleRunner implements DruidCoordinatorHelper
       boolean foundMatchingRule = false;
       for (Rule rule : rules) {
         if (rule.appliesTo(segment, now)) {
-          stats.accumulate(rule.run(coordinator, paramsWithReplicationManager, segment));
+          result.stats.accumulate(rule.run(coordinator, params, segment));
           foundMatchingRule = true;
           break;
         }
       }
 
       if (!foundMatchingRule) {
-        if (segmentsWithMissingRules.size() < MAX_MISSING_RULES) {
-          segmentsWithMissingRules.add(segment.getId());
+        if (result.segmentsWithMissingRules.size() < MAX_MISSING_RULES) {
+          result.segmentsWithMissingRules.add(segment.getId());
         }
-        missingRules++;
+        result.missingRules++;
       }
     }
+    return result;
+  }
 
-    if (!segmentsWithMissingRules.isEmpty()) {
-      log.makeAlert("Unable to find matching rules!")
-         .addData("segmentsWithMissingRulesCount", missingRules)
-         .addData("segmentsWithMissingRules", segmentsWithMissingRules)
-         .emit();
-    }
-
-    return params.buildFromExisting().withCoordinatorStats(stats).build();
+  /**
+   * Stats and segments without a matching rule collected by a single {@link #runRules} call.
+   */
+  private static class RuleRunResult
+  {
+    private final CoordinatorStats stats = new CoordinatorStats();
+    private final List<SegmentId> segmentsWithMissingRules = Lists.newArrayListWithCapacity(MAX_MISSING_RULES);
+    private int missingRules = 0;
   }
 }
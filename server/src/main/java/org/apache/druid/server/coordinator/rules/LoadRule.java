@@ -55,12 +55,6 @@ public abstract class LoadRule implements Rule
   static final String ASSIGNED_COUNT = "assignedCount";
   static final String DROPPED_COUNT = "droppedCount";
 
-  private final Object2IntMap<String> targetReplicants = new Object2IntOpenHashMap<>();
-  private final Object2IntMap<String> currentReplicants = new Object2IntOpenHashMap<>();
-
-  // Cache to hold unused results from strategy call in assignPrimary
-  private final Map<String, ServerHolder> strategyCache = new HashMap<>();
-
   @Override
   public CoordinatorStats run(
       final DruidCoordinator coordinator,
@@ -68,23 +62,22 @@ public abstract class LoadRule implements Rule
       final DataSegment segment
   )
   {
-    try {
-      // get the "snapshots" of targetReplicants and currentReplicants for assignments.
-      targetReplicants.putAll(getTieredReplicants());
-      currentReplicants.putAll(params.getSegmentReplicantLookup().getClusterTiers(segment.getId()));
+    // get the "snapshots" of targetReplicants and currentReplicants for assignments. They are local to this call,
+    // since DruidCoordinatorRuleRunner may run the same rule for several segments concurrently.
+    final Object2IntMap<String> targetReplicants = new Object2IntOpenHashMap<>();
+    targetReplicants.putAll(getTieredReplicants());
+    final Object2IntMap<String> currentReplicants = new Object2IntOpenHashMap<>();
+    currentReplicants.putAll(params.getSegmentReplicantLookup().getClusterTiers(segment.getId()));
 
-      final CoordinatorStats stats = new CoordinatorStats();
-      assign(params, segment, stats);
+    // Cache to hold unused results from strategy call in assignPrimary
+    final Map<String, ServerHolder> strategyCache = new HashMap<>();
 
-      drop(params, segment, stats);
+    final CoordinatorStats stats = new CoordinatorStats();
+    assign(params, segment, stats, targetReplicants, currentReplicants, strategyCache);
 
-      return stats;
-    }
-    finally {
-      targetReplicants.clear();
-      currentReplicants.clear();
-      strategyCache.clear();
-    }
+    drop(params, segment, stats, targetReplicants, currentReplicants);
+
+    return stats;
   }
 
   /**
@@ -93,15 +86,18 @@ public abstract class LoadRule implements Rule
   private void assign(
       final DruidCoordinatorRuntimeParams params,
       final DataSegment segment,
-      final CoordinatorStats stats
+      final CoordinatorStats stats,
+      final Object2IntMap<String> targetReplicants,
+      final Object2IntMap<String> currentReplicants,
+      final Map<String, ServerHolder> strategyCache
   )
   {
     // if primary replica already exists or is loading
     final int loading = params.getSegmentReplicantLookup().getTotalReplicants(segment.getId());
     if (!currentReplicants.isEmpty() || loading > 0) {
-      assignReplicas(params, segment, stats, null);
+      assignReplicas(params, segment, stats, null, targetReplicants, strategyCache);
     } else {
-      final ServerHolder primaryHolderToLoad = assignPrimary(params, segment);
+      final ServerHolder primaryHolderToLoad = assignPrimary(params, segment, targetReplicants, strategyCache);
       if (primaryHolderToLoad == null) {
         // cluster does not have any replicants and cannot identify primary holder
         // this implies that no assignment could be done
@@ -118,12 +114,13 @@ public abstract class LoadRule implements Rule
           numAssigned, // note that the currentReplicantsInTier is the just-assigned primary replica.
           params,
           createLoadQueueSizeLimitingPredicate(params).and(holder -> !holder.equals(primaryHolderToLoad)),
-          segment
+          segment,
+          strategyCache
       );
       stats.addToTieredStat(ASSIGNED_COUNT, tier, numAssigned);
 
       // do assign replicas for the other tiers.
-      assignReplicas(params, segment, stats, tier /* to skip */);
+      assignReplicas(params, segment, stats, tier /* to skip */, targetReplicants, strategyCache);
     }
   }
 
@@ -159,9 +156,11 @@ public abstract class LoadRule implements Rule
    * with the highest priority to be the holder for the primary replica.
    */
   @Nullable
-  private ServerHolder assignPrimary(
+  private static ServerHolder assignPrimary(
       final DruidCoordinatorRuntimeParams params,
-      final DataSegment segment
+      final DataSegment segment,
+      final Object2IntMap<String> targetReplicants,
+      final Map<String, ServerHolder> strategyCache
   )
   {
     ServerHolder topCandidate = null;
@@ -224,11 +223,13 @@ public abstract class LoadRule implements Rule
    * @param tierToSkip if not null, this tier will be skipped from doing assignment, use when primary replica was
    *                   assigned.
    */
-  private void assignReplicas(
+  private static void assignReplicas(
       final DruidCoordinatorRuntimeParams params,
       final DataSegment segment,
       final CoordinatorStats stats,
-      @Nullable final String tierToSkip
+      @Nullable final String tierToSkip,
+      final Object2IntMap<String> targetReplicants,
+      final Map<String, ServerHolder> strategyCache
   )
   {
     for (final Object2IntMap.Entry<String> entry : targetReplicants.object2IntEntrySet()) {
@@ -243,7 +244,8 @@ public abstract class LoadRule implements Rule
           params.getSegmentReplicantLookup().getTotalReplicants(segment.getId(), tier),
           params,
           createLoadQueueSizeLimitingPredicate(params),
-          segment
+          segment,
+          strategyCache
       );
       stats.addToTieredStat(ASSIGNED_COUNT, tier, numAssigned);
     }
@@ -252,13 +254,14 @@ public abstract class LoadRule implements Rule
   /**
    * @param predicate {@link Predicate} used to pre-filter {@link ServerHolder}s retrieved from {@link DruidCluster}.
    */
-  private int assignReplicasForTier(
+  private static int assignReplicasForTier(
       final String tier,
       final int targetReplicantsInTier,
       final int currentReplicantsInTier,
       final DruidCoordinatorRuntimeParams params,
       final Predicate<ServerHolder> predicate,
-      final DataSegment segment
+      final DataSegment segment,
+      final Map<String, ServerHolder> strategyCache
   )
   {
     final int numToAssign = targetReplicantsInTier - currentReplicantsInTier;
@@ -299,11 +302,15 @@ public abstract class LoadRule implements Rule
         log.warn(noAvailability);
         return numAssigned;
       }
-      holders.remove(holder);
 
       final SegmentId segmentId = segment.getId();
       final String holderHost = holder.getServer().getHost();
-      throttler.registerReplicantCreation(tier, segmentId, holderHost);
+      if (!throttler.registerReplicantCreation(tier, segmentId, holderHost)) {
+        // replicants of other segments were registered concurrently and used up the limit of this tier
+        log.info("Throttling replication for segment [%s] in tier [%s]", segment.getId(), tier);
+        return numAssigned;
+      }
+      holders.remove(holder);
       log.info(
           "Assigning 'replica' for segment [%s] to server [%s] in tier [%s]",
           segment.getId(),
@@ -319,16 +326,18 @@ public abstract class LoadRule implements Rule
   /**
    * @param stats {@link CoordinatorStats} to accumulate assignment statistics.
    */
-  private void drop(
+  private static void drop(
       final DruidCoordinatorRuntimeParams params,
       final DataSegment segment,
-      final CoordinatorStats stats
+      final CoordinatorStats stats,
+      final Object2IntMap<String> targetReplicants,
+      final Object2IntMap<String> currentReplicants
   )
   {
     final DruidCluster druidCluster = params.getDruidCluster();
 
     // This enforces that loading is completed before we attempt to drop stuffs as a safety measure.
-    if (loadingInProgress(druidCluster)) {
+    if (loadingInProgress(druidCluster, targetReplicants, currentReplicants)) {
       log.info("Loading in progress, skipping drop until loading is complete");
       return;
     }
@@ -359,7 +368,11 @@ public abstract class LoadRule implements Rule
   /**
    * Returns true if at least one tier in target replica assignment exists in cluster but does not have enough replicas.
    */
-  private boolean loadingInProgress(final DruidCluster druidCluster)
+  private static boolean loadingInProgress(
+      final DruidCluster druidCluster,
+      final Object2IntMap<String> targetReplicants,
+      final Object2IntMap<String> currentReplicants
+  )
   {
     for (final Object2IntMap.Entry<String> entry : targetReplicants.object2IntEntrySet()) {
       final String tier = entry.getKey();
@@ -33,6 +33,7 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.MapBinder;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
+import org.apache.druid.guice.JsonConfigProvider;
 import org.apache.druid.guice.LazySingleton;
 import org.apache.druid.guice.ManageLifecycle;
 import org.apache.druid.guice.annotations.Self;
@@ -79,6 +80,7 @@ public class EmitterModule implements Module
     binder.install(new ComposingEmitterModule());
 
     binder.bind(Emitter.class).toProvider(new EmitterProvider(emitterType)).in(LazySingleton.class);
+    JsonConfigProvider.bind(binder, "druid.emitter.segmentMetrics", SegmentMetricsEmitterConfig.class);
 
     MapBinder<String, String> extraServiceDimensions = MapBinder.newMapBinder(
         binder,
@@ -97,18 +99,31 @@ public class EmitterModule implements Module
   public ServiceEmitter getServiceEmitter(
       @Self Supplier<DruidNode> configSupplier,
       Emitter emitter,
-      @ExtraServiceDimensions Map<String, String> extraServiceDimensions
+      @ExtraServiceDimensions Map<String, String> extraServiceDimensions,
+      SegmentMetricsEmitterConfig segmentMetricsConfig
   )
   {
     final DruidNode config = configSupplier.get();
     log.info("Underlying emitter for ServiceEmitter: %s", emitter);
     log.info("Extra service dimensions: %s", extraServiceDimensions);
-    final ServiceEmitter retVal = new ServiceEmitter(
-        config.getServiceName(),
-        config.getHostAndPortToUse(),
-        emitter,
-        ImmutableMap.copyOf(extraServiceDimensions)
-    );
+    final ServiceEmitter retVal;
+    if (segmentMetricsConfig.isEnabled()) {
+      log.info("Sampling and aggregating segment metrics with %s", segmentMetricsConfig);
+      retVal = new SegmentMetricsEmitter(
+          config.getServiceName(),
+          config.getHostAndPortToUse(),
+          emitter,
+          ImmutableMap.copyOf(extraServiceDimensions),
+          segmentMetricsConfig
+      );
+    } else {
+      retVal = new ServiceEmitter(
+          config.getServiceName(),
+          config.getHostAndPortToUse(),
+          emitter,
+          ImmutableMap.copyOf(extraServiceDimensions)
+      );
+    }
     EmittingLogger.registerEmitter(retVal);
     return retVal;
   }
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.emitter;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.java.util.common.concurrent.Execs;
+import org.apache.druid.java.util.common.lifecycle.LifecycleStart;
+import org.apache.druid.java.util.common.lifecycle.LifecycleStop;
+import org.apache.druid.java.util.common.logger.Logger;
+import org.apache.druid.java.util.emitter.core.Emitter;
+import org.apache.druid.java.util.emitter.core.Event;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.apache.druid.query.DruidMetrics;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ServiceEmitter} which cuts down the volume of per-segment query metrics, such as "query/segment/time",
+ * which are otherwise emitted once for every segment scanned by every query.
+ *
+ * Only a random {@link SegmentMetricsEmitterConfig#getSampleRatio()} fraction of the raw events is passed on to the
+ * underlying emitter. If {@link SegmentMetricsEmitterConfig#isAggregate()} is set, all events, sampled or not, are
+ * also recorded in histograms per metric, dataSource, query type and optionally query id. The histograms are emitted
+ * as "metric/count", "metric/sum", "metric/max", "metric/p50", "metric/p90" and "metric/p99" summaries once per
+ * {@link SegmentMetricsEmitterConfig#getPeriod()}. Other events are passed through unchanged.
+ */
+public class SegmentMetricsEmitter extends ServiceEmitter
+{
+  private static final Logger log = new Logger(SegmentMetricsEmitter.class);
+
+  private final SegmentMetricsEmitterConfig config;
+  private final ConcurrentHashMap<SummaryKey, Histogram> histograms = new ConcurrentHashMap<>();
+
+  @Nullable
+  private ScheduledExecutorService exec;
+
+  public SegmentMetricsEmitter(
+      String service,
+      String host,
+      Emitter emitter,
+      ImmutableMap<String, String> otherServiceDimensions,
+      SegmentMetricsEmitterConfig config
+  )
+  {
+    super(service, host, emitter, otherServiceDimensions);
+    Preconditions.checkArgument(
+        config.getSampleRatio() >= 0 && config.getSampleRatio() <= 1,
+        "sampleRatio[%s] must be between 0 and 1",
+        config.getSampleRatio()
+    );
+    this.config = config;
+  }
+
+  @Override
+  @LifecycleStart
+  public void start()
+  {
+    super.start();
+    if (config.isAggregate()) {
+      final long periodMillis = config.getPeriod().toStandardDuration().getMillis();
+      exec = Execs.scheduledSingleThreaded("SegmentMetricsEmitter-%d");
+      exec.scheduleAtFixedRate(
+          () -> {
+            try {
+              emitSummaries();
+            }
+            catch (Exception e) {
+              log.warn(e, "Failed to emit segment metric summaries");
+            }
+          },
+          periodMillis,
+          periodMillis,
+          TimeUnit.MILLISECONDS
+      );
+    }
+  }
+
+  @Override
+  public void emit(Event event)
+  {
+    if (event instanceof ServiceMetricEvent) {
+      final ServiceMetricEvent metricEvent = (ServiceMetricEvent) event;
+      if (config.getMetrics().contains(metricEvent.getMetric())) {
+        if (config.isAggregate()) {
+          record(metricEvent);
+        }
+        if (!isSampled()) {
+          return;
+        }
+      }
+    }
+    super.emit(event);
+  }
+
+  @Override
+  @LifecycleStop
+  public void close() throws IOException
+  {
+    if (exec != null) {
+      exec.shutdownNow();
+      emitSummaries();
+    }
+    super.close();
+  }
+
+  private boolean isSampled()
+  {
+    final double sampleRatio = config.getSampleRatio();
+    return sampleRatio >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRatio;
+  }
+
+  private void record(ServiceMetricEvent event)
+  {
+    final SummaryKey key = new SummaryKey(
+        event.getMetric(),
+        getDimension(event, DruidMetrics.DATASOURCE),
+        getDimension(event, DruidMetrics.TYPE),
+        config.isAggregatePerQuery() ? getDimension(event, DruidMetrics.ID) : null
+    );
+    final double value = event.getValue().doubleValue();
+    // compute() keeps recording atomic with the removal in emitSummaries(), so no value is lost between periods.
+    histograms.compute(
+        key,
+        (k, histogram) -> {
+          final Histogram retVal = histogram == null ? new Histogram() : histogram;
+          retVal.add(value);
+          return retVal;
+        }
+    );
+  }
+
+  @Nullable
+  private static String getDimension(ServiceMetricEvent event, String dimension)
+  {
+    final Object value = event.getUserDims().get(dimension);
+    return value == null ? null : value.toString();
+  }
+
+  @VisibleForTesting
+  void emitSummaries()
+  {
+    for (SummaryKey key : histograms.keySet()) {
+      final Histogram histogram = histograms.remove(key);
+      if (histogram == null) {
+        continue;
+      }
+
+      final ServiceMetricEvent.Builder builder = new ServiceMetricEvent.Builder();
+      if (key.dataSource != null) {
+        builder.setDimension(DruidMetrics.DATASOURCE, key.dataSource);
+      }
+      if (key.type != null) {
+        builder.setDimension(DruidMetrics.TYPE, key.type);
+      }
+      if (key.queryId != null) {
+        builder.setDimension(DruidMetrics.ID, key.queryId);
+      }
+      emit(builder.build(key.metric + "/count", histogram.count));
+      emit(builder.build(key.metric + "/sum", histogram.sum));
+      emit(builder.build(key.metric + "/max", histogram.max));
+      emit(builder.build(key.metric + "/p50", histogram.percentile(0.5)));
+      emit(builder.build(key.metric + "/p90", histogram.percentile(0.9)));
+      emit(builder.build(key.metric + "/p99", histogram.percentile(0.99)));
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SegmentMetricsEmitter{" +
+           "config=" + config +
+           ", " + super.toString() +
+           '}';
+  }
+
+  private static class SummaryKey
+  {
+    private final String metric;
+    @Nullable
+    private final String dataSource;
+    @Nullable
+    private final String type;
+    @Nullable
+    private final String queryId;
+
+    SummaryKey(String metric, @Nullable String dataSource, @Nullable String type, @Nullable String queryId)
+    {
+      this.metric = metric;
+      this.dataSource = dataSource;
+      this.type = type;
+      this.queryId = queryId;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      SummaryKey that = (SummaryKey) o;
+      return metric.equals(that.metric) &&
+             Objects.equals(dataSource, that.dataSource) &&
+             Objects.equals(type, that.type) &&
+             Objects.equals(queryId, that.queryId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(metric, dataSource, type, queryId);
+    }
+  }
+
+  /**
+   * Histogram with exponentially growing buckets, each 2^(1/8) times as wide as the previous one, so that percentiles
+   * are accurate to within about 9%. Values below 1 share the first bucket. Not thread-safe, see {@link #record}.
+   */
+  @VisibleForTesting
+  static class Histogram
+  {
+    private static final int BUCKETS_PER_POWER_OF_TWO = 8;
+    private static final int NUM_BUCKETS = 1 + 32 * BUCKETS_PER_POWER_OF_TWO;
+    private static final double LOG_BUCKET_BASE = Math.log(2) / BUCKETS_PER_POWER_OF_TWO;
+
+    private final long[] buckets = new long[NUM_BUCKETS];
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void add(double value)
+    {
+      buckets[bucketIndex(value)]++;
+      count++;
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the value at the given quantile, clamped to the observed range.
+     */
+    double percentile(double quantile)
+    {
+      final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+      long seen = 0;
+      for (int i = 0; i < NUM_BUCKETS; i++) {
+        seen += buckets[i];
+        if (seen >= rank) {
+          return Math.max(min, Math.min(max, Math.exp(i * LOG_BUCKET_BASE)));
+        }
+      }
+      return max;
+    }
+
+    private static int bucketIndex(double value)
+    {
+      if (value < 1) {
+        return 0;
+      }
+      return Math.min(NUM_BUCKETS - 1, 1 + (int) (Math.log(value) / LOG_BUCKET_BASE));
+    }
+  }
+}
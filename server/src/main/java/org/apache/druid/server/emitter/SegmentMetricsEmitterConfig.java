@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.emitter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableSet;
+import org.joda.time.Period;
+
+import javax.validation.constraints.NotNull;
+import java.util.Set;
+
+/**
+ * Configures how per-segment query metrics, which are emitted for every segment scanned by a query, are sampled and
+ * summarized before they reach the underlying emitter. See {@link SegmentMetricsEmitter}.
+ */
+public class SegmentMetricsEmitterConfig
+{
+  public static final Set<String> DEFAULT_METRICS = ImmutableSet.of(
+      "query/segment/time",
+      "query/wait/time",
+      "query/segmentAndCache/time"
+  );
+
+  @JsonProperty
+  @NotNull
+  private Set<String> metrics = DEFAULT_METRICS;
+
+  @JsonProperty
+  private double sampleRatio = 1.0;
+
+  @JsonProperty
+  private boolean aggregate = false;
+
+  @JsonProperty
+  private boolean aggregatePerQuery = false;
+
+  @JsonProperty
+  @NotNull
+  private Period period = new Period("PT1M");
+
+  public Set<String> getMetrics()
+  {
+    return metrics;
+  }
+
+  public double getSampleRatio()
+  {
+    return sampleRatio;
+  }
+
+  public boolean isAggregate()
+  {
+    return aggregate;
+  }
+
+  public boolean isAggregatePerQuery()
+  {
+    return aggregatePerQuery;
+  }
+
+  public Period getPeriod()
+  {
+    return period;
+  }
+
+  /**
+   * Whether the segment metrics need to go through {@link SegmentMetricsEmitter} at all.
+   */
+  public boolean isEnabled()
+  {
+    return aggregate || sampleRatio < 1.0;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "SegmentMetricsEmitterConfig{" +
+           "metrics=" + metrics +
+           ", sampleRatio=" + sampleRatio +
+           ", aggregate=" + aggregate +
+           ", aggregatePerQuery=" + aggregatePerQuery +
+           ", period=" + period +
+           '}';
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.metrics;
+
+import com.google.inject.Inject;
+import org.apache.druid.java.util.emitter.service.ServiceEmitter;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.apache.druid.java.util.metrics.AbstractMonitor;
+import org.apache.druid.segment.loading.SegmentCacheStats;
+
+/**
+ * Emits fetch and eviction statistics of segments served through virtual storage on Historical processes.
+ */
+public class VirtualStorageMonitor extends AbstractMonitor
+{
+  private final SegmentCacheStats cacheStats;
+  private volatile SegmentCacheStats.Snapshot prevSnapshot = null;
+
+  @Inject
+  public VirtualStorageMonitor(SegmentCacheStats cacheStats)
+  {
+    this.cacheStats = cacheStats;
+  }
+
+  @Override
+  public boolean doMonitor(ServiceEmitter emitter)
+  {
+    final SegmentCacheStats.Snapshot currSnapshot = cacheStats.snapshot();
+    final SegmentCacheStats.Snapshot delta = currSnapshot.delta(prevSnapshot);
+    prevSnapshot = currSnapshot;
+
+    final ServiceMetricEvent.Builder builder = new ServiceMetricEvent.Builder();
+    emitter.emit(builder.build("segment/virtual/hits", delta.getNumHits()));
+    emitter.emit(builder.build("segment/virtual/misses", delta.getNumMisses()));
+    emitter.emit(builder.build("segment/virtual/hitRate", delta.hitRate()));
+    emitter.emit(builder.build("segment/virtual/fetchTime", delta.averageFetchTimeMillis()));
+    emitter.emit(builder.build("segment/virtual/fetchedBytes", delta.getFetchedBytes()));
+    emitter.emit(builder.build("segment/virtual/fetchErrors", delta.getNumFetchErrors()));
+    emitter.emit(builder.build("segment/virtual/evictions", delta.getNumEvictions()));
+    emitter.emit(builder.build("segment/virtual/evictedBytes", delta.getEvictedBytes()));
+    return true;
+  }
+}
@@ -129,10 +129,13 @@ import org.apache.druid.server.coordination.ServerType;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.SegmentId;
 import org.apache.druid.timeline.VersionedIntervalTimeline;
+import org.apache.druid.timeline.partition.ColumnRange;
 import org.apache.druid.timeline.partition.NoneShardSpec;
+import org.apache.druid.timeline.partition.NumericColumnRange;
 import org.apache.druid.timeline.partition.ShardSpec;
 import org.apache.druid.timeline.partition.SingleDimensionShardSpec;
 import org.apache.druid.timeline.partition.SingleElementPartitionChunk;
+import org.apache.druid.timeline.partition.StringColumnRange;
 import org.apache.druid.timeline.partition.StringPartitionChunk;
 import org.easymock.Capture;
 import org.easymock.EasyMock;
@@ -1753,6 +1756,107 @@ public class CachingClusteredClientTest
     Assert.assertEquals(expected, ((TimeseriesQuery) capture.getValue().getQuery()).getQuerySegmentSpec());
   }
 
+  @Test
+  public void testColumnRangePruning()
+  {
+    DimFilter filter = new AndDimFilter(
+        new BoundDimFilter("dim1", "b", "d", false, false, false, null, StringComparators.LEXICOGRAPHIC),
+        new BoundDimFilter("met1", "10", "20", true, true, false, null, StringComparators.NUMERIC)
+    );
+
+    final TimeseriesQuery query = Druids.newTimeseriesQueryBuilder()
+                                        .dataSource(DATA_SOURCE)
+                                        .filters(filter)
+                                        .granularity(GRANULARITY)
+                                        .context(CONTEXT)
+                                        .intervals("2011-01-05/2011-01-10")
+                                        .aggregators(RENAMED_AGGS)
+                                        .postAggregators(RENAMED_POST_AGGS)
+                                        .build();
+
+    final Interval interval1 = Intervals.of("2011-01-06/2011-01-07");
+    final Interval interval2 = Intervals.of("2011-01-07/2011-01-08");
+    final Interval interval3 = Intervals.of("2011-01-08/2011-01-09");
+    final Interval interval4 = Intervals.of("2011-01-09/2011-01-10");
+
+    QueryRunner runner = new FinalizeResultsQueryRunner(
+        getDefaultQueryRunner(), new TimeseriesQueryQueryToolChest(
+        QueryRunnerTestHelper.noopIntervalChunkingQueryRunnerDecorator()
+    )
+    );
+
+    final DruidServer lastServer = servers[random.nextInt(servers.length)];
+    timeline.add(
+        interval1,
+        "v",
+        new SingleElementPartitionChunk<>(
+            makeColumnRangeSelector(lastServer, interval1, ImmutableMap.of("dim1", new StringColumnRange("e", "f")))
+        )
+    );
+    timeline.add(
+        interval2,
+        "v",
+        new SingleElementPartitionChunk<>(
+            makeColumnRangeSelector(lastServer, interval2, ImmutableMap.of("met1", new NumericColumnRange(0, 5)))
+        )
+    );
+    timeline.add(
+        interval3,
+        "v",
+        new SingleElementPartitionChunk<>(
+            makeColumnRangeSelector(
+                lastServer,
+                interval3,
+                ImmutableMap.of("dim1", new StringColumnRange(null, "b"), "met1", new NumericColumnRange(0, 10))
+            )
+        )
+    );
+    timeline.add(
+        interval4,
+        "v",
+        new SingleElementPartitionChunk<>(makeColumnRangeSelector(lastServer, interval4, ImmutableMap.of()))
+    );
+
+    final Capture<QueryPlus> capture = Capture.newInstance();
+    QueryRunner mockRunner = EasyMock.createNiceMock(QueryRunner.class);
+    EasyMock.expect(mockRunner.run(EasyMock.capture(capture), EasyMock.anyObject()))
+            .andReturn(Sequences.empty())
+            .anyTimes();
+    EasyMock.expect(serverView.getQueryRunner(lastServer))
+            .andReturn(mockRunner)
+            .anyTimes();
+    EasyMock.replay(serverView);
+    EasyMock.replay(mockRunner);
+
+    runner.run(QueryPlus.wrap(query), new HashMap<>()).toList();
+
+    MultipleSpecificSegmentSpec expected = new MultipleSpecificSegmentSpec(
+        ImmutableList.of(new SegmentDescriptor(interval3, "v", 0), new SegmentDescriptor(interval4, "v", 0))
+    );
+    Assert.assertEquals(expected, ((TimeseriesQuery) capture.getValue().getQuery()).getQuerySegmentSpec());
+  }
+
+  private ServerSelector makeColumnRangeSelector(
+      DruidServer server,
+      Interval interval,
+      Map<String, ColumnRange> columnRanges
+  )
+  {
+    DataSegment segment = DataSegment.builder()
+                                     .dataSource(DATA_SOURCE)
+                                     .interval(interval)
+                                     .version("v")
+                                     .shardSpec(NoneShardSpec.instance())
+                                     .columnRanges(columnRanges)
+                                     .build();
+    ServerSelector selector = new ServerSelector(
+        segment,
+        new HighestPriorityTierSelectorStrategy(new RandomServerSelectorStrategy())
+    );
+    selector.addServerAndUpdateSegment(new QueryableDruidServer(server, null), segment);
+    return selector;
+  }
+
   private ServerSelector makeMockSingleDimensionSelector(
       DruidServer server,
       String dimension,
@@ -1765,6 +1869,7 @@ public class CachingClusteredClientTest
     EasyMock.expect(segment.getId()).andReturn(SegmentId.dummy(DATA_SOURCE)).anyTimes();
     EasyMock.expect(segment.getShardSpec()).andReturn(new SingleDimensionShardSpec(dimension, start, end, partitionNum))
             .anyTimes();
+    EasyMock.expect(segment.getColumnRanges()).andReturn(ImmutableMap.of()).anyTimes();
     EasyMock.replay(segment);
 
     ServerSelector selector = new ServerSelector(
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.client;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.timeline.DataSegment;
+import org.joda.time.Interval;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public class DataSourcesSnapshotTest
+{
+  private static DataSegment segment(String dataSource, String interval, String version)
+  {
+    return DataSegment.builder()
+                      .dataSource(dataSource)
+                      .interval(Intervals.of(interval))
+                      .version(version)
+                      .size(1)
+                      .build();
+  }
+
+  private static ImmutableDruidDataSource dataSource(String name, DataSegment... segments)
+  {
+    return new ImmutableDruidDataSource(
+        name,
+        ImmutableMap.of(),
+        Arrays.stream(segments).collect(Collectors.toMap(DataSegment::getId, Function.identity()))
+    );
+  }
+
+  private static List<DataSegment> lookup(DataSourcesSnapshot snapshot, Interval interval)
+  {
+    return snapshot.getUsedSegmentsTimelinesPerDataSource()
+                   .get("wiki")
+                   .lookup(interval)
+                   .stream()
+                   .flatMap(holder -> StreamSupport.stream(holder.getObject().payloads().spliterator(), false))
+                   .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testOvershadowedSegments()
+  {
+    final DataSegment oldSegment = segment("wiki", "2019-01-01/2019-01-02", "v1");
+    final DataSegment newSegment = segment("wiki", "2019-01-01/2019-01-02", "v2");
+    final DataSegment otherSegment = segment("koalas", "2019-01-01/2019-01-02", "v1");
+
+    final DataSourcesSnapshot snapshot = new DataSourcesSnapshot(
+        ImmutableMap.of(
+            "wiki", dataSource("wiki", oldSegment, newSegment),
+            "koalas", dataSource("koalas", otherSegment)
+        )
+    );
+
+    Assert.assertEquals(1, snapshot.getOvershadowedSegments().size());
+    Assert.assertTrue(snapshot.getOvershadowedSegments().contains(oldSegment.getId()));
+    Assert.assertEquals(2, snapshot.getUsedSegmentsTimelinesPerDataSource().size());
+  }
+
+  @Test
+  public void testReuseUnchangedDataSources()
+  {
+    final DataSegment wikiSegment = segment("wiki", "2019-01-01/2019-01-02", "v1");
+    final DataSegment koalasSegment = segment("koalas", "2019-01-01/2019-01-02", "v1");
+    final DataSegment newKoalasSegment = segment("koalas", "2019-01-01/2019-01-02", "v2");
+
+    final DataSourcesSnapshot previous = new DataSourcesSnapshot(
+        ImmutableMap.of(
+            "wiki", dataSource("wiki", wikiSegment),
+            "koalas", dataSource("koalas", koalasSegment)
+        )
+    );
+    final Map<String, ImmutableDruidDataSource> dataSources = ImmutableMap.of(
+        "wiki", dataSource("wiki", wikiSegment),
+        "koalas", dataSource("koalas", koalasSegment, newKoalasSegment)
+    );
+    final DataSourcesSnapshot snapshot = new DataSourcesSnapshot(dataSources, previous);
+
+    Assert.assertSame(
+        previous.getUsedSegmentsTimelinesPerDataSource().get("wiki"),
+        snapshot.getUsedSegmentsTimelinesPerDataSource().get("wiki")
+    );
+    Assert.assertNotSame(
+        previous.getUsedSegmentsTimelinesPerDataSource().get("koalas"),
+        snapshot.getUsedSegmentsTimelinesPerDataSource().get("koalas")
+    );
+    Assert.assertTrue(previous.getOvershadowedSegments().isEmpty());
+    Assert.assertEquals(1, snapshot.getOvershadowedSegments().size());
+    Assert.assertTrue(snapshot.getOvershadowedSegments().contains(koalasSegment.getId()));
+    Assert.assertEquals(
+        new DataSourcesSnapshot(dataSources).getOvershadowedSegments(),
+        snapshot.getOvershadowedSegments()
+    );
+  }
+  @Test
+  public void testApplyChangedSegmentsToPreviousTimeline()
+  {
+    final DataSegment day1V1 = segment("wiki", "2019-01-01/2019-01-02", "v1");
+    final DataSegment day1V2 = segment("wiki", "2019-01-01/2019-01-02", "v2");
+    final DataSegment day2V1 = segment("wiki", "2019-01-02/2019-01-03", "v1");
+    final DataSegment day2V2 = segment("wiki", "2019-01-02/2019-01-03", "v2");
+    final DataSegment day3V1 = segment("wiki", "2019-01-03/2019-01-04", "v1");
+    final DataSegment monthV0 = segment("wiki", "2019-01-01/2019-02-01", "v0");
+
+    final DataSourcesSnapshot previous = new DataSourcesSnapshot(
+        ImmutableMap.of("wiki", dataSource("wiki", day1V1, day1V2, day2V1, monthV0))
+    );
+    // day1V2 is removed, so that day1V1 is no longer overshadowed, and day2V2 is added to overshadow day2V1
+    final Map<String, ImmutableDruidDataSource> dataSources = ImmutableMap.of(
+        "wiki", dataSource("wiki", day1V1, day2V1, day2V2, day3V1, monthV0)
+    );
+    final DataSourcesSnapshot snapshot = new DataSourcesSnapshot(dataSources, previous);
+    final DataSourcesSnapshot rebuilt = new DataSourcesSnapshot(dataSources);
+
+    Assert.assertEquals(ImmutableSet.of(day1V1.getId()), previous.getOvershadowedSegments());
+    Assert.assertEquals(rebuilt.getOvershadowedSegments(), snapshot.getOvershadowedSegments());
+    Assert.assertEquals(ImmutableSet.of(day2V1.getId()), snapshot.getOvershadowedSegments());
+    final Interval month = Intervals.of("2019-01-01/2019-02-01");
+    Assert.assertEquals(lookup(rebuilt, month), lookup(snapshot, month));
+    Assert.assertEquals(Arrays.asList(day1V1, day2V2, day3V1, monthV0), lookup(snapshot, month));
+
+    // The timeline of the previous snapshot is not modified
+    Assert.assertEquals(Arrays.asList(day1V2, day2V1, monthV0), lookup(previous, month));
+  }
+
+  @Test
+  public void testReplaceSegmentsWithChangedPayload()
+  {
+    final DataSegment segment = segment("wiki", "2019-01-01/2019-01-02", "v1");
+    final DataSegment changedSegment = DataSegment.builder(segment).size(2).build();
+
+    final DataSourcesSnapshot previous = new DataSourcesSnapshot(
+        ImmutableMap.of("wiki", dataSource("wiki", segment))
+    );
+    final DataSourcesSnapshot snapshot = new DataSourcesSnapshot(
+        ImmutableMap.of("wiki", dataSource("wiki", changedSegment)),
+        previous
+    );
+
+    final List<DataSegment> segments = lookup(snapshot, segment.getInterval());
+    Assert.assertEquals(1, segments.size());
+    Assert.assertSame(changedSegment, segments.get(0));
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.druid.discovery.DruidNodeDiscovery;
 import org.apache.druid.discovery.DruidNodeDiscoveryProvider;
 import org.apache.druid.discovery.NodeType;
 import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.java.util.common.Pair;
 import org.apache.druid.java.util.common.RE;
 import org.apache.druid.java.util.common.concurrent.Execs;
 import org.apache.druid.java.util.http.client.HttpClient;
@@ -40,6 +41,7 @@ import org.apache.druid.segment.TestHelper;
 import org.apache.druid.server.DruidNode;
 import org.apache.druid.server.coordination.ChangeRequestHistory;
 import org.apache.druid.server.coordination.ChangeRequestsSnapshot;
+import org.apache.druid.server.coordination.DataSegmentChangeRequest;
 import org.apache.druid.server.coordination.DruidServerMetadata;
 import org.apache.druid.server.coordination.SegmentChangeRequestDrop;
 import org.apache.druid.server.coordination.SegmentChangeRequestLoad;
@@ -57,6 +59,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -272,6 +275,121 @@ public class HttpServerInventoryViewTest
     httpServerInventoryView.stop();
   }
 
+  @Test(timeout = 60_000L)
+  public void testSyncRoundIsAppliedAsOneBatch() throws Exception
+  {
+    ObjectMapper jsonMapper = TestHelper.makeJsonMapper();
+
+    TestDruidNodeDiscovery druidNodeDiscovery = new TestDruidNodeDiscovery();
+    DruidNodeDiscoveryProvider druidNodeDiscoveryProvider = EasyMock.createMock(DruidNodeDiscoveryProvider.class);
+    EasyMock.expect(druidNodeDiscoveryProvider.getForService(DataNodeService.DISCOVERY_SERVICE_KEY))
+            .andReturn(druidNodeDiscovery);
+    EasyMock.replay(druidNodeDiscoveryProvider);
+
+    final DataSegment segment1 = new DataSegment(
+        "test1", Intervals.of("2014/2015"), "v1",
+        null, null, null, null, 0, 0
+    );
+
+    final DataSegment segment2 = new DataSegment(
+        "test2", Intervals.of("2014/2015"), "v1",
+        null, null, null, null, 0, 0
+    );
+
+    final DataSegment segment3 = new DataSegment(
+        "test3", Intervals.of("2014/2015"), "v1",
+        null, null, null, null, 0, 0
+    );
+
+    final DataSegment segment4 = new DataSegment(
+        "test4", Intervals.of("2014/2015"), "v1",
+        null, null, null, null, 0, 0
+    );
+
+    TestHttpClient httpClient = new TestHttpClient(
+        ImmutableList.<ListenableFuture>of(
+            makeSnapshotResponse(
+                jsonMapper,
+                ImmutableList.of(new SegmentChangeRequestLoad(segment1), new SegmentChangeRequestLoad(segment2))
+            ),
+            // segment3 is loaded and dropped within the same round, so callbacks should never see it.
+            makeSnapshotResponse(
+                jsonMapper,
+                ImmutableList.of(
+                    new SegmentChangeRequestDrop(segment1),
+                    new SegmentChangeRequestLoad(segment3),
+                    new SegmentChangeRequestDrop(segment3),
+                    new SegmentChangeRequestLoad(segment4)
+                )
+            )
+        )
+    );
+
+    DiscoveryDruidNode druidNode = new DiscoveryDruidNode(
+        new DruidNode("service", "host", false, 8080, null, true, false),
+        NodeType.HISTORICAL,
+        ImmutableMap.of(
+            DataNodeService.DISCOVERY_SERVICE_KEY, new DataNodeService("tier", 1000, ServerType.HISTORICAL, 0)
+        )
+    );
+
+    HttpServerInventoryView httpServerInventoryView = new HttpServerInventoryView(
+        jsonMapper,
+        httpClient,
+        druidNodeDiscoveryProvider,
+        (pair) -> true,
+        new HttpServerInventoryViewConfig(null, null, null)
+    );
+
+    BlockingQueue<Pair<List<DataSegment>, List<DataSegment>>> batches = new LinkedBlockingQueue<>();
+    httpServerInventoryView.registerSegmentCallback(
+        Execs.directExecutor(),
+        new ServerView.BaseSegmentCallback()
+        {
+          @Override
+          public ServerView.CallbackAction segmentsChanged(
+              DruidServerMetadata server,
+              Collection<DataSegment> added,
+              Collection<DataSegment> removed
+          )
+          {
+            batches.add(Pair.of(ImmutableList.copyOf(added), ImmutableList.copyOf(removed)));
+            return ServerView.CallbackAction.CONTINUE;
+          }
+        }
+    );
+
+    httpServerInventoryView.start();
+
+    druidNodeDiscovery.listener.nodesAdded(ImmutableList.of(druidNode));
+
+    Assert.assertEquals(Pair.of(ImmutableList.of(segment1, segment2), ImmutableList.of()), batches.take());
+    Assert.assertEquals(Pair.of(ImmutableList.of(segment4), ImmutableList.of(segment1)), batches.take());
+
+    DruidServer druidServer = httpServerInventoryView.getInventoryValue("host:8080");
+    Assert.assertEquals(
+        ImmutableMap.of(segment2.getId(), segment2, segment4.getId(), segment4),
+        Maps.uniqueIndex(druidServer.iterateAllSegments(), DataSegment::getId)
+    );
+
+    druidNodeDiscovery.listener.nodesRemoved(ImmutableList.of(druidNode));
+    httpServerInventoryView.stop();
+  }
+
+  private static ListenableFuture<ByteArrayInputStream> makeSnapshotResponse(
+      ObjectMapper jsonMapper,
+      List<DataSegmentChangeRequest> requests
+  ) throws IOException
+  {
+    return Futures.immediateFuture(
+        new ByteArrayInputStream(
+            jsonMapper.writerWithType(HttpServerInventoryView.SEGMENT_LIST_RESP_TYPE_REF).writeValueAsBytes(
+                new ChangeRequestsSnapshot(false, null, ChangeRequestHistory.Counter.ZERO, requests)
+            )
+        )
+    );
+  }
+
   private static class TestDruidNodeDiscovery implements DruidNodeDiscovery
   {
     Listener listener;
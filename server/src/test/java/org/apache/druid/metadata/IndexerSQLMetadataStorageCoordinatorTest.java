@@ -25,6 +25,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.apache.druid.indexing.overlord.DataSourceMetadata;
 import org.apache.druid.indexing.overlord.ObjectMetadata;
+import org.apache.druid.indexing.overlord.SegmentCreateRequest;
 import org.apache.druid.indexing.overlord.SegmentPublishResult;
 import org.apache.druid.java.util.common.DateTimes;
 import org.apache.druid.java.util.common.Intervals;
@@ -49,6 +50,7 @@ import org.skife.jdbi.v2.util.StringMapper;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -899,6 +901,105 @@ public class IndexerSQLMetadataStorageCoordinatorTest
     Assert.assertEquals("ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version_3", identifier4.toString());
   }
 
+  @Test
+  public void testAllocatePendingSegments()
+  {
+    final String dataSource = "ds";
+    final Interval interval = Intervals.of("2017-01-01/2017-02-01");
+    final SegmentIdWithShardSpec existing = coordinator.allocatePendingSegment(
+        dataSource,
+        "seq",
+        null,
+        interval,
+        "version",
+        true
+    );
+    Assert.assertEquals("ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version", existing.toString());
+
+    final SegmentCreateRequest request = new SegmentCreateRequest("seq", null);
+    final SegmentCreateRequest request1 = new SegmentCreateRequest("seq1", null);
+    final SegmentCreateRequest request2 = new SegmentCreateRequest("seq2", null);
+    final SegmentCreateRequest request3 = new SegmentCreateRequest("seq1", "ignored");
+    final Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocated = coordinator.allocatePendingSegments(
+        dataSource,
+        interval,
+        "version",
+        true,
+        ImmutableList.of(request, request1, request2, request3)
+    );
+
+    Assert.assertEquals(4, allocated.size());
+    Assert.assertEquals(existing, allocated.get(request));
+    Assert.assertEquals(
+        "ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version_1",
+        allocated.get(request1).toString()
+    );
+    Assert.assertEquals(
+        "ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version_2",
+        allocated.get(request2).toString()
+    );
+    // The previous segment doesn't matter when the lineage check is skipped
+    Assert.assertEquals(allocated.get(request1), allocated.get(request3));
+
+    // Same results as allocating one by one
+    Assert.assertEquals(
+        allocated.get(request2),
+        coordinator.allocatePendingSegment(dataSource, "seq2", null, interval, "version", true)
+    );
+    Assert.assertEquals(
+        "ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version_3",
+        coordinator.allocatePendingSegment(dataSource, "seq3", null, interval, "version", true).toString()
+    );
+  }
+
+  @Test
+  public void testAllocatePendingSegmentsWithSegmentLineageCheck()
+  {
+    final String dataSource = "ds";
+    final Interval interval = Intervals.of("2017-01-01/2017-02-01");
+    final SegmentIdWithShardSpec identifier = coordinator.allocatePendingSegment(
+        dataSource,
+        "seq",
+        null,
+        interval,
+        "version",
+        false
+    );
+
+    final SegmentCreateRequest request = new SegmentCreateRequest("seq", null);
+    final SegmentCreateRequest request1 = new SegmentCreateRequest("seq", identifier.toString());
+    final SegmentCreateRequest request2 = new SegmentCreateRequest("seq1", null);
+    final Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocated = coordinator.allocatePendingSegments(
+        dataSource,
+        interval,
+        "version",
+        false,
+        ImmutableList.of(request, request1, request2)
+    );
+
+    Assert.assertEquals(identifier, allocated.get(request));
+    Assert.assertEquals(
+        "ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version_1",
+        allocated.get(request1).toString()
+    );
+    Assert.assertEquals(
+        "ds_2017-01-01T00:00:00.000Z_2017-02-01T00:00:00.000Z_version_2",
+        allocated.get(request2).toString()
+    );
+
+    // An existing pending segment of another interval cannot be used
+    final Map<SegmentCreateRequest, SegmentIdWithShardSpec> allocatedForOtherInterval =
+        coordinator.allocatePendingSegments(
+            dataSource,
+            Intervals.of("2017-02-01/2017-03-01"),
+            "version",
+            false,
+            ImmutableList.of(request)
+        );
+    Assert.assertTrue(allocatedForOtherInterval.containsKey(request));
+    Assert.assertNull(allocatedForOtherInterval.get(request));
+  }
+
   @Test
   public void testDeletePendingSegment() throws InterruptedException
   {
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import com.fasterxml.jackson.databind.InjectableValues.Std;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.io.FileUtils;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.java.util.emitter.EmittingLogger;
+import org.apache.druid.segment.AbstractSegment;
+import org.apache.druid.segment.IndexIO;
+import org.apache.druid.segment.QueryableIndex;
+import org.apache.druid.segment.ReferenceCountingSegment;
+import org.apache.druid.segment.Segment;
+import org.apache.druid.segment.StorageAdapter;
+import org.apache.druid.server.metrics.NoopServiceEmitter;
+import org.apache.druid.timeline.DataSegment;
+import org.apache.druid.timeline.SegmentId;
+import org.apache.druid.timeline.partition.NumberedShardSpec;
+import org.joda.time.Interval;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+public class LazyLoadingSegmentTest
+{
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ObjectMapper objectMapper;
+  private File segmentDeepStorageDir;
+  private File segmentCacheDir;
+  private SegmentCacheStats cacheStats;
+  private SegmentLoaderLocalCacheManager manager;
+
+  @Before
+  public void setup() throws IOException
+  {
+    EmittingLogger.registerEmitter(new NoopServiceEmitter());
+    objectMapper = new DefaultObjectMapper()
+        .registerModule(
+            new SimpleModule().registerSubtypes(
+                new NamedType(LocalLoadSpec.class, "local"),
+                new NamedType(TestSegmentizerFactory.class, "test")
+            )
+        )
+        .setInjectableValues(new Std().addValue(LocalDataSegmentPuller.class, new LocalDataSegmentPuller()));
+    segmentDeepStorageDir = temporaryFolder.newFolder();
+    segmentCacheDir = temporaryFolder.newFolder();
+    cacheStats = new SegmentCacheStats();
+    manager = createManager();
+  }
+
+  private SegmentLoaderLocalCacheManager createManager()
+  {
+    return new SegmentLoaderLocalCacheManager(
+        new IndexIO(objectMapper, () -> 0),
+        new SegmentLoaderConfig()
+        {
+          @Override
+          public List<StorageLocationConfig> getLocations()
+          {
+            // Room for two segments of 100 bytes
+            return Collections.singletonList(new StorageLocationConfig().setPath(segmentCacheDir).setMaxSize(250));
+          }
+
+          @Override
+          public boolean isVirtualStorage()
+          {
+            return true;
+          }
+        },
+        objectMapper,
+        cacheStats
+    );
+  }
+
+  @Test
+  public void testSegmentIsFetchedOnFirstAccess() throws Exception
+  {
+    final DataSegment dataSegment = createSegment("2019-01-01/2019-01-02");
+    final LazyLoadingSegment segment = (LazyLoadingSegment) manager.getSegment(dataSegment);
+
+    Assert.assertEquals(dataSegment.getId(), segment.getId());
+    Assert.assertEquals(dataSegment.getInterval(), segment.getDataInterval());
+    Assert.assertFalse(segment.isLoaded());
+    Assert.assertFalse(manager.isSegmentLoaded(dataSegment));
+
+    segment.asStorageAdapter();
+    Assert.assertTrue(segment.isLoaded());
+    Assert.assertTrue(manager.isSegmentLoaded(dataSegment));
+
+    // A query may access the segment several times, but acquires it only once
+    final ReferenceCountingSegment referenceCountingSegment = segment.createReferenceCountingSegment();
+    Assert.assertTrue(referenceCountingSegment.increment());
+    segment.asStorageAdapter();
+    segment.asQueryableIndex();
+    referenceCountingSegment.decrement();
+
+    final SegmentCacheStats.Snapshot snapshot = cacheStats.snapshot();
+    Assert.assertEquals(1, snapshot.getNumMisses());
+    Assert.assertEquals(1, snapshot.getNumHits());
+    Assert.assertEquals(100, snapshot.getFetchedBytes());
+
+    segment.close();
+    manager.cleanup(dataSegment);
+    Assert.assertFalse(manager.isSegmentLoaded(dataSegment));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedSegmentIsEvicted() throws Exception
+  {
+    final DataSegment dataSegment1 = createSegment("2019-01-01/2019-01-02");
+    final DataSegment dataSegment2 = createSegment("2019-01-02/2019-01-03");
+    final DataSegment dataSegment3 = createSegment("2019-01-03/2019-01-04");
+    final LazyLoadingSegment segment1 = (LazyLoadingSegment) manager.getSegment(dataSegment1);
+    final LazyLoadingSegment segment2 = (LazyLoadingSegment) manager.getSegment(dataSegment2);
+    final LazyLoadingSegment segment3 = (LazyLoadingSegment) manager.getSegment(dataSegment3);
+
+    segment1.asStorageAdapter();
+    segment2.asStorageAdapter();
+    segment1.asStorageAdapter();
+    segment3.asStorageAdapter();
+
+    Assert.assertTrue(segment1.isLoaded());
+    Assert.assertFalse(segment2.isLoaded());
+    Assert.assertTrue(segment3.isLoaded());
+    Assert.assertFalse(manager.isSegmentLoaded(dataSegment2));
+    Assert.assertEquals(1, cacheStats.snapshot().getNumEvictions());
+  }
+
+  @Test
+  public void testReferencedSegmentIsNotEvicted() throws Exception
+  {
+    final DataSegment dataSegment1 = createSegment("2019-01-01/2019-01-02");
+    final DataSegment dataSegment2 = createSegment("2019-01-02/2019-01-03");
+    final DataSegment dataSegment3 = createSegment("2019-01-03/2019-01-04");
+    final LazyLoadingSegment segment1 = (LazyLoadingSegment) manager.getSegment(dataSegment1);
+    final LazyLoadingSegment segment2 = (LazyLoadingSegment) manager.getSegment(dataSegment2);
+    final LazyLoadingSegment segment3 = (LazyLoadingSegment) manager.getSegment(dataSegment3);
+
+    final ReferenceCountingSegment referenceCountingSegment1 = segment1.createReferenceCountingSegment();
+    Assert.assertTrue(referenceCountingSegment1.increment());
+
+    segment1.asStorageAdapter();
+    segment2.asStorageAdapter();
+    segment3.asStorageAdapter();
+
+    Assert.assertTrue(segment1.isLoaded());
+    Assert.assertFalse(segment2.isLoaded());
+    Assert.assertTrue(segment3.isLoaded());
+
+    referenceCountingSegment1.decrement();
+    segment2.asStorageAdapter();
+
+    Assert.assertFalse(segment1.isLoaded());
+    Assert.assertTrue(segment2.isLoaded());
+    Assert.assertEquals(2, cacheStats.snapshot().getNumEvictions());
+  }
+
+  @Test
+  public void testFilesFromPreviousRunAreEvictable() throws Exception
+  {
+    final DataSegment dataSegment1 = createSegment("2019-01-01/2019-01-02");
+    final DataSegment dataSegment2 = createSegment("2019-01-02/2019-01-03");
+    final DataSegment dataSegment3 = createSegment("2019-01-03/2019-01-04");
+    final LazyLoadingSegment segment1 = (LazyLoadingSegment) manager.getSegment(dataSegment1);
+    final LazyLoadingSegment segment2 = (LazyLoadingSegment) manager.getSegment(dataSegment2);
+    segment1.asStorageAdapter();
+    segment2.asStorageAdapter();
+
+    // Restart with the fetched files still in the cache directory
+    manager = createManager();
+    final LazyLoadingSegment restoredSegment1 = (LazyLoadingSegment) manager.getSegment(dataSegment1);
+    final LazyLoadingSegment restoredSegment2 = (LazyLoadingSegment) manager.getSegment(dataSegment2);
+    final LazyLoadingSegment segment3 = (LazyLoadingSegment) manager.getSegment(dataSegment3);
+    Assert.assertFalse(restoredSegment1.isLoaded());
+    Assert.assertTrue(manager.isSegmentLoaded(dataSegment1));
+    Assert.assertTrue(manager.isSegmentLoaded(dataSegment2));
+
+    // Opening files kept from the previous run doesn't fetch them again
+    restoredSegment2.asStorageAdapter();
+    Assert.assertEquals(2, cacheStats.snapshot().getNumMisses());
+    Assert.assertEquals(1, cacheStats.snapshot().getNumHits());
+
+    // The location is full with the restored files, so fetching another segment evicts the least recently used one
+    segment3.asStorageAdapter();
+    Assert.assertFalse(manager.isSegmentLoaded(dataSegment1));
+    Assert.assertTrue(manager.isSegmentLoaded(dataSegment2));
+    Assert.assertTrue(manager.isSegmentLoaded(dataSegment3));
+    Assert.assertEquals(1, cacheStats.snapshot().getNumEvictions());
+  }
+
+  private DataSegment createSegment(String interval) throws IOException
+  {
+    final DataSegment tmpSegment = new DataSegment(
+        "dataSource",
+        Intervals.of(interval),
+        "version",
+        Collections.emptyMap(),
+        Collections.emptyList(),
+        Collections.emptyList(),
+        new NumberedShardSpec(0, 0),
+        9,
+        100
+    );
+    final String storageDir = DataSegmentPusher.getDefaultStorageDir(tmpSegment, false);
+    final File segmentDir = new File(segmentDeepStorageDir, storageDir);
+    FileUtils.forceMkdir(segmentDir);
+
+    objectMapper.writeValue(new File(segmentDir, "factory.json"), new TestSegmentizerFactory());
+    return tmpSegment.withLoadSpec(
+        ImmutableMap.of("type", "local", "path", segmentDir.getAbsolutePath())
+    );
+  }
+
+  private static class TestSegmentizerFactory implements SegmentizerFactory
+  {
+    @Override
+    public Segment factorize(DataSegment segment, File parentDir)
+    {
+      return new AbstractSegment()
+      {
+        @Override
+        public SegmentId getId()
+        {
+          return segment.getId();
+        }
+
+        @Override
+        public Interval getDataInterval()
+        {
+          return segment.getInterval();
+        }
+
+        @Nullable
+        @Override
+        public QueryableIndex asQueryableIndex()
+        {
+          return null;
+        }
+
+        @Override
+        public StorageAdapter asStorageAdapter()
+        {
+          return null;
+        }
+
+        @Override
+        public void close()
+        {
+
+        }
+      };
+    }
+  }
+}
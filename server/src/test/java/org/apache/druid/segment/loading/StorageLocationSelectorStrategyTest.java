@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.segment.loading;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.common.Intervals;
+import org.apache.druid.timeline.DataSegment;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+public class StorageLocationSelectorStrategyTest
+{
+  private final DataSegment segment = makeSegment("2012-01-01/2012-01-02", 10);
+
+  @Test
+  public void testLeastBytesUsed()
+  {
+    final StorageLocation location1 = new StorageLocation(new File("/tmp/1"), 100, null);
+    final StorageLocation location2 = new StorageLocation(new File("/tmp/2"), 1000, null);
+    final StorageLocation location3 = new StorageLocation(new File("/tmp/3"), 100, null);
+    location1.addSegment(makeSegment("2012-01-02/2012-01-03", 20));
+    location2.addSegment(makeSegment("2012-01-03/2012-01-04", 30));
+    final List<StorageLocation> locations = ImmutableList.of(location1, location2, location3);
+
+    final StorageLocationSelectorStrategy strategy = new LeastBytesUsedStorageLocationSelectorStrategy();
+    Assert.assertEquals(
+        ImmutableList.of(location3, location1, location2),
+        Lists.newArrayList(strategy.getLocations(locations, segment))
+    );
+  }
+
+  @Test
+  public void testRoundRobin()
+  {
+    final StorageLocation location1 = new StorageLocation(new File("/tmp/1"), 100, null);
+    final StorageLocation location2 = new StorageLocation(new File("/tmp/2"), 100, null);
+    final StorageLocation location3 = new StorageLocation(new File("/tmp/3"), 100, null);
+    final List<StorageLocation> locations = ImmutableList.of(location1, location2, location3);
+
+    final StorageLocationSelectorStrategy strategy = new RoundRobinStorageLocationSelectorStrategy();
+    Assert.assertEquals(
+        ImmutableList.of(location1, location2, location3),
+        Lists.newArrayList(strategy.getLocations(locations, segment))
+    );
+    Assert.assertEquals(
+        ImmutableList.of(location2, location3, location1),
+        Lists.newArrayList(strategy.getLocations(locations, segment))
+    );
+    Assert.assertEquals(
+        ImmutableList.of(location3, location1, location2),
+        Lists.newArrayList(strategy.getLocations(locations, segment))
+    );
+    Assert.assertEquals(
+        ImmutableList.of(location1, location2, location3),
+        Lists.newArrayList(strategy.getLocations(locations, segment))
+    );
+    Assert.assertFalse(strategy.getLocations(Collections.emptyList(), segment).hasNext());
+  }
+
+  @Test
+  public void testRandomSkipsFullLocations()
+  {
+    final StorageLocation location1 = new StorageLocation(new File("/tmp/1"), 100, null);
+    final StorageLocation location2 = new StorageLocation(new File("/tmp/2"), 100, null);
+    location1.addSegment(makeSegment("2012-01-02/2012-01-03", 100));
+    final List<StorageLocation> locations = ImmutableList.of(location1, location2);
+
+    final StorageLocationSelectorStrategy strategy = new RandomStorageLocationSelectorStrategy();
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(
+          ImmutableList.of(location2, location1),
+          Lists.newArrayList(strategy.getLocations(locations, segment))
+      );
+    }
+  }
+
+  @Test
+  public void testLeastBusy()
+  {
+    final StorageLocation location1 = new StorageLocation(new File("/tmp/1"), 100, null);
+    final StorageLocation location2 = new StorageLocation(new File("/tmp/2"), 100, null);
+    final StorageLocation location3 = new StorageLocation(new File("/tmp/3"), 100, null);
+    final List<StorageLocation> locations = ImmutableList.of(location1, location2, location3);
+
+    location1.beginLoad();
+    location3.beginLoad();
+    location3.beginLoad();
+
+    final StorageLocationSelectorStrategy strategy = new LeastBusyStorageLocationSelectorStrategy();
+    Assert.assertEquals(
+        ImmutableList.of(location2, location1, location3),
+        Lists.newArrayList(strategy.getLocations(locations, segment))
+    );
+
+    location3.endLoad();
+    location3.endLoad();
+    location1.endLoad();
+    Assert.assertEquals(location2, strategy.getLocations(locations, segment).next());
+  }
+
+  @Test
+  public void testSerde() throws Exception
+  {
+    final ObjectMapper mapper = new DefaultObjectMapper();
+    Assert.assertTrue(
+        mapper.readValue("{}", StorageLocationSelectorStrategy.class)
+        instanceof LeastBytesUsedStorageLocationSelectorStrategy
+    );
+    Assert.assertTrue(
+        mapper.readValue("{\"strategy\":\"roundRobin\"}", StorageLocationSelectorStrategy.class)
+        instanceof RoundRobinStorageLocationSelectorStrategy
+    );
+    Assert.assertTrue(
+        mapper.readValue("{\"strategy\":\"random\"}", StorageLocationSelectorStrategy.class)
+        instanceof RandomStorageLocationSelectorStrategy
+    );
+    Assert.assertTrue(
+        mapper.readValue("{\"strategy\":\"leastBusy\"}", StorageLocationSelectorStrategy.class)
+        instanceof LeastBusyStorageLocationSelectorStrategy
+    );
+
+    final SegmentLoaderConfig config = mapper.readValue(
+        "{\"locations\":[{\"path\":\"/tmp/1\"}],\"locationSelector\":{\"strategy\":\"roundRobin\"}}",
+        SegmentLoaderConfig.class
+    );
+    Assert.assertTrue(config.getLocationSelectorStrategy() instanceof RoundRobinStorageLocationSelectorStrategy);
+    Assert.assertTrue(
+        mapper.readValue("{}", SegmentLoaderConfig.class).getLocationSelectorStrategy()
+        instanceof LeastBytesUsedStorageLocationSelectorStrategy
+    );
+  }
+
+  private static DataSegment makeSegment(String intervalString, long size)
+  {
+    return new DataSegment(
+        "test",
+        Intervals.of(intervalString),
+        "1",
+        ImmutableMap.of(),
+        Collections.singletonList("d"),
+        Collections.singletonList("m"),
+        null,
+        null,
+        size
+    );
+  }
+}
@@ -1103,6 +1103,96 @@ public class DruidCoordinatorRuleRunnerTest
     exec.shutdown();
   }
 
+  /**
+   * Runs rules for 4 dataSources with 24 segments each in parallel. Every segment gets its primary replicant, but only
+   * 24 additional replicants may be created in total, no matter how the dataSources are interleaved.
+   */
+  @Test
+  public void testReplicantThrottleWithParallelRuleRunner()
+  {
+    EasyMock.expect(coordinator.getDynamicConfigs()).andReturn(createCoordinatorDynamicConfig()).anyTimes();
+    EasyMock.replay(coordinator, databaseSegmentManager, dataSourcesSnapshot);
+    mockPeon.loadSegment(EasyMock.anyObject(), EasyMock.anyObject());
+    EasyMock.expectLastCall().atLeastOnce();
+    mockEmptyPeon();
+
+    EasyMock
+        .expect(databaseRuleManager.getRulesWithDefault(EasyMock.anyObject()))
+        .andReturn(
+            Collections.singletonList(
+                new IntervalLoadRule(
+                    Intervals.of("2012-01-01T00:00:00.000Z/2013-01-01T00:00:00.000Z"),
+                    ImmutableMap.of("hot", 2)
+                )
+            )
+        )
+        .atLeastOnce();
+    EasyMock.replay(databaseRuleManager);
+
+    final List<DataSegment> segments = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      for (DataSegment segment : availableSegments) {
+        segments.add(DataSegment.builder(segment).dataSource("test" + i).build());
+      }
+    }
+
+    DruidCluster druidCluster = new DruidCluster(
+        null,
+        ImmutableMap.of(
+            "hot",
+            Stream.of(
+                new ServerHolder(
+                    new DruidServer(
+                        "serverHot",
+                        "hostHot",
+                        null,
+                        1000,
+                        ServerType.HISTORICAL,
+                        "hot",
+                        0
+                    ).toImmutableDruidServer(),
+                    mockPeon
+                ),
+                new ServerHolder(
+                    new DruidServer(
+                        "serverHot2",
+                        "hostHot2",
+                        null,
+                        1000,
+                        ServerType.HISTORICAL,
+                        "hot",
+                        0
+                    ).toImmutableDruidServer(),
+                    mockPeon
+                )
+            ).collect(Collectors.toCollection(() -> new TreeSet<>(Collections.reverseOrder())))
+        )
+    );
+
+    ListeningExecutorService exec = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(1));
+    BalancerStrategy balancerStrategy = new CostBalancerStrategyFactory().createBalancerStrategy(exec);
+
+    DruidCoordinatorRuntimeParams params =
+        new DruidCoordinatorRuntimeParams.Builder()
+            .withDruidCluster(druidCluster)
+            .withAvailableSegmentsInTest(segments)
+            .withDatabaseRuleManager(databaseRuleManager)
+            .withSegmentReplicantLookup(SegmentReplicantLookup.make(new DruidCluster()))
+            .withBalancerStrategy(balancerStrategy)
+            .withBalancerReferenceTimestamp(DateTimes.of("2013-01-01"))
+            .withDynamicConfigs(CoordinatorDynamicConfig.builder().withRuleRunnerThreads(4).build())
+            .build();
+
+    DruidCoordinatorRuntimeParams afterParams = ruleRunner.run(params);
+    CoordinatorStats stats = afterParams.getCoordinatorStats();
+
+    Assert.assertEquals(96L + 24L, stats.getTieredStat("assignedCount", "hot"));
+    Assert.assertTrue(stats.getTiers("unassignedCount").isEmpty());
+
+    EasyMock.verify(mockPeon);
+    exec.shutdown();
+  }
+
   /**
    * Nodes:
    * hot - nothing loaded
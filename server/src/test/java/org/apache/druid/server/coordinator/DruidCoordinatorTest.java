@@ -58,6 +58,7 @@ import org.apache.druid.server.initialization.ZkPathsConfig;
 import org.apache.druid.server.lookup.cache.LookupCoordinatorManager;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.SegmentId;
+import org.apache.druid.timeline.VersionedIntervalTimeline;
 import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.joda.time.Duration;
@@ -545,6 +546,12 @@ public class DruidCoordinatorTest extends CuratorTestBase
         .expect(dataSourcesSnapshot.getDataSources())
         .andReturn(Collections.singleton(dataSource.toImmutableDruidDataSource()))
         .anyTimes();
+    EasyMock
+        .expect(dataSourcesSnapshot.getUsedSegmentsTimelinesPerDataSource())
+        .andReturn(
+            ImmutableMap.of(dataSource.getName(), VersionedIntervalTimeline.forSegments(dataSource.getSegments()))
+        )
+        .anyTimes();
     EasyMock.replay(dataSourcesSnapshot);
   }
 
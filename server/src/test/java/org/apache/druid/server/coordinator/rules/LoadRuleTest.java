@@ -129,8 +129,9 @@ public class LoadRuleTest
 
     final DataSegment segment = createDataSegment("foo");
 
-    throttler.registerReplicantCreation(DruidServer.DEFAULT_TIER, segment.getId(), "hostNorm");
-    EasyMock.expectLastCall().once();
+    EasyMock.expect(throttler.registerReplicantCreation(DruidServer.DEFAULT_TIER, segment.getId(), "hostNorm"))
+            .andReturn(true)
+            .once();
 
     EasyMock.expect(mockBalancerStrategy.findNewSegmentHomeReplicator(EasyMock.anyObject(), EasyMock.anyObject()))
             .andDelegateTo(balancerStrategy)
@@ -754,8 +755,10 @@ public class LoadRuleTest
 
     final DataSegment segment = createDataSegment("foo");
 
-    throttler.registerReplicantCreation(EasyMock.eq("tier2"), EasyMock.anyObject(), EasyMock.anyObject());
-    EasyMock.expectLastCall().times(2);
+    EasyMock.expect(
+        throttler.registerReplicantCreation(EasyMock.eq("tier2"), EasyMock.anyObject(), EasyMock.anyObject())
+    ).andReturn(true)
+            .times(2);
 
     ServerHolder holder1 = createServerHolder("tier1", mockPeon1, true);
     ServerHolder holder2 = createServerHolder("tier1", mockPeon2, false);
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.server.emitter;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.druid.jackson.DefaultObjectMapper;
+import org.apache.druid.java.util.emitter.core.Emitter;
+import org.apache.druid.java.util.emitter.core.Event;
+import org.apache.druid.java.util.emitter.service.ServiceMetricEvent;
+import org.apache.druid.query.DruidMetrics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class SegmentMetricsEmitterTest
+{
+  private final CapturingEmitter delegate = new CapturingEmitter();
+
+  @Test
+  public void testSamplingDropsSegmentMetricsOnly()
+  {
+    final SegmentMetricsEmitter emitter = makeEmitter(ImmutableMap.of("sampleRatio", 0.0));
+    for (int i = 0; i < 10; i++) {
+      emitter.emit(segmentMetric("query/segment/time", "ds", "q1", i));
+    }
+    emitter.emit(segmentMetric("query/time", "ds", "q1", 100));
+
+    Assert.assertEquals(1, delegate.events.size());
+    Assert.assertEquals("query/time", delegate.events.get(0).getMetric());
+  }
+
+  @Test
+  public void testAggregatePerDataSource()
+  {
+    final SegmentMetricsEmitter emitter = makeEmitter(ImmutableMap.of("sampleRatio", 0.0, "aggregate", true));
+    for (int i = 1; i <= 100; i++) {
+      emitter.emit(segmentMetric("query/segment/time", "ds1", "q" + (i % 2), i));
+    }
+    emitter.emit(segmentMetric("query/wait/time", "ds2", "q3", 7));
+    Assert.assertTrue(delegate.events.isEmpty());
+
+    emitter.emitSummaries();
+    final Map<String, ServiceMetricEvent> summaries = delegate.events
+        .stream()
+        .collect(Collectors.toMap(ServiceMetricEvent::getMetric, event -> event));
+    Assert.assertEquals(12, summaries.size());
+
+    final ServiceMetricEvent count = summaries.get("query/segment/time/count");
+    Assert.assertEquals(100L, count.getValue());
+    Assert.assertEquals("ds1", count.getUserDims().get(DruidMetrics.DATASOURCE));
+    Assert.assertEquals("timeseries", count.getUserDims().get(DruidMetrics.TYPE));
+    Assert.assertNull(count.getUserDims().get(DruidMetrics.ID));
+    Assert.assertEquals("historical", count.getService());
+    Assert.assertEquals("localhost", count.getHost());
+    Assert.assertEquals(5050.0, summaries.get("query/segment/time/sum").getValue().doubleValue(), 0);
+    Assert.assertEquals(100.0, summaries.get("query/segment/time/max").getValue().doubleValue(), 0);
+    assertWithinBucket(50, summaries.get("query/segment/time/p50").getValue().doubleValue());
+    assertWithinBucket(90, summaries.get("query/segment/time/p90").getValue().doubleValue());
+    assertWithinBucket(99, summaries.get("query/segment/time/p99").getValue().doubleValue());
+    Assert.assertEquals(7.0, summaries.get("query/wait/time/p99").getValue().doubleValue(), 0);
+
+    // Histograms are reset after they are emitted
+    delegate.events.clear();
+    emitter.emitSummaries();
+    Assert.assertTrue(delegate.events.isEmpty());
+  }
+
+  @Test
+  public void testAggregatePerQuery()
+  {
+    final SegmentMetricsEmitter emitter = makeEmitter(
+        ImmutableMap.of("aggregate", true, "aggregatePerQuery", true)
+    );
+    for (int i = 0; i < 10; i++) {
+      emitter.emit(segmentMetric("query/segment/time", "ds", "q" + (i % 2), i));
+    }
+    // Raw events are all passed through with the default sampleRatio of 1
+    Assert.assertEquals(10, delegate.events.size());
+
+    delegate.events.clear();
+    emitter.emitSummaries();
+    final Map<Object, Number> counts = delegate.events
+        .stream()
+        .filter(event -> "query/segment/time/count".equals(event.getMetric()))
+        .collect(Collectors.toMap(event -> event.getUserDims().get(DruidMetrics.ID), ServiceMetricEvent::getValue));
+    Assert.assertEquals(ImmutableMap.of("q0", 5L, "q1", 5L), counts);
+  }
+
+  @Test
+  public void testHistogramPercentile()
+  {
+    final SegmentMetricsEmitter.Histogram histogram = new SegmentMetricsEmitter.Histogram();
+    histogram.add(0);
+    histogram.add(0.5);
+    Assert.assertEquals(0.5, histogram.percentile(0.99), 0);
+
+    for (int i = 0; i < 1000; i++) {
+      histogram.add(1000);
+    }
+    Assert.assertEquals(1000, histogram.percentile(0.5), 0);
+  }
+
+  private static void assertWithinBucket(double expected, double actual)
+  {
+    Assert.assertTrue(actual + " should be close to " + expected, actual >= expected && actual < expected * 1.1);
+  }
+
+  private SegmentMetricsEmitter makeEmitter(Map<String, Object> config)
+  {
+    return new SegmentMetricsEmitter(
+        "historical",
+        "localhost",
+        delegate,
+        ImmutableMap.of(),
+        new DefaultObjectMapper().convertValue(new HashMap<>(config), SegmentMetricsEmitterConfig.class)
+    );
+  }
+
+  private static ServiceMetricEvent segmentMetric(String metric, String dataSource, String queryId, double value)
+  {
+    return new ServiceMetricEvent.Builder()
+        .setDimension(DruidMetrics.DATASOURCE, dataSource)
+        .setDimension(DruidMetrics.TYPE, "timeseries")
+        .setDimension(DruidMetrics.ID, queryId)
+        .setDimension("segment", "segmentId")
+        .build(metric, value)
+        .build(ImmutableMap.of("service", "historical", "host", "localhost"));
+  }
+
+  private static class CapturingEmitter implements Emitter
+  {
+    private final List<ServiceMetricEvent> events = new ArrayList<>();
+
+    @Override
+    public void start()
+    {
+    }
+
+    @Override
+    public void emit(Event event)
+    {
+      events.add((ServiceMetricEvent) event);
+    }
+
+    @Override
+    public void flush()
+    {
+    }
+
+    @Override
+    public void close()
+    {
+    }
+  }
+}
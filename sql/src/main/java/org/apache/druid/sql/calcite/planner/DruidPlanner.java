@@ -52,7 +52,9 @@ import org.apache.druid.java.util.common.guava.Sequence;
 import org.apache.druid.java.util.common.guava.Sequences;
 import org.apache.druid.sql.calcite.rel.DruidConvention;
 import org.apache.druid.sql.calcite.rel.DruidRel;
+import org.apache.druid.sql.calcite.rel.QueryMaker;
 
+import javax.annotation.Nullable;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -63,18 +65,40 @@ public class DruidPlanner implements Closeable
 {
   private final Planner planner;
   private final PlannerContext plannerContext;
+  private final QueryMaker queryMaker;
+  @Nullable
+  private final PlanCache planCache;
 
   public DruidPlanner(
       final Planner planner,
-      final PlannerContext plannerContext
+      final PlannerContext plannerContext,
+      final QueryMaker queryMaker,
+      @Nullable final PlanCache planCache
   )
   {
     this.planner = planner;
     this.plannerContext = plannerContext;
+    this.queryMaker = queryMaker;
+    this.planCache = planCache;
   }
 
   public PlannerResult plan(final String sql)
       throws SqlParseException, ValidationException, RelConversionException
+  {
+    if (planCache == null) {
+      return planWithoutCache(sql, null);
+    }
+
+    final PlanCache.Key cacheKey = planCache.makeKey(sql, plannerContext);
+    final PlanCache.Plan cachedPlan = planCache.get(cacheKey);
+    if (cachedPlan != null) {
+      return makeDruidResult(cachedPlan.getDruidRel().withQueryMaker(queryMaker), cachedPlan);
+    }
+    return planWithoutCache(sql, cacheKey);
+  }
+
+  private PlannerResult planWithoutCache(final String sql, @Nullable final PlanCache.Key cacheKey)
+      throws SqlParseException, ValidationException, RelConversionException
   {
     SqlExplain explain = null;
     SqlNode parsed = planner.parse(sql);
@@ -86,7 +110,7 @@ public class DruidPlanner implements Closeable
     final RelRoot root = planner.rel(validated);
 
     try {
-      return planWithDruidConvention(explain, root);
+      return planWithDruidConvention(explain, root, cacheKey);
     }
     catch (RelOptPlanner.CannotPlanException e) {
       // Try again with BINDABLE convention. Used for querying Values and metadata tables.
@@ -113,7 +137,8 @@ public class DruidPlanner implements Closeable
 
   private PlannerResult planWithDruidConvention(
       final SqlExplain explain,
-      final RelRoot root
+      final RelRoot root,
+      @Nullable final PlanCache.Key cacheKey
   ) throws RelConversionException
   {
     final DruidRel<?> druidRel = (DruidRel<?>) planner.transform(
@@ -129,36 +154,49 @@ public class DruidPlanner implements Closeable
     if (explain != null) {
       return planExplanation(druidRel, explain, dataSourceNames);
     } else {
-      final Supplier<Sequence<Object[]>> resultsSupplier = new Supplier<Sequence<Object[]>>()
+      final PlanCache.Plan plan = new PlanCache.Plan(druidRel, root, dataSourceNames);
+      if (cacheKey != null && !plannerContext.isLocalNowUsed()) {
+        // The planner is referenced by the cluster of every rel of the plan. Drop the alternatives it explored, which
+        // are not needed to run the plan, so that they are not retained by the cache.
+        druidRel.getCluster().getPlanner().clear();
+        planCache.put(cacheKey, plan);
+      }
+      return makeDruidResult(druidRel, plan);
+    }
+  }
+
+  private PlannerResult makeDruidResult(final DruidRel<?> druidRel, final PlanCache.Plan plan)
+  {
+    final List<Integer> fields = plan.getFields();
+    final Supplier<Sequence<Object[]>> resultsSupplier = new Supplier<Sequence<Object[]>>()
+    {
+      @Override
+      public Sequence<Object[]> get()
       {
-        @Override
-        public Sequence<Object[]> get()
-        {
-          if (root.isRefTrivial()) {
-            return druidRel.runQuery();
-          } else {
-            // Add a mapping on top to accommodate root.fields.
-            return Sequences.map(
-                druidRel.runQuery(),
-                new Function<Object[], Object[]>()
+        if (fields == null) {
+          return druidRel.runQuery();
+        } else {
+          // Add a mapping on top to accommodate root.fields.
+          return Sequences.map(
+              druidRel.runQuery(),
+              new Function<Object[], Object[]>()
+              {
+                @Override
+                public Object[] apply(final Object[] input)
                 {
-                  @Override
-                  public Object[] apply(final Object[] input)
-                  {
-                    final Object[] retVal = new Object[root.fields.size()];
-                    for (int i = 0; i < root.fields.size(); i++) {
-                      retVal[i] = input[root.fields.get(i).getKey()];
-                    }
-                    return retVal;
+                  final Object[] retVal = new Object[fields.size()];
+                  for (int i = 0; i < fields.size(); i++) {
+                    retVal[i] = input[fields.get(i)];
                   }
+                  return retVal;
                 }
-            );
-          }
+              }
+          );
         }
-      };
+      }
+    };
 
-      return new PlannerResult(resultsSupplier, root.validatedRowType, dataSourceNames);
-    }
+    return new PlannerResult(resultsSupplier, plan.getRowType(), plan.getDataSourceNames());
   }
 
   private PlannerResult planWithBindableConvention(
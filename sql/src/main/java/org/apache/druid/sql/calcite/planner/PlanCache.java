@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.sql.calcite.planner;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.calcite.rel.RelRoot;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.Pair;
+import org.apache.druid.server.security.AuthenticationResult;
+import org.apache.druid.sql.calcite.rel.DruidRel;
+import org.apache.druid.sql.calcite.schema.DruidSchema;
+import org.apache.druid.sql.calcite.view.DruidViewMacro;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cache of plans made by {@link DruidPlanner}, so that SQL queries which are issued repeatedly, such as those of
+ * dashboards, skip parsing, validation and optimization.
+ *
+ * Plans are keyed by the SQL text together with everything planning depends on: the query context, the identity of
+ * the user, and the tables and views of the {@link DruidSchema}. Only plans made of Druid queries are cached; plans
+ * that read metadata tables or depend on the current time must be made again for every query.
+ *
+ * Every cached plan retains the relational tree of its query, so the memory taken by the cache grows with the number
+ * and the complexity of the cached queries, and is bounded by the configured maximum number of plans.
+ */
+public class PlanCache
+{
+  private final DruidSchema druidSchema;
+  private final Cache<Key, Plan> cache;
+
+  PlanCache(final DruidSchema druidSchema, final int maxSize)
+  {
+    this.druidSchema = druidSchema;
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  Key makeKey(final String sql, final PlannerContext plannerContext)
+  {
+    final Map<String, Object> queryContext = new HashMap<>(plannerContext.getQueryContext());
+    // Ids differ for every query but are not used by planning.
+    queryContext.remove(PlannerContext.CTX_SQL_QUERY_ID);
+    queryContext.remove("queryId");
+
+    final AuthenticationResult authenticationResult = plannerContext.getAuthenticationResult();
+    return new Key(
+        sql,
+        queryContext,
+        authenticationResult.getIdentity(),
+        authenticationResult.getAuthorizerName(),
+        druidSchema.getTablesVersion(),
+        ImmutableMap.copyOf(druidSchema.getViews())
+    );
+  }
+
+  @Nullable
+  Plan get(final Key key)
+  {
+    return cache.getIfPresent(key);
+  }
+
+  void put(final Key key, final Plan plan)
+  {
+    cache.put(key, plan);
+  }
+
+  @VisibleForTesting
+  long size()
+  {
+    return cache.size();
+  }
+
+  /**
+   * A plan made of Druid queries. Only the chosen {@link DruidRel} tree is kept, together with the row type and the
+   * fields of the {@link RelRoot}. The rels of the tree still reference the planner which made them through their
+   * cluster, so the planner must be cleared of the alternatives it explored before the plan is cached, see
+   * {@link DruidPlanner}.
+   */
+  static class Plan
+  {
+    private final DruidRel<?> druidRel;
+    private final RelDataType rowType;
+    @Nullable
+    private final List<Integer> fields;
+    private final Set<String> dataSourceNames;
+
+    Plan(final DruidRel<?> druidRel, final RelRoot root, final Set<String> dataSourceNames)
+    {
+      this.druidRel = druidRel;
+      this.rowType = root.validatedRowType;
+      this.fields = root.isRefTrivial() ? null : ImmutableList.copyOf(Pair.left(root.fields));
+      this.dataSourceNames = ImmutableSet.copyOf(dataSourceNames);
+    }
+
+    DruidRel<?> getDruidRel()
+    {
+      return druidRel;
+    }
+
+    RelDataType getRowType()
+    {
+      return rowType;
+    }
+
+    /**
+     * Returns the fields of the rows of {@link #getDruidRel()} which make up the rows of the plan, or null if the
+     * rows of the plan are the rows of the DruidRel.
+     */
+    @Nullable
+    List<Integer> getFields()
+    {
+      return fields;
+    }
+
+    Set<String> getDataSourceNames()
+    {
+      return dataSourceNames;
+    }
+  }
+
+  static class Key
+  {
+    private final String sql;
+    private final Map<String, Object> queryContext;
+    private final String identity;
+    private final String authorizerName;
+    private final long tablesVersion;
+    private final Map<String, DruidViewMacro> views;
+
+    Key(
+        final String sql,
+        final Map<String, Object> queryContext,
+        final String identity,
+        final String authorizerName,
+        final long tablesVersion,
+        final Map<String, DruidViewMacro> views
+    )
+    {
+      this.sql = sql;
+      this.queryContext = queryContext;
+      this.identity = identity;
+      this.authorizerName = authorizerName;
+      this.tablesVersion = tablesVersion;
+      this.views = views;
+    }
+
+    @Override
+    public boolean equals(final Object o)
+    {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Key key = (Key) o;
+      return tablesVersion == key.tablesVersion &&
+             sql.equals(key.sql) &&
+             queryContext.equals(key.queryContext) &&
+             Objects.equals(identity, key.identity) &&
+             Objects.equals(authorizerName, key.authorizerName) &&
+             views.equals(key.views);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return Objects.hash(sql, queryContext, identity, authorizerName, tablesVersion, views);
+    }
+  }
+}
@@ -35,6 +35,9 @@ public class PlannerConfig
   @JsonProperty
   private Period metadataRefreshPeriod = new Period("PT1M");
 
+  @JsonProperty
+  private int metadataRefreshThreads = 1;
+
   @JsonProperty
   private int maxSemiJoinRowsInMemory = 100000;
 
@@ -65,6 +68,9 @@ public class PlannerConfig
   @JsonProperty
   private long metadataSegmentPollPeriod = 60000;
 
+  @JsonProperty
+  private int planCacheSize = 0;
+
   public long getMetadataSegmentPollPeriod()
   {
     return metadataSegmentPollPeriod;
@@ -82,6 +88,11 @@ public class PlannerConfig
     return metadataRefreshPeriod;
   }
 
+  public int getMetadataRefreshThreads()
+  {
+    return metadataRefreshThreads;
+  }
+
   public int getMaxSemiJoinRowsInMemory()
   {
     return maxSemiJoinRowsInMemory;
@@ -127,6 +138,11 @@ public class PlannerConfig
     return serializeComplexValues;
   }
 
+  public int getPlanCacheSize()
+  {
+    return planCacheSize;
+  }
+
   public PlannerConfig withOverrides(final Map<String, Object> context)
   {
     if (context == null) {
@@ -135,6 +151,7 @@ public class PlannerConfig
 
     final PlannerConfig newConfig = new PlannerConfig();
     newConfig.metadataRefreshPeriod = getMetadataRefreshPeriod();
+    newConfig.metadataRefreshThreads = getMetadataRefreshThreads();
     newConfig.maxSemiJoinRowsInMemory = getMaxSemiJoinRowsInMemory();
     newConfig.maxTopNLimit = getMaxTopNLimit();
     newConfig.maxQueryCount = getMaxQueryCount();
@@ -154,6 +171,7 @@ public class PlannerConfig
     newConfig.metadataSegmentCacheEnable = isMetadataSegmentCacheEnable();
     newConfig.metadataSegmentPollPeriod = getMetadataSegmentPollPeriod();
     newConfig.serializeComplexValues = shouldSerializeComplexValues();
+    newConfig.planCacheSize = getPlanCacheSize();
     return newConfig;
   }
 
@@ -185,7 +203,8 @@ public class PlannerConfig
       return false;
     }
     final PlannerConfig that = (PlannerConfig) o;
-    return maxSemiJoinRowsInMemory == that.maxSemiJoinRowsInMemory &&
+    return metadataRefreshThreads == that.metadataRefreshThreads &&
+           maxSemiJoinRowsInMemory == that.maxSemiJoinRowsInMemory &&
            maxTopNLimit == that.maxTopNLimit &&
            maxQueryCount == that.maxQueryCount &&
            useApproximateCountDistinct == that.useApproximateCountDistinct &&
@@ -195,6 +214,7 @@ public class PlannerConfig
            metadataSegmentCacheEnable == that.metadataSegmentCacheEnable &&
            metadataSegmentPollPeriod == that.metadataSegmentPollPeriod &&
            serializeComplexValues == that.serializeComplexValues &&
+           planCacheSize == that.planCacheSize &&
            Objects.equals(metadataRefreshPeriod, that.metadataRefreshPeriod) &&
            Objects.equals(sqlTimeZone, that.sqlTimeZone);
   }
@@ -205,6 +225,7 @@ public class PlannerConfig
 
     return Objects.hash(
         metadataRefreshPeriod,
+        metadataRefreshThreads,
         maxSemiJoinRowsInMemory,
         maxTopNLimit,
         maxQueryCount,
@@ -215,7 +236,8 @@ public class PlannerConfig
         sqlTimeZone,
         metadataSegmentCacheEnable,
         metadataSegmentPollPeriod,
-        serializeComplexValues
+        serializeComplexValues,
+        planCacheSize
     );
   }
 
@@ -224,6 +246,7 @@ public class PlannerConfig
   {
     return "PlannerConfig{" +
            "metadataRefreshPeriod=" + metadataRefreshPeriod +
+           ", metadataRefreshThreads=" + metadataRefreshThreads +
            ", maxSemiJoinRowsInMemory=" + maxSemiJoinRowsInMemory +
            ", maxTopNLimit=" + maxTopNLimit +
            ", maxQueryCount=" + maxQueryCount +
@@ -235,6 +258,7 @@ public class PlannerConfig
            ", metadataSegmentPollPeriod=" + metadataSegmentPollPeriod +
            ", sqlTimeZone=" + sqlTimeZone +
            ", serializeComplexValues=" + serializeComplexValues +
+           ", planCacheSize=" + planCacheSize +
            '}';
   }
 }
@@ -61,6 +61,8 @@ public class PlannerContext
   private final AuthenticationResult authenticationResult;
   private final String sqlQueryId;
   private final List<String> nativeQueryIds = new CopyOnWriteArrayList<>();
+  // Whether planning depended on the current time, in which case the plan cannot be reused by later queries.
+  private volatile boolean localNowUsed = false;
 
   private PlannerContext(
       final DruidOperatorTable operatorTable,
@@ -144,9 +146,15 @@ public class PlannerContext
 
   public DateTime getLocalNow()
   {
+    localNowUsed = true;
     return localNow;
   }
 
+  public boolean isLocalNowUsed()
+  {
+    return localNowUsed;
+  }
+
   public DateTimeZone getTimeZone()
   {
     return localNow.getZone();
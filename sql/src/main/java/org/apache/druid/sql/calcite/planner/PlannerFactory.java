@@ -20,6 +20,7 @@
 package org.apache.druid.sql.calcite.planner;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import org.apache.calcite.avatica.util.Casing;
 import org.apache.calcite.avatica.util.Quoting;
@@ -44,6 +45,7 @@ import org.apache.druid.sql.calcite.rel.QueryMaker;
 import org.apache.druid.sql.calcite.schema.DruidSchema;
 import org.apache.druid.sql.calcite.schema.SystemSchema;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.Properties;
 
@@ -66,6 +68,8 @@ public class PlannerFactory
   private final PlannerConfig plannerConfig;
   private final ObjectMapper jsonMapper;
   private final AuthorizerMapper authorizerMapper;
+  @Nullable
+  private final PlanCache planCache;
 
   @Inject
   public PlannerFactory(
@@ -87,6 +91,9 @@ public class PlannerFactory
     this.plannerConfig = plannerConfig;
     this.authorizerMapper = authorizerMapper;
     this.jsonMapper = jsonMapper;
+    this.planCache = plannerConfig.getPlanCacheSize() > 0
+                     ? new PlanCache(druidSchema, plannerConfig.getPlanCacheSize())
+                     : null;
   }
 
   public DruidPlanner createPlanner(
@@ -153,7 +160,9 @@ public class PlannerFactory
 
     return new DruidPlanner(
         Frameworks.getPlanner(frameworkConfig),
-        plannerContext
+        plannerContext,
+        queryMaker,
+        planCache
     );
   }
 
@@ -161,4 +170,11 @@ public class PlannerFactory
   {
     return authorizerMapper;
   }
+
+  @Nullable
+  @VisibleForTesting
+  PlanCache getPlanCache()
+  {
+    return planCache;
+  }
 }
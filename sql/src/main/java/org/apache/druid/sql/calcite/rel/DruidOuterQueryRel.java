@@ -165,6 +165,18 @@ public class DruidOuterQueryRel extends DruidRel<DruidOuterQueryRel>
     );
   }
 
+  @Override
+  public DruidOuterQueryRel withQueryMaker(final QueryMaker queryMaker)
+  {
+    return new DruidOuterQueryRel(
+        getCluster(),
+        getTraitSet(),
+        ((DruidRel<?>) sourceRel).withQueryMaker(queryMaker),
+        partialQuery,
+        queryMaker
+    );
+  }
+
   @Override
   public List<RelNode> getInputs()
   {
@@ -122,6 +122,19 @@ public class DruidQueryRel extends DruidRel<DruidQueryRel>
     );
   }
 
+  @Override
+  public DruidQueryRel withQueryMaker(final QueryMaker queryMaker)
+  {
+    return new DruidQueryRel(
+        getCluster(),
+        getTraitSet(),
+        table,
+        druidTable,
+        queryMaker,
+        partialQuery
+    );
+  }
+
   @Override
   public List<String> getDataSourceNames()
   {
@@ -109,6 +109,12 @@ public abstract class DruidRel<T extends DruidRel> extends AbstractRelNode
 
   public abstract T asDruidConvention();
 
+  /**
+   * Returns a copy of this rel, and of all of its inputs, that runs its queries with the given query maker. Used to
+   * run a cached plan in the context of another SQL query.
+   */
+  public abstract T withQueryMaker(QueryMaker queryMaker);
+
   /**
    * Get a list of names of datasources read by this DruidRel
    */
@@ -170,6 +170,21 @@ public class DruidSemiJoin extends DruidRel<DruidSemiJoin>
     );
   }
 
+  @Override
+  public DruidSemiJoin withQueryMaker(final QueryMaker queryMaker)
+  {
+    return new DruidSemiJoin(
+        getCluster(),
+        getTraitSet(),
+        left.withQueryMaker(queryMaker),
+        ((DruidRel<?>) right).withQueryMaker(queryMaker),
+        leftExpressions,
+        rightKeys,
+        maxSemiJoinRowsInMemory,
+        queryMaker
+    );
+  }
+
   @Override
   public List<String> getDataSourceNames()
   {
@@ -140,6 +140,19 @@ public class DruidUnionRel extends DruidRel<DruidUnionRel>
     );
   }
 
+  @Override
+  public DruidUnionRel withQueryMaker(final QueryMaker queryMaker)
+  {
+    return new DruidUnionRel(
+        getCluster(),
+        getTraitSet(),
+        queryMaker,
+        rowType,
+        rels.stream().map(rel -> ((DruidRel<?>) rel).withQueryMaker(queryMaker)).collect(Collectors.toList()),
+        limit
+    );
+  }
+
   @Override
   public List<RelNode> getInputs()
   {
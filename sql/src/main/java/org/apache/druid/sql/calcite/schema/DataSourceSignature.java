@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.sql.calcite.schema;
+
+import org.apache.druid.segment.column.ValueType;
+import org.apache.druid.sql.calcite.table.RowSignature;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Merged row signature of a dataSource, maintained incrementally as segment signatures are added and removed. Keeps
+ * a count of segments per column and type, so that building the table signature does not have to look at every
+ * segment unless segments disagree on the type of a column.
+ *
+ * Not thread-safe, {@link DruidSchema} guards it with its lock.
+ */
+class DataSourceSignature
+{
+  private final Map<String, EnumMap<ValueType, Integer>> columnTypeCounts = new HashMap<>();
+
+  void add(final RowSignature rowSignature)
+  {
+    for (String column : rowSignature.getRowOrder()) {
+      columnTypeCounts.computeIfAbsent(column, c -> new EnumMap<>(ValueType.class))
+                      .merge(rowSignature.getColumnType(column), 1, Integer::sum);
+    }
+  }
+
+  void remove(final RowSignature rowSignature)
+  {
+    for (String column : rowSignature.getRowOrder()) {
+      final EnumMap<ValueType, Integer> typeCounts = columnTypeCounts.get(column);
+      if (typeCounts != null) {
+        typeCounts.computeIfPresent(rowSignature.getColumnType(column), (type, count) -> count > 1 ? count - 1 : null);
+        if (typeCounts.isEmpty()) {
+          columnTypeCounts.remove(column);
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds the signature of the dataSource. Columns with conflicting types across segments take their type from the
+   * newest segment having them, which requires a scan of the segment signatures.
+   *
+   * @param newestFirst signatures of the segments of this dataSource, newest segment first
+   */
+  RowSignature build(final Iterable<RowSignature> newestFirst)
+  {
+    final Map<String, ValueType> columnTypes = new TreeMap<>();
+    final Set<String> conflicting = new HashSet<>();
+
+    for (Map.Entry<String, EnumMap<ValueType, Integer>> entry : columnTypeCounts.entrySet()) {
+      if (entry.getValue().size() == 1) {
+        columnTypes.put(entry.getKey(), entry.getValue().keySet().iterator().next());
+      } else {
+        conflicting.add(entry.getKey());
+      }
+    }
+
+    for (RowSignature rowSignature : newestFirst) {
+      if (conflicting.isEmpty()) {
+        break;
+      }
+      for (String column : rowSignature.getRowOrder()) {
+        if (conflicting.remove(column)) {
+          columnTypes.put(column, rowSignature.getColumnType(column));
+        }
+      }
+    }
+
+    final RowSignature.Builder builder = RowSignature.builder();
+    columnTypes.forEach(builder::add);
+    return builder.build();
+  }
+}
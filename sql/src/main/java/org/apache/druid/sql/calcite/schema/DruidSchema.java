@@ -23,6 +23,7 @@ import com.amazonaws.annotation.GuardedBy;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
@@ -31,6 +32,10 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.inject.Inject;
 import org.apache.calcite.schema.Table;
 import org.apache.calcite.schema.impl.AbstractSchema;
@@ -67,19 +72,27 @@ import org.apache.druid.sql.calcite.view.ViewManager;
 import org.apache.druid.timeline.DataSegment;
 import org.apache.druid.timeline.SegmentId;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -103,8 +116,15 @@ public class DruidSchema extends AbstractSchema
   private final PlannerConfig config;
   private final ViewManager viewManager;
   private final ExecutorService cacheExec;
+
+  // Runs segment metadata queries of a refresh concurrently, null if refreshes run on the cacheExec thread only.
+  @Nullable
+  private final ListeningExecutorService refreshExec;
   private final ConcurrentMap<String, DruidTable> tables;
 
+  // Incremented whenever a table is added, removed, or changes its signature.
+  private final AtomicLong tablesVersion = new AtomicLong();
+
   // For awaitInitialization.
   private final CountDownLatch initialized = new CountDownLatch(1);
 
@@ -117,6 +137,10 @@ public class DruidSchema extends AbstractSchema
   private final Map<String, TreeMap<SegmentId, AvailableSegmentMetadata>> segmentMetadataInfo = new HashMap<>();
   private int totalSegments = 0;
 
+  // DataSource -> merged signature of the segments of that dataSource, kept in sync with segmentMetadataInfo.
+  @GuardedBy("lock")
+  private final Map<String, DataSourceSignature> dataSourceSignatures = new HashMap<>();
+
   // All mutable segments.
   private final Set<SegmentId> mutableSegments = new TreeSet<>(SEGMENT_ORDER);
 
@@ -148,6 +172,11 @@ public class DruidSchema extends AbstractSchema
     this.config = Preconditions.checkNotNull(config, "config");
     this.viewManager = Preconditions.checkNotNull(viewManager, "viewManager");
     this.cacheExec = ScheduledExecutors.fixed(1, "DruidSchema-Cache-%d");
+    this.refreshExec = config.getMetadataRefreshThreads() > 1
+                       ? MoreExecutors.listeningDecorator(
+                           Execs.multiThreaded(config.getMetadataRefreshThreads(), "DruidSchema-Refresh-%d")
+                       )
+                       : null;
     this.tables = new ConcurrentHashMap<>();
     this.escalator = escalator;
 
@@ -189,6 +218,33 @@ public class DruidSchema extends AbstractSchema
             removeServerSegment(server, segment);
             return ServerView.CallbackAction.CONTINUE;
           }
+
+          @Override
+          public ServerView.CallbackAction segmentsAdded(
+              final DruidServerMetadata server,
+              final Collection<DataSegment> segments
+          )
+          {
+            addSegments(server, segments);
+            return ServerView.CallbackAction.CONTINUE;
+          }
+
+          @Override
+          public ServerView.CallbackAction segmentsRemoved(final Collection<DataSegment> segments)
+          {
+            removeSegments(segments);
+            return ServerView.CallbackAction.CONTINUE;
+          }
+
+          @Override
+          public ServerView.CallbackAction serverSegmentsRemoved(
+              final DruidServerMetadata server,
+              final Collection<DataSegment> segments
+          )
+          {
+            removeServerSegments(server, segments);
+            return ServerView.CallbackAction.CONTINUE;
+          }
         }
     );
   }
@@ -259,9 +315,9 @@ public class DruidSchema extends AbstractSchema
                     // Add missing segments back to the refresh list.
                     segmentsNeedingRefresh.addAll(Sets.difference(segmentsToRefresh, refreshed));
 
-                    // Compute the list of dataSources to rebuild tables for.
+                    // Compute the list of dataSources to rebuild tables for. Refreshed dataSources have been
+                    // rebuilt by refreshSegments already.
                     dataSourcesToRebuild.addAll(dataSourcesNeedingRebuild);
-                    refreshed.forEach(segment -> dataSourcesToRebuild.add(segment.getDataSource()));
                     dataSourcesNeedingRebuild.clear();
 
                     lock.notifyAll();
@@ -269,17 +325,7 @@ public class DruidSchema extends AbstractSchema
 
                   // Rebuild the dataSources.
                   for (String dataSource : dataSourcesToRebuild) {
-                    final DruidTable druidTable = buildDruidTable(dataSource);
-                    final DruidTable oldTable = tables.put(dataSource, druidTable);
-                    if (oldTable == null || !oldTable.getRowSignature().equals(druidTable.getRowSignature())) {
-                      log.debug(
-                          "Table for dataSource[%s] has new signature[%s].",
-                          dataSource,
-                          druidTable.getRowSignature()
-                      );
-                    } else {
-                      log.debug("Table for dataSource[%s] signature is unchanged.", dataSource);
-                    }
+                    rebuildTable(dataSource);
                   }
 
                   initialized.countDown();
@@ -329,6 +375,9 @@ public class DruidSchema extends AbstractSchema
   public void stop()
   {
     cacheExec.shutdownNow();
+    if (refreshExec != null) {
+      refreshExec.shutdownNow();
+    }
   }
 
   public void awaitInitialization() throws InterruptedException
@@ -336,6 +385,20 @@ public class DruidSchema extends AbstractSchema
     initialized.await();
   }
 
+  /**
+   * Returns a number that changes whenever a table of this schema is added, removed, or changes its signature. Views
+   * are not covered, see {@link #getViews()}.
+   */
+  public long getTablesVersion()
+  {
+    return tablesVersion.get();
+  }
+
+  public Map<String, DruidViewMacro> getViews()
+  {
+    return viewManager.getViews();
+  }
+
   @Override
   protected Map<String, Table> getTableMap()
   {
@@ -354,53 +417,64 @@ public class DruidSchema extends AbstractSchema
 
   @VisibleForTesting
   void addSegment(final DruidServerMetadata server, final DataSegment segment)
+  {
+    addSegments(server, Collections.singletonList(segment));
+  }
+
+  /**
+   * Adds a batch of segments served by one server while holding the lock, and wakes up the refresh loop once for the
+   * whole batch.
+   */
+  private void addSegments(final DruidServerMetadata server, final Collection<DataSegment> segments)
   {
     synchronized (lock) {
-      final Map<SegmentId, AvailableSegmentMetadata> knownSegments = segmentMetadataInfo.get(segment.getDataSource());
-      AvailableSegmentMetadata segmentMetadata = knownSegments != null ? knownSegments.get(segment.getId()) : null;
-      if (segmentMetadata == null) {
-        // segmentReplicatable is used to determine if segments are served by realtime servers or not
-        final long isRealtime = server.segmentReplicatable() ? 0 : 1;
-
-        final Set<String> servers = ImmutableSet.of(server.getName());
-        segmentMetadata = AvailableSegmentMetadata.builder(
-            segment,
-            isRealtime,
-            servers,
-            null,
-            DEFAULT_NUM_ROWS
-        ).build();
-        // Unknown segment.
-        setAvailableSegmentMetadata(segment.getId(), segmentMetadata);
-        segmentsNeedingRefresh.add(segment.getId());
-        if (!server.segmentReplicatable()) {
-          log.debug("Added new mutable segment[%s].", segment.getId());
-          mutableSegments.add(segment.getId());
+      for (DataSegment segment : segments) {
+        final Map<SegmentId, AvailableSegmentMetadata> knownSegments =
+            segmentMetadataInfo.get(segment.getDataSource());
+        AvailableSegmentMetadata segmentMetadata = knownSegments != null ? knownSegments.get(segment.getId()) : null;
+        if (segmentMetadata == null) {
+          // segmentReplicatable is used to determine if segments are served by realtime servers or not
+          final long isRealtime = server.segmentReplicatable() ? 0 : 1;
+
+          final Set<String> servers = ImmutableSet.of(server.getName());
+          segmentMetadata = AvailableSegmentMetadata.builder(
+              segment,
+              isRealtime,
+              servers,
+              null,
+              DEFAULT_NUM_ROWS
+          ).build();
+          // Unknown segment.
+          setAvailableSegmentMetadata(segment.getId(), segmentMetadata);
+          segmentsNeedingRefresh.add(segment.getId());
+          if (!server.segmentReplicatable()) {
+            log.debug("Added new mutable segment[%s].", segment.getId());
+            mutableSegments.add(segment.getId());
+          } else {
+            log.debug("Added new immutable segment[%s].", segment.getId());
+          }
         } else {
-          log.debug("Added new immutable segment[%s].", segment.getId());
+          final Set<String> segmentServers = segmentMetadata.getReplicas();
+          final ImmutableSet<String> servers = new ImmutableSet.Builder<String>()
+              .addAll(segmentServers)
+              .add(server.getName())
+              .build();
+          final AvailableSegmentMetadata metadataWithNumReplicas = AvailableSegmentMetadata
+              .from(segmentMetadata)
+              .withReplicas(servers)
+              .build();
+          knownSegments.put(segment.getId(), metadataWithNumReplicas);
+          if (server.segmentReplicatable()) {
+            // If a segment shows up on a replicatable (historical) server at any point, then it must be immutable,
+            // even if it's also available on non-replicatable (realtime) servers.
+            mutableSegments.remove(segment.getId());
+            log.debug("Segment[%s] has become immutable.", segment.getId());
+          }
         }
-      } else {
-        final Set<String> segmentServers = segmentMetadata.getReplicas();
-        final ImmutableSet<String> servers = new ImmutableSet.Builder<String>()
-            .addAll(segmentServers)
-            .add(server.getName())
-            .build();
-        final AvailableSegmentMetadata metadataWithNumReplicas = AvailableSegmentMetadata
-            .from(segmentMetadata)
-            .withReplicas(servers)
-            .build();
-        knownSegments.put(segment.getId(), metadataWithNumReplicas);
-        if (server.segmentReplicatable()) {
-          // If a segment shows up on a replicatable (historical) server at any point, then it must be immutable,
-          // even if it's also available on non-replicatable (realtime) servers.
-          mutableSegments.remove(segment.getId());
-          log.debug("Segment[%s] has become immutable.", segment.getId());
+        if (!tables.containsKey(segment.getDataSource())) {
+          refreshImmediately = true;
         }
       }
-      if (!tables.containsKey(segment.getDataSource())) {
-        refreshImmediately = true;
-      }
-
       lock.notifyAll();
     }
   }
@@ -408,51 +482,80 @@ public class DruidSchema extends AbstractSchema
   @VisibleForTesting
   void removeSegment(final DataSegment segment)
   {
-    synchronized (lock) {
-      log.debug("Segment[%s] is gone.", segment.getId());
-
-      dataSourcesNeedingRebuild.add(segment.getDataSource());
-      segmentsNeedingRefresh.remove(segment.getId());
-      mutableSegments.remove(segment.getId());
+    removeSegments(Collections.singletonList(segment));
+  }
 
-      final Map<SegmentId, AvailableSegmentMetadata> dataSourceSegments =
-          segmentMetadataInfo.get(segment.getDataSource());
-      if (dataSourceSegments.remove(segment.getId()) != null) {
-        totalSegments--;
-      }
+  /**
+   * Bulk version of {@link #removeSegment}, see {@link #addSegments}.
+   */
+  private void removeSegments(final Collection<DataSegment> segments)
+  {
+    synchronized (lock) {
+      for (DataSegment segment : segments) {
+        log.debug("Segment[%s] is gone.", segment.getId());
+
+        dataSourcesNeedingRebuild.add(segment.getDataSource());
+        segmentsNeedingRefresh.remove(segment.getId());
+        mutableSegments.remove(segment.getId());
+
+        final Map<SegmentId, AvailableSegmentMetadata> dataSourceSegments =
+            segmentMetadataInfo.get(segment.getDataSource());
+        final AvailableSegmentMetadata removed = dataSourceSegments.remove(segment.getId());
+        if (removed != null) {
+          totalSegments--;
+          if (removed.getRowSignature() != null) {
+            dataSourceSignatures.get(segment.getDataSource()).remove(removed.getRowSignature());
+          }
+        }
 
-      if (dataSourceSegments.isEmpty()) {
-        segmentMetadataInfo.remove(segment.getDataSource());
-        tables.remove(segment.getDataSource());
-        log.info("Removed all metadata for dataSource[%s].", segment.getDataSource());
+        if (dataSourceSegments.isEmpty()) {
+          segmentMetadataInfo.remove(segment.getDataSource());
+          dataSourceSignatures.remove(segment.getDataSource());
+          if (tables.remove(segment.getDataSource()) != null) {
+            tablesVersion.incrementAndGet();
+          }
+          log.info("Removed all metadata for dataSource[%s].", segment.getDataSource());
+        }
       }
-
       lock.notifyAll();
     }
   }
 
   private void removeServerSegment(final DruidServerMetadata server, final DataSegment segment)
+  {
+    removeServerSegments(server, Collections.singletonList(segment));
+  }
+
+  /**
+   * Bulk version of {@link #removeServerSegment}, see {@link #addSegments}.
+   */
+  private void removeServerSegments(final DruidServerMetadata server, final Collection<DataSegment> segments)
   {
     synchronized (lock) {
-      log.debug("Segment[%s] is gone from server[%s]", segment.getId(), server.getName());
-      final Map<SegmentId, AvailableSegmentMetadata> knownSegments = segmentMetadataInfo.get(segment.getDataSource());
-      final AvailableSegmentMetadata segmentMetadata = knownSegments.get(segment.getId());
-      final Set<String> segmentServers = segmentMetadata.getReplicas();
-      final ImmutableSet<String> servers = FluentIterable.from(segmentServers)
-                                                         .filter(Predicates.not(Predicates.equalTo(server.getName())))
-                                                         .toSet();
-      final AvailableSegmentMetadata metadataWithNumReplicas = AvailableSegmentMetadata
-          .from(segmentMetadata)
-          .withReplicas(servers)
-          .build();
-      knownSegments.put(segment.getId(), metadataWithNumReplicas);
+      for (DataSegment segment : segments) {
+        log.debug("Segment[%s] is gone from server[%s]", segment.getId(), server.getName());
+        final Map<SegmentId, AvailableSegmentMetadata> knownSegments =
+            segmentMetadataInfo.get(segment.getDataSource());
+        final AvailableSegmentMetadata segmentMetadata = knownSegments.get(segment.getId());
+        final Set<String> segmentServers = segmentMetadata.getReplicas();
+        final ImmutableSet<String> servers = FluentIterable.from(segmentServers)
+                                                           .filter(Predicates.not(Predicates.equalTo(server.getName())))
+                                                           .toSet();
+        final AvailableSegmentMetadata metadataWithNumReplicas = AvailableSegmentMetadata
+            .from(segmentMetadata)
+            .withReplicas(servers)
+            .build();
+        knownSegments.put(segment.getId(), metadataWithNumReplicas);
+      }
       lock.notifyAll();
     }
   }
 
   /**
-   * Attempt to refresh "segmentSignatures" for a set of segments. Returns the set of segments actually refreshed,
-   * which may be a subset of the asked-for set.
+   * Attempt to refresh "segmentSignatures" for a set of segments, and rebuild the tables of the dataSources whose
+   * segments were refreshed. Segments are queried in batches of at most {@link #MAX_SEGMENTS_PER_QUERY}, which run
+   * concurrently if {@link PlannerConfig#getMetadataRefreshThreads()} is greater than one. Returns the set of
+   * segments actually refreshed, which may be a subset of the asked-for set.
    */
   @VisibleForTesting
   Set<SegmentId> refreshSegments(final Set<SegmentId> segments) throws IOException
@@ -467,9 +570,33 @@ public class DruidSchema extends AbstractSchema
                 .add(segmentId);
     }
 
+    final List<ListenableFuture<Set<SegmentId>>> futures = new ArrayList<>();
     for (Map.Entry<String, TreeSet<SegmentId>> entry : segmentMap.entrySet()) {
       final String dataSource = entry.getKey();
-      retVal.addAll(refreshSegmentsForDataSource(dataSource, entry.getValue()));
+      for (List<SegmentId> batch : Iterables.partition(entry.getValue(), MAX_SEGMENTS_PER_QUERY)) {
+        if (refreshExec == null) {
+          retVal.addAll(refreshSegmentsForDataSource(dataSource, batch));
+        } else {
+          futures.add(refreshExec.submit(() -> refreshSegmentsForDataSource(dataSource, batch)));
+        }
+      }
+    }
+
+    if (!futures.isEmpty()) {
+      final ListenableFuture<List<Set<SegmentId>>> allFutures = Futures.allAsList(futures);
+      try {
+        allFutures.get().forEach(retVal::addAll);
+      }
+      catch (InterruptedException e) {
+        allFutures.cancel(true);
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      catch (ExecutionException e) {
+        allFutures.cancel(true);
+        Throwables.propagateIfPossible(e.getCause(), IOException.class);
+        throw new RuntimeException(e.getCause());
+      }
     }
 
     return retVal;
@@ -479,7 +606,7 @@ public class DruidSchema extends AbstractSchema
    * Attempt to refresh "segmentSignatures" for a set of segments for a particular dataSource. Returns the set of
    * segments actually refreshed, which may be a subset of the asked-for set.
    */
-  private Set<SegmentId> refreshSegmentsForDataSource(final String dataSource, final Set<SegmentId> segments)
+  private Set<SegmentId> refreshSegmentsForDataSource(final String dataSource, final Collection<SegmentId> segments)
       throws IOException
   {
     if (!segments.stream().allMatch(segmentId -> segmentId.getDataSource().equals(dataSource))) {
@@ -497,7 +624,7 @@ public class DruidSchema extends AbstractSchema
     final Set<SegmentId> retVal = new HashSet<>();
     final Sequence<SegmentAnalysis> sequence = runSegmentMetadataQuery(
         queryLifecycleFactory,
-        Iterables.limit(segments, MAX_SEGMENTS_PER_QUERY),
+        segments,
         escalator.createEscalatedAuthenticationResult()
     );
 
@@ -535,7 +662,6 @@ public class DruidSchema extends AbstractSchema
                     .withRowSignature(rowSignature)
                     .withNumRows(analysis.getNumRows())
                     .build();
-                dataSourceSegments.put(segmentId, updatedSegmentMetadata);
                 setAvailableSegmentMetadata(segmentId, updatedSegmentMetadata);
                 retVal.add(segmentId);
               }
@@ -558,6 +684,12 @@ public class DruidSchema extends AbstractSchema
         segments.size() - retVal.size()
     );
 
+    // Publish the new signature right away, so that dataSources become queryable as soon as their own segments are
+    // known rather than once every dataSource has been refreshed.
+    if (!retVal.isEmpty()) {
+      rebuildTable(dataSource);
+    }
+
     return retVal;
   }
 
@@ -569,33 +701,66 @@ public class DruidSchema extends AbstractSchema
           segmentId.getDataSource(),
           x -> new TreeMap<>(SEGMENT_ORDER)
       );
-      if (dataSourceSegments.put(segmentId, availableSegmentMetadata) == null) {
+      final AvailableSegmentMetadata previous = dataSourceSegments.put(segmentId, availableSegmentMetadata);
+      if (previous == null) {
         totalSegments++;
       }
+
+      final RowSignature previousSignature = previous == null ? null : previous.getRowSignature();
+      final RowSignature signature = availableSegmentMetadata.getRowSignature();
+      if (previousSignature != signature) {
+        final DataSourceSignature dataSourceSignature = dataSourceSignatures.computeIfAbsent(
+            segmentId.getDataSource(),
+            x -> new DataSourceSignature()
+        );
+        if (previousSignature != null) {
+          dataSourceSignature.remove(previousSignature);
+        }
+        if (signature != null) {
+          dataSourceSignature.add(signature);
+        }
+      }
     }
   }
 
-  private DruidTable buildDruidTable(final String dataSource)
+  /**
+   * Rebuilds the table of a dataSource from the signatures of its segments, or removes it if the dataSource has no
+   * segments anymore.
+   */
+  @VisibleForTesting
+  void rebuildTable(final String dataSource)
   {
     synchronized (lock) {
-      final Map<SegmentId, AvailableSegmentMetadata> segmentMap = segmentMetadataInfo.get(dataSource);
-      final Map<String, ValueType> columnTypes = new TreeMap<>();
-
-      if (segmentMap != null) {
-        for (AvailableSegmentMetadata availableSegmentMetadata : segmentMap.values()) {
-          final RowSignature rowSignature = availableSegmentMetadata.getRowSignature();
-          if (rowSignature != null) {
-            for (String column : rowSignature.getRowOrder()) {
-              // Newer column types should override older ones.
-              columnTypes.putIfAbsent(column, rowSignature.getColumnType(column));
-            }
-          }
+      final TreeMap<SegmentId, AvailableSegmentMetadata> segmentMap = segmentMetadataInfo.get(dataSource);
+      if (segmentMap == null) {
+        if (tables.remove(dataSource) != null) {
+          tablesVersion.incrementAndGet();
         }
+        return;
       }
 
-      final RowSignature.Builder builder = RowSignature.builder();
-      columnTypes.forEach(builder::add);
-      return new DruidTable(new TableDataSource(dataSource), builder.build());
+      final DataSourceSignature dataSourceSignature = dataSourceSignatures.get(dataSource);
+      final RowSignature rowSignature = dataSourceSignature == null
+                                        ? RowSignature.builder().build()
+                                        : dataSourceSignature.build(
+                                            // Newer column types should override older ones.
+                                            Iterables.filter(
+                                                Iterables.transform(
+                                                    segmentMap.values(),
+                                                    AvailableSegmentMetadata::getRowSignature
+                                                ),
+                                                Objects::nonNull
+                                            )
+                                        );
+
+      final DruidTable druidTable = new DruidTable(new TableDataSource(dataSource), rowSignature);
+      final DruidTable oldTable = tables.put(dataSource, druidTable);
+      if (oldTable == null || !oldTable.getRowSignature().equals(rowSignature)) {
+        tablesVersion.incrementAndGet();
+        log.debug("Table for dataSource[%s] has new signature[%s].", dataSource, rowSignature);
+      } else {
+        log.debug("Table for dataSource[%s] signature is unchanged.", dataSource);
+      }
     }
   }
 
@@ -665,6 +830,23 @@ public class DruidSchema extends AbstractSchema
     return segmentMetadata;
   }
 
+  /**
+   * Like {@link #getSegmentMetadataSnapshot()}, but only copies the segments of the given dataSources.
+   */
+  Map<SegmentId, AvailableSegmentMetadata> getSegmentMetadataSnapshot(final Set<String> dataSources)
+  {
+    final Map<SegmentId, AvailableSegmentMetadata> segmentMetadata = new HashMap<>();
+    synchronized (lock) {
+      for (String dataSource : dataSources) {
+        final TreeMap<SegmentId, AvailableSegmentMetadata> dataSourceSegments = segmentMetadataInfo.get(dataSource);
+        if (dataSourceSegments != null) {
+          segmentMetadata.putAll(dataSourceSegments);
+        }
+      }
+    }
+    return segmentMetadata;
+  }
+
   int getTotalSegments()
   {
     return totalSegments;
@@ -23,7 +23,9 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
@@ -48,10 +50,17 @@ import org.apache.druid.timeline.SegmentWithOvershadowedStatus;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.jboss.netty.handler.codec.http.HttpMethod;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -73,14 +82,16 @@ public class MetadataSegmentView
 
   private final boolean isCacheEnabled;
   /**
-   * Use {@link ImmutableSortedSet} so that the order of segments is deterministic and
-   * sys.segments queries return the segments in sorted order based on segmentId.
+   * Published segments by dataSource, so that sys.segments queries filtering on dataSources only look at their
+   * segments. Use {@link ImmutableSortedMap} and {@link ImmutableSortedSet} so that the order of segments is
+   * deterministic and sys.segments queries return the segments in sorted order based on segmentId.
    *
    * Volatile since this reference is reassigned in {@code poll()} and then read in {@code getPublishedSegments()}
    * from other threads.
    */
   @MonotonicNonNull
-  private volatile ImmutableSortedSet<SegmentWithOvershadowedStatus> publishedSegments = null;
+  private volatile ImmutableSortedMap<String, ImmutableSortedSet<SegmentWithOvershadowedStatus>> publishedSegments =
+      null;
   private final ScheduledExecutorService scheduledExec;
   private final long pollPeriodInMS;
   private final LifecycleLock lifecycleLock = new LifecycleLock();
@@ -146,7 +157,7 @@ public class MetadataSegmentView
         segmentWatcherConfig.getWatchedDataSources()
     );
 
-    final ImmutableSortedSet.Builder<SegmentWithOvershadowedStatus> builder = ImmutableSortedSet.naturalOrder();
+    final Map<String, ImmutableSortedSet.Builder<SegmentWithOvershadowedStatus>> builders = new HashMap<>();
     while (metadataSegments.hasNext()) {
       final SegmentWithOvershadowedStatus segment = metadataSegments.next();
       final DataSegment interned = DataSegmentInterner.intern(segment.getDataSegment());
@@ -154,8 +165,12 @@ public class MetadataSegmentView
           interned,
           segment.isOvershadowed()
       );
-      builder.add(segmentWithOvershadowedStatus);
+      builders.computeIfAbsent(interned.getDataSource(), dataSource -> ImmutableSortedSet.naturalOrder())
+              .add(segmentWithOvershadowedStatus);
     }
+    final ImmutableSortedMap.Builder<String, ImmutableSortedSet<SegmentWithOvershadowedStatus>> builder =
+        ImmutableSortedMap.naturalOrder();
+    builders.forEach((dataSource, segmentsBuilder) -> builder.put(dataSource, segmentsBuilder.build()));
     publishedSegments = builder.build();
     cachePopulated.countDown();
   }
@@ -164,7 +179,7 @@ public class MetadataSegmentView
   {
     if (isCacheEnabled) {
       Uninterruptibles.awaitUninterruptibly(cachePopulated);
-      return publishedSegments.iterator();
+      return Iterables.concat(publishedSegments.values()).iterator();
     } else {
       return getMetadataSegments(
           coordinatorDruidLeaderClient,
@@ -175,21 +190,47 @@ public class MetadataSegmentView
     }
   }
 
+  /**
+   * Returns the published segments of the given dataSources, in the same order as {@link #getPublishedSegments()}.
+   */
+  public Iterator<SegmentWithOvershadowedStatus> getPublishedSegments(final Set<String> dataSources)
+  {
+    final Set<String> watchedDataSources = segmentWatcherConfig.getWatchedDataSources();
+    final Set<String> requestedDataSources = new TreeSet<>(dataSources);
+    if (watchedDataSources != null && !watchedDataSources.isEmpty()) {
+      requestedDataSources.retainAll(watchedDataSources);
+    }
+    if (requestedDataSources.isEmpty()) {
+      return Collections.emptyIterator();
+    }
+
+    if (isCacheEnabled) {
+      Uninterruptibles.awaitUninterruptibly(cachePopulated);
+      final ImmutableSortedMap<String, ImmutableSortedSet<SegmentWithOvershadowedStatus>> segments = publishedSegments;
+      return requestedDataSources.stream()
+                                 .map(segments::get)
+                                 .filter(Objects::nonNull)
+                                 .flatMap(Collection::stream)
+                                 .iterator();
+    } else {
+      return getMetadataSegments(coordinatorDruidLeaderClient, jsonMapper, responseHandler, requestedDataSources);
+    }
+  }
+
   // Note that coordinator must be up to get segments
   private JsonParserIterator<SegmentWithOvershadowedStatus> getMetadataSegments(
       DruidLeaderClient coordinatorClient,
       ObjectMapper jsonMapper,
       BytesAccumulatingResponseHandler responseHandler,
-      Set<String> watchedDataSources
+      @Nullable Set<String> dataSources
   )
   {
     String query = "/druid/coordinator/v1/metadata/segments?includeOvershadowedStatus";
-    if (watchedDataSources != null && !watchedDataSources.isEmpty()) {
-      log.debug(
-          "filtering datasources in published segments based on broker's watchedDataSources[%s]", watchedDataSources);
+    if (dataSources != null && !dataSources.isEmpty()) {
+      log.debug("filtering datasources in published segments to dataSources[%s]", dataSources);
       final StringBuilder sb = new StringBuilder();
-      for (String ds : watchedDataSources) {
-        sb.append("datasources=").append(ds).append("&");
+      for (String ds : dataSources) {
+        sb.append("datasources=").append(StringUtils.urlEncode(ds)).append("&");
       }
       sb.setLength(sb.length() - 1);
       query = "/druid/coordinator/v1/metadata/segments?includeOvershadowedStatus&" + sb;
@@ -198,7 +239,7 @@ public class MetadataSegmentView
     try {
       request = coordinatorClient.makeRequest(
           HttpMethod.GET,
-          StringUtils.format(query),
+          query,
           false
       );
     }
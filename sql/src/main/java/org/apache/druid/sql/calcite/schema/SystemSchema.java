@@ -28,8 +28,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Maps;
 import com.google.common.net.HostAndPort;
+import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.inject.Inject;
 import org.apache.calcite.DataContext;
@@ -39,12 +39,14 @@ import org.apache.calcite.linq4j.Enumerator;
 import org.apache.calcite.linq4j.Linq4j;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.schema.FilterableTable;
+import org.apache.calcite.schema.ProjectableFilterableTable;
 import org.apache.calcite.schema.ScannableTable;
 import org.apache.calcite.schema.Table;
 import org.apache.calcite.schema.impl.AbstractSchema;
 import org.apache.calcite.schema.impl.AbstractTable;
 import org.apache.druid.client.DruidServer;
-import org.apache.druid.client.ImmutableDruidServer;
 import org.apache.druid.client.InventoryView;
 import org.apache.druid.client.JsonParserIterator;
 import org.apache.druid.client.TimelineServerView;
@@ -80,7 +82,6 @@ import org.jboss.netty.handler.codec.http.HttpMethod;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -91,6 +92,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class SystemSchema extends AbstractSchema
 {
@@ -144,6 +146,18 @@ public class SystemSchema extends AbstractSchema
       .add("payload", ValueType.STRING)
       .build();
 
+  private static final int SEGMENTS_DATASOURCE_COLUMN = SEGMENTS_SIGNATURE.getRowOrder().indexOf("datasource");
+  private static final int SEGMENTS_PAYLOAD_COLUMN = SEGMENTS_SIGNATURE.getRowOrder().indexOf("payload");
+
+  /**
+   * Columns of the segments table which {@link SystemTableFilter} can evaluate. segment_id is left out since its values
+   * are {@link SegmentId} objects, payload since it is only computed for matching rows.
+   */
+  private static final Set<Integer> SEGMENTS_FILTER_COLUMNS = IntStream
+      .range(SEGMENTS_DATASOURCE_COLUMN, SEGMENTS_PAYLOAD_COLUMN)
+      .boxed()
+      .collect(Collectors.toSet());
+
   static final RowSignature SERVERS_SIGNATURE = RowSignature
       .builder()
       .add("server", ValueType.STRING)
@@ -162,6 +176,8 @@ public class SystemSchema extends AbstractSchema
       .add("segment_id", ValueType.STRING)
       .build();
 
+  private static final int SERVER_SEGMENTS_SERVER_COLUMN = SERVER_SEGMENTS_SIGNATURE.getRowOrder().indexOf("server");
+
   static final RowSignature TASKS_SIGNATURE = RowSignature
       .builder()
       .add("task_id", ValueType.STRING)
@@ -219,7 +235,7 @@ public class SystemSchema extends AbstractSchema
   /**
    * This table contains row per segment from metadata store as well as served segments.
    */
-  static class SegmentsTable extends AbstractTable implements ScannableTable
+  static class SegmentsTable extends AbstractTable implements ProjectableFilterableTable
   {
     private final DruidSchema druidSchema;
     private final ObjectMapper jsonMapper;
@@ -252,26 +268,28 @@ public class SystemSchema extends AbstractSchema
     }
 
     @Override
-    public Enumerable<Object[]> scan(DataContext root)
+    public Enumerable<Object[]> scan(DataContext root, List<RexNode> filters, @Nullable int[] projects)
     {
-      //get available segments from druidSchema
-      final Map<SegmentId, AvailableSegmentMetadata> availableSegmentMetadata =
-          druidSchema.getSegmentMetadataSnapshot();
+      final SystemTableFilter filter = SystemTableFilter.extract(filters, SEGMENTS_SIGNATURE, SEGMENTS_FILTER_COLUMNS);
+      final Set<String> dataSources = filter.getStringValues(SEGMENTS_DATASOURCE_COLUMN);
+      final boolean needsPayload = projects == null || Ints.contains(projects, SEGMENTS_PAYLOAD_COLUMN);
+
+      //get available segments from druidSchema, only for the requested dataSources if the query filters on them
+      final Map<SegmentId, AvailableSegmentMetadata> availableSegmentMetadata = dataSources == null
+                                                                              ? druidSchema.getSegmentMetadataSnapshot()
+                                                                              : druidSchema.getSegmentMetadataSnapshot(
+                                                                                  dataSources
+                                                                              );
       final Iterator<Entry<SegmentId, AvailableSegmentMetadata>> availableSegmentEntries =
           availableSegmentMetadata.entrySet().iterator();
 
-      // in memory map to store segment data from available segments
-      final Map<SegmentId, PartialSegmentData> partialSegmentDataMap =
-          Maps.newHashMapWithExpectedSize(druidSchema.getTotalSegments());
-      for (AvailableSegmentMetadata h : availableSegmentMetadata.values()) {
-        PartialSegmentData partialSegmentData =
-            new PartialSegmentData(IS_AVAILABLE_TRUE, h.isRealtime(), h.getNumReplicas(), h.getNumRows());
-        partialSegmentDataMap.put(h.getSegment().getId(), partialSegmentData);
-      }
-
       // get published segments from metadata segment cache (if enabled in sql planner config), else directly from
       // coordinator
-      final Iterator<SegmentWithOvershadowedStatus> metadataStoreSegments = metadataView.getPublishedSegments();
+      final Iterator<SegmentWithOvershadowedStatus> metadataStoreSegments = dataSources == null
+                                                                            ? metadataView.getPublishedSegments()
+                                                                            : metadataView.getPublishedSegments(
+                                                                                dataSources
+                                                                            );
 
       final Set<SegmentId> segmentsAlreadySeen = new HashSet<>();
 
@@ -284,15 +302,15 @@ public class SystemSchema extends AbstractSchema
             try {
               final DataSegment segment = val.getDataSegment();
               segmentsAlreadySeen.add(segment.getId());
-              final PartialSegmentData partialSegmentData = partialSegmentDataMap.get(segment.getId());
+              final AvailableSegmentMetadata availableSegment = availableSegmentMetadata.get(segment.getId());
               long numReplicas = 0L, numRows = 0L, isRealtime = 0L, isAvailable = 0L;
-              if (partialSegmentData != null) {
-                numReplicas = partialSegmentData.getNumReplicas();
-                numRows = partialSegmentData.getNumRows();
-                isAvailable = partialSegmentData.isAvailable();
-                isRealtime = partialSegmentData.isRealtime();
+              if (availableSegment != null) {
+                numReplicas = availableSegment.getNumReplicas();
+                numRows = availableSegment.getNumRows();
+                isAvailable = IS_AVAILABLE_TRUE;
+                isRealtime = availableSegment.isRealtime();
               }
-              return new Object[]{
+              final Object[] row = new Object[]{
                   segment.getId(),
                   segment.getDataSource(),
                   segment.getInterval().getStart().toString(),
@@ -306,8 +324,16 @@ public class SystemSchema extends AbstractSchema
                   isAvailable,
                   isRealtime,
                   val.isOvershadowed() ? IS_OVERSHADOWED_TRUE : IS_OVERSHADOWED_FALSE,
-                  jsonMapper.writeValueAsString(val)
+                  null
               };
+              if (!filter.matches(row)) {
+                return null;
+              }
+              // Serializing the payload is the most expensive part of a row, only do it for rows which are returned.
+              if (needsPayload) {
+                row[SEGMENTS_PAYLOAD_COLUMN] = jsonMapper.writeValueAsString(val);
+              }
+              return SystemTableFilter.project(row, projects);
             }
             catch (JsonProcessingException e) {
               throw new RE(e, "Error getting segment payload for segment %s", val.getDataSegment().getId());
@@ -324,9 +350,7 @@ public class SystemSchema extends AbstractSchema
               if (segmentsAlreadySeen.contains(val.getKey())) {
                 return null;
               }
-              final PartialSegmentData partialSegmentData = partialSegmentDataMap.get(val.getKey());
-              final long numReplicas = partialSegmentData == null ? 0L : partialSegmentData.getNumReplicas();
-              return new Object[]{
+              final Object[] row = new Object[]{
                   val.getKey(),
                   val.getKey().getDataSource(),
                   val.getKey().getInterval().getStart().toString(),
@@ -334,14 +358,21 @@ public class SystemSchema extends AbstractSchema
                   val.getValue().getSegment().getSize(),
                   val.getKey().getVersion(),
                   (long) val.getValue().getSegment().getShardSpec().getPartitionNum(),
-                  numReplicas,
+                  val.getValue().getNumReplicas(),
                   val.getValue().getNumRows(),
                   IS_PUBLISHED_FALSE, // is_published is false for unpublished segments
                   IS_AVAILABLE_TRUE, // is_available is assumed to be always true for segments announced by historicals or realtime tasks
                   val.getValue().isRealtime(),
                   IS_OVERSHADOWED_FALSE, // there is an assumption here that unpublished segments are never overshadowed
-                  jsonMapper.writeValueAsString(val.getKey())
+                  null
               };
+              if (!filter.matches(row)) {
+                return null;
+              }
+              if (needsPayload) {
+                row[SEGMENTS_PAYLOAD_COLUMN] = jsonMapper.writeValueAsString(val.getKey());
+              }
+              return SystemTableFilter.project(row, projects);
             }
             catch (JsonProcessingException e) {
               throw new RE(e, "Error getting segment payload for segment %s", val.getKey());
@@ -395,48 +426,6 @@ public class SystemSchema extends AbstractSchema
 
       return authorizedSegments.iterator();
     }
-
-    private static class PartialSegmentData
-    {
-      private final long isAvailable;
-      private final long isRealtime;
-      private final long numReplicas;
-      private final long numRows;
-
-      public PartialSegmentData(
-          final long isAvailable,
-          final long isRealtime,
-          final long numReplicas,
-          final long numRows
-      )
-
-      {
-        this.isAvailable = isAvailable;
-        this.isRealtime = isRealtime;
-        this.numReplicas = numReplicas;
-        this.numRows = numRows;
-      }
-
-      public long isAvailable()
-      {
-        return isAvailable;
-      }
-
-      public long isRealtime()
-      {
-        return isRealtime;
-      }
-
-      public long getNumReplicas()
-      {
-        return numReplicas;
-      }
-
-      public long getNumRows()
-      {
-        return numRows;
-      }
-    }
   }
 
   /**
@@ -516,9 +505,10 @@ public class SystemSchema extends AbstractSchema
   }
 
   /**
-   * This table contains row per segment per server.
+   * This table contains row per segment per server. Filters on the server column are evaluated by the table, so
+   * that only the segments of the matching servers are listed.
    */
-  static class ServerSegmentsTable extends AbstractTable implements ScannableTable
+  static class ServerSegmentsTable extends AbstractTable implements FilterableTable
   {
     private final TimelineServerView serverView;
     final AuthorizerMapper authorizerMapper;
@@ -542,31 +532,43 @@ public class SystemSchema extends AbstractSchema
     }
 
     @Override
-    public Enumerable<Object[]> scan(DataContext root)
+    public Enumerable<Object[]> scan(DataContext root, List<RexNode> filters)
     {
       final AuthenticationResult authenticationResult =
           (AuthenticationResult) root.get(PlannerContext.DATA_CTX_AUTHENTICATION_RESULT);
 
       checkStateReadAccessForServers(authenticationResult, authorizerMapper);
 
-      final List<Object[]> rows = new ArrayList<>();
-      final List<ImmutableDruidServer> druidServers = serverView.getDruidServers();
+      final SystemTableFilter filter = SystemTableFilter.extract(
+          filters,
+          SERVER_SEGMENTS_SIGNATURE,
+          Collections.singleton(SERVER_SEGMENTS_SERVER_COLUMN)
+      );
       final int serverSegmentsTableSize = SERVER_SEGMENTS_SIGNATURE.getRowOrder().size();
-      for (ImmutableDruidServer druidServer : druidServers) {
-        final Iterable<DataSegment> authorizedServerSegments = AuthorizationUtils.filterAuthorizedResources(
-            authenticationResult,
-            druidServer.getLazyAllSegments(),
-            SEGMENT_RA_GENERATOR,
-            authorizerMapper
-        );
-
-        for (DataSegment segment : authorizedServerSegments) {
-          Object[] row = new Object[serverSegmentsTableSize];
-          row[0] = druidServer.getHost();
-          row[1] = segment.getId();
-          rows.add(row);
-        }
-      }
+      final FluentIterable<Object[]> rows = FluentIterable
+          .from(serverView.getDruidServers())
+          .filter(druidServer -> {
+            final Object[] serverRow = new Object[serverSegmentsTableSize];
+            serverRow[SERVER_SEGMENTS_SERVER_COLUMN] = druidServer.getHost();
+            return filter.matches(serverRow);
+          })
+          .transformAndConcat(
+              druidServer -> FluentIterable
+                  .from(
+                      AuthorizationUtils.filterAuthorizedResources(
+                          authenticationResult,
+                          druidServer.getLazyAllSegments(),
+                          SEGMENT_RA_GENERATOR,
+                          authorizerMapper
+                      )
+                  )
+                  .transform(segment -> {
+                    Object[] row = new Object[serverSegmentsTableSize];
+                    row[0] = druidServer.getHost();
+                    row[1] = segment.getId();
+                    return row;
+                  })
+          );
       return Linq4j.asEnumerable(rows);
     }
   }
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.sql.calcite.schema;
+
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+import org.apache.druid.java.util.common.ISE;
+import org.apache.druid.segment.column.ValueType;
+import org.apache.druid.sql.calcite.table.RowSignature;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Comparisons of system table columns with literals, extracted from the filters Calcite pushes into a
+ * {@link org.apache.calcite.schema.ProjectableFilterableTable} scan. System tables use them to look up only the
+ * matching entries where they can, and to drop rows before computing expensive columns.
+ *
+ * Only comparisons of a column with a literal, and ORs of equalities on the same column, are understood. Filters made
+ * up entirely of such conditions are removed from the list handed to {@link #extract}, since the table evaluates them
+ * itself. Other filters are left for Calcite to evaluate, but their understood conjuncts are still used for pruning.
+ */
+class SystemTableFilter
+{
+  private static final SystemTableFilter MATCH_ALL = new SystemTableFilter(new ArrayList<>());
+
+  private final List<Condition> conditions;
+
+  private SystemTableFilter(final List<Condition> conditions)
+  {
+    this.conditions = conditions;
+  }
+
+  /**
+   * Extracts the conditions on the given columns from "filters", removing the filters which are fully captured.
+   *
+   * @param filters   filters pushed down by Calcite, modified in place
+   * @param signature signature of the table, only STRING and LONG columns are supported
+   * @param columns   indexes of the columns whose values are available before a row is fully computed
+   */
+  static SystemTableFilter extract(
+      @Nullable final List<RexNode> filters,
+      final RowSignature signature,
+      final Set<Integer> columns
+  )
+  {
+    if (filters == null || filters.isEmpty()) {
+      return MATCH_ALL;
+    }
+
+    final List<Condition> conditions = new ArrayList<>();
+    final Iterator<RexNode> iterator = filters.iterator();
+    while (iterator.hasNext()) {
+      boolean fullyCaptured = true;
+      for (RexNode conjunct : RelOptUtil.conjunctions(iterator.next())) {
+        final Condition condition = toCondition(conjunct, signature, columns);
+        if (condition == null) {
+          fullyCaptured = false;
+        } else {
+          conditions.add(condition);
+        }
+      }
+      if (fullyCaptured) {
+        iterator.remove();
+      }
+    }
+    return new SystemTableFilter(conditions);
+  }
+
+  boolean matches(final Object[] row)
+  {
+    for (Condition condition : conditions) {
+      if (!condition.matches(row[condition.column])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the only values a STRING column can take in matching rows, or null if they are not restricted to a known
+   * set.
+   */
+  @Nullable
+  Set<String> getStringValues(final int column)
+  {
+    Set<String> retVal = null;
+    for (Condition condition : conditions) {
+      if (condition.column == column && condition.kind == SqlKind.EQUALS) {
+        final Set<String> values = new HashSet<>();
+        for (Object value : condition.values) {
+          values.add((String) value);
+        }
+        if (retVal == null) {
+          retVal = values;
+        } else {
+          retVal.retainAll(values);
+        }
+      }
+    }
+    return retVal;
+  }
+
+  /**
+   * Projects a full row onto the requested columns.
+   */
+  static Object[] project(final Object[] row, @Nullable final int[] projects)
+  {
+    if (projects == null) {
+      return row;
+    }
+    final Object[] projected = new Object[projects.length];
+    for (int i = 0; i < projects.length; i++) {
+      projected[i] = row[projects[i]];
+    }
+    return projected;
+  }
+
+  @Nullable
+  private static Condition toCondition(final RexNode node, final RowSignature signature, final Set<Integer> columns)
+  {
+    if (node.getKind() == SqlKind.OR) {
+      // IN lists are planned as ORs of equalities.
+      Condition retVal = null;
+      for (RexNode operand : ((RexCall) node).getOperands()) {
+        final Condition condition = toCondition(operand, signature, columns);
+        if (condition == null || condition.kind != SqlKind.EQUALS) {
+          return null;
+        } else if (retVal == null) {
+          retVal = condition;
+        } else if (retVal.column != condition.column) {
+          return null;
+        } else {
+          retVal.values.addAll(condition.values);
+        }
+      }
+      return retVal;
+    }
+
+    if (!(node instanceof RexCall) || ((RexCall) node).getOperands().size() != 2) {
+      return null;
+    }
+
+    final SqlKind kind;
+    final RexNode lhs;
+    final RexNode rhs;
+    if (((RexCall) node).getOperands().get(0) instanceof RexLiteral) {
+      kind = node.getKind().reverse();
+      lhs = ((RexCall) node).getOperands().get(1);
+      rhs = ((RexCall) node).getOperands().get(0);
+    } else {
+      kind = node.getKind();
+      lhs = ((RexCall) node).getOperands().get(0);
+      rhs = ((RexCall) node).getOperands().get(1);
+    }
+
+    if (!SqlKind.COMPARISON.contains(kind) || kind == SqlKind.IN || kind == SqlKind.NOT_IN
+        || !(lhs instanceof RexInputRef) || !(rhs instanceof RexLiteral) || RexLiteral.isNullLiteral(rhs)) {
+      return null;
+    }
+
+    final int column = ((RexInputRef) lhs).getIndex();
+    if (!columns.contains(column)) {
+      return null;
+    }
+
+    final ValueType columnType = signature.getColumnType(signature.getRowOrder().get(column));
+    final RexLiteral literal = (RexLiteral) rhs;
+    final Comparable value;
+    if (columnType == ValueType.STRING && literal.getTypeName().getFamily() == SqlTypeFamily.CHARACTER) {
+      value = RexLiteral.stringValue(literal);
+    } else if (columnType == ValueType.LONG && literal.getTypeName().getFamily() == SqlTypeFamily.NUMERIC) {
+      value = literal.getValueAs(BigDecimal.class);
+    } else {
+      return null;
+    }
+
+    return new Condition(column, kind, value);
+  }
+
+  private static class Condition
+  {
+    private final int column;
+    private final SqlKind kind;
+    // Any of these for EQUALS, exactly one otherwise.
+    private final Set<Comparable> values = new HashSet<>();
+
+    Condition(final int column, final SqlKind kind, final Comparable value)
+    {
+      this.column = column;
+      this.kind = kind;
+      this.values.add(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    boolean matches(final Object columnValue)
+    {
+      if (columnValue == null) {
+        // Comparisons with null are never true.
+        return false;
+      }
+
+      final Comparable comparable = columnValue instanceof Number
+                                    ? BigDecimal.valueOf(((Number) columnValue).longValue())
+                                    : (Comparable) columnValue;
+      if (kind == SqlKind.EQUALS) {
+        for (Comparable value : values) {
+          if (comparable.compareTo(value) == 0) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      final int comparison = comparable.compareTo(values.iterator().next());
+      switch (kind) {
+        case NOT_EQUALS:
+          return comparison != 0;
+        case LESS_THAN:
+          return comparison < 0;
+        case LESS_THAN_OR_EQUAL:
+          return comparison <= 0;
+        case GREATER_THAN:
+          return comparison > 0;
+        case GREATER_THAN_OR_EQUAL:
+          return comparison >= 0;
+        default:
+          throw new ISE("Unexpected comparison[%s]", kind);
+      }
+    }
+  }
+}
@@ -305,6 +305,22 @@ public class CalciteQueryTest extends BaseCalciteQueryTest
     );
   }
 
+  @Test
+  public void testSystemServerSegmentsFilteredByServer() throws Exception
+  {
+    testQuery(
+        PLANNER_CONFIG_DEFAULT,
+        "SELECT server, COUNT(*) FROM sys.server_segments\n"
+        + "WHERE server IN ('dummy', 'nonexistent') AND segment_id LIKE 'foo%'\n"
+        + "GROUP BY server",
+        CalciteTests.SUPER_USER_AUTH_RESULT,
+        ImmutableList.of(),
+        ImmutableList.of(
+            new Object[]{"dummy", 2L}
+        )
+    );
+  }
+
   @Test
   public void testInformationSchemaTables() throws Exception
   {
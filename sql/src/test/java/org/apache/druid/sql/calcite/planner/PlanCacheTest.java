@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.druid.sql.calcite.planner;
+
+import org.apache.druid.query.Query;
+import org.apache.druid.server.security.AuthenticationResult;
+import org.apache.druid.sql.calcite.BaseCalciteQueryTest;
+import org.apache.druid.sql.calcite.schema.DruidSchema;
+import org.apache.druid.sql.calcite.schema.SystemSchema;
+import org.apache.druid.sql.calcite.util.CalciteTests;
+import org.apache.druid.sql.calcite.view.NoopViewManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PlanCacheTest extends BaseCalciteQueryTest
+{
+  private static final String SQL = "SELECT dim1, COUNT(*) FROM druid.foo GROUP BY dim1";
+
+  private PlannerFactory plannerFactory;
+
+  @Before
+  @Override
+  public void setUp() throws Exception
+  {
+    super.setUp();
+    final PlannerConfig plannerConfig = new PlannerConfig()
+    {
+      @Override
+      public int getPlanCacheSize()
+      {
+        return 10;
+      }
+    };
+    final DruidSchema druidSchema = CalciteTests.createMockSchema(
+        conglomerate,
+        walker,
+        plannerConfig,
+        new NoopViewManager()
+    );
+    final SystemSchema systemSchema = CalciteTests.createMockSystemSchema(druidSchema, walker, plannerConfig);
+    plannerFactory = new PlannerFactory(
+        druidSchema,
+        systemSchema,
+        CalciteTests.createMockQueryLifecycleFactory(walker, conglomerate),
+        CalciteTests.createOperatorTable(),
+        CalciteTests.createExprMacroTable(),
+        plannerConfig,
+        CalciteTests.TEST_AUTHORIZER_MAPPER,
+        CalciteTests.getJsonMapper()
+    );
+  }
+
+  @Test
+  public void testCachedPlanRunsWithNewContext() throws Exception
+  {
+    final List<Object[]> results1 = planAndRun(SQL, contextWithSqlQueryId("id1"));
+    final List<Object[]> results2 = planAndRun(SQL, contextWithSqlQueryId("id2"));
+
+    Assert.assertEquals(1, plannerFactory.getPlanCache().size());
+    Assert.assertEquals(results1.size(), results2.size());
+    for (int i = 0; i < results1.size(); i++) {
+      Assert.assertArrayEquals(results1.get(i), results2.get(i));
+    }
+
+    // The cached plan must issue native queries in the context of the query that reused it.
+    final List<Query> recordedQueries = queryLogHook.getRecordedQueries();
+    Assert.assertEquals(2, recordedQueries.size());
+    Assert.assertEquals("id1", recordedQueries.get(0).getContext().get(PlannerContext.CTX_SQL_QUERY_ID));
+    Assert.assertEquals("id2", recordedQueries.get(1).getContext().get(PlannerContext.CTX_SQL_QUERY_ID));
+  }
+
+  @Test
+  public void testCachedPlanMapsRootFields() throws Exception
+  {
+    // Sorted by a field which is not selected, so that the rows of the query are projected
+    final String sql = "SELECT dim1 FROM druid.foo GROUP BY dim1, dim2 ORDER BY dim2";
+    final List<Object[]> results1 = planAndRun(sql, contextWithSqlQueryId("id1"));
+    final List<Object[]> results2 = planAndRun(sql, contextWithSqlQueryId("id2"));
+
+    Assert.assertEquals(1, plannerFactory.getPlanCache().size());
+    Assert.assertNotNull(getCachedPlan(sql).getFields());
+    Assert.assertFalse(results1.isEmpty());
+    Assert.assertEquals(1, results1.get(0).length);
+    Assert.assertEquals(results1.size(), results2.size());
+    for (int i = 0; i < results1.size(); i++) {
+      Assert.assertArrayEquals(results1.get(i), results2.get(i));
+    }
+  }
+
+  @Test
+  public void testCachedSemiJoinPlan() throws Exception
+  {
+    // The right side of a semi-join is queried every time the plan runs
+    final String sql = "SELECT dim1, COUNT(*) FROM druid.foo\n"
+                       + "WHERE dim2 IN (SELECT dim2 FROM druid.foo WHERE dim1 = 'abc')\n"
+                       + "GROUP BY dim1";
+    final List<Object[]> results1 = planAndRun(sql, contextWithSqlQueryId("id1"));
+    final List<Object[]> results2 = planAndRun(sql, contextWithSqlQueryId("id2"));
+
+    Assert.assertEquals(1, plannerFactory.getPlanCache().size());
+    Assert.assertFalse(results1.isEmpty());
+    Assert.assertEquals(results1.size(), results2.size());
+    for (int i = 0; i < results1.size(); i++) {
+      Assert.assertArrayEquals(results1.get(i), results2.get(i));
+    }
+  }
+
+  @Test
+  public void testCachedPlanDoesNotRetainPlannerState() throws Exception
+  {
+    planAndRun(SQL, contextWithSqlQueryId("id1"));
+    Assert.assertTrue(getCachedPlan(SQL).getDruidRel().getCluster().getPlanner().getRules().isEmpty());
+  }
+
+  @Test
+  public void testPlanDependsOnContextAndIdentity() throws Exception
+  {
+    final Map<String, Object> exactContext = contextWithSqlQueryId("id1");
+    exactContext.put(PlannerConfig.CTX_KEY_USE_APPROXIMATE_COUNT_DISTINCT, false);
+
+    planAndRun(SQL, contextWithSqlQueryId("id1"));
+    planAndRun(SQL, exactContext);
+    planAndRun(SQL, contextWithSqlQueryId("id2"), CalciteTests.SUPER_USER_AUTH_RESULT);
+
+    Assert.assertEquals(3, plannerFactory.getPlanCache().size());
+  }
+
+  @Test
+  public void testPlanUsingCurrentTimeIsNotCached() throws Exception
+  {
+    planAndRun("SELECT COUNT(*) FROM druid.foo WHERE __time < CURRENT_TIMESTAMP", contextWithSqlQueryId("id1"));
+    Assert.assertEquals(0, plannerFactory.getPlanCache().size());
+  }
+
+  @Test
+  public void testMetadataPlanIsNotCached() throws Exception
+  {
+    planAndRun("SELECT SCHEMA_NAME FROM INFORMATION_SCHEMA.SCHEMATA", contextWithSqlQueryId("id1"));
+    planAndRun("EXPLAIN PLAN FOR " + SQL, contextWithSqlQueryId("id2"));
+    Assert.assertEquals(0, plannerFactory.getPlanCache().size());
+  }
+
+  private List<Object[]> planAndRun(final String sql, final Map<String, Object> queryContext) throws Exception
+  {
+    return planAndRun(sql, queryContext, CalciteTests.REGULAR_USER_AUTH_RESULT);
+  }
+
+  private List<Object[]> planAndRun(
+      final String sql,
+      final Map<String, Object> queryContext,
+      final AuthenticationResult authenticationResult
+  ) throws Exception
+  {
+    try (DruidPlanner planner = plannerFactory.createPlanner(queryContext, authenticationResult)) {
+      return planner.plan(sql).run().toList();
+    }
+  }
+
+  private PlanCache.Plan getCachedPlan(final String sql)
+  {
+    try (DruidPlanner planner = plannerFactory.createPlanner(
+        contextWithSqlQueryId("cached"),
+        CalciteTests.REGULAR_USER_AUTH_RESULT
+    )) {
+      final PlanCache planCache = plannerFactory.getPlanCache();
+      final PlanCache.Plan plan = planCache.get(planCache.makeKey(sql, planner.getPlannerContext()));
+      Assert.assertNotNull(plan);
+      return plan;
+    }
+  }
+
+  private static Map<String, Object> contextWithSqlQueryId(final String sqlQueryId)
+  {
+    final Map<String, Object> context = new HashMap<>(QUERY_CONTEXT_DEFAULT);
+    context.put(PlannerContext.CTX_SQL_QUERY_ID, sqlQueryId);
+    return context;
+  }
+}
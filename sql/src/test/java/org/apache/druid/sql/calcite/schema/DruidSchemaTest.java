@@ -300,6 +300,65 @@ public class DruidSchemaTest extends CalciteTestBase
     Assert.assertEquals(updatedMetadata.getNumReplicas(), currentMetadata.getNumReplicas());
   }
 
+  @Test
+  public void testRemoveNewestSegmentRestoresOlderColumnTypes()
+  {
+    final DataSegment newestSegment = walker.getSegments()
+                                            .stream()
+                                            .filter(segment -> segment.getDataSource().equals("foo"))
+                                            .filter(segment -> segment.getInterval().getStart().getYear() == 2001)
+                                            .findFirst()
+                                            .orElse(null);
+    Assert.assertNotNull(newestSegment);
+    schema.removeSegment(newestSegment);
+    schema.rebuildTable("foo");
+
+    final DruidTable fooTable = (DruidTable) schema.getTableMap().get("foo");
+    final List<RelDataTypeField> fields = fooTable.getRowType(new JavaTypeFactoryImpl()).getFieldList();
+
+    Assert.assertEquals(
+        ImmutableList.of("__time", "cnt", "dim1", "m1", "unique_dim1"),
+        fields.stream().map(RelDataTypeField::getName).collect(Collectors.toList())
+    );
+    Assert.assertEquals(SqlTypeName.DOUBLE, fields.get(3).getType().getSqlTypeName());
+  }
+
+  @Test
+  public void testParallelRefresh() throws Exception
+  {
+    final DruidSchema parallelSchema = new DruidSchema(
+        CalciteTests.createMockQueryLifecycleFactory(walker, conglomerate),
+        new TestServerInventoryView(walker.getSegments()),
+        new PlannerConfig()
+        {
+          @Override
+          public int getMetadataRefreshThreads()
+          {
+            return 2;
+          }
+        },
+        new NoopViewManager(),
+        new NoopEscalator()
+    );
+
+    try {
+      parallelSchema.start();
+      parallelSchema.awaitInitialization();
+
+      Assert.assertEquals(schema.getTableMap().keySet(), parallelSchema.getTableMap().keySet());
+      for (String tableName : schema.getTableNames()) {
+        Assert.assertEquals(
+            ((DruidTable) schema.getTableMap().get(tableName)).getRowSignature(),
+            ((DruidTable) parallelSchema.getTableMap().get(tableName)).getRowSignature()
+        );
+      }
+      Assert.assertEquals(3, parallelSchema.getTotalSegments());
+    }
+    finally {
+      parallelSchema.stop();
+    }
+  }
+
   @Test
   public void testNullDatasource() throws IOException
   {
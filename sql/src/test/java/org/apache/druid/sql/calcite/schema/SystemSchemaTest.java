@@ -31,8 +31,12 @@ import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
 import org.apache.calcite.linq4j.QueryProvider;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.calcite.schema.Table;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
 import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.druid.client.DruidServer;
 import org.apache.druid.client.ImmutableDruidDataSource;
@@ -101,8 +105,10 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -113,6 +119,9 @@ import java.util.stream.Stream;
 
 public class SystemSchemaTest extends CalciteTestBase
 {
+  private static final RexBuilder REX_BUILDER = new RexBuilder(new JavaTypeFactoryImpl());
+  private static final RelDataType VARCHAR_TYPE = REX_BUILDER.getTypeFactory().createSqlType(SqlTypeName.VARCHAR);
+  private static final RelDataType BIGINT_TYPE = REX_BUILDER.getTypeFactory().createSqlType(SqlTypeName.BIGINT);
   private static final PlannerConfig PLANNER_CONFIG_DEFAULT = new PlannerConfig();
 
   private static final List<InputRow> ROWS1 = ImmutableList.of(
@@ -528,7 +537,7 @@ public class SystemSchemaTest extends CalciteTestBase
       }
     };
 
-    final List<Object[]> rows = segmentsTable.scan(dataContext).toList();
+    final List<Object[]> rows = segmentsTable.scan(dataContext, new ArrayList<>(), null).toList();
     rows.sort((Object[] row1, Object[] row2) -> ((Comparable) row1[0]).compareTo(row2[0]));
 
     // total segments = 8
@@ -951,7 +960,7 @@ public class SystemSchemaTest extends CalciteTestBase
     // server2:1234   |  test4_2017-01-01T00:00:00.000Z_2018-01-01T00:00:00.000Z_version4(segment4)
     // server2:1234   |  test5_2017-01-01T00:00:00.000Z_2018-01-01T00:00:00.000Z_version5(segment5)
 
-    final List<Object[]> rows = serverSegmentsTable.scan(dataContext).toList();
+    final List<Object[]> rows = serverSegmentsTable.scan(dataContext, new ArrayList<>()).toList();
     Assert.assertEquals(5, rows.size());
 
     Object[] row0 = rows.get(0);
@@ -978,6 +987,144 @@ public class SystemSchemaTest extends CalciteTestBase
     verifyTypes(rows, SystemSchema.SERVER_SEGMENTS_SIGNATURE);
   }
 
+  @Test
+  public void testSegmentsTableWithPushedDownFilterAndProjection()
+  {
+    final SystemSchema.SegmentsTable segmentsTable = new SystemSchema.SegmentsTable(
+        druidSchema,
+        metadataView,
+        mapper,
+        authMapper
+    );
+    EasyMock.expect(metadataView.getPublishedSegments(ImmutableSet.of("test1", "wikipedia1")))
+            .andReturn(
+                ImmutableList.of(
+                    new SegmentWithOvershadowedStatus(segment1, true),
+                    new SegmentWithOvershadowedStatus(publishedSegment1, true)
+                ).iterator()
+            )
+            .once();
+    EasyMock.replay(metadataView);
+
+    // datasource IN ('test1', 'wikipedia1') AND is_available = 1
+    final List<RexNode> filters = new ArrayList<>();
+    filters.add(
+        REX_BUILDER.makeCall(
+            SqlStdOperatorTable.AND,
+            REX_BUILDER.makeCall(
+                SqlStdOperatorTable.OR,
+                makeComparison(SqlStdOperatorTable.EQUALS, 1, REX_BUILDER.makeLiteral("test1")),
+                makeComparison(SqlStdOperatorTable.EQUALS, 1, REX_BUILDER.makeLiteral("wikipedia1"))
+            ),
+            makeComparison(SqlStdOperatorTable.EQUALS, 10, REX_BUILDER.makeExactLiteral(BigDecimal.ONE))
+        )
+    );
+
+    final List<Object[]> rows = segmentsTable.scan(makeDataContext(), filters, new int[]{0, 10}).toList();
+
+    // The filter is fully evaluated by the table, only the projected columns are returned.
+    Assert.assertTrue(filters.isEmpty());
+    Assert.assertEquals(1, rows.size());
+    Assert.assertArrayEquals(new Object[]{segment1.getId(), 1L}, rows.get(0));
+    EasyMock.verify(metadataView);
+  }
+
+  @Test
+  public void testSegmentsTableWithPartiallyPushedDownFilter()
+  {
+    final SystemSchema.SegmentsTable segmentsTable = new SystemSchema.SegmentsTable(
+        druidSchema,
+        metadataView,
+        mapper,
+        authMapper
+    );
+    EasyMock.expect(metadataView.getPublishedSegments(ImmutableSet.of("test2")))
+            .andReturn(Collections.singletonList(new SegmentWithOvershadowedStatus(segment2, false)).iterator())
+            .once();
+    EasyMock.replay(metadataView);
+
+    // datasource = 'test2' AND '2011-01-01' <= "start" AND payload = 'foo'
+    final RexNode filter = REX_BUILDER.makeCall(
+        SqlStdOperatorTable.AND,
+        makeComparison(SqlStdOperatorTable.EQUALS, 1, REX_BUILDER.makeLiteral("test2")),
+        REX_BUILDER.makeCall(
+            SqlStdOperatorTable.LESS_THAN_OR_EQUAL,
+            REX_BUILDER.makeLiteral("2011-01-01"),
+            REX_BUILDER.makeInputRef(VARCHAR_TYPE, 2)
+        ),
+        makeComparison(SqlStdOperatorTable.EQUALS, 13, REX_BUILDER.makeLiteral("foo"))
+    );
+    final List<RexNode> filters = new ArrayList<>(Collections.singletonList(filter));
+
+    final List<Object[]> rows = segmentsTable.scan(makeDataContext(), filters, null).toList();
+
+    // The payload condition is left for Calcite, but the dataSource condition still restricts the scan.
+    Assert.assertEquals(Collections.singletonList(filter), filters);
+    Assert.assertEquals(1, rows.size());
+    verifyRow(rows.get(0), segment2.getId().toString(), 100L, 0L, 2L, 3L, 1L, 1L, 0L, 0L);
+    Assert.assertNotNull(rows.get(0)[13]);
+    EasyMock.verify(metadataView);
+  }
+
+  @Test
+  public void testServerSegmentsTableWithPushedDownFilter()
+  {
+    final SystemSchema.ServerSegmentsTable serverSegmentsTable = new SystemSchema.ServerSegmentsTable(
+        serverView,
+        authMapper
+    );
+    EasyMock.expect(serverView.getDruidServers()).andReturn(immutableDruidServers).once();
+    EasyMock.replay(serverView);
+
+    final List<RexNode> filters = new ArrayList<>();
+    filters.add(makeComparison(SqlStdOperatorTable.EQUALS, 0, REX_BUILDER.makeLiteral("server2:1234")));
+
+    final List<Object[]> rows = serverSegmentsTable.scan(makeDataContext(), filters).toList();
+
+    Assert.assertTrue(filters.isEmpty());
+    Assert.assertEquals(
+        ImmutableList.of(segment3.getId(), segment4.getId(), segment5.getId()),
+        rows.stream().map(row -> row[1]).collect(Collectors.toList())
+    );
+    Assert.assertTrue(rows.stream().allMatch(row -> "server2:1234".equals(row[0])));
+  }
+
+  private static RexNode makeComparison(final SqlOperator operator, final int column, final RexNode literal)
+  {
+    final RelDataType type = literal.getType().getSqlTypeName() == SqlTypeName.CHAR ? VARCHAR_TYPE : BIGINT_TYPE;
+    return REX_BUILDER.makeCall(operator, REX_BUILDER.makeInputRef(type, column), literal);
+  }
+
+  private static DataContext makeDataContext()
+  {
+    return new DataContext()
+    {
+      @Override
+      public SchemaPlus getRootSchema()
+      {
+        return null;
+      }
+
+      @Override
+      public JavaTypeFactory getTypeFactory()
+      {
+        return null;
+      }
+
+      @Override
+      public QueryProvider getQueryProvider()
+      {
+        return null;
+      }
+
+      @Override
+      public Object get(String name)
+      {
+        return CalciteTests.SUPER_USER_AUTH_RESULT;
+      }
+    };
+  }
+
   @Test
   public void testTasksTable() throws Exception
   {